@@ -6,12 +6,15 @@ import io.vertx.core.Vertx;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.BidsScanner;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisClient;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisCommandBatcher;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisScanStateChecker;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.ScanResultCache;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConnectionConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityBidResponsesScanHook;
 import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityModule;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.spring.env.YamlPropertySourceFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -20,6 +23,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,11 +40,16 @@ public class ConfiantAdQualityModuleConfiguration {
             @Value("${hooks.modules.confiant-ad-quality.scan-state-check-interval}") int scanStateCheckInterval,
             @Value("${hooks.modules.confiant-ad-quality.bidders-to-exclude-from-scan}")
             List<String> biddersToExcludeFromScan,
+            @Value("${hooks.modules.confiant-ad-quality.redis-batch-max-size}") int redisBatchMaxSize,
+            @Value("${hooks.modules.confiant-ad-quality.scan-result-cache.ttl-ms}") long scanResultCacheTtlMs,
+            @Value("${hooks.modules.confiant-ad-quality.scan-result-cache.max-size}") long scanResultCacheMaxSize,
             RedisConfig redisConfig,
             RedisRetryConfig retryConfig,
             Vertx vertx,
             UserFpdActivityMask userFpdActivityMask,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            Clock clock,
+            Metrics metrics) {
 
         final RedisConnectionConfig writeNodeConfig = redisConfig.getWriteNode();
         final RedisClient writeRedisNode = new RedisClient(
@@ -59,7 +68,15 @@ public class ConfiantAdQualityModuleConfiguration {
                 retryConfig,
                 "read node");
 
-        final BidsScanner bidsScanner = new BidsScanner(writeRedisNode, readRedisNode, apiKey, objectMapper);
+        final BidsScanner bidsScanner = new BidsScanner(
+                writeRedisNode,
+                readRedisNode,
+                new RedisCommandBatcher(writeRedisNode, vertx, redisBatchMaxSize, clock, metrics),
+                new RedisCommandBatcher(readRedisNode, vertx, redisBatchMaxSize, clock, metrics),
+                new ScanResultCache(scanResultCacheTtlMs, scanResultCacheMaxSize),
+                apiKey,
+                objectMapper,
+                metrics);
         final RedisScanStateChecker redisScanStateChecker = new RedisScanStateChecker(
                 bidsScanner, scanStateCheckInterval, vertx);
 
@@ -2,18 +2,31 @@ package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.redis.client.Command;
 import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
+import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidResponseData;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
+import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityModule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public class BidsScanner {
 
+    private static final String SUBMIT_FUNCTION_KEY = "function_submit_bids";
+
     private final RedisParser redisParser;
 
     private final String apiKey;
@@ -22,20 +35,38 @@ public class BidsScanner {
 
     private final RedisClient readRedisNode;
 
+    private final RedisCommandBatcher writeRedisBatcher;
+
+    private final RedisCommandBatcher readRedisBatcher;
+
+    private final ScanResultCache scanResultCache;
+
+    private final Metrics metrics;
+
     private volatile Boolean isScanDisabled = true;
 
+    private volatile Future<String> submitFunctionHash;
+
     private final ObjectMapper objectMapper;
 
     public BidsScanner(
             RedisClient writeRedisNode,
             RedisClient readRedisNode,
+            RedisCommandBatcher writeRedisBatcher,
+            RedisCommandBatcher readRedisBatcher,
+            ScanResultCache scanResultCache,
             String apiKey,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            Metrics metrics) {
 
         this.writeRedisNode = writeRedisNode;
         this.readRedisNode = readRedisNode;
+        this.writeRedisBatcher = writeRedisBatcher;
+        this.readRedisBatcher = readRedisBatcher;
+        this.scanResultCache = scanResultCache;
         this.apiKey = apiKey;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
         this.redisParser = new RedisParser(objectMapper);
     }
 
@@ -52,70 +83,181 @@ public class BidsScanner {
 
     public void disableScan() {
         isScanDisabled = true;
+        submitFunctionHash = null;
     }
 
     public Future<BidsScanResult> submitBids(RedisBidsData bids) {
-        final Promise<BidsScanResult> scanResult = Promise.promise();
-
         final RedisAPI readRedisNodeAPI = this.readRedisNode.getRedisAPI();
         final boolean shouldSubmit = !isScanDisabled
                 && readRedisNodeAPI != null && !bids.getBresps().isEmpty();
 
-        if (shouldSubmit) {
-            readRedisNodeAPI.get("function_submit_bids", submitHash -> {
-                final Object submitHashResult = submitHash.result();
-                if (submitHashResult != null) {
-                    final List<String> readArgs = List.of(
-                            submitHashResult.toString(),
-                            "0",
-                            toBidsAsJson(bids),
-                            apiKey,
-                            "true");
-
-                    readRedisNodeAPI.evalsha(readArgs, response -> {
-                        if (response.result() != null) {
-                            final BidsScanResult parserResult = redisParser
-                                    .parseBidsScanResult(response.result().toString());
-                            final boolean isAnyRoSkipped = parserResult.getBidScanResults()
-                                    .stream().anyMatch(BidScanResult::isRoSkipped);
-
-                            if (isAnyRoSkipped) {
-                                reSubmitBidsToWriteNode(readArgs, scanResult);
-                            } else {
-                                scanResult.complete(parserResult);
-                            }
-                        } else {
-                            scanResult.complete(getEmptyScanResult());
-                        }
-                    });
-                } else {
-                    scanResult.complete(getEmptyScanResult());
-                }
-            });
+        if (!shouldSubmit) {
+            return Future.succeededFuture(getEmptyScanResult());
+        }
+
+        final List<RedisBidResponseData> bresps = bids.getBresps();
+        final List<List<BidScanResult>> cachedResults = bresps.stream().map(this::getCachedScanResults).toList();
+        final List<RedisBidResponseData> brespsToSubmit = new ArrayList<>();
+        for (int i = 0; i < bresps.size(); i++) {
+            if (cachedResults.get(i) == null) {
+                brespsToSubmit.add(bresps.get(i));
+            }
+        }
 
-            return scanResult.future();
+        if (brespsToSubmit.isEmpty()) {
+            return Future.succeededFuture(mergeScanResults(bresps, cachedResults, getEmptyScanResult()));
         }
 
-        return Future.succeededFuture(getEmptyScanResult());
+        return scan(readRedisNodeAPI, bids.toBuilder().bresps(brespsToSubmit).build())
+                .map(scanResult -> {
+                    cacheScanResults(brespsToSubmit, scanResult);
+                    return brespsToSubmit.size() == bresps.size()
+                            ? scanResult
+                            : mergeScanResults(bresps, cachedResults, scanResult);
+                });
     }
 
-    private void reSubmitBidsToWriteNode(List<String> readArgs, Promise<BidsScanResult> scanResult) {
-        final RedisAPI writeRedisAPI = this.writeRedisNode.getRedisAPI();
-        if (writeRedisAPI != null) {
-            final List<String> writeArgs = readArgs.stream().limit(4).toList();
-            writeRedisAPI.evalsha(writeArgs, response -> {
-                if (response.result() != null) {
-                    final BidsScanResult parserResult = redisParser
-                            .parseBidsScanResult(response.result().toString());
+    private Future<BidsScanResult> scan(RedisAPI readRedisNodeAPI, RedisBidsData bids) {
+        return getSubmitFunctionHash(readRedisNodeAPI)
+                .compose(hash -> scan(hash, toBidsAsJson(bids)))
+                .otherwise(error -> {
+                    submitFunctionHash = null;
+                    return getEmptyScanResult();
+                });
+    }
 
-                    scanResult.complete(parserResult);
-                } else {
-                    scanResult.complete(getEmptyScanResult());
-                }
-            });
-        } else {
-            scanResult.complete(getEmptyScanResult());
+    private Future<BidsScanResult> scan(String hash, String bidsJson) {
+        return readRedisBatcher.submit(submitBidsRequest(hash, bidsJson, true))
+                .compose(response -> {
+                    if (response == null) {
+                        return Future.succeededFuture(getEmptyScanResult());
+                    }
+
+                    final BidsScanResult parserResult = redisParser.parseBidsScanResult(response.toString());
+                    final boolean isAnyRoSkipped = parserResult.getBidScanResults()
+                            .stream().anyMatch(BidScanResult::isRoSkipped);
+
+                    return isAnyRoSkipped
+                            ? reSubmitBidsToWriteNode(hash, bidsJson)
+                            : Future.succeededFuture(parserResult);
+                });
+    }
+
+    private Future<BidsScanResult> reSubmitBidsToWriteNode(String hash, String bidsJson) {
+        if (writeRedisNode.getRedisAPI() == null) {
+            return Future.succeededFuture(getEmptyScanResult());
         }
+
+        return writeRedisBatcher.submit(submitBidsRequest(hash, bidsJson, false))
+                .map(response -> response != null
+                        ? redisParser.parseBidsScanResult(response.toString())
+                        : getEmptyScanResult());
+    }
+
+    private Request submitBidsRequest(String hash, String bidsJson, boolean readOnly) {
+        final Request request = Request.cmd(Command.EVALSHA)
+                .arg(hash)
+                .arg("0")
+                .arg(bidsJson)
+                .arg(apiKey);
+
+        return readOnly ? request.arg("true") : request;
+    }
+
+    /**
+     * Hash of the submit function is requested once and shared by all scans until the request fails.
+     */
+    private Future<String> getSubmitFunctionHash(RedisAPI readRedisNodeAPI) {
+        final Future<String> currentHash = submitFunctionHash;
+        if (currentHash != null && !currentHash.failed()) {
+            return currentHash;
+        }
+
+        final Future<String> hash = readRedisNodeAPI.get(SUBMIT_FUNCTION_KEY)
+                .compose(response -> response != null
+                        ? Future.succeededFuture(response.toString())
+                        : Future.failedFuture("Confiant submit function is absent"));
+        submitFunctionHash = hash;
+        return hash;
+    }
+
+    private List<BidScanResult> getCachedScanResults(RedisBidResponseData bresp) {
+        if (!scanResultCache.isEnabled()) {
+            return null;
+        }
+
+        final List<Bid> bids = bidsOf(bresp);
+        if (bids.isEmpty()) {
+            return null;
+        }
+
+        final List<BidScanResult> results = new ArrayList<>(bids.size());
+        for (Bid bid : bids) {
+            final BidScanResult result = scanResultCache.get(bresp.getDspId(), bid);
+            if (result == null) {
+                metrics.updateModuleCacheMetric(ConfiantAdQualityModule.CODE, MetricName.miss);
+                return null;
+            }
+            results.add(result);
+        }
+
+        metrics.updateModuleCacheMetric(ConfiantAdQualityModule.CODE, MetricName.hit);
+        return results;
+    }
+
+    private void cacheScanResults(List<RedisBidResponseData> bresps, BidsScanResult scanResult) {
+        final List<BidScanResult> results = scanResult.getBidScanResults();
+        if (!scanResultCache.isEnabled() || results.size() != bidsCount(bresps)) {
+            return;
+        }
+
+        int index = 0;
+        for (RedisBidResponseData bresp : bresps) {
+            for (Bid bid : bidsOf(bresp)) {
+                scanResultCache.put(bresp.getDspId(), bid, results.get(index++));
+            }
+        }
+    }
+
+    /**
+     * Restores order of scan results as if all bid responses were sent to Redis: results of submitted bid
+     * responses are taken in order, one per bid.
+     */
+    private static BidsScanResult mergeScanResults(List<RedisBidResponseData> bresps,
+                                                   List<List<BidScanResult>> cachedResults,
+                                                   BidsScanResult scanResult) {
+
+        final List<BidScanResult> submittedResults = scanResult.getBidScanResults();
+        final List<BidScanResult> results = new ArrayList<>();
+
+        int submittedIndex = 0;
+        for (int i = 0; i < bresps.size(); i++) {
+            final List<BidScanResult> cached = cachedResults.get(i);
+            if (cached != null) {
+                results.addAll(cached);
+                continue;
+            }
+
+            final int toIndex = Math.min(submittedIndex + bidsOf(bresps.get(i)).size(), submittedResults.size());
+            results.addAll(submittedResults.subList(Math.min(submittedIndex, toIndex), toIndex));
+            submittedIndex = toIndex;
+        }
+
+        return BidsScanResult.builder()
+                .bidScanResults(results)
+                .debugMessages(scanResult.getDebugMessages())
+                .build();
+    }
+
+    private static int bidsCount(List<RedisBidResponseData> bresps) {
+        return bresps.stream().mapToInt(bresp -> bidsOf(bresp).size()).sum();
+    }
+
+    private static List<Bid> bidsOf(RedisBidResponseData bresp) {
+        final BidResponse bidResponse = bresp.getBidresponse();
+        final List<SeatBid> seatBids = bidResponse != null ? bidResponse.getSeatbid() : null;
+        final List<Bid> bids = CollectionUtils.isNotEmpty(seatBids) ? seatBids.getFirst().getBid() : null;
+        return bids != null ? bids : Collections.emptyList();
     }
 
     public Future<Boolean> isScanDisabledFlag() {
@@ -1,6 +1,7 @@
 package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -8,10 +9,14 @@ import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisOptions;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 
+import java.util.List;
+
 public class RedisClient {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisClient.class);
@@ -55,6 +60,26 @@ public class RedisClient {
         return redisAPI;
     }
 
+    /**
+     * Sends given commands to Redis in a single pipelined write.
+     */
+    public Future<List<Response>> batch(List<Request> requests) {
+        final RedisConnection currentConnection = connection;
+        return currentConnection != null
+                ? currentConnection.batch(requests)
+                : Future.failedFuture("Confiant Redis %s connection is not established".formatted(type));
+    }
+
+    /**
+     * Sends given command to Redis on its own.
+     */
+    public Future<Response> send(Request request) {
+        final RedisConnection currentConnection = connection;
+        return currentConnection != null
+                ? currentConnection.send(request)
+                : Future.failedFuture("Confiant Redis %s connection is not established".formatted(type));
+    }
+
     /**
      * Will create a redis client and setup a reconnect handler when there is
      * an exception in the connection.
@@ -0,0 +1,131 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityModule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces commands submitted by concurrent auctions and sends them to Redis node as pipelined batches.
+ * <p>
+ * Batch is sent as soon as it reaches the max size, otherwise commands accumulated until the next
+ * event loop tick are sent together. If the batch fails as a whole, each of its commands is retried on its own,
+ * so a single bad command does not fail the others. Batch replies that do not match the commands fail all of them.
+ */
+public class RedisCommandBatcher {
+
+    private static final String MODULE_CODE = ConfiantAdQualityModule.CODE;
+
+    private final RedisClient redisClient;
+    private final Vertx vertx;
+    private final int maxBatchSize;
+    private final Clock clock;
+    private final Metrics metrics;
+
+    private final Queue<PendingCommand> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public RedisCommandBatcher(RedisClient redisClient, Vertx vertx, int maxBatchSize, Clock clock, Metrics metrics) {
+        this.redisClient = Objects.requireNonNull(redisClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.clock = Objects.requireNonNull(clock);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public Future<Response> submit(Request request) {
+        final Promise<Response> promise = Promise.promise();
+        queue.add(new PendingCommand(request, promise));
+
+        final int depth = queueSize.incrementAndGet();
+        metrics.updateModuleHistogram(MODULE_CODE, MetricName.queue_depth, depth);
+
+        if (depth >= maxBatchSize) {
+            flush();
+        } else {
+            scheduleFlush();
+        }
+
+        return promise.future();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            vertx.runOnContext(ignored -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void flush() {
+        final List<PendingCommand> batch = new ArrayList<>();
+        while (batch.size() < maxBatchSize) {
+            final PendingCommand command = queue.poll();
+            if (command == null) {
+                break;
+            }
+            batch.add(command);
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        queueSize.addAndGet(-batch.size());
+        metrics.updateModuleHistogram(MODULE_CODE, MetricName.pipeline_depth, batch.size());
+
+        final long startTime = clock.millis();
+        redisClient.batch(batch.stream().map(PendingCommand::request).toList())
+                .onComplete(result -> {
+                    metrics.updateModulePipelineTime(MODULE_CODE, clock.millis() - startTime);
+                    complete(batch, result);
+                });
+
+        if (!queue.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void complete(List<PendingCommand> batch, AsyncResult<List<Response>> result) {
+        if (result.failed()) {
+            batch.forEach(this::retry);
+            return;
+        }
+
+        final List<Response> responses = result.result();
+        final int responsesCount = responses != null ? responses.size() : 0;
+        if (responsesCount != batch.size()) {
+            final IllegalStateException error = new IllegalStateException(
+                    "Redis replied to batch of %d commands with %d replies".formatted(batch.size(), responsesCount));
+            batch.forEach(command -> command.promise().fail(error));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).promise().complete(responses.get(i));
+        }
+    }
+
+    private void retry(PendingCommand command) {
+        redisClient.send(command.request()).onComplete(command.promise());
+    }
+
+    private record PendingCommand(Request request, Promise<Response> promise) {
+    }
+}
@@ -0,0 +1,85 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.openrtb.response.Bid;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Short living local cache of scan results keyed by creative hash, so the same creative returned to
+ * many auctions is not sent to Redis on every one of them.
+ */
+public class ScanResultCache {
+
+    private final Cache<String, BidScanResult> cache;
+
+    public ScanResultCache(long ttlMs, long maxSize) {
+        cache = ttlMs > 0 && maxSize > 0
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxSize)
+                .build()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns cached scan result for the given bid with impression ID of this bid or null if result is absent.
+     */
+    public BidScanResult get(String bidder, Bid bid) {
+        final BidScanResult cached = cache != null ? cache.getIfPresent(creativeHash(bidder, bid)) : null;
+        if (cached == null) {
+            return null;
+        }
+
+        final BidScanResult result = new BidScanResult();
+        result.setTagKey(cached.getTagKey());
+        result.setImpId(bid.getImpid());
+        result.setRoSkipped(cached.isRoSkipped());
+        result.setIssues(cached.getIssues());
+        return result;
+    }
+
+    public void put(String bidder, Bid bid, BidScanResult result) {
+        if (cache != null && !result.isRoSkipped()) {
+            cache.put(creativeHash(bidder, bid), result);
+        }
+    }
+
+    static String creativeHash(String bidder, Bid bid) {
+        final MessageDigest digest = sha256();
+        update(digest, bidder);
+        update(digest, bid.getCrid());
+        update(digest, bid.getAdm());
+        update(digest, bid.getNurl());
+        for (String adomain : ListUtils.emptyIfNull(bid.getAdomain())) {
+            update(digest, adomain);
+        }
+
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(StringUtils.defaultString(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
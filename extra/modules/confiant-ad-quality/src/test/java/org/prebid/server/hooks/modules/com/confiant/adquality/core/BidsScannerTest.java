@@ -2,9 +2,12 @@ package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.Response;
@@ -18,12 +21,16 @@ import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.GroupByIssues;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidResponseData;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 
+import java.time.Clock;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.hooks.modules.com.confiant.adquality.util.AdQualityModuleTestUtils.getBidderResponse;
 
@@ -39,11 +46,17 @@ public class BidsScannerTest {
     @Mock
     private RedisAPI redisAPI;
 
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
     private BidsScanner bidsScannerTest;
 
     @BeforeEach
     public void setUp() {
-        bidsScannerTest = new BidsScanner(writeRedisNode, readRedisNode, "api-key", new ObjectMapper());
+        bidsScannerTest = givenBidsScanner(new ScanResultCache(0, 0));
     }
 
     @Test()
@@ -191,6 +204,7 @@ public class BidsScannerTest {
                         .build())).build();
         bidsScannerTest.enableScan();
         doReturn(redisAPI).when(readRedisNode).getRedisAPI();
+        doReturn(givenBatchResponse(redisResponse)).when(readRedisNode).batch(any());
 
         // when
         final Future<BidsScanResult> scanResult = bidsScannerTest.submitBids(bidsData);
@@ -223,6 +237,7 @@ public class BidsScannerTest {
                         .build())).build();
         bidsScannerTest.enableScan();
         doReturn(readRedisAPI).when(readRedisNode).getRedisAPI();
+        doReturn(givenBatchResponse(readRedisResponse)).when(readRedisNode).batch(any());
 
         final String writeRedisResponse = """
                 [[[{
@@ -236,6 +251,7 @@ public class BidsScannerTest {
                 }]]]""";
         final RedisAPI writeRedisAPI = getRedisEmulationWithAnswer(writeRedisResponse);
         doReturn(writeRedisAPI).when(writeRedisNode).getRedisAPI();
+        doReturn(givenBatchResponse(writeRedisResponse)).when(writeRedisNode).batch(any());
 
         // when
         final Future<BidsScanResult> scanResult = bidsScannerTest.submitBids(bidsData);
@@ -248,6 +264,84 @@ public class BidsScannerTest {
         assertThat(groupByIssues.getWithoutIssues().size()).isEqualTo(0);
     }
 
+    @Test()
+    public void shouldReuseCachedScanResultForTheSameCreative() {
+        // given
+        final String redisResponse = """
+                [[[{
+                    "tag_key": "key_a",
+                    "imp_id": "imp_a",
+                    "issues": [{
+                        "value": "ads.deceivenetworks.net",
+                        "spec_name": "malicious_domain",
+                        "first_adinstance": "e91e8da982bb8b7f80100426"
+                    }]
+                }]]]""";
+        final BidsScanner target = givenBidsScanner(new ScanResultCache(1000, 100));
+        target.enableScan();
+        doReturn(getRedisEmulationWithAnswer("hash")).when(readRedisNode).getRedisAPI();
+        doReturn(givenBatchResponse(redisResponse)).when(readRedisNode).batch(any());
+
+        // when
+        target.submitBids(givenBidsData("imp_a"));
+        final Future<BidsScanResult> scanResult = target.submitBids(givenBidsData("imp_b"));
+
+        // then
+        verify(readRedisNode, times(1)).batch(any());
+        verify(metrics).updateModuleCacheMetric("confiant-ad-quality", MetricName.hit);
+        assertThat(scanResult.result().getBidScanResults())
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getTagKey()).isEqualTo("key_a");
+                    assertThat(result.getImpId()).isEqualTo("imp_b");
+                    assertThat(result.getIssues()).hasSize(1);
+                });
+    }
+
+    private BidsScanner givenBidsScanner(ScanResultCache scanResultCache) {
+        return new BidsScanner(
+                writeRedisNode,
+                readRedisNode,
+                new RedisCommandBatcher(writeRedisNode, vertx, 1, Clock.systemUTC(), metrics),
+                new RedisCommandBatcher(readRedisNode, vertx, 1, Clock.systemUTC(), metrics),
+                scanResultCache,
+                "api-key",
+                new ObjectMapper(),
+                metrics);
+    }
+
+    private static RedisBidsData givenBidsData(String impId) {
+        return RedisBidsData.builder()
+                .breq(BidRequest.builder().build())
+                .bresps(List.of(RedisBidResponseData.builder()
+                        .dspId("dsp_id")
+                        .bidresponse(BidResponse.builder()
+                                .seatbid(List.of(SeatBid.builder()
+                                        .bid(List.of(Bid.builder().impid(impId).crid("crid").adm("adm").build()))
+                                        .build()))
+                                .build())
+                        .build()))
+                .build();
+    }
+
+    private static Future<List<Response>> givenBatchResponse(String answer) {
+        return Future.succeededFuture(List.of(givenResponse(answer)));
+    }
+
+    private static Response givenResponse(String answer) {
+        return new Response() {
+            @Override
+            public ResponseType type() {
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return answer;
+            }
+        };
+    }
+
     private RedisAPI getRedisEmulationWithAnswer(String sendAnswer) {
         return new RedisAPI() {
             @Override
@@ -256,17 +350,7 @@ public class BidsScannerTest {
 
             @Override
             public Future<Response> send(Command command, String... strings) {
-                return Future.succeededFuture(new Response() {
-                    @Override
-                    public ResponseType type() {
-                        return null;
-                    }
-
-                    @Override
-                    public String toString() {
-                        return sendAnswer;
-                    }
-                });
+                return Future.succeededFuture(givenResponse(sendAnswer));
             }
         };
     }
@@ -0,0 +1,142 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisCommandBatcherTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    private RedisCommandBatcher target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new RedisCommandBatcher(redisClient, vertx, 3, Clock.systemUTC(), metrics);
+    }
+
+    @Test
+    public void submitShouldSendCommandsSubmittedBeforeNextTickInOneBatch() {
+        // given
+        final Response firstResponse = mock(Response.class);
+        final Response secondResponse = mock(Response.class);
+        given(redisClient.batch(anyList())).willReturn(Future.succeededFuture(List.of(firstResponse, secondResponse)));
+
+        // when
+        final Future<Response> first = target.submit(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> second = target.submit(Request.cmd(Command.GET).arg("second"));
+        runScheduledFlush();
+
+        // then
+        final ArgumentCaptor<List<Request>> requestsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisClient).batch(requestsCaptor.capture());
+        assertThat(requestsCaptor.getValue()).hasSize(2);
+        assertThat(first.result()).isSameAs(firstResponse);
+        assertThat(second.result()).isSameAs(secondResponse);
+        verify(metrics).updateModuleHistogram("confiant-ad-quality", MetricName.pipeline_depth, 2L);
+        verify(metrics).updateModuleHistogram("confiant-ad-quality", MetricName.queue_depth, 2L);
+        verify(metrics).updateModulePipelineTime(eq("confiant-ad-quality"), anyLong());
+    }
+
+    @Test
+    public void submitShouldSendBatchWithoutWaitingForNextTickWhenMaxSizeReached() {
+        // given
+        given(redisClient.batch(anyList())).willReturn(Future.succeededFuture(List.of(
+                mock(Response.class), mock(Response.class), mock(Response.class))));
+
+        // when
+        target.submit(Request.cmd(Command.GET).arg("first"));
+        target.submit(Request.cmd(Command.GET).arg("second"));
+        final Future<Response> third = target.submit(Request.cmd(Command.GET).arg("third"));
+
+        // then
+        verify(redisClient).batch(anyList());
+        assertThat(third.succeeded()).isTrue();
+    }
+
+    @Test
+    public void submitShouldRetryEachCommandOfFailedBatchSeparately() {
+        // given
+        final Request firstRequest = Request.cmd(Command.GET).arg("first");
+        final Request secondRequest = Request.cmd(Command.GET).arg("second");
+        final Response secondResponse = mock(Response.class);
+        given(redisClient.batch(anyList())).willReturn(Future.failedFuture("batch failed"));
+        given(redisClient.send(firstRequest)).willReturn(Future.failedFuture("command failed"));
+        given(redisClient.send(secondRequest)).willReturn(Future.succeededFuture(secondResponse));
+
+        // when
+        final Future<Response> first = target.submit(firstRequest);
+        final Future<Response> second = target.submit(secondRequest);
+        runScheduledFlush();
+
+        // then
+        assertThat(first.failed()).isTrue();
+        assertThat(first.cause()).hasMessage("command failed");
+        assertThat(second.result()).isSameAs(secondResponse);
+    }
+
+    @Test
+    public void submitShouldFailAllCommandsWhenRepliesDoNotMatchCommands() {
+        // given
+        given(redisClient.batch(anyList())).willReturn(Future.succeededFuture(List.of(mock(Response.class))));
+
+        // when
+        final Future<Response> first = target.submit(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> second = target.submit(Request.cmd(Command.GET).arg("second"));
+        runScheduledFlush();
+
+        // then
+        assertThat(first.failed()).isTrue();
+        assertThat(first.cause()).hasMessage("Redis replied to batch of 2 commands with 1 replies");
+        assertThat(second.failed()).isTrue();
+        verify(redisClient, never()).send(any());
+    }
+
+    @Test
+    public void submitShouldNotSendAnythingUntilNextTick() {
+        // when
+        target.submit(Request.cmd(Command.GET).arg("first"));
+
+        // then
+        verify(redisClient, never()).batch(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runScheduledFlush() {
+        final ArgumentCaptor<Handler<Void>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).runOnContext(handlerCaptor.capture());
+        handlerCaptor.getValue().handle(null);
+    }
+}
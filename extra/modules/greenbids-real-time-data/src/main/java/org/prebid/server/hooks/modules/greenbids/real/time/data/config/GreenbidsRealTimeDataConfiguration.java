@@ -5,6 +5,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.blocking.BlockingExecutors;
 import org.prebid.server.geolocation.CountryCodeMapper;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
@@ -31,8 +32,12 @@ import java.util.concurrent.TimeUnit;
 public class GreenbidsRealTimeDataConfiguration {
 
     @Bean
-    DatabaseReaderFactory databaseReaderFactory(GreenbidsRealTimeDataProperties properties, Vertx vertx) {
-        return new DatabaseReaderFactory(properties, vertx);
+    DatabaseReaderFactory databaseReaderFactory(GreenbidsRealTimeDataProperties properties,
+                                                Vertx vertx,
+                                                BlockingExecutors blockingExecutors) {
+
+        return new DatabaseReaderFactory(
+                properties, vertx, blockingExecutors.forSubsystem(GreenbidsRealTimeDataModule.CODE));
     }
 
     @Bean
@@ -81,7 +86,7 @@ public class GreenbidsRealTimeDataConfiguration {
     @Bean
     ModelCache modelCache(
             GreenbidsRealTimeDataProperties properties,
-            Vertx vertx,
+            BlockingExecutors blockingExecutors,
             Storage storage,
             OnnxModelRunnerFactory onnxModelRunnerFactory) {
 
@@ -94,14 +99,14 @@ public class GreenbidsRealTimeDataConfiguration {
                 properties.getGcsBucketName(),
                 modelCacheWithExpiration,
                 properties.getOnnxModelCacheKeyPrefix(),
-                vertx,
+                blockingExecutors.forSubsystem(GreenbidsRealTimeDataModule.CODE),
                 onnxModelRunnerFactory);
     }
 
     @Bean
     ThresholdCache thresholdCache(
             GreenbidsRealTimeDataProperties properties,
-            Vertx vertx,
+            BlockingExecutors blockingExecutors,
             Storage storage,
             ThrottlingThresholdsFactory throttlingThresholdsFactory) {
 
@@ -115,7 +120,7 @@ public class GreenbidsRealTimeDataConfiguration {
                 ObjectMapperProvider.mapper(),
                 thresholdsCacheWithExpiration,
                 properties.getThresholdsCacheKeyPrefix(),
-                vertx,
+                blockingExecutors.forSubsystem(GreenbidsRealTimeDataModule.CODE),
                 throttlingThresholdsFactory);
     }
 
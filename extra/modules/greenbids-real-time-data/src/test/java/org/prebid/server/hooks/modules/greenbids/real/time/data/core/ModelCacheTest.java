@@ -14,8 +14,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.blocking.BlockingExecutor;
+import org.prebid.server.metric.Metrics;
 
 import java.lang.reflect.Field;
+import java.time.Clock;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,13 +59,24 @@ public class ModelCacheTest {
     @Mock
     private ModelCache target;
 
+    @Mock
+    private Metrics metrics;
+
     private Vertx vertx;
 
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
+        final BlockingExecutor blockingExecutor = new BlockingExecutor(
+                "greenbids-real-time-data",
+                Executors.newVirtualThreadPerTaskExecutor(),
+                1,
+                100,
+                vertx,
+                metrics,
+                Clock.systemUTC());
         target = new ModelCache(
-                storage, GCS_BUCKET_NAME, cache, MODEL_CACHE_KEY_PREFIX, vertx, onnxModelRunnerFactory);
+                storage, GCS_BUCKET_NAME, cache, MODEL_CACHE_KEY_PREFIX, blockingExecutor, onnxModelRunnerFactory);
     }
 
     @Test
@@ -13,12 +13,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.model.filter.ThrottlingThresholds;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequestProvider;
+import org.prebid.server.metric.Metrics;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,6 +59,9 @@ public class ThresholdCacheTest {
     @Mock(strictness = LENIENT)
     private ThrottlingThresholdsFactory throttlingThresholdsFactory;
 
+    @Mock
+    private Metrics metrics;
+
     private Vertx vertx;
 
     private ThresholdCache target;
@@ -62,13 +69,21 @@ public class ThresholdCacheTest {
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
+        final BlockingExecutor blockingExecutor = new BlockingExecutor(
+                "greenbids-real-time-data",
+                Executors.newVirtualThreadPerTaskExecutor(),
+                1,
+                100,
+                vertx,
+                metrics,
+                Clock.systemUTC());
         target = new ThresholdCache(
                 storage,
                 GCS_BUCKET_NAME,
                 TestBidRequestProvider.MAPPER,
                 cache,
                 THRESHOLD_CACHE_KEY_PREFIX,
-                vertx,
+                blockingExecutor,
                 throttlingThresholdsFactory);
     }
 
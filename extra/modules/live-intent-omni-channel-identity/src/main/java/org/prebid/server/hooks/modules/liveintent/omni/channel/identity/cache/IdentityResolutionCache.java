@@ -0,0 +1,129 @@
+package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of identity resolution responses.
+ * <p>
+ * Responses without resolved EIDs are cached as negative entries with their own (usually shorter) TTL.
+ * Entries older than TTL but still within the stale-while-revalidate window are returned as is, while
+ * the fresh response is requested in background. Concurrent loads for the same key share single remote call,
+ * while each caller gets its own future completed on the Vert.x context the caller was running on.
+ */
+public class IdentityResolutionCache {
+
+    private static final String MODULE_CODE = LiveIntentOmniChannelIdentityModule.CODE;
+
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final long staleWhileRevalidateMs;
+    private final Clock clock;
+    private final Metrics metrics;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Future<IdResResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdentityResolutionCache(LiveIntentOmniChannelProperties.CacheProperties properties,
+                                   Clock clock,
+                                   Metrics metrics) {
+
+        this.ttlMs = properties.getTtlMs();
+        this.negativeTtlMs = properties.getNegativeTtlMs();
+        this.staleWhileRevalidateMs = properties.getStaleWhileRevalidateMs();
+        this.clock = Objects.requireNonNull(clock);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMs, negativeTtlMs) + staleWhileRevalidateMs))
+                .build();
+    }
+
+    /**
+     * Returns cached response for the given key or requests it with the given loader.
+     */
+    public Future<IdResResponse> get(String key, Supplier<Future<IdResResponse>> loader) {
+        final CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            final long age = clock.millis() - cached.createdAt();
+            final long ttl = cached.isNegative() ? negativeTtlMs : ttlMs;
+
+            if (age < ttl) {
+                final MetricName event = cached.isNegative() ? MetricName.negative_hit : MetricName.hit;
+                metrics.updateModuleCacheMetric(MODULE_CODE, event);
+                return Future.succeededFuture(cached.response());
+            }
+
+            if (age < ttl + staleWhileRevalidateMs) {
+                metrics.updateModuleCacheMetric(MODULE_CODE, MetricName.stale);
+                load(key, loader);
+                return Future.succeededFuture(cached.response());
+            }
+        }
+
+        metrics.updateModuleCacheMetric(MODULE_CODE, MetricName.miss);
+
+        final Context context = Vertx.currentContext();
+        final Promise<IdResResponse> promise = Promise.promise();
+        load(key, loader).onComplete(result -> completeOnContext(context, promise, result));
+
+        return promise.future();
+    }
+
+    private static <T> void completeOnContext(Context context, Promise<T> promise, AsyncResult<T> result) {
+        if (context == null || context == Vertx.currentContext()) {
+            promise.handle(result);
+        } else {
+            context.runOnContext(ignored -> promise.handle(result));
+        }
+    }
+
+    private Future<IdResResponse> load(String key, Supplier<Future<IdResResponse>> loader) {
+        final Promise<IdResResponse> promise = Promise.promise();
+        final Future<IdResResponse> existing = inFlight.putIfAbsent(key, promise.future());
+        if (existing != null) {
+            metrics.updateModuleCacheMetric(MODULE_CODE, MetricName.deduplicated);
+            return existing;
+        }
+
+        final long startTime = clock.millis();
+        loader.get().onComplete(result -> {
+            final long now = clock.millis();
+            metrics.updateModuleCacheRequestTime(MODULE_CODE, now - startTime);
+            if (result.succeeded()) {
+                cache.put(key, new CachedResponse(result.result(), now));
+            }
+
+            inFlight.remove(key);
+            promise.handle(result);
+        });
+
+        return promise.future();
+    }
+
+    private record CachedResponse(IdResResponse response, long createdAt) {
+
+        boolean isNegative() {
+            return response == null || CollectionUtils.isEmpty(response.getEids());
+        }
+    }
+}
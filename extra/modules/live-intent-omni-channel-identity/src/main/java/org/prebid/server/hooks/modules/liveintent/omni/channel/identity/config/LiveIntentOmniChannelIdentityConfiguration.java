@@ -1,11 +1,13 @@
 package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.config;
 
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.cache.IdentityResolutionCache;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.hooks.LiveIntentOmniChannelIdentityProcessedAuctionRequestHook;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,6 +15,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
 import java.util.Collections;
 
 @Configuration
@@ -33,11 +36,24 @@ public class LiveIntentOmniChannelIdentityConfiguration {
                                                JacksonMapper mapper,
                                                UserFpdActivityMask userFpdActivityMask,
                                                HttpClient httpClient,
+                                               Clock clock,
+                                               Metrics metrics,
                                                @Value("${logging.sampling-rate:0.01}") double logSamplingRate) {
 
+        final LiveIntentOmniChannelProperties.CacheProperties cacheProperties =
+                liveIntentOmniChannelProperties.getCache();
+        final IdentityResolutionCache identityResolutionCache = cacheProperties != null && cacheProperties.isEnabled()
+                ? new IdentityResolutionCache(cacheProperties, clock, metrics)
+                : null;
+
         final LiveIntentOmniChannelIdentityProcessedAuctionRequestHook hook =
                 new LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(
-                        liveIntentOmniChannelProperties, userFpdActivityMask, mapper, httpClient, logSamplingRate);
+                        liveIntentOmniChannelProperties,
+                        userFpdActivityMask,
+                        mapper,
+                        httpClient,
+                        identityResolutionCache,
+                        logSamplingRate);
 
         return new LiveIntentOmniChannelIdentityModule(Collections.singleton(hook));
     }
@@ -16,4 +16,20 @@ public final class LiveIntentOmniChannelProperties {
     float treatmentRate;
 
     List<String> targetBidders;
+
+    CacheProperties cache;
+
+    @Data
+    public static final class CacheProperties {
+
+        boolean enabled;
+
+        long maxSize = 100_000;
+
+        long ttlMs = 300_000;
+
+        long negativeTtlMs = 60_000;
+
+        long staleWhileRevalidateMs;
+    }
 }
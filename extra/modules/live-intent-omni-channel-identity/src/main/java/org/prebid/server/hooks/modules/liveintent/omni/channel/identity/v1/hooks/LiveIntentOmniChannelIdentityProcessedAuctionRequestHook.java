@@ -1,14 +1,19 @@
 package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.hooks;
 
+import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
 import com.iab.openrtb.request.Eid;
+import com.iab.openrtb.request.Publisher;
+import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.Uid;
 import com.iab.openrtb.request.User;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
@@ -22,6 +27,7 @@ import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ResultImpl;
 import org.prebid.server.hooks.execution.v1.analytics.TagsImpl;
 import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.cache.IdentityResolutionCache;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
@@ -38,6 +44,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidData;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidDataEidPermissions;
+import org.prebid.server.settings.model.Account;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.util.ListUtil;
 import org.prebid.server.util.StreamUtil;
@@ -64,6 +71,7 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
     private final JacksonMapper mapper;
     private final HttpClient httpClient;
     private final UserFpdActivityMask userFpdActivityMask;
+    private final IdentityResolutionCache identityResolutionCache;
     private final double logSamplingRate;
     private final List<String> targetBidders;
 
@@ -71,12 +79,14 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
                                                                     UserFpdActivityMask userFpdActivityMask,
                                                                     JacksonMapper mapper,
                                                                     HttpClient httpClient,
+                                                                    IdentityResolutionCache identityResolutionCache,
                                                                     double logSamplingRate) {
 
         this.config = Objects.requireNonNull(config);
         HttpUtil.validateUrlSyntax(config.getIdentityResolutionEndpoint());
         this.mapper = Objects.requireNonNull(mapper);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.identityResolutionCache = identityResolutionCache;
         this.logSamplingRate = logSamplingRate;
         this.userFpdActivityMask = Objects.requireNonNull(userFpdActivityMask);
         this.targetBidders = ListUtils.emptyIfNull(config.getTargetBidders());
@@ -96,6 +106,16 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
 
     private Future<IdResResponse> requestIdentities(BidRequest bidRequest, AuctionContext auctionContext) {
         final BidRequest restrictedBidRequest = applyActivityRestrictions(bidRequest, auctionContext);
+        final String cacheKey = identityResolutionCache != null
+                ? cacheKey(restrictedBidRequest, accountId(auctionContext))
+                : null;
+
+        return cacheKey != null
+                ? identityResolutionCache.get(cacheKey, () -> resolveIdentities(restrictedBidRequest))
+                : resolveIdentities(restrictedBidRequest);
+    }
+
+    private Future<IdResResponse> resolveIdentities(BidRequest restrictedBidRequest) {
         return httpClient.post(
                         config.getIdentityResolutionEndpoint(),
                         headers(),
@@ -157,6 +177,71 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
         return source.toBuilder().tid(null).build();
     }
 
+    private static String accountId(AuctionContext auctionContext) {
+        final Account account = auctionContext.getAccount();
+        return account != null ? account.getId() : null;
+    }
+
+    /**
+     * Builds cache key from identifiers left in the request after activity restrictions are applied.
+     * Returns null if the request has no user identifiers, so such requests are never served from the cache:
+     * IP address alone is shared by users behind the same NAT. The whole request is sent for resolution, so the key
+     * also covers user agent, site or app, publisher and account the identities are resolved for.
+     */
+    private static String cacheKey(BidRequest bidRequest, String accountId) {
+        final StringBuilder key = new StringBuilder();
+
+        final User user = bidRequest.getUser();
+        if (user != null) {
+            appendIdentifier(key, "id", user.getId());
+            appendIdentifier(key, "buyeruid", user.getBuyeruid());
+            for (Eid eid : ListUtils.emptyIfNull(user.getEids())) {
+                for (Uid uid : ListUtils.emptyIfNull(eid.getUids())) {
+                    appendIdentifier(key, eid.getSource(), uid.getId());
+                }
+            }
+        }
+
+        final Device device = bidRequest.getDevice();
+        appendIdentifier(key, "ifa", device != null ? device.getIfa() : null);
+
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        if (device != null) {
+            appendIdentifier(key, "ip", device.getIp());
+            appendIdentifier(key, "ipv6", device.getIpv6());
+            appendIdentifier(key, "ua", device.getUa());
+        }
+
+        final Site site = bidRequest.getSite();
+        final App app = bidRequest.getApp();
+        if (site != null) {
+            appendIdentifier(key, "site", site.getId());
+            appendIdentifier(key, "domain", site.getDomain());
+            appendIdentifier(key, "publisher", publisherId(site.getPublisher()));
+        } else if (app != null) {
+            appendIdentifier(key, "app", app.getId());
+            appendIdentifier(key, "bundle", app.getBundle());
+            appendIdentifier(key, "publisher", publisherId(app.getPublisher()));
+        }
+
+        appendIdentifier(key, "account", accountId);
+
+        return key.toString();
+    }
+
+    private static String publisherId(Publisher publisher) {
+        return publisher != null ? publisher.getId() : null;
+    }
+
+    private static void appendIdentifier(StringBuilder key, String name, String value) {
+        if (StringUtils.isNotEmpty(value)) {
+            key.append(name).append('=').append(value).append('|');
+        }
+    }
+
     private MultiMap headers() {
         return MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.AUTHORIZATION_HEADER, "Bearer " + config.getAuthToken());
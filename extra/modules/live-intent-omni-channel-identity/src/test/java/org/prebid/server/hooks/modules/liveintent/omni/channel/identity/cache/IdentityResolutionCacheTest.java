@@ -0,0 +1,184 @@
+package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.cache;
+
+import com.iab.openrtb.request.Eid;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class IdentityResolutionCacheTest {
+
+    private static final String MODULE_CODE = "liveintent-omni-channel-identity";
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private Metrics metrics;
+
+    private IdentityResolutionCache target;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        final LiveIntentOmniChannelProperties.CacheProperties properties =
+                new LiveIntentOmniChannelProperties.CacheProperties();
+        properties.setEnabled(true);
+        properties.setMaxSize(100);
+        properties.setTtlMs(1000);
+        properties.setNegativeTtlMs(100);
+        properties.setStaleWhileRevalidateMs(500);
+
+        target = new IdentityResolutionCache(properties, clock, metrics);
+    }
+
+    @Test
+    public void getShouldReturnCachedResponseWithinTtl() {
+        // given
+        given(clock.millis()).willReturn(0L, 0L, 999L);
+        final IdResResponse response = givenResponse("source.com");
+
+        // when
+        target.get("key", loader(response));
+        final Future<IdResResponse> result = target.get("key", loader(givenResponse("other.com")));
+
+        // then
+        assertThat(result.result()).isSameAs(response);
+        assertThat(loads).hasValue(1);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.miss);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.hit);
+        verify(metrics).updateModuleCacheRequestTime(eq(MODULE_CODE), anyLong());
+    }
+
+    @Test
+    public void getShouldReloadNegativeResponseAfterNegativeTtlAndStaleWindow() {
+        // given
+        given(clock.millis()).willReturn(0L, 0L, 50L, 700L, 700L, 700L);
+        final IdResResponse resolved = givenResponse("source.com");
+
+        // when
+        target.get("key", loader(IdResResponse.of(List.of())));
+        final Future<IdResResponse> negativeHit = target.get("key", loader(resolved));
+        final Future<IdResResponse> result = target.get("key", loader(resolved));
+
+        // then
+        assertThat(negativeHit.result().getEids()).isEmpty();
+        assertThat(result.result()).isSameAs(resolved);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.negative_hit);
+    }
+
+    @Test
+    public void getShouldServeStaleResponseAndRevalidateInBackground() {
+        // given
+        given(clock.millis()).willReturn(0L, 0L, 1200L, 1200L, 1200L, 1300L);
+        final IdResResponse stale = givenResponse("source.com");
+        final IdResResponse fresh = givenResponse("other.com");
+
+        // when
+        target.get("key", loader(stale));
+        final Future<IdResResponse> staleResult = target.get("key", loader(fresh));
+        final Future<IdResResponse> freshResult = target.get("key", loader(givenResponse("third.com")));
+
+        // then
+        assertThat(staleResult.result()).isSameAs(stale);
+        assertThat(freshResult.result()).isSameAs(fresh);
+        assertThat(loads).hasValue(2);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.stale);
+    }
+
+    @Test
+    public void getShouldShareInFlightLoad() {
+        // given
+        final Promise<IdResResponse> promise = Promise.promise();
+        final IdResResponse response = givenResponse("source.com");
+
+        // when
+        final Future<IdResResponse> first = target.get("key", () -> promise.future());
+        final Future<IdResResponse> second = target.get("key", loader(givenResponse("other.com")));
+        promise.complete(response);
+
+        // then
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.result()).isSameAs(response);
+        assertThat(second.result()).isSameAs(response);
+        assertThat(loads).hasValue(0);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.deduplicated);
+    }
+
+    @Test
+    public void getShouldCompleteSharedLoadOnContextOfEachCaller() throws Exception {
+        // given
+        final Vertx vertx = Vertx.vertx();
+        try {
+            final Context callerContext = vertx.getOrCreateContext();
+            final Promise<IdResResponse> promise = Promise.promise();
+            final CompletableFuture<Context> callerCompletedOn = new CompletableFuture<>();
+            final CountDownLatch requested = new CountDownLatch(1);
+
+            callerContext.runOnContext(ignored -> {
+                target.get("key", () -> promise.future())
+                        .onComplete(result -> callerCompletedOn.complete(Vertx.currentContext()));
+                requested.countDown();
+            });
+            requested.await();
+
+            // when
+            final Future<IdResResponse> result = target.get("key", loader(givenResponse("other.com")));
+            promise.complete(givenResponse("source.com"));
+
+            // then
+            assertThat(result.succeeded()).isTrue();
+            assertThat(callerCompletedOn.get(1, TimeUnit.SECONDS)).isSameAs(callerContext);
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void getShouldNotCacheFailedLoad() {
+        // when
+        final Future<IdResResponse> failed = target.get("key", () -> Future.failedFuture("failed"));
+        final Future<IdResResponse> result = target.get("key", loader(givenResponse("source.com")));
+
+        // then
+        assertThat(failed.failed()).isTrue();
+        assertThat(result.succeeded()).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    private Supplier<Future<IdResResponse>> loader(IdResResponse response) {
+        return () -> {
+            loads.incrementAndGet();
+            return Future.succeededFuture(response);
+        };
+    }
+
+    private static IdResResponse givenResponse(String source) {
+        return IdResResponse.of(List.of(Eid.builder().source(source).build()));
+    }
+}
@@ -18,6 +18,7 @@ import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.cache.IdentityResolutionCache;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.hooks.LiveIntentOmniChannelIdentityProcessedAuctionRequestHook;
@@ -28,13 +29,18 @@ import org.prebid.server.hooks.v1.auction.AuctionInvocationContext;
 import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidData;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidDataEidPermissions;
+import org.prebid.server.settings.model.Account;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 
@@ -47,6 +53,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,6 +79,9 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHookTest {
     @Mock
     private AuctionContext auctionContext;
 
+    @Mock
+    private Metrics metrics;
+
     private LiveIntentOmniChannelIdentityProcessedAuctionRequestHook target;
 
     private List<String> configuredBidders;
@@ -86,7 +96,7 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHookTest {
         given(properties.getTargetBidders()).willReturn(configuredBidders);
 
         target = new LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(
-                properties, userFpdActivityMask, MAPPER, httpClient, 0.01d);
+                properties, userFpdActivityMask, MAPPER, httpClient, null, 0.01d);
     }
 
     @Test
@@ -94,7 +104,7 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHookTest {
         given(properties.getIdentityResolutionEndpoint()).willReturn("invalid_url");
         assertThatIllegalArgumentException().isThrownBy(() ->
                 new LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(
-                        properties, userFpdActivityMask, MAPPER, httpClient, 0.01d));
+                        properties, userFpdActivityMask, MAPPER, httpClient, null, 0.01d));
     }
 
     @Test
@@ -468,4 +478,98 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHookTest {
                 eq(MAPPER.encodeToString(givenBidRequest)),
                 eq(5L));
     }
+
+    @Test
+    public void callShouldServeIdentitiesOfTheSameUserFromCache() {
+        // given
+        final LiveIntentOmniChannelIdentityProcessedAuctionRequestHook cachingTarget = givenCachingTarget();
+        final BidRequest givenBidRequest = BidRequest.builder()
+                .user(User.builder().id("user").build())
+                .device(Device.builder().ip("1.1.1.1").ua("ua").build())
+                .build();
+        givenResolutionAllowed();
+        given(auctionContext.getAccount()).willReturn(Account.builder().id("account").build());
+
+        // when
+        cachingTarget.call(AuctionRequestPayloadImpl.of(givenBidRequest), auctionInvocationContext);
+        cachingTarget.call(AuctionRequestPayloadImpl.of(givenBidRequest), auctionInvocationContext);
+
+        // then
+        verify(httpClient).post(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void callShouldNotServeRequestsIdentifiedOnlyByIpFromCache() {
+        // given
+        final LiveIntentOmniChannelIdentityProcessedAuctionRequestHook cachingTarget = givenCachingTarget();
+        final BidRequest firstBidRequest = BidRequest.builder()
+                .device(Device.builder().ip("1.1.1.1").ua("ua1").build())
+                .build();
+        final BidRequest secondBidRequest = BidRequest.builder()
+                .device(Device.builder().ip("1.1.1.1").ua("ua2").build())
+                .build();
+        givenResolutionAllowed();
+
+        // when
+        cachingTarget.call(AuctionRequestPayloadImpl.of(firstBidRequest), auctionInvocationContext);
+        cachingTarget.call(AuctionRequestPayloadImpl.of(secondBidRequest), auctionInvocationContext);
+
+        // then
+        verify(httpClient).post(any(), any(), eq(MAPPER.encodeToString(firstBidRequest)), anyLong());
+        verify(httpClient).post(any(), any(), eq(MAPPER.encodeToString(secondBidRequest)), anyLong());
+    }
+
+    @Test
+    public void callShouldNotShareCachedIdentitiesBetweenAccounts() {
+        // given
+        final LiveIntentOmniChannelIdentityProcessedAuctionRequestHook cachingTarget = givenCachingTarget();
+        final BidRequest givenBidRequest = BidRequest.builder()
+                .user(User.builder().buyeruid("buyeruid").build())
+                .device(Device.builder().ip("1.1.1.1").ua("ua").build())
+                .build();
+        givenResolutionAllowed();
+        given(auctionContext.getAccount()).willReturn(
+                Account.builder().id("account1").build(),
+                Account.builder().id("account2").build());
+
+        // when
+        cachingTarget.call(AuctionRequestPayloadImpl.of(givenBidRequest), auctionInvocationContext);
+        cachingTarget.call(AuctionRequestPayloadImpl.of(givenBidRequest), auctionInvocationContext);
+
+        // then
+        verify(httpClient, times(2)).post(any(), any(), any(), anyLong());
+    }
+
+    private LiveIntentOmniChannelIdentityProcessedAuctionRequestHook givenCachingTarget() {
+        final LiveIntentOmniChannelProperties.CacheProperties cacheProperties =
+                new LiveIntentOmniChannelProperties.CacheProperties();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setMaxSize(100);
+        cacheProperties.setTtlMs(1000);
+        cacheProperties.setNegativeTtlMs(100);
+        cacheProperties.setStaleWhileRevalidateMs(500);
+
+        return new LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(
+                properties,
+                userFpdActivityMask,
+                MAPPER,
+                httpClient,
+                new IdentityResolutionCache(cacheProperties, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), metrics),
+                0.01d);
+    }
+
+    private void givenResolutionAllowed() {
+        final String responseBody = MAPPER.encodeToString(IdResResponse.of(List.of(
+                Eid.builder().source("liveintent.com").build())));
+        given(httpClient.post(any(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, responseBody)));
+
+        given(auctionInvocationContext.auctionContext()).willReturn(auctionContext);
+        given(auctionContext.getActivityInfrastructure()).willReturn(activityInfrastructure);
+        given(activityInfrastructure.isAllowed(any(), any())).willReturn(true);
+        given(userFpdActivityMask.maskUser(any(), eq(false), eq(false)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(userFpdActivityMask.maskDevice(any(), eq(false), eq(false)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+    }
 }
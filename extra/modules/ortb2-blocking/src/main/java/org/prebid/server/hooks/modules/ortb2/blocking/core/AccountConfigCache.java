@@ -0,0 +1,72 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link AccountConfigReader}s per account, so module configuration is resolved once per account
+ * configuration version instead of on every bidder request and response.
+ * <p>
+ * Account configuration instance itself serves as a version: cached readers are dropped as soon as
+ * configuration for the same account stops being equal to the one they were created for.
+ */
+public class AccountConfigCache {
+
+    private final Cache<String, CompiledAccountConfig> cache;
+
+    public AccountConfigCache(long maxSize) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public AccountConfigReader readerFor(String accountId,
+                                         ObjectNode config,
+                                         String bidder,
+                                         OrtbVersion ortbVersion,
+                                         boolean debugEnabled) {
+
+        if (config == null || StringUtils.isEmpty(accountId)) {
+            return AccountConfigReader.create(config, bidder, ortbVersion, debugEnabled);
+        }
+
+        final CompiledAccountConfig cached = cache.getIfPresent(accountId);
+        final CompiledAccountConfig compiledConfig = cached != null && cached.isCompiledFrom(config)
+                ? cached
+                : compile(accountId, config);
+
+        return compiledConfig.readers.computeIfAbsent(
+                new ReaderKey(bidder, ortbVersion, debugEnabled),
+                key -> AccountConfigReader.create(compiledConfig.config, bidder, ortbVersion, debugEnabled));
+    }
+
+    private CompiledAccountConfig compile(String accountId, ObjectNode config) {
+        final CompiledAccountConfig compiledConfig = new CompiledAccountConfig(config);
+        cache.put(accountId, compiledConfig);
+        return compiledConfig;
+    }
+
+    private static class CompiledAccountConfig {
+
+        private final ObjectNode config;
+
+        private final Map<ReaderKey, AccountConfigReader> readers = new ConcurrentHashMap<>();
+
+        CompiledAccountConfig(ObjectNode config) {
+            this.config = config;
+        }
+
+        boolean isCompiledFrom(ObjectNode actualConfig) {
+            return config == actualConfig || config.equals(actualConfig);
+        }
+    }
+
+    private record ReaderKey(String bidder, OrtbVersion ortbVersion, boolean debugEnabled) {
+    }
+}
@@ -2,6 +2,8 @@ package org.prebid.server.hooks.modules.ortb2.blocking.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import org.apache.commons.collections4.CollectionUtils;
@@ -29,9 +31,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Resolves module configuration for particular bidder.
+ * <p>
+ * Resolved values depend only on media types and deal id, so they are memoized per reader instance and reused
+ * when reader is shared through {@link AccountConfigCache}.
+ */
 public class AccountConfigReader {
 
     private static final String ATTRIBUTES_FIELD = "attributes";
@@ -69,16 +78,26 @@ public class AccountConfigReader {
     private static final String BANNER_MEDIA_TYPE = "banner";
     private static final String NATIVE_MEDIA_TYPE = "native";
 
+    private static final int MAX_RESPONSE_BLOCKING_CONFIGS = 1000;
+
     private final ObjectNode config;
     private final String bidder;
     private final OrtbVersion ortbVersion;
     private final boolean debugEnabled;
 
+    private final Map<BlockedAttributeKey, Result<?>> blockedAttributes;
+    private final Cache<ResponseBlockingConfigKey, Result<ResponseBlockingConfig>> responseBlockingConfigs;
+
     private AccountConfigReader(ObjectNode config, String bidder, OrtbVersion ortbVersion, boolean debugEnabled) {
         this.config = config;
         this.bidder = bidder;
         this.ortbVersion = ortbVersion;
         this.debugEnabled = debugEnabled;
+
+        blockedAttributes = new ConcurrentHashMap<>();
+        responseBlockingConfigs = Caffeine.newBuilder()
+                .maximumSize(MAX_RESPONSE_BLOCKING_CONFIGS)
+                .build();
     }
 
     public static AccountConfigReader create(ObjectNode config,
@@ -123,6 +142,13 @@ public class AccountConfigReader {
         final Set<String> bidMediaTypes = mediaTypesFrom(bidderBid);
         final String dealid = bidderBid.getBid().getDealid();
 
+        return responseBlockingConfigs.get(
+                new ResponseBlockingConfigKey(bidMediaTypes, dealid),
+                key -> responseBlockingConfigFor(bidMediaTypes, dealid));
+    }
+
+    private Result<ResponseBlockingConfig> responseBlockingConfigFor(Set<String> bidMediaTypes, String dealid) {
+
         final Result<BidAttributeBlockingConfig<String>> badv = blockingConfigForAttribute(
                 BADV_FIELD,
                 String.class,
@@ -181,11 +207,22 @@ public class AccountConfigReader {
         return Result.of(response, warnings);
     }
 
+    @SuppressWarnings("unchecked")
     private <T> Result<List<T>> blockedAttribute(String attribute,
                                                  Class<T> attributeType,
                                                  String fieldName,
                                                  Set<String> actualMediaTypes) {
 
+        return (Result<List<T>>) blockedAttributes.computeIfAbsent(
+                new BlockedAttributeKey(fieldName, actualMediaTypes),
+                key -> resolveBlockedAttribute(attribute, attributeType, fieldName, actualMediaTypes));
+    }
+
+    private <T> Result<List<T>> resolveBlockedAttribute(String attribute,
+                                                        Class<T> attributeType,
+                                                        String fieldName,
+                                                        Set<String> actualMediaTypes) {
+
         final JsonNode attributeConfig = attributeConfig(attribute);
         if (attributeConfig == null) {
             return Result.empty();
@@ -600,4 +637,10 @@ public class AccountConfigReader {
 
         return object;
     }
+
+    private record BlockedAttributeKey(String fieldName, Set<String> mediaTypes) {
+    }
+
+    private record ResponseBlockingConfigKey(Set<String> mediaTypes, String dealid) {
+    }
 }
@@ -23,8 +23,10 @@ import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -48,23 +50,31 @@ public class BidsBlocker {
     private final List<BidderBid> bids;
     private final String bidder;
     private final OrtbVersion ortbVersion;
-    private final ObjectNode accountConfig;
+    private final AccountConfigReader accountConfigReader;
     private final BlockedAttributes blockedAttributes;
     private final boolean debugEnabled;
 
+    private final Set<String> blockedBadv;
+    private final Set<String> blockedBcat;
+    private final Set<String> blockedBapp;
+
     private BidsBlocker(List<BidderBid> bids,
                         String bidder,
                         OrtbVersion ortbVersion,
-                        ObjectNode accountConfig,
+                        AccountConfigReader accountConfigReader,
                         BlockedAttributes blockedAttributes,
                         boolean debugEnabled) {
 
         this.bids = bids;
         this.bidder = bidder;
         this.ortbVersion = ortbVersion;
-        this.accountConfig = accountConfig;
+        this.accountConfigReader = accountConfigReader;
         this.blockedAttributes = blockedAttributes;
         this.debugEnabled = debugEnabled;
+
+        blockedBadv = toSet(blockedAttributeValues(BlockedAttributes::getBadv));
+        blockedBcat = toSet(blockedAttributeValues(BlockedAttributes::getBcat));
+        blockedBapp = toSet(blockedAttributeValues(BlockedAttributes::getBapp));
     }
 
     public static BidsBlocker create(List<BidderBid> bids,
@@ -74,22 +84,43 @@ public class BidsBlocker {
                                      BlockedAttributes blockedAttributes,
                                      boolean debugEnabled) {
 
+        return create(
+                bids,
+                bidder,
+                ortbVersion,
+                AccountConfigReader.create(
+                        accountConfig,
+                        Objects.requireNonNull(bidder),
+                        Objects.requireNonNull(ortbVersion),
+                        debugEnabled),
+                blockedAttributes,
+                debugEnabled);
+    }
+
+    public static BidsBlocker create(List<BidderBid> bids,
+                                     String bidder,
+                                     OrtbVersion ortbVersion,
+                                     AccountConfigReader accountConfigReader,
+                                     BlockedAttributes blockedAttributes,
+                                     boolean debugEnabled) {
+
         return new BidsBlocker(
                 Objects.requireNonNull(bids),
                 Objects.requireNonNull(bidder),
                 Objects.requireNonNull(ortbVersion),
-                accountConfig,
+                Objects.requireNonNull(accountConfigReader),
                 blockedAttributes,
                 debugEnabled);
     }
 
-    public ExecutionResult<BlockedBids> block() {
-        final AccountConfigReader accountConfigReader = AccountConfigReader.create(
-                accountConfig, bidder, ortbVersion, debugEnabled);
+    private static <T> Set<T> toSet(Collection<T> values) {
+        return CollectionUtils.isNotEmpty(values) ? new HashSet<>(values) : Collections.emptySet();
+    }
 
+    public ExecutionResult<BlockedBids> block() {
         try {
             final List<Result<BlockingResult>> blockedBidResults = bids.stream()
-                    .map(bid -> isBlocked(bid, accountConfigReader))
+                    .map(this::isBlocked)
                     .toList();
 
             final Set<Integer> blockedBidIndexes = IntStream.range(0, bids.size())
@@ -118,7 +149,7 @@ public class BidsBlocker {
         }
     }
 
-    private Result<BlockingResult> isBlocked(BidderBid bidderBid, AccountConfigReader accountConfigReader) {
+    private Result<BlockingResult> isBlocked(BidderBid bidderBid) {
         final Result<ResponseBlockingConfig> blockingConfigResult = accountConfigReader
                 .responseBlockingConfigFor(bidderBid);
         final ResponseBlockingConfig blockingConfig = blockingConfigResult.getValue();
@@ -138,14 +169,14 @@ public class BidsBlocker {
         return checkAttribute(
                 bidderBid.getBid().getAdomain(),
                 blockingConfig.getBadv(),
-                blockedAttributeValues(BlockedAttributes::getBadv));
+                blockedBadv);
     }
 
     private AttributeCheckResult<String> checkBcat(BidderBid bidderBid, ResponseBlockingConfig blockingConfig) {
         return checkAttribute(
                 bidderBid.getBid().getCat(),
                 blockingConfig.getBcat(),
-                blockedAttributeValues(BlockedAttributes::getBcat));
+                blockedBcat);
     }
 
     private AttributeCheckResult<Integer> checkCattax(BidderBid bidderBid, ResponseBlockingConfig blockingConfig) {
@@ -166,7 +197,7 @@ public class BidsBlocker {
         return checkAttribute(
                 bidderBid.getBid().getBundle(),
                 blockingConfig.getBapp(),
-                blockedAttributeValues(BlockedAttributes::getBapp));
+                blockedBapp);
     }
 
     private AttributeCheckResult<Integer> checkBattr(BidderBid bidderBid, ResponseBlockingConfig blockingConfig) {
@@ -198,7 +229,7 @@ public class BidsBlocker {
 
     private <T> AttributeCheckResult<T> checkAttribute(List<T> attribute,
                                                        BidAttributeBlockingConfig<T> blockingConfig,
-                                                       List<T> blockedAttributeValues) {
+                                                       Collection<T> blockedAttributeValues) {
 
         if (blockingConfig == null || !blockingConfig.isEnforceBlocks()) {
             return AttributeCheckResult.succeeded();
@@ -226,7 +257,7 @@ public class BidsBlocker {
 
     private AttributeCheckResult<String> checkAttribute(String attribute,
                                                         BidAttributeBlockingConfig<String> blockingConfig,
-                                                        List<String> blockedAttributeValues) {
+                                                        Collection<String> blockedAttributeValues) {
 
         if (blockingConfig == null
                 || !blockingConfig.isEnforceBlocks()
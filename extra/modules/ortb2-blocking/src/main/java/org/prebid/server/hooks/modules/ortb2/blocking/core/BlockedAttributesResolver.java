@@ -13,21 +13,15 @@ import java.util.Objects;
 public class BlockedAttributesResolver {
 
     private final BidRequest bidRequest;
-    private final String bidder;
-    private final OrtbVersion ortbVersion;
-    private final ObjectNode accountConfig;
+    private final AccountConfigReader accountConfigReader;
     private final boolean debugEnabled;
 
     private BlockedAttributesResolver(BidRequest bidRequest,
-                                      String bidder,
-                                      OrtbVersion ortbVersion,
-                                      ObjectNode accountConfig,
+                                      AccountConfigReader accountConfigReader,
                                       boolean debugEnabled) {
 
         this.bidRequest = bidRequest;
-        this.bidder = bidder;
-        this.ortbVersion = ortbVersion;
-        this.accountConfig = accountConfig;
+        this.accountConfigReader = accountConfigReader;
         this.debugEnabled = debugEnabled;
     }
 
@@ -37,18 +31,27 @@ public class BlockedAttributesResolver {
                                                    ObjectNode accountConfig,
                                                    boolean debugEnabled) {
 
+        return create(
+                bidRequest,
+                AccountConfigReader.create(
+                        accountConfig,
+                        Objects.requireNonNull(bidder),
+                        Objects.requireNonNull(ortbVersion),
+                        debugEnabled),
+                debugEnabled);
+    }
+
+    public static BlockedAttributesResolver create(BidRequest bidRequest,
+                                                   AccountConfigReader accountConfigReader,
+                                                   boolean debugEnabled) {
+
         return new BlockedAttributesResolver(
                 Objects.requireNonNull(bidRequest),
-                Objects.requireNonNull(bidder),
-                Objects.requireNonNull(ortbVersion),
-                accountConfig,
+                Objects.requireNonNull(accountConfigReader),
                 debugEnabled);
     }
 
     public ExecutionResult<BlockedAttributes> resolve() {
-        final AccountConfigReader accountConfigReader = AccountConfigReader.create(
-                accountConfig, bidder, ortbVersion, debugEnabled);
-
         try {
             final Result<BlockedAttributes> blockedAttributesResult = accountConfigReader
                     .blockedAttributesFor(bidRequest);
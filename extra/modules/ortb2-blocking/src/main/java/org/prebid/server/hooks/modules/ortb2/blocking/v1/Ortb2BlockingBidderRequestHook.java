@@ -3,10 +3,12 @@ package org.prebid.server.hooks.modules.ortb2.blocking.v1;
 import com.iab.openrtb.request.BidRequest;
 import io.vertx.core.Future;
 import org.prebid.server.auction.aliases.BidderAliases;
+import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.hooks.execution.v1.InvocationResultImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
+import org.prebid.server.hooks.modules.ortb2.blocking.core.AccountConfigCache;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.BlockedAttributesResolver;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.RequestUpdater;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BlockedAttributes;
@@ -20,6 +22,7 @@ import org.prebid.server.hooks.v1.bidder.BidderRequestHook;
 import org.prebid.server.hooks.v1.bidder.BidderRequestPayload;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.prebid.server.settings.model.Account;
 
 import java.util.Map;
 import java.util.Objects;
@@ -29,9 +32,11 @@ public class Ortb2BlockingBidderRequestHook implements BidderRequestHook {
     private static final String CODE = "ortb2-blocking-bidder-request";
 
     private final BidderCatalog bidderCatalog;
+    private final AccountConfigCache accountConfigCache;
 
-    public Ortb2BlockingBidderRequestHook(BidderCatalog bidderCatalog) {
+    public Ortb2BlockingBidderRequestHook(BidderCatalog bidderCatalog, AccountConfigCache accountConfigCache) {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
+        this.accountConfigCache = Objects.requireNonNull(accountConfigCache);
     }
 
     @Override
@@ -48,9 +53,12 @@ public class Ortb2BlockingBidderRequestHook implements BidderRequestHook {
         final ExecutionResult<BlockedAttributes> blockedAttributesResult = BlockedAttributesResolver
                 .create(
                         bidRequest,
-                        bidder,
-                        moduleContext.ortbVersionOf(bidder),
-                        invocationContext.accountConfig(),
+                        accountConfigCache.readerFor(
+                                accountId(invocationContext),
+                                invocationContext.accountConfig(),
+                                bidder,
+                                Objects.requireNonNull(moduleContext.ortbVersionOf(bidder)),
+                                invocationContext.debugEnabled()),
                         invocationContext.debugEnabled())
                 .resolve();
 
@@ -86,6 +94,12 @@ public class Ortb2BlockingBidderRequestHook implements BidderRequestHook {
                 : ModuleContext.create();
     }
 
+    private static String accountId(BidderInvocationContext invocationContext) {
+        final AuctionContext auctionContext = invocationContext.auctionContext();
+        final Account account = auctionContext != null ? auctionContext.getAccount() : null;
+        return account != null ? account.getId() : null;
+    }
+
     private BidderAliases aliases(BidRequest bidRequest) {
         final ExtRequest requestExt = bidRequest.getExt();
         final ExtRequestPrebid prebid = requestExt != null ? requestExt.getPrebid() : null;
@@ -0,0 +1,93 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountConfigCacheTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AccountConfigCache target = new AccountConfigCache(100);
+
+    @Test
+    public void readerForShouldReturnSameReaderForSameAccountConfig() {
+        // given
+        final ObjectNode accountConfig = givenAccountConfig("domain1.com");
+
+        // when
+        final AccountConfigReader first = target.readerFor(
+                "accountId", accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+        final AccountConfigReader second = target.readerFor(
+                "accountId", accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void readerForShouldReturnSameReaderForEqualAccountConfig() {
+        // when
+        final AccountConfigReader first = target.readerFor(
+                "accountId", givenAccountConfig("domain1.com"), "bidder1", OrtbVersion.ORTB_2_5, false);
+        final AccountConfigReader second = target.readerFor(
+                "accountId", givenAccountConfig("domain1.com"), "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void readerForShouldReturnNewReaderWhenAccountConfigChanged() {
+        // when
+        final AccountConfigReader first = target.readerFor(
+                "accountId", givenAccountConfig("domain1.com"), "bidder1", OrtbVersion.ORTB_2_5, false);
+        final AccountConfigReader second = target.readerFor(
+                "accountId", givenAccountConfig("domain2.com"), "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(first).isNotSameAs(second);
+    }
+
+    @Test
+    public void readerForShouldReturnDifferentReadersForDifferentBidders() {
+        // given
+        final ObjectNode accountConfig = givenAccountConfig("domain1.com");
+
+        // when
+        final AccountConfigReader first = target.readerFor(
+                "accountId", accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+        final AccountConfigReader second = target.readerFor(
+                "accountId", accountConfig, "bidder2", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(first).isNotSameAs(second);
+    }
+
+    @Test
+    public void readerForShouldNotCacheReaderWhenAccountIdIsAbsent() {
+        // given
+        final ObjectNode accountConfig = givenAccountConfig("domain1.com");
+
+        // when
+        final AccountConfigReader first = target.readerFor(
+                null, accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+        final AccountConfigReader second = target.readerFor(
+                null, accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(first).isNotSameAs(second);
+    }
+
+    private static ObjectNode givenAccountConfig(String blockedDomain) {
+        final ObjectNode accountConfig = MAPPER.createObjectNode();
+        accountConfig.putObject("attributes")
+                .putObject("badv")
+                .putArray("blocked-adomain")
+                .add(blockedDomain);
+        return accountConfig;
+    }
+}
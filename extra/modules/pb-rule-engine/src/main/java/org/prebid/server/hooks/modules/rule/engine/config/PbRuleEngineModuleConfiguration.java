@@ -1,8 +1,8 @@
 package org.prebid.server.hooks.modules.rule.engine.config;
 
 import com.iab.openrtb.request.BidRequest;
-import io.vertx.core.Vertx;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.execution.blocking.BlockingExecutors;
 import org.prebid.server.execution.retry.ExponentialBackoffRetryPolicy;
 import org.prebid.server.hooks.execution.model.Stage;
 import org.prebid.server.hooks.modules.rule.engine.core.config.AccountConfigParser;
@@ -13,6 +13,7 @@ import org.prebid.server.hooks.modules.rule.engine.core.request.RequestRuleConte
 import org.prebid.server.hooks.modules.rule.engine.core.request.RequestStageSpecification;
 import org.prebid.server.hooks.modules.rule.engine.v1.PbRuleEngineModule;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.Metrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -35,14 +36,16 @@ public class PbRuleEngineModuleConfiguration {
 
     @Bean
     StageConfigParser<BidRequest, RequestRuleContext> processedAuctionRequestStageParser(
-            BidderCatalog bidderCatalog) {
+            BidderCatalog bidderCatalog,
+            Metrics metrics) {
 
         final RandomGenerator randomGenerator = () -> ThreadLocalRandom.current().nextLong();
 
         return new StageConfigParser<>(
                 randomGenerator,
                 Stage.processed_auction_request,
-                new RequestStageSpecification(ObjectMapperProvider.mapper(), bidderCatalog, randomGenerator),
+                new RequestStageSpecification(
+                        ObjectMapperProvider.mapper(), bidderCatalog, randomGenerator, metrics),
                 new RequestConditionalRuleFactory());
     }
 
@@ -62,7 +65,7 @@ public class PbRuleEngineModuleConfiguration {
             @Value("${hooks.pb-rule-engine.rule-parsing.retry-exponential-factor}") double factor,
             @Value("${hooks.pb-rule-engine.rule-parsing.retry-exponential-jitter}") double jitter,
             AccountConfigParser accountConfigParser,
-            Vertx vertx,
+            BlockingExecutors blockingExecutors,
             Clock clock) {
 
         return new RuleParser(
@@ -70,7 +73,7 @@ public class PbRuleEngineModuleConfiguration {
                 cacheMaxSize,
                 ExponentialBackoffRetryPolicy.of(delay, maxDelay, factor, jitter),
                 accountConfigParser,
-                vertx,
+                blockingExecutors.forSubsystem(PbRuleEngineModule.CODE),
                 clock);
     }
 }
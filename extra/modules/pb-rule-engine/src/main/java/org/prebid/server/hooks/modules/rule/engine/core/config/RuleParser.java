@@ -4,8 +4,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vertx.core.Future;
-import io.vertx.core.Vertx;
 import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.retry.RetryPolicy;
 import org.prebid.server.execution.retry.Retryable;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.PerStageRule;
@@ -26,7 +26,7 @@ public class RuleParser {
     private static final Logger logger = LoggerFactory.getLogger(RuleParser.class);
 
     private final AccountConfigParser parser;
-    private final Vertx vertx;
+    private final BlockingExecutor blockingExecutor;
     private final Clock clock;
 
     private final RetryPolicy retryPolicy;
@@ -38,11 +38,11 @@ public class RuleParser {
                       long cacheMaxSize,
                       RetryPolicy retryPolicy,
                       AccountConfigParser parser,
-                      Vertx vertx,
+                      BlockingExecutor blockingExecutor,
                       Clock clock) {
 
         this.parser = Objects.requireNonNull(parser);
-        this.vertx = Objects.requireNonNull(vertx);
+        this.blockingExecutor = Objects.requireNonNull(blockingExecutor);
         this.clock = Objects.requireNonNull(clock);
         this.retryPolicy = Objects.requireNonNull(retryPolicy);
 
@@ -91,7 +91,7 @@ public class RuleParser {
         // reference equality used on purpose - if references are equal - then we should parse
         if (attempt.timestamp() == now) {
             logger.debug("Parsing rule for account {}", accountId);
-            vertx.executeBlocking(() -> parser.parse(config))
+            blockingExecutor.execute(() -> parser.parse(config))
                     .onSuccess(result -> succeedParsingAttempt(accountId, result))
                     .onFailure(error -> failParsingAttempt(accountId, attempt, error));
         }
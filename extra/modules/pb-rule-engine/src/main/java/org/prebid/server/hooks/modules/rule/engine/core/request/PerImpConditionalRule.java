@@ -34,6 +34,7 @@ public class PerImpConditionalRule implements Rule<BidRequest, RequestRuleContex
         return RequestRuleContext.of(
                 context.getAuctionContext(),
                 new Granularity.Imp(imp.getId()),
-                context.getDatacenter());
+                context.getDatacenter(),
+                context.getSchemaFunctionResults());
     }
 }
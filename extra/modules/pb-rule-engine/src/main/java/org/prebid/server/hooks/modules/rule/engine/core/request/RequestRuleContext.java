@@ -1,9 +1,13 @@
 package org.prebid.server.hooks.modules.rule.engine.core.request;
 
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 import org.prebid.server.auction.model.AuctionContext;
 
-@Value(staticConstructor = "of")
+@Value
+@AllArgsConstructor(staticName = "of")
 public class RequestRuleContext {
 
     AuctionContext auctionContext;
@@ -11,4 +15,12 @@ public class RequestRuleContext {
     Granularity granularity;
 
     String datacenter;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    SchemaFunctionResults schemaFunctionResults;
+
+    public static RequestRuleContext of(AuctionContext auctionContext, Granularity granularity, String datacenter) {
+        return of(auctionContext, granularity, datacenter, new SchemaFunctionResults());
+    }
 }
@@ -6,6 +6,7 @@ import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.hooks.modules.rule.engine.core.request.result.functions.filter.ExcludeBiddersFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.request.result.functions.filter.IncludeBiddersFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.request.result.functions.log.LogATagFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.request.schema.MemoizedSchemaFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.AdUnitCodeFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.AdUnitCodeInFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.BundleFunction;
@@ -34,6 +35,7 @@ import org.prebid.server.hooks.modules.rule.engine.core.rules.exception.InvalidS
 import org.prebid.server.hooks.modules.rule.engine.core.rules.result.ResultFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.functions.PercentFunction;
+import org.prebid.server.metric.Metrics;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -50,7 +52,8 @@ public class RequestStageSpecification implements StageSpecification<BidRequest,
 
     public RequestStageSpecification(ObjectMapper mapper,
                                      BidderCatalog bidderCatalog,
-                                     RandomGenerator random) {
+                                     RandomGenerator random,
+                                     Metrics metrics) {
 
         schemaFunctions = new HashMap<>();
         schemaFunctions.put(AdUnitCodeFunction.NAME, new AdUnitCodeFunction());
@@ -72,10 +75,14 @@ public class RequestStageSpecification implements StageSpecification<BidRequest,
         schemaFunctions.put(GppSidAvailableFunction.NAME, new GppSidAvailableFunction());
         schemaFunctions.put(GppSidInFunction.NAME, new GppSidInFunction());
         schemaFunctions.put(MediaTypeInFunction.NAME, new MediaTypeInFunction());
-        schemaFunctions.put(PercentFunction.NAME, new PercentFunction<>(random));
         schemaFunctions.put(PrebidKeyFunction.NAME, new PrebidKeyFunction());
         schemaFunctions.put(TcfInScopeFunction.NAME, new TcfInScopeFunction());
         schemaFunctions.put(UserFpdAvailableFunction.NAME, new UserFpdAvailableFunction());
+        schemaFunctions.replaceAll((name, function) ->
+                new MemoizedSchemaFunction(name, function, PER_IMP_SCHEMA_FUNCTIONS.contains(name), metrics));
+
+        // random result must be drawn for every rule set, so it is never shared
+        schemaFunctions.put(PercentFunction.NAME, new PercentFunction<>(random));
 
         resultFunctions = Map.of(
                 IncludeBiddersFunction.NAME, new IncludeBiddersFunction(mapper, bidderCatalog),
@@ -0,0 +1,42 @@
+package org.prebid.server.hooks.modules.rule.engine.core.request;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Results of schema functions evaluated while processing single request, shared by all rule sets and rules
+ * of the request. Request level results are kept once per request, imp level ones - once per imp.
+ * <p>
+ * Not thread-safe: rules of the request are processed sequentially.
+ */
+public class SchemaFunctionResults {
+
+    private final Map<Key, String> results = new HashMap<>();
+
+    /**
+     * Returns result of function with given config for given granularity, evaluating it if not evaluated yet.
+     * Tells whether the result was reused to the given listener.
+     */
+    public String computeIfAbsent(String function,
+                                  ObjectNode config,
+                                  Granularity granularity,
+                                  Supplier<String> evaluator,
+                                  Runnable onReuse) {
+
+        final Key key = new Key(function, config, granularity);
+        if (results.containsKey(key)) {
+            onReuse.run();
+            return results.get(key);
+        }
+
+        final String result = evaluator.get();
+        results.put(key, result);
+        return result;
+    }
+
+    private record Key(String function, ObjectNode config, Granularity granularity) {
+    }
+}
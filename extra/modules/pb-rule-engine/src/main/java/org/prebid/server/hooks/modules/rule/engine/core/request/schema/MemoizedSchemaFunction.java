@@ -0,0 +1,65 @@
+package org.prebid.server.hooks.modules.rule.engine.core.request.schema;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.hooks.modules.rule.engine.core.request.Granularity;
+import org.prebid.server.hooks.modules.rule.engine.core.request.RequestRuleContext;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunctionArguments;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+
+/**
+ * Evaluates deterministic schema function once per request (or once per imp for imp level function) and shares
+ * the result through {@link RequestRuleContext}, so rule sets using the same function don't extract the same
+ * value from the request again.
+ * <p>
+ * Schema functions read only request fields not changed by result functions, so the result stays valid
+ * after the request is updated by previous rules.
+ */
+public class MemoizedSchemaFunction implements SchemaFunction<BidRequest, RequestRuleContext> {
+
+    private static final String MODULE_CODE = "pb-rule-engine";
+
+    private final String name;
+    private final SchemaFunction<BidRequest, RequestRuleContext> delegate;
+    private final boolean perImp;
+    private final Metrics metrics;
+
+    public MemoizedSchemaFunction(String name,
+                                  SchemaFunction<BidRequest, RequestRuleContext> delegate,
+                                  boolean perImp,
+                                  Metrics metrics) {
+
+        this.name = Objects.requireNonNull(name);
+        this.delegate = Objects.requireNonNull(delegate);
+        this.perImp = perImp;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public String extract(SchemaFunctionArguments<BidRequest, RequestRuleContext> arguments) {
+        final RequestRuleContext context = arguments.getContext();
+        final Granularity granularity = perImp ? context.getGranularity() : Granularity.Request.instance();
+
+        return context.getSchemaFunctionResults().computeIfAbsent(
+                name,
+                arguments.getConfig(),
+                granularity,
+                () -> evaluate(arguments),
+                () -> metrics.updateModuleFunctionReusedMetric(MODULE_CODE, name));
+    }
+
+    private String evaluate(SchemaFunctionArguments<BidRequest, RequestRuleContext> arguments) {
+        final long startTime = System.nanoTime();
+        final String result = delegate.extract(arguments);
+        metrics.updateModuleFunctionEvaluationTime(MODULE_CODE, name, System.nanoTime() - startTime);
+        return result;
+    }
+
+    @Override
+    public void validateConfig(ObjectNode config) {
+        delegate.validateConfig(config);
+    }
+}
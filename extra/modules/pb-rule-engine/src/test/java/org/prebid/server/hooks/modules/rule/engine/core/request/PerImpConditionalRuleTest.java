@@ -5,6 +5,7 @@ import com.iab.openrtb.request.Imp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.auction.model.AuctionContext;
@@ -24,8 +25,11 @@ import java.util.List;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class PerImpConditionalRuleTest {
@@ -92,4 +96,29 @@ public class PerImpConditionalRuleTest {
                         TagsImpl.of(ListUtil.union(firstActivities, secondActivities)),
                         ListUtil.union(firstSeatNonBids, secondSeatNonBids)));
     }
+
+    @Test
+    public void processShouldShareSchemaFunctionResultsOfRequestWithImpContexts() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(List.of(Imp.builder().id("1").build(), Imp.builder().id("2").build()))
+                .build();
+
+        given(conditionalRule.process(any(), any())).willReturn(RuleResult.noAction(bidRequest));
+
+        final RequestRuleContext requestContext = RequestRuleContext.of(
+                AuctionContext.builder().build(),
+                Granularity.Request.instance(),
+                null);
+
+        // when
+        target.process(bidRequest, requestContext);
+
+        // then
+        final ArgumentCaptor<RequestRuleContext> contextCaptor = ArgumentCaptor.forClass(RequestRuleContext.class);
+        verify(conditionalRule, times(2)).process(any(), contextCaptor.capture());
+        assertThat(contextCaptor.getAllValues())
+                .extracting(RequestRuleContext::getSchemaFunctionResults)
+                .containsOnly(requestContext.getSchemaFunctionResults());
+    }
 }
@@ -0,0 +1,152 @@
+package org.prebid.server.hooks.modules.rule.engine.core.request.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.BidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.hooks.modules.rule.engine.core.request.Granularity;
+import org.prebid.server.hooks.modules.rule.engine.core.request.RequestRuleContext;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunctionArguments;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class MemoizedSchemaFunctionTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private SchemaFunction<BidRequest, RequestRuleContext> delegate;
+
+    @Mock
+    private Metrics metrics;
+
+    private final BidRequest bidRequest = BidRequest.builder().build();
+
+    private RequestRuleContext requestContext;
+
+    @BeforeEach
+    public void setUp() {
+        requestContext = RequestRuleContext.of(AuctionContext.builder().build(), Granularity.Request.instance(), null);
+    }
+
+    @Test
+    public void extractShouldEvaluateRequestLevelFunctionOncePerRequest() {
+        // given
+        final MemoizedSchemaFunction target = new MemoizedSchemaFunction("domain", delegate, false, metrics);
+        given(delegate.extract(any())).willReturn("domain.com");
+
+        // when
+        final String requestResult = target.extract(arguments(null, requestContext));
+        final String firstImpResult = target.extract(arguments(null, impContext("1")));
+        final String secondImpResult = target.extract(arguments(null, impContext("2")));
+
+        // then
+        assertThat(requestResult).isEqualTo("domain.com");
+        assertThat(firstImpResult).isEqualTo("domain.com");
+        assertThat(secondImpResult).isEqualTo("domain.com");
+        verify(delegate).extract(any());
+        verify(metrics).updateModuleFunctionEvaluationTime(eq("pb-rule-engine"), eq("domain"), anyLong());
+        verify(metrics, times(2)).updateModuleFunctionReusedMetric("pb-rule-engine", "domain");
+    }
+
+    @Test
+    public void extractShouldEvaluateImpLevelFunctionOncePerImp() {
+        // given
+        final MemoizedSchemaFunction target = new MemoizedSchemaFunction("adUnitCode", delegate, true, metrics);
+        given(delegate.extract(any())).willAnswer(invocation -> ((Granularity.Imp)
+                invocation.<SchemaFunctionArguments<BidRequest, RequestRuleContext>>getArgument(0)
+                        .getContext().getGranularity()).impId());
+
+        // when
+        final String firstResult = target.extract(arguments(null, impContext("1")));
+        final String secondResult = target.extract(arguments(null, impContext("2")));
+        final String reusedResult = target.extract(arguments(null, impContext("1")));
+
+        // then
+        assertThat(firstResult).isEqualTo("1");
+        assertThat(secondResult).isEqualTo("2");
+        assertThat(reusedResult).isEqualTo("1");
+        verify(delegate, times(2)).extract(any());
+        verify(metrics).updateModuleFunctionReusedMetric("pb-rule-engine", "adUnitCode");
+    }
+
+    @Test
+    public void extractShouldEvaluateFunctionSeparatelyForDifferentConfigs() {
+        // given
+        final MemoizedSchemaFunction target = new MemoizedSchemaFunction("domainIn", delegate, false, metrics);
+        given(delegate.extract(any())).willReturn("true", "false");
+
+        final ObjectNode firstConfig = MAPPER.createObjectNode().set("domains", TextNode.valueOf("first"));
+        final ObjectNode secondConfig = MAPPER.createObjectNode().set("domains", TextNode.valueOf("second"));
+
+        // when
+        final String firstResult = target.extract(arguments(firstConfig, requestContext));
+        final String secondResult = target.extract(arguments(secondConfig, requestContext));
+        final String reusedResult = target.extract(arguments(firstConfig.deepCopy(), requestContext));
+
+        // then
+        assertThat(firstResult).isEqualTo("true");
+        assertThat(secondResult).isEqualTo("false");
+        assertThat(reusedResult).isEqualTo("true");
+        verify(delegate, times(2)).extract(any());
+    }
+
+    @Test
+    public void extractShouldNotShareResultsBetweenRequests() {
+        // given
+        final MemoizedSchemaFunction target = new MemoizedSchemaFunction("domain", delegate, false, metrics);
+        given(delegate.extract(any())).willReturn("domain.com");
+
+        final RequestRuleContext anotherRequestContext = RequestRuleContext.of(
+                AuctionContext.builder().build(), Granularity.Request.instance(), null);
+
+        // when
+        target.extract(arguments(null, requestContext));
+        target.extract(arguments(null, anotherRequestContext));
+
+        // then
+        verify(delegate, times(2)).extract(any());
+    }
+
+    @Test
+    public void validateConfigShouldDelegateValidation() {
+        // given
+        final MemoizedSchemaFunction target = new MemoizedSchemaFunction("domain", delegate, false, metrics);
+        final ObjectNode config = MAPPER.createObjectNode();
+
+        // when
+        target.validateConfig(config);
+
+        // then
+        verify(delegate).validateConfig(config);
+    }
+
+    private RequestRuleContext impContext(String impId) {
+        return RequestRuleContext.of(
+                requestContext.getAuctionContext(),
+                new Granularity.Imp(impId),
+                requestContext.getDatacenter(),
+                requestContext.getSchemaFunctionResults());
+    }
+
+    private SchemaFunctionArguments<BidRequest, RequestRuleContext> arguments(ObjectNode config,
+                                                                              RequestRuleContext context) {
+
+        return SchemaFunctionArguments.of(bidRequest, config, context);
+    }
+}
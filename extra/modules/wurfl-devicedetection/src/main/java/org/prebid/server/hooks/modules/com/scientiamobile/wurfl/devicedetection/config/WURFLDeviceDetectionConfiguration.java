@@ -9,11 +9,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.blocking.BlockingExecutors;
 import org.prebid.server.execution.file.syncer.FileSyncer;
 import org.prebid.server.spring.config.model.FileSyncerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
 import org.prebid.server.execution.file.FileUtil;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.nio.file.Path;
@@ -35,10 +37,13 @@ public class WURFLDeviceDetectionConfiguration {
     @Bean
     public WURFLDeviceDetectionModule wurflDeviceDetectionModule(WURFLDeviceDetectionConfigProperties configProperties,
                                                                  JacksonMapper mapper,
-                                                                 Vertx vertx) {
+                                                                 Vertx vertx,
+                                                                 BlockingExecutors blockingExecutors,
+                                                                 Metrics metrics) {
 
         final WURFLService wurflService = new WURFLService(null, configProperties);
-        final FileSyncer fileSyncer = createFileSyncer(configProperties, wurflService, vertx);
+        final FileSyncer fileSyncer = createFileSyncer(
+                configProperties, wurflService, vertx, blockingExecutors, metrics);
         fileSyncer.sync();
 
         return new WURFLDeviceDetectionModule(List.of(
@@ -48,10 +53,18 @@ public class WURFLDeviceDetectionConfiguration {
 
     private FileSyncer createFileSyncer(WURFLDeviceDetectionConfigProperties configProperties,
                                         WURFLService wurflService,
-                                        Vertx vertx) {
+                                        Vertx vertx,
+                                        BlockingExecutors blockingExecutors,
+                                        Metrics metrics) {
 
         final FileSyncerProperties fileSyncerProperties = createFileSyncerProperties(configProperties);
-        return FileUtil.fileSyncerFor(wurflService, fileSyncerProperties, vertx);
+        return FileUtil.fileSyncerFor(
+                wurflService,
+                WURFLDeviceDetectionModule.CODE,
+                fileSyncerProperties,
+                vertx,
+                blockingExecutors.forSubsystem(BlockingExecutors.FILE_SYNCER),
+                metrics);
     }
 
     private FileSyncerProperties createFileSyncerProperties(WURFLDeviceDetectionConfigProperties configProperties) {
@@ -2,10 +2,9 @@ package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection
 
 import com.scientiamobile.wurfl.core.Device;
 import com.scientiamobile.wurfl.core.WURFLEngine;
-import io.vertx.core.Future;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
-import org.prebid.server.execution.file.FileProcessor;
+import org.prebid.server.execution.file.StagedFileProcessor;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.config.WURFLDeviceDetectionConfigProperties;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.model.WURFLEngineUtils;
 
@@ -16,7 +15,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
-public class WURFLService implements FileProcessor {
+public class WURFLService implements StagedFileProcessor<WURFLEngine> {
 
     private static final Logger logger = LoggerFactory.getLogger(WURFLService.class);
 
@@ -28,15 +27,14 @@ public class WURFLService implements FileProcessor {
         this.configProperties = Objects.requireNonNull(configProperties);
     }
 
-    public Future<?> setDataPath(String dataFilePath) {
-        try {
-            final WURFLEngine engine = createEngine(dataFilePath);
-            this.wurflEngine.set(engine);
-        } catch (Exception e) {
-            return Future.failedFuture(e);
-        }
+    @Override
+    public WURFLEngine stage(String dataFilePath) {
+        return createEngine(dataFilePath);
+    }
 
-        return Future.succeededFuture();
+    @Override
+    public void swap(WURFLEngine staged) {
+        wurflEngine.set(staged);
     }
 
     protected WURFLEngine createEngine(String dataFilePath) {
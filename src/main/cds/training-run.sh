@@ -0,0 +1,126 @@
+#!/bin/sh
+
+# Creates AppCDS archive for the prebid-server.jar with a training run against sample requests
+# and reports startup time and first request latency measured with and without the archive.
+#
+# Usage: training-run.sh <build directory> <sample directory>
+
+set -eu
+
+BUILD_DIR=$1
+SAMPLE_DIR=$2
+
+APP_DIR="${BUILD_DIR}/cds"
+ARCHIVE="${APP_DIR}/prebid-server.jsa"
+REPORT="${APP_DIR}/startup-report.txt"
+LOG="${APP_DIR}/training-run.log"
+
+PORT=${CDS_TRAINING_PORT:-18080}
+ADMIN_PORT=${CDS_TRAINING_ADMIN_PORT:-18060}
+STARTUP_TIMEOUT_SEC=${CDS_TRAINING_STARTUP_TIMEOUT_SEC:-180}
+TRAINING_ITERATIONS=${CDS_TRAINING_ITERATIONS:-50}
+
+BASE_URL="http://localhost:${PORT}"
+
+log() {
+  echo "[INFO] [appcds] $*"
+}
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+# prints JSON body of the request from IntelliJ HTTP client file, which is everything after
+# the first blank line up to the '###' separator
+request_body() {
+  awk 'body && /^###/ { exit } body { print } /^[[:space:]]*$/ { body = 1 }' "$1"
+}
+
+start_server() {
+  # shellcheck disable=SC2086
+  java $1 \
+    -Dspring.config.additional-location="${SAMPLE_DIR}/configs/prebid-config.yaml" \
+    -Dserver.http.port="${PORT}" \
+    -Dadmin.port="${ADMIN_PORT}" \
+    -Dvertx.cacheDirBase="${APP_DIR}/.vertx" \
+    -jar "${APP_DIR}/prebid-server.jar" >>"${LOG}" 2>&1 &
+  SERVER_PID=$!
+
+  STARTED_AT=$(now_ms)
+  deadline=$(($(date +%s) + STARTUP_TIMEOUT_SEC))
+  until curl -fs -o /dev/null "${BASE_URL}/status"; do
+    if ! kill -0 "${SERVER_PID}" 2>/dev/null || [ "$(date +%s)" -ge "${deadline}" ]; then
+      stop_server
+      echo "[ERROR] [appcds] Server has not started, see ${LOG}" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  STARTUP_MS=$(($(now_ms) - STARTED_AT))
+}
+
+# stops the server gracefully, so the archive is dumped on JVM exit
+stop_server() {
+  kill -TERM "${SERVER_PID}" 2>/dev/null || true
+  wait "${SERVER_PID}" 2>/dev/null || true
+}
+
+send_requests() {
+  for request in "${SAMPLE_DIR}"/requests/*.http; do
+    request_body "${request}" | curl -s -o /dev/null -w '%{time_total}\n' \
+      -H 'Content-Type: application/json' --data-binary @- "${BASE_URL}/openrtb2/auction"
+  done
+}
+
+# starts the server with given JVM options and sets STARTUP_MS and FIRST_REQUEST_MS
+measure() {
+  start_server "$1"
+  first_request_sec=$(send_requests | head -n 1)
+  FIRST_REQUEST_MS=$(awk -v sec="${first_request_sec}" 'BEGIN { printf "%d", sec * 1000 }')
+  stop_server
+}
+
+gain() {
+  awk -v before="$1" -v after="$2" 'BEGIN { printf "%d%%", before > 0 ? (before - after) * 100 / before : 0 }'
+}
+
+rm -rf "${APP_DIR}"
+mkdir -p "${APP_DIR}"
+log "Extracting ${BUILD_DIR}/prebid-server.jar to ${APP_DIR}"
+java -Djarmode=tools -jar "${BUILD_DIR}/prebid-server.jar" extract --force --destination "${APP_DIR}" >>"${LOG}" 2>&1
+
+log "Measuring startup without archive"
+measure ""
+BASELINE_STARTUP_MS=${STARTUP_MS}
+BASELINE_FIRST_REQUEST_MS=${FIRST_REQUEST_MS}
+
+log "Training run with ${TRAINING_ITERATIONS} iterations over ${SAMPLE_DIR}/requests"
+start_server "-XX:ArchiveClassesAtExit=${ARCHIVE}"
+i=0
+while [ "${i}" -lt "${TRAINING_ITERATIONS}" ]; do
+  send_requests >/dev/null
+  i=$((i + 1))
+done
+stop_server
+
+if [ ! -f "${ARCHIVE}" ]; then
+  echo "[ERROR] [appcds] Archive ${ARCHIVE} was not created, see ${LOG}" >&2
+  exit 1
+fi
+
+log "Measuring startup with archive"
+measure "-XX:SharedArchiveFile=${ARCHIVE}"
+
+{
+  echo "Archive: ${ARCHIVE}"
+  echo "Run with: java -XX:SharedArchiveFile=${ARCHIVE} -jar ${APP_DIR}/prebid-server.jar"
+  printf '%-20s %16s %16s %8s\n' "" "without archive" "with archive" "gain"
+  printf '%-20s %16s %16s %8s\n' "Startup, ms" "${BASELINE_STARTUP_MS}" "${STARTUP_MS}" \
+    "$(gain "${BASELINE_STARTUP_MS}" "${STARTUP_MS}")"
+  printf '%-20s %16s %16s %8s\n' "First request, ms" "${BASELINE_FIRST_REQUEST_MS}" "${FIRST_REQUEST_MS}" \
+    "$(gain "${BASELINE_FIRST_REQUEST_MS}" "${FIRST_REQUEST_MS}")"
+} >"${REPORT}"
+
+while IFS= read -r line; do
+  log "${line}"
+done <"${REPORT}"
@@ -1,6 +1,8 @@
 package org.prebid.server.activity.infrastructure.creator.privacy.uscustomlogic;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.gpp.encoder.GppModel;
 import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
 import org.apache.commons.collections4.SetUtils;
@@ -12,9 +14,12 @@ import org.prebid.server.activity.infrastructure.privacy.PrivacyModule;
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModuleQualifier;
 import org.prebid.server.activity.infrastructure.privacy.PrivacySection;
 import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicDataSupplier;
+import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicGppReader;
 import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicModule;
 import org.prebid.server.auction.gpp.model.GppContext;
+import org.prebid.server.auction.gpp.model.GppModelWrapper;
 import org.prebid.server.json.JsonLogic;
+import org.prebid.server.json.JsonLogicPredicate;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
@@ -43,9 +48,11 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
                     .map(PrivacySection::sectionId)
                     .collect(Collectors.toSet());
 
+    private static final int MODULES_CACHE_SIZE = 1000;
+
     private final USCustomLogicGppReaderFactory gppReaderFactory;
     private final JsonLogic jsonLogic;
-    private final Map<String, JsonLogicNode> jsonLogicNodesCache;
+    private final Map<String, CompiledJsonLogic> compiledJsonLogicCache;
     private final Metrics metrics;
     private final double samplingRate;
 
@@ -61,7 +68,7 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
         this.metrics = Objects.requireNonNull(metrics);
         this.samplingRate = samplingRate;
 
-        jsonLogicNodesCache = cacheTtl != null && cacheSize != null
+        compiledJsonLogicCache = cacheTtl != null && cacheSize != null
                 ? SettingsCache.createCache(cacheTtl, cacheSize, 0)
                 : null;
     }
@@ -132,10 +139,16 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
                                     ObjectNode jsonLogicConfig) {
 
         try {
-            return new USCustomLogicModule(
-                    jsonLogic,
-                    jsonLogicNode(jsonLogicConfig),
-                    USCustomLogicDataSupplier.of(gppReaderFactory.forSection(sectionId, normalizeSection, gppModel)));
+            final CompiledJsonLogic compiledJsonLogic = compiledJsonLogic(jsonLogicConfig);
+            final String sectionString = gppModel instanceof GppModelWrapper gppModelWrapper
+                    ? gppModelWrapper.originalSectionString(sectionId)
+                    : null;
+
+            return compiledJsonLogic.modules() != null && sectionString != null
+                    ? compiledJsonLogic.modules().get(
+                    new SectionKey(sectionId, normalizeSection, sectionString),
+                    key -> createModule(compiledJsonLogic, sectionId, normalizeSection, gppModel))
+                    : createModule(compiledJsonLogic, sectionId, normalizeSection, gppModel);
         } catch (Exception e) {
             conditionalLogger.error(
                     "USCustomLogic creation failed: %s. Config: %s".formatted(e.getMessage(), jsonLogicConfig),
@@ -146,10 +159,45 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
         }
     }
 
-    private JsonLogicNode jsonLogicNode(ObjectNode jsonLogicConfig) {
+    private PrivacyModule createModule(CompiledJsonLogic compiledJsonLogic,
+                                       int sectionId,
+                                       boolean normalizeSection,
+                                       GppModel gppModel) {
+
+        final USCustomLogicGppReader gppReader = gppReaderFactory.forSection(sectionId, normalizeSection, gppModel);
+        return compiledJsonLogic.predicate() != null
+                ? new USCustomLogicModule(compiledJsonLogic.predicate(), gppReader)
+                : new USCustomLogicModule(jsonLogic, compiledJsonLogic.node(), USCustomLogicDataSupplier.of(gppReader));
+    }
+
+    private CompiledJsonLogic compiledJsonLogic(ObjectNode jsonLogicConfig) {
         final String jsonAsString = jsonLogicConfig.toString();
-        return jsonLogicNodesCache != null
-                ? jsonLogicNodesCache.computeIfAbsent(jsonAsString, jsonLogic::parse)
-                : jsonLogic.parse(jsonAsString);
+        return compiledJsonLogicCache != null
+                ? compiledJsonLogicCache.computeIfAbsent(jsonAsString, json -> compile(json, true))
+                : compile(jsonAsString, false);
+    }
+
+    private CompiledJsonLogic compile(String jsonAsString, boolean memoizeModules) {
+        final JsonLogicNode jsonLogicNode = jsonLogic.parse(jsonAsString);
+        final JsonLogicPredicate<USCustomLogicGppReader> predicate =
+                jsonLogic.compile(jsonLogicNode, USCustomLogicDataSupplier::accessor);
+        final Cache<SectionKey, PrivacyModule> modules = memoizeModules
+                ? Caffeine.newBuilder().maximumSize(MODULES_CACHE_SIZE).build()
+                : null;
+
+        return new CompiledJsonLogic(jsonLogicNode, predicate, modules);
+    }
+
+    /**
+     * Parsed and, if supported, compiled JsonLogic expression along with modules already evaluated with it.
+     * Result of evaluation depends only on the section, so modules are shared by all requests with the same
+     * section string.
+     */
+    private record CompiledJsonLogic(JsonLogicNode node,
+                                     JsonLogicPredicate<USCustomLogicGppReader> predicate,
+                                     Cache<SectionKey, PrivacyModule> modules) {
+    }
+
+    private record SectionKey(int sectionId, boolean normalizeSection, String sectionString) {
     }
 }
@@ -2,13 +2,17 @@ package org.prebid.server.activity.infrastructure.privacy.uscustomlogic;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class USCustomLogicDataSupplier implements Supplier<Map<String, Object>> {
 
+    private static final Map<String, Function<USCustomLogicGppReader, Object>> FIELDS = fields();
+
     private final USCustomLogicGppReader gppReader;
 
     private USCustomLogicDataSupplier(USCustomLogicGppReader gppReader) {
@@ -19,38 +23,92 @@ public class USCustomLogicDataSupplier implements Supplier<Map<String, Object>>
         return new USCustomLogicDataSupplier(gppReader);
     }
 
-    @Override
-    public Map<String, Object> get() {
-        final DataAggregator dataAggregator = new DataAggregator();
+    private static Map<String, Function<USCustomLogicGppReader, Object>> fields() {
+        final Map<String, Function<USCustomLogicGppReader, Object>> fields = new LinkedHashMap<>();
+
+        fields.put("Version", USCustomLogicGppReader::getVersion);
+
+        fields.put("Gpc", USCustomLogicGppReader::getGpc);
+        fields.put("GpcSegmentType", USCustomLogicGppReader::getGpcSegmentType);
+        fields.put("GpcSegmentIncluded", USCustomLogicGppReader::getGpcSegmentIncluded);
 
-        dataAggregator.put("Version", gppReader.getVersion());
+        fields.put("SaleOptOut", USCustomLogicGppReader::getSaleOptOut);
+        fields.put("SaleOptOutNotice", USCustomLogicGppReader::getSaleOptOutNotice);
 
-        dataAggregator.put("Gpc", gppReader.getGpc());
-        dataAggregator.put("GpcSegmentType", gppReader.getGpcSegmentType());
-        dataAggregator.put("GpcSegmentIncluded", gppReader.getGpcSegmentIncluded());
+        fields.put("SharingNotice", USCustomLogicGppReader::getSharingNotice);
+        fields.put("SharingOptOut", USCustomLogicGppReader::getSharingOptOut);
+        fields.put("SharingOptOutNotice", USCustomLogicGppReader::getSharingOptOutNotice);
 
-        dataAggregator.put("SaleOptOut", gppReader.getSaleOptOut());
-        dataAggregator.put("SaleOptOutNotice", gppReader.getSaleOptOutNotice());
+        fields.put("TargetedAdvertisingOptOut", USCustomLogicGppReader::getTargetedAdvertisingOptOut);
+        fields.put("TargetedAdvertisingOptOutNotice", USCustomLogicGppReader::getTargetedAdvertisingOptOutNotice);
 
-        dataAggregator.put("SharingNotice", gppReader.getSharingNotice());
-        dataAggregator.put("SharingOptOut", gppReader.getSharingOptOut());
-        dataAggregator.put("SharingOptOutNotice", gppReader.getSharingOptOutNotice());
+        fields.put("SensitiveDataLimitUseNotice", USCustomLogicGppReader::getSensitiveDataLimitUseNotice);
+        fields.put("SensitiveDataProcessing", USCustomLogicGppReader::getSensitiveDataProcessing);
+        fields.put("SensitiveDataProcessingOptOutNotice",
+                USCustomLogicGppReader::getSensitiveDataProcessingOptOutNotice);
 
-        dataAggregator.put("TargetedAdvertisingOptOut", gppReader.getTargetedAdvertisingOptOut());
-        dataAggregator.put("TargetedAdvertisingOptOutNotice", gppReader.getTargetedAdvertisingOptOutNotice());
+        fields.put("KnownChildSensitiveDataConsents", USCustomLogicGppReader::getKnownChildSensitiveDataConsents);
 
-        dataAggregator.put("SensitiveDataLimitUseNotice", gppReader.getSensitiveDataLimitUseNotice());
-        dataAggregator.put("SensitiveDataProcessing", gppReader.getSensitiveDataProcessing());
-        dataAggregator.put("SensitiveDataProcessingOptOutNotice", gppReader.getSensitiveDataProcessingOptOutNotice());
+        fields.put("PersonalDataConsents", USCustomLogicGppReader::getPersonalDataConsents);
 
-        dataAggregator.put("KnownChildSensitiveDataConsents", gppReader.getKnownChildSensitiveDataConsents());
+        fields.put("MspaCoveredTransaction", USCustomLogicGppReader::getMspaCoveredTransaction);
+        fields.put("MspaServiceProviderMode", USCustomLogicGppReader::getMspaServiceProviderMode);
+        fields.put("MspaOptOutOptionMode", USCustomLogicGppReader::getMspaOptOutOptionMode);
 
-        dataAggregator.put("PersonalDataConsents", gppReader.getPersonalDataConsents());
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Returns accessor reading the same value from GPP reader as the one {@link #get()} puts into data
+     * under given variable name, without building the whole data map.
+     * <p>
+     * List fields are addressed by field name followed by one-based index of the element.
+     */
+    public static Function<USCustomLogicGppReader, Object> accessor(String variable) {
+        final Function<USCustomLogicGppReader, Object> field = FIELDS.get(variable);
+        if (field != null) {
+            return reader -> {
+                final Object value = field.apply(reader);
+                return value instanceof List<?> ? null : value;
+            };
+        }
 
-        dataAggregator.put("MspaCoveredTransaction", gppReader.getMspaCoveredTransaction());
-        dataAggregator.put("MspaServiceProviderMode", gppReader.getMspaServiceProviderMode());
-        dataAggregator.put("MspaOptOutOptionMode", gppReader.getMspaOptOutOptionMode());
+        final int indexStart = indexStart(variable);
+        final Function<USCustomLogicGppReader, Object> listField = indexStart > 0
+                ? FIELDS.get(variable.substring(0, indexStart))
+                : null;
+        final int index = listField != null ? index(variable.substring(indexStart)) : -1;
 
+        return index >= 0
+                ? reader -> listElement(listField.apply(reader), index)
+                : reader -> null;
+    }
+
+    private static int indexStart(String variable) {
+        int indexStart = variable.length();
+        while (indexStart > 0 && Character.isDigit(variable.charAt(indexStart - 1))) {
+            indexStart--;
+        }
+
+        return indexStart < variable.length() && variable.charAt(indexStart) != '0' ? indexStart : -1;
+    }
+
+    private static int index(String oneBasedIndex) {
+        try {
+            return Integer.parseInt(oneBasedIndex) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Object listElement(Object value, int index) {
+        return value instanceof List<?> list && index < list.size() ? list.get(index) : null;
+    }
+
+    @Override
+    public Map<String, Object> get() {
+        final DataAggregator dataAggregator = new DataAggregator();
+        FIELDS.forEach((key, field) -> dataAggregator.put(key, field.apply(gppReader)));
         return dataAggregator.data();
     }
 
@@ -10,6 +10,7 @@ import org.prebid.server.activity.infrastructure.payload.ActivityInvocationPaylo
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModule;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JsonLogic;
+import org.prebid.server.json.JsonLogicPredicate;
 
 import java.util.Map;
 import java.util.function.Supplier;
@@ -27,10 +28,26 @@ public class USCustomLogicModule implements PrivacyModule, Loggable {
                     ? Result.DISALLOW
                     : Result.ALLOW;
         } catch (JsonLogicEvaluationException e) {
-            throw new PreBidException("An error occurred while evaluating the JsonLogic expression: " + e.getMessage());
+            throw evaluationException(e);
         }
     }
 
+    public USCustomLogicModule(JsonLogicPredicate<USCustomLogicGppReader> jsonLogicPredicate,
+                               USCustomLogicGppReader gppReader) {
+
+        try {
+            result = jsonLogicPredicate.test(gppReader)
+                    ? Result.DISALLOW
+                    : Result.ALLOW;
+        } catch (JsonLogicEvaluationException e) {
+            throw evaluationException(e);
+        }
+    }
+
+    private static PreBidException evaluationException(JsonLogicEvaluationException e) {
+        return new PreBidException("An error occurred while evaluating the JsonLogic expression: " + e.getMessage());
+    }
+
     @Override
     public Result proceed(ActivityInvocationPayload activityInvocationPayload) {
         return result;
@@ -28,6 +28,7 @@ import org.prebid.server.auction.categorymapping.CategoryMappingService;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.BidInfo;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderResponse;
@@ -121,11 +122,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -566,18 +569,19 @@ public class BidResponseCreator {
     private Future<List<BidderResponse>> invokeProcessedBidderResponseHooks(List<BidderResponse> bidderResponses,
                                                                             AuctionContext auctionContext) {
 
-        return Future.join(bidderResponses.stream()
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () -> Future.join(bidderResponses.stream()
                         .map(bidderResponse -> hookStageExecutor
                                 .executeProcessedBidderResponseStage(bidderResponse, auctionContext)
                                 .map(stageResult -> rejectBidderResponseOrProceed(stageResult, bidderResponse)))
-                        .toList())
+                        .toList()))
                 .map(CompositeFuture::list);
     }
 
     private Future<List<BidderResponse>> invokeAllProcessedBidResponsesHook(List<BidderResponse> bidderResponses,
                                                                             AuctionContext auctionContext) {
 
-        return hookStageExecutor.executeAllProcessedBidResponsesStage(bidderResponses, auctionContext)
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () ->
+                        hookStageExecutor.executeAllProcessedBidResponsesStage(bidderResponses, auctionContext))
                 .map(HookStageExecutionResult::getPayload)
                 .map(AllProcessedBidResponsesPayload::bidResponses);
     }
@@ -596,11 +600,12 @@ public class BidResponseCreator {
     private Future<CategoryMappingResult> createCategoryMapping(AuctionContext auctionContext,
                                                                 List<BidderResponse> bidderResponses) {
 
-        return categoryMappingService.createCategoryMapping(
-                        bidderResponses,
-                        auctionContext.getBidRequest(),
-                        auctionContext.getAccount(),
-                        auctionContext.getTimeoutContext().getTimeout())
+        return auctionContext.getStageClock().measure(AuctionStage.category_mapping, () ->
+                        categoryMappingService.createCategoryMapping(
+                                bidderResponses,
+                                auctionContext.getBidRequest(),
+                                auctionContext.getAccount(),
+                                auctionContext.getTimeoutContext().getTimeout()))
 
                 .map(categoryMappingResult -> addCategoryMappingErrors(categoryMappingResult, auctionContext));
     }
@@ -668,7 +673,8 @@ public class BidResponseCreator {
 
         final Set<BidInfo> bidsToCache = cacheInfo.isShouldCacheWinningBidsOnly() ? winningBidInfos : bidInfos;
 
-        return cacheBids(bidsToCache, auctionContext, cacheInfo, eventsContext)
+        return auctionContext.getStageClock().measure(AuctionStage.cache, () ->
+                        cacheBids(bidsToCache, auctionContext, cacheInfo, eventsContext))
                 .map(cacheResult -> toBidResponse(
                         bidderResponseInfos,
                         auctionContext,
@@ -1050,12 +1056,25 @@ public class BidResponseCreator {
 
         final BidRequest bidRequest = debugEnabled ? auctionContext.getBidRequest() : null;
         final ExtDebugTrace extDebugTrace = toExtDebugTrace(auctionContext);
+        final Map<String, Long> stageTimeMicros = debugEnabled ? toStageTimeMicros(auctionContext) : null;
 
-        return ObjectUtils.anyNotNull(httpCalls, bidRequest, extDebugTrace)
-                ? ExtResponseDebug.of(httpCalls, bidRequest, extDebugTrace)
+        return ObjectUtils.anyNotNull(httpCalls, bidRequest, extDebugTrace, stageTimeMicros)
+                ? ExtResponseDebug.of(httpCalls, bidRequest, extDebugTrace, stageTimeMicros)
                 : null;
     }
 
+    /**
+     * Returns time spent in auction stages completed so far, so stages following the response creation
+     * (auction response hooks, for example) are reported in metrics only.
+     */
+    private static Map<String, Long> toStageTimeMicros(AuctionContext auctionContext) {
+        final Map<String, Long> stageTimeMicros = new LinkedHashMap<>();
+        auctionContext.getStageClock().forEachMeasured((stage, nanos) ->
+                stageTimeMicros.put(stage.name(), TimeUnit.NANOSECONDS.toMicros(nanos)));
+
+        return stageTimeMicros.isEmpty() ? null : stageTimeMicros;
+    }
+
     /**
      * Corresponds cacheId (or null if not present) to each {@link Bid}.
      */
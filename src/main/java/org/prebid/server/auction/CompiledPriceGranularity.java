@@ -0,0 +1,195 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Price buckets of {@link PriceGranularity} precomputed as CPM values in micros with already formatted
+ * targeting values, so rounding of bid price is a binary search over primitive arrays.
+ * <p>
+ * Gives exactly the same results as {@link CpmRange#fromCpm} does with {@link BigDecimal} arithmetic.
+ * Granularities which can not be represented in micros or produce too many buckets are not compiled,
+ * as well as prices with fractional micros are not looked up.
+ */
+final class CompiledPriceGranularity {
+
+    private static final int MICROS_SCALE = 6;
+    static final int MAX_BUCKETS = 10_000;
+
+    // max price of each range in micros
+    private final long[] rangeMaxes;
+    // index of the first bucket of each range, with an extra element pointing past the last bucket
+    private final int[] rangeOffsets;
+    // bucket prices in micros, ascending within each range
+    private final long[] buckets;
+    private final String[] formattedBuckets;
+    private final BigDecimal rangesMax;
+    private final String formattedRangesMax;
+
+    private CompiledPriceGranularity(long[] rangeMaxes,
+                                     int[] rangeOffsets,
+                                     long[] buckets,
+                                     String[] formattedBuckets,
+                                     BigDecimal rangesMax,
+                                     String formattedRangesMax) {
+
+        this.rangeMaxes = rangeMaxes;
+        this.rangeOffsets = rangeOffsets;
+        this.buckets = buckets;
+        this.formattedBuckets = formattedBuckets;
+        this.rangesMax = rangesMax;
+        this.formattedRangesMax = formattedRangesMax;
+    }
+
+    /**
+     * Returns compiled granularity or null if given ranges can not be compiled.
+     */
+    static CompiledPriceGranularity compile(List<ExtGranularityRange> ranges,
+                                            BigDecimal rangesMax,
+                                            Integer precision) {
+
+        return compile(ranges, rangesMax, precision, MAX_BUCKETS);
+    }
+
+    /**
+     * Returns compiled granularity or null if given ranges can not be compiled or produce more than max buckets.
+     */
+    static CompiledPriceGranularity compile(List<ExtGranularityRange> ranges,
+                                            BigDecimal rangesMax,
+                                            Integer precision,
+                                            int maxBuckets) {
+
+        if (!isCompilable(ranges)) {
+            return null;
+        }
+
+        final int rangesNumber = ranges.size();
+        final long[] rangeMaxes = new long[rangesNumber];
+        final int[] rangeOffsets = new int[rangesNumber + 1];
+        long bucketsNumber = 0;
+        long min = 0;
+        for (int i = 0; i < rangesNumber; i++) {
+            final ExtGranularityRange range = ranges.get(i);
+            final long max = toMicros(range.getMax());
+            final long increment = toMicros(range.getIncrement());
+
+            rangeMaxes[i] = max;
+            rangeOffsets[i] = (int) bucketsNumber;
+            // buckets from range min up to the first one not less than range max
+            bucketsNumber += (max - min + increment - 1) / increment + 1;
+            if (bucketsNumber > maxBuckets) {
+                return null;
+            }
+            min = max;
+        }
+        rangeOffsets[rangesNumber] = (int) bucketsNumber;
+
+        final long[] buckets = new long[(int) bucketsNumber];
+        final String[] formattedBuckets = new String[(int) bucketsNumber];
+        min = 0;
+        for (int i = 0; i < rangesNumber; i++) {
+            final long increment = toMicros(ranges.get(i).getIncrement());
+            for (int j = rangeOffsets[i]; j < rangeOffsets[i + 1]; j++) {
+                final long bucket = min + (j - rangeOffsets[i]) * increment;
+                buckets[j] = bucket;
+                formattedBuckets[j] = CpmRange.format(BigDecimal.valueOf(bucket, MICROS_SCALE), precision);
+            }
+            min = rangeMaxes[i];
+        }
+
+        return new CompiledPriceGranularity(
+                rangeMaxes,
+                rangeOffsets,
+                buckets,
+                formattedBuckets,
+                rangesMax,
+                CpmRange.format(rangesMax, precision));
+    }
+
+    private static boolean isCompilable(List<ExtGranularityRange> ranges) {
+        long previousMax = 0;
+        for (ExtGranularityRange range : ranges) {
+            if (range == null || !isPositiveMicros(range.getMax()) || !isPositiveMicros(range.getIncrement())) {
+                return false;
+            }
+
+            final long max = toMicros(range.getMax());
+            if (max <= previousMax) {
+                return false;
+            }
+            previousMax = max;
+        }
+
+        return !ranges.isEmpty();
+    }
+
+    private static boolean isPositiveMicros(BigDecimal value) {
+        return value != null
+                && value.signum() > 0
+                && value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE / 2, MICROS_SCALE)) < 0
+                && value.stripTrailingZeros().scale() <= MICROS_SCALE;
+    }
+
+    private static long toMicros(BigDecimal value) {
+        return value.movePointRight(MICROS_SCALE).longValueExact();
+    }
+
+    /**
+     * Returns formatted price bucket for the given CPM or null if it can not be looked up in the table
+     * and has to be calculated.
+     */
+    String bucketFor(BigDecimal cpm, RoundingMode roundingMode) {
+        if (cpm.signum() <= 0) {
+            return CpmRange.DEFAULT_CPM;
+        }
+        if (cpm.compareTo(rangesMax) > 0) {
+            return formattedRangesMax;
+        }
+
+        final BigDecimal cpmMicros = cpm.movePointRight(MICROS_SCALE);
+        if (cpmMicros.scale() > 0 && cpmMicros.stripTrailingZeros().scale() > 0) {
+            return null;
+        }
+
+        final long price = cpmMicros.longValue();
+        final int rangeIndex = rangeIndex(price);
+        final int from = rangeOffsets[rangeIndex];
+        final int to = rangeOffsets[rangeIndex + 1];
+
+        final int found = Arrays.binarySearch(buckets, from, to, price);
+        if (found >= 0) {
+            return formattedBuckets[found];
+        }
+
+        // price is strictly between two buckets of the range
+        final int ceiling = -found - 1;
+        final int floor = ceiling - 1;
+        return switch (roundingMode) {
+            case FLOOR -> formattedBuckets[floor];
+            case CEILING -> formattedBuckets[ceiling];
+            case HALF_UP -> (price - buckets[floor]) * 2 >= buckets[ceiling] - buckets[floor]
+                    ? formattedBuckets[ceiling]
+                    : formattedBuckets[floor];
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns number of precomputed buckets.
+     */
+    int size() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns index of the first range with max not less than the given price.
+     */
+    private int rangeIndex(long price) {
+        final int found = Arrays.binarySearch(rangeMaxes, price);
+        return found >= 0 ? found : -found - 1;
+    }
+}
@@ -30,7 +30,15 @@ public class CpmRange {
      * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format
      */
     public static String fromCpm(BigDecimal cpm, PriceGranularity priceGranularity, Account account) {
-        final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity, account);
+        final RoundingMode roundingMode = resolveRoundingMode(account);
+
+        final CompiledPriceGranularity compiled = priceGranularity.getCompiled();
+        final String bucket = compiled != null ? compiled.bucketFor(cpm, roundingMode) : null;
+        if (bucket != null) {
+            return bucket;
+        }
+
+        final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity, roundingMode);
         return value != null ? format(value, priceGranularity.getPrecision()) : DEFAULT_CPM;
     }
 
@@ -54,6 +62,13 @@ public class CpmRange {
      * format
      */
     public static BigDecimal fromCpmAsNumber(BigDecimal cpm, PriceGranularity priceGranularity, Account account) {
+        return fromCpmAsNumber(cpm, priceGranularity, resolveRoundingMode(account));
+    }
+
+    private static BigDecimal fromCpmAsNumber(BigDecimal cpm,
+                                              PriceGranularity priceGranularity,
+                                              RoundingMode roundingMode) {
+
         if (cpm.compareTo(BigDecimal.ZERO) <= 0) {
             return null;
         }
@@ -75,7 +90,7 @@ public class CpmRange {
             min = max;
         }
 
-        return increment != null ? calculate(cpm, min, increment, resolveRoundingMode(account)) : null;
+        return increment != null ? calculate(cpm, min, increment, roundingMode) : null;
     }
 
     private static BigDecimal calculate(BigDecimal cpm,
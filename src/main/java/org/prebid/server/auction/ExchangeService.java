@@ -37,6 +37,8 @@ import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessingResult;
 import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessor;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.auction.model.AuctionStageClock;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
@@ -47,6 +49,8 @@ import org.prebid.server.auction.model.MultiBidConfig;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.auction.privacy.enforcement.PrivacyEnforcementService;
+import org.prebid.server.auction.trafficshaping.BidderTrafficShaper;
+import org.prebid.server.auction.trafficshaping.TrafficShapingResult;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.bidder.Bidder;
@@ -150,6 +154,7 @@ public class ExchangeService {
     private final TimeoutFactory timeoutFactory;
     private final BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
     private final HttpBidderRequester httpBidderRequester;
+    private final BidderTrafficShaper bidderTrafficShaper;
     private final BidResponseCreator bidResponseCreator;
     private final BidResponsePostProcessor bidResponsePostProcessor;
     private final HookStageExecutor hookStageExecutor;
@@ -177,6 +182,7 @@ public class ExchangeService {
                            TimeoutFactory timeoutFactory,
                            BidRequestOrtbVersionConversionManager ortbVersionConversionManager,
                            HttpBidderRequester httpBidderRequester,
+                           BidderTrafficShaper bidderTrafficShaper,
                            BidResponseCreator bidResponseCreator,
                            BidResponsePostProcessor bidResponsePostProcessor,
                            HookStageExecutor hookStageExecutor,
@@ -204,6 +210,7 @@ public class ExchangeService {
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.ortbVersionConversionManager = Objects.requireNonNull(ortbVersionConversionManager);
         this.httpBidderRequester = Objects.requireNonNull(httpBidderRequester);
+        this.bidderTrafficShaper = Objects.requireNonNull(bidderTrafficShaper);
         this.bidResponseCreator = Objects.requireNonNull(bidResponseCreator);
         this.bidResponsePostProcessor = Objects.requireNonNull(bidResponsePostProcessor);
         this.hookStageExecutor = Objects.requireNonNull(hookStageExecutor);
@@ -222,7 +229,8 @@ public class ExchangeService {
         return processAuctionRequest(context)
                 .compose(this::invokeResponseHooks)
                 .map(AnalyticsTagsEnricher::enrichWithAnalyticsTags)
-                .map(HookDebugInfoEnricher::enrichWithHooksDebugInfo);
+                .map(HookDebugInfoEnricher::enrichWithHooksDebugInfo)
+                .map(this::updateAuctionStageMetrics);
     }
 
     private Future<AuctionContext> processAuctionRequest(AuctionContext context) {
@@ -261,7 +269,7 @@ public class ExchangeService {
                                 .map(receivedContext::with))
 
                 .map(context -> updateRequestMetric(context, uidsCookie, aliases, account, requestTypeMetric))
-                .compose(context -> Future.join(
+                .compose(context -> context.getStageClock().measure(AuctionStage.bidders, () -> Future.join(
                                 context.getAuctionParticipations().stream()
                                         .map(auctionParticipation -> processAndRequestBids(
                                                 context,
@@ -269,7 +277,7 @@ public class ExchangeService {
                                                 timeout,
                                                 aliases)
                                                 .map(auctionParticipation::with))
-                                        .toList())
+                                        .toList()))
                         // send all the requests to the bidders and gathers results
                         .map(CompositeFuture::<AuctionParticipation>list)
                         .map(storedResponseProcessor::updateStoredBidResponse)
@@ -545,7 +553,8 @@ public class ExchangeService {
         final Map<String, Pair<User, Device>> bidderToUserAndDevice =
                 prepareUsersAndDevices(bidders, context, aliases, biddersToConfigs, eidPermissions);
 
-        return privacyEnforcementService.mask(context, bidderToUserAndDevice, aliases)
+        return context.getStageClock().measure(AuctionStage.privacy, () ->
+                        privacyEnforcementService.mask(context, bidderToUserAndDevice, aliases))
                 .map(bidderToPrivacyResult -> getAuctionParticipation(
                         bidderToPrivacyResult,
                         bidRequest,
@@ -769,12 +778,15 @@ public class ExchangeService {
                 ? impBidderToStoredBidResponse.get(imps.getFirst().getId()).get(bidder)
                 : null;
 
+        final AuctionStageClock stageClock = context.getStageClock();
+        final long floorsStartTime = stageClock.start();
         final BidRequest enrichedWithPriceFloors = priceFloorProcessor.enrichWithPriceFloors(
                 context.getBidRequest().toBuilder().imp(imps).build(),
                 context.getAccount(),
                 bidder,
                 context.getPrebidErrors(),
                 context.getDebugWarnings());
+        stageClock.stop(AuctionStage.floors, floorsStartTime);
 
         final BidRequest preparedBidRequest = prepareBidRequest(
                 bidderPrivacyResult,
@@ -1249,6 +1261,20 @@ public class ExchangeService {
             return Future.succeededFuture(BidderResponse.of(bidderRequest.getBidder(), BidderSeatBid.empty(), 0));
         }
 
+        final String resolvedBidderName = aliases.resolveBidder(bidderRequest.getBidder());
+        final Account account = auctionContext.getAccount();
+        final TrafficShapingResult trafficShapingResult = bidderTrafficShaper.shape(resolvedBidderName, account);
+        if (trafficShapingResult != TrafficShapingResult.ALLOWED) {
+            metrics.updateAdapterRequestTrafficShapedMetrics(
+                    resolvedBidderName, account, trafficShapingResultToMetric(trafficShapingResult));
+
+            return processReject(
+                    auctionContext,
+                    BidRejectionReason.REQUEST_BLOCKED_TRAFFIC_SHAPED,
+                    List.of(BidderError.generic("Bidder request was not sent due to traffic shaping")),
+                    bidderRequest.getBidder());
+        }
+
         final BidderRequest enrichedBidderRequest = bidderRequest.toBuilder()
                 .bidRequest(hookStageResult.getPayload().bidRequest())
                 .build();
@@ -1290,10 +1316,16 @@ public class ExchangeService {
                         requestHeaders,
                         aliases,
                         debugResolver.resolveDebugForBidder(auctionContext, resolvedBidderName)))
+                .map(seatBid -> recordTrafficShapingOutcome(seatBid, resolvedBidderName))
                 .map(seatBid -> populateBidderCode(seatBid, bidderName, resolvedBidderName))
                 .map(seatBid -> BidderResponse.of(bidderName, seatBid, responseTime(bidderRequestStartTime)));
     }
 
+    private BidderSeatBid recordTrafficShapingOutcome(BidderSeatBid seatBid, String resolvedBidderName) {
+        bidderTrafficShaper.recordResponse(resolvedBidderName, seatBid);
+        return seatBid;
+    }
+
     private BidderSeatBid populateBidderCode(BidderSeatBid seatBid, String bidderName, String resolvedBidderName) {
         return seatBid.with(seatBid.getBids().stream()
                 .map(bidderBid -> bidderBid.toBuilder()
@@ -1446,9 +1478,18 @@ public class ExchangeService {
         return auctionParticipations;
     }
 
+    private AuctionContext updateAuctionStageMetrics(AuctionContext auctionContext) {
+        final Account account = auctionContext.getAccount();
+        auctionContext.getStageClock().forEachMeasured(
+                (stage, nanos) -> metrics.updateAuctionStageMetric(account, stage, nanos));
+
+        return auctionContext;
+    }
+
     private Future<AuctionContext> invokeResponseHooks(AuctionContext auctionContext) {
         final BidResponse bidResponse = auctionContext.getBidResponse();
-        return hookStageExecutor.executeAuctionResponseStage(bidResponse, auctionContext)
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () ->
+                        hookStageExecutor.executeAuctionResponseStage(bidResponse, auctionContext))
                 .map(stageResult -> stageResult.getPayload().bidResponse())
                 .map(auctionContext::with);
     }
@@ -1463,4 +1504,10 @@ public class ExchangeService {
             case rejected_ipf, generic -> MetricName.unknown_error;
         };
     }
+
+    private static MetricName trafficShapingResultToMetric(TrafficShapingResult trafficShapingResult) {
+        return trafficShapingResult == TrafficShapingResult.SAMPLED_OUT
+                ? MetricName.sampled_out
+                : MetricName.rate_limited;
+    }
 }
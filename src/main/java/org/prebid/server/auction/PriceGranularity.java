@@ -1,5 +1,6 @@
 package org.prebid.server.auction;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.NoArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.EnumUtils;
@@ -10,7 +11,9 @@ import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -26,6 +29,28 @@ public class PriceGranularity {
     private static final EnumMap<PriceGranularityType, PriceGranularity> STRING_TO_CUSTOM_PRICE_GRANULARITY =
             new EnumMap<>(PriceGranularityType.class);
 
+    /**
+     * Predefined granularities by their {@link ExtPriceGranularity} form, which is how account defaults
+     * get into requests, so they are never compiled again.
+     */
+    private static final Map<ExtPriceGranularity, PriceGranularity> EXT_TO_PREDEFINED_PRICE_GRANULARITY =
+            new HashMap<>();
+
+    // custom granularities come from requests, so each one may only take a small part of the cache
+    private static final int MAX_CUSTOM_COMPILED_BUCKETS = 2_500;
+    private static final long MAX_CACHED_BUCKETS = 50_000L;
+
+    /**
+     * Keeps custom price granularities, so buckets of each distinct granularity are compiled only once.
+     * Granularities with too many buckets are cached but not compiled.
+     */
+    private static final Map<ExtPriceGranularity, PriceGranularity> EXT_PRICE_GRANULARITY_CACHE =
+            Caffeine.newBuilder()
+                    .maximumWeight(MAX_CACHED_BUCKETS)
+                    .<ExtPriceGranularity, PriceGranularity>weigher((key, value) -> value.compiledSize())
+                    .build()
+                    .asMap();
+
     static {
         putStringPriceGranularity(PriceGranularityType.low, 2, range(5, 0.5));
         final ExtGranularityRange medRange = range(20, 0.1);
@@ -47,18 +72,31 @@ public class PriceGranularity {
     private List<ExtGranularityRange> ranges;
     private BigDecimal rangesMax;
     private Integer precision;
+    private CompiledPriceGranularity compiled;
+
+    private PriceGranularity(List<ExtGranularityRange> ranges,
+                             BigDecimal rangesMax,
+                             Integer precision,
+                             int maxCompiledBuckets) {
 
-    private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
         this.ranges = ranges;
         this.rangesMax = rangesMax;
         this.precision = precision;
+        this.compiled = CompiledPriceGranularity.compile(ranges, rangesMax, precision, maxCompiledBuckets);
     }
 
     /**
-     * Creates {@link PriceGranularity} from {@link ExtPriceGranularity}.
+     * Creates {@link PriceGranularity} from {@link ExtPriceGranularity} or returns already created one
+     * for the equal {@link ExtPriceGranularity}.
      */
     public static PriceGranularity createFromExtPriceGranularity(ExtPriceGranularity extPriceGranularity) {
-        return createFromRanges(extPriceGranularity.getPrecision(), extPriceGranularity.getRanges());
+        final PriceGranularity predefined = EXT_TO_PREDEFINED_PRICE_GRANULARITY.get(extPriceGranularity);
+        if (predefined != null) {
+            return predefined;
+        }
+
+        return EXT_PRICE_GRANULARITY_CACHE.computeIfAbsent(extPriceGranularity,
+                key -> createFromRanges(key.getPrecision(), key.getRanges(), MAX_CUSTOM_COMPILED_BUCKETS));
     }
 
     /**
@@ -99,6 +137,17 @@ public class PriceGranularity {
         return precision;
     }
 
+    /**
+     * Returns precomputed price buckets or null if they could not be compiled for the ranges.
+     */
+    CompiledPriceGranularity getCompiled() {
+        return compiled;
+    }
+
+    private int compiledSize() {
+        return compiled != null ? compiled.size() + 1 : 1;
+    }
+
     /**
      * Creates {@link PriceGranularity} for string representation and puts it to
      * {@link EnumMap<PriceGranularityType, PriceGranularity>}.
@@ -107,14 +156,21 @@ public class PriceGranularity {
                                                   Integer precision,
                                                   ExtGranularityRange... ranges) {
 
-        STRING_TO_CUSTOM_PRICE_GRANULARITY.put(type,
-                PriceGranularity.createFromRanges(precision, Arrays.asList(ranges)));
+        final PriceGranularity priceGranularity = PriceGranularity.createFromRanges(precision, Arrays.asList(ranges));
+        STRING_TO_CUSTOM_PRICE_GRANULARITY.put(type, priceGranularity);
+        EXT_TO_PREDEFINED_PRICE_GRANULARITY.putIfAbsent(ExtPriceGranularity.from(priceGranularity), priceGranularity);
     }
 
     /**
      * Creates {@link PriceGranularity} from list of {@link ExtGranularityRange}s and validates it.
      */
     public static PriceGranularity createFromRanges(Integer precision, List<ExtGranularityRange> ranges) {
+        return createFromRanges(precision, ranges, CompiledPriceGranularity.MAX_BUCKETS);
+    }
+
+    private static PriceGranularity createFromRanges(Integer precision,
+                                                     List<ExtGranularityRange> ranges,
+                                                     int maxCompiledBuckets) {
 
         final BigDecimal rangeMax = CollectionUtils.emptyIfNull(ranges).stream()
                 .filter(Objects::nonNull)
@@ -125,7 +181,7 @@ public class PriceGranularity {
                         "Price granularity error: "
                                 + "Max value among all ranges was not found. Please check if ranges are valid"));
 
-        return new PriceGranularity(ranges, rangeMax, precision);
+        return new PriceGranularity(ranges, rangeMax, precision, maxCompiledBuckets);
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.prebid.server.auction;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.response.Bid;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.bidder.model.BidderError;
@@ -78,6 +79,24 @@ public class TargetingKeywordsCreator {
      */
     private static final String FORMAT_KEY = "_format";
 
+    private static final int MAX_CACHED_KEYS = 10_000;
+
+    /**
+     * Key names built from prefix, key and bidder, shared between requests to not build them for every bid.
+     */
+    private static final Map<Object, String> KEY_NAMES = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_KEYS)
+            .<Object, String>build()
+            .asMap();
+
+    /**
+     * Key names truncated to the configured length, shared between requests.
+     */
+    private static final Map<TruncatedKeyName, String> TRUNCATED_KEY_NAMES = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_KEYS)
+            .<TruncatedKeyName, String>build()
+            .asMap();
+
     private final PriceGranularity priceGranularity;
     private final boolean includeWinners;
     private final boolean includeBidderKeys;
@@ -196,6 +215,7 @@ public class TargetingKeywordsCreator {
 
         final boolean includeDealBid = alwaysIncludeDeals && StringUtils.isNotEmpty(dealId);
         final KeywordMap keywordMap = new KeywordMap(
+                keyPrefix,
                 bidder,
                 winningBid,
                 includeWinners,
@@ -206,38 +226,38 @@ public class TargetingKeywordsCreator {
                 ? CpmRange.fromCpm(price, priceGranularity, account)
                 : CpmRange.DEFAULT_CPM;
 
-        keywordMap.put(this.keyPrefix + PB_KEY, roundedCpm);
+        keywordMap.put(PB_KEY, roundedCpm);
 
-        keywordMap.put(this.keyPrefix + BIDDER_KEY, bidder);
+        keywordMap.put(BIDDER_KEY, bidder);
 
         final String hbSize = sizeFrom(width, height);
         if (hbSize != null) {
-            keywordMap.put(this.keyPrefix + SIZE_KEY, hbSize);
+            keywordMap.put(SIZE_KEY, hbSize);
         }
         if (StringUtils.isNotBlank(cacheId)) {
-            keywordMap.put(this.keyPrefix + CACHE_ID_KEY, cacheId);
+            keywordMap.put(CACHE_ID_KEY, cacheId);
         }
         if (StringUtils.isNotBlank(vastCacheId)) {
-            keywordMap.put(this.keyPrefix + VAST_ID_KEY, vastCacheId);
+            keywordMap.put(VAST_ID_KEY, vastCacheId);
         }
         if ((StringUtils.isNotBlank(vastCacheId) || StringUtils.isNotBlank(cacheId))
                 && cacheHost != null && cachePath != null) {
-            keywordMap.put(this.keyPrefix + CACHE_HOST_KEY, cacheHost);
-            keywordMap.put(this.keyPrefix + CACHE_PATH_KEY, cachePath);
+            keywordMap.put(CACHE_HOST_KEY, cacheHost);
+            keywordMap.put(CACHE_PATH_KEY, cachePath);
         }
         if (StringUtils.isNotBlank(format) && includeFormat) {
-            keywordMap.put(this.keyPrefix + FORMAT_KEY, format);
+            keywordMap.put(FORMAT_KEY, format);
         }
 
         // get Line Item by dealId
         if (StringUtils.isNotBlank(dealId)) {
-            keywordMap.put(this.keyPrefix + DEAL_KEY, dealId);
+            keywordMap.put(DEAL_KEY, dealId);
         }
         if (env != null) {
-            keywordMap.put(this.keyPrefix + ENV_KEY, env);
+            keywordMap.put(ENV_KEY, env);
         }
         if (StringUtils.isNotBlank(categoryDuration)) {
-            keywordMap.put(this.keyPrefix + CATEGORY_DURATION_KEY, categoryDuration);
+            keywordMap.put(CATEGORY_DURATION_KEY, categoryDuration);
         }
 
         return keywordMap.asMap();
@@ -292,10 +312,31 @@ public class TargetingKeywordsCreator {
 
     private String truncateKey(String key) {
         return key.length() > truncateAttrChars
-                ? key.substring(0, truncateAttrChars)
+                ? TRUNCATED_KEY_NAMES.computeIfAbsent(
+                        new TruncatedKeyName(key, truncateAttrChars),
+                        name -> name.key().substring(0, name.length()))
                 : key;
     }
 
+    private static String keyName(String prefix, String key) {
+        return KEY_NAMES.computeIfAbsent(new KeyName(prefix, key), ignored -> prefix + key);
+    }
+
+    private static String bidderKeyName(String prefix, String key, String bidder) {
+        return KEY_NAMES.computeIfAbsent(
+                new BidderKeyName(prefix, key, bidder),
+                ignored -> prefix + key + "_" + bidder);
+    }
+
+    private record KeyName(String prefix, String key) {
+    }
+
+    private record BidderKeyName(String prefix, String key, String bidder) {
+    }
+
+    private record TruncatedKeyName(String key, int length) {
+    }
+
     /**
      * Helper for targeting keywords.
      * <p>
@@ -303,6 +344,7 @@ public class TargetingKeywordsCreator {
      */
     private static class KeywordMap {
 
+        private final String keyPrefix;
         private final String bidder;
         private final boolean winningBid;
         private final boolean includeWinners;
@@ -311,8 +353,9 @@ public class TargetingKeywordsCreator {
 
         private final Map<String, String> keywords;
 
-        KeywordMap(String bidder, boolean winningBid, boolean includeWinners, boolean includeBidderKeys,
-                   Set<String> excludedBidderKeys) {
+        KeywordMap(String keyPrefix, String bidder, boolean winningBid, boolean includeWinners,
+                   boolean includeBidderKeys, Set<String> excludedBidderKeys) {
+            this.keyPrefix = keyPrefix;
             this.bidder = bidder;
             this.winningBid = winningBid;
             this.includeWinners = includeWinners;
@@ -322,20 +365,15 @@ public class TargetingKeywordsCreator {
             this.keywords = new HashMap<>();
         }
 
-        void put(String prefix, String value) {
-            createKeys(prefix).forEach(key -> keywords.put(key, value));
-        }
-
-        private List<String> createKeys(String prefix) {
-            final List<String> keys = new ArrayList<>(2);
-            if (includeBidderKeys && !excludedBidderKeys.contains(prefix)) {
-                keys.add("%s_%s".formatted(prefix, bidder));
+        void put(String key, String value) {
+            final String prefixedKey = keyName(keyPrefix, key);
+            if (includeBidderKeys && !excludedBidderKeys.contains(prefixedKey)) {
+                keywords.put(bidderKeyName(keyPrefix, key, bidder), value);
             }
             // For the top bid, we want to put additional keys apart from bidder-suffixed
             if (winningBid && includeWinners) {
-                keys.add(prefix);
+                keywords.put(prefixedKey, value);
             }
-            return keys;
         }
 
         private Map<String, String> asMap() {
@@ -15,6 +15,7 @@ public class GppModelWrapper extends GppModel {
     private static final int USP_V1_ID = 6;
 
     private IntObjectMap<String> sectionIdToEncodedString;
+    private IntObjectMap<String> sectionIdToOriginalString;
 
     public GppModelWrapper(String encodedString) throws DecodingException {
         super(encodedString);
@@ -23,8 +24,10 @@ public class GppModelWrapper extends GppModel {
     private void init() {
         if (sectionIdToEncodedString == null) {
             sectionIdToEncodedString = new IntObjectHashMap<>();
+            sectionIdToOriginalString = new IntObjectHashMap<>();
         }
         sectionIdToEncodedString.clear();
+        sectionIdToOriginalString.clear();
     }
 
     @Override
@@ -36,6 +39,10 @@ public class GppModelWrapper extends GppModel {
         final List<Integer> sectionIds = ((HeaderV1) getSection(HeaderV1.NAME)).getSectionsIds();
 
         for (int i = 0; i < sectionIds.size(); i++) {
+            if (i + 1 < encodedSections.length) {
+                sectionIdToOriginalString.put(sectionIds.get(i), encodedSections[i + 1]);
+            }
+
             switch (sectionIds.get(i)) {
                 case TCF_EU_V2_ID -> sectionIdToEncodedString.put(TCF_EU_V2_ID, encodedSections[i + 1]);
                 case USP_V1_ID -> sectionIdToEncodedString.put(USP_V1_ID, encodedSections[i + 1]);
@@ -50,4 +57,11 @@ public class GppModelWrapper extends GppModel {
                 ? originalSectionString
                 : super.encodeSection(sectionId);
     }
+
+    /**
+     * Returns section string exactly as it was present in the decoded GPP string, or null if section is absent.
+     */
+    public String originalSectionString(int sectionId) {
+        return sectionIdToOriginalString != null ? sectionIdToOriginalString.get(sectionId) : null;
+    }
 }
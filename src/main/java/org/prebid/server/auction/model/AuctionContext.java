@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
 import org.prebid.server.auction.gpp.model.GppContext;
@@ -71,6 +73,12 @@ public class AuctionContext {
 
     CachedDebugLog cachedDebugLog;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Builder.Default
+    AuctionStageClock stageClock = new AuctionStageClock();
+
     public AuctionContext with(Account account) {
         return this.toBuilder().account(account).build();
     }
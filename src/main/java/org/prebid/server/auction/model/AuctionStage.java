@@ -0,0 +1,25 @@
+package org.prebid.server.auction.model;
+
+/**
+ * Stages of auction processing measured by {@link AuctionStageClock}.
+ * <p>
+ * Names are used as they are in metric names and in {@code ext.debug.stagetimemicros} of the response.
+ */
+public enum AuctionStage {
+
+    account,
+
+    stored_request,
+
+    hooks,
+
+    privacy,
+
+    floors,
+
+    bidders,
+
+    category_mapping,
+
+    cache
+}
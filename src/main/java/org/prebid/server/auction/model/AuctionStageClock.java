@@ -0,0 +1,68 @@
+package org.prebid.server.auction.model;
+
+import io.vertx.core.Future;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Accumulates time spent by the auction in each {@link AuctionStage}.
+ * <p>
+ * Durations are kept in a preallocated array indexed by stage, so measuring does not allocate. A stage may be
+ * measured several times per auction (hooks of different stages, for example), its durations are summed up.
+ */
+public class AuctionStageClock {
+
+    private static final AuctionStage[] STAGES = AuctionStage.values();
+
+    private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+    private final AtomicInteger measuredStages = new AtomicInteger();
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(AuctionStage stage, long startNanos) {
+        stageNanos.addAndGet(stage.ordinal(), System.nanoTime() - startNanos);
+
+        final int stageBit = stageBit(stage);
+        int mask = measuredStages.get();
+        while ((mask & stageBit) == 0 && !measuredStages.compareAndSet(mask, mask | stageBit)) {
+            mask = measuredStages.get();
+        }
+    }
+
+    /**
+     * Measures time from the call until the future returned by the given action is completed.
+     */
+    public <T> Future<T> measure(AuctionStage stage, Supplier<Future<T>> action) {
+        final long startNanos = start();
+        return action.get().onComplete(ignored -> stop(stage, startNanos));
+    }
+
+    public boolean isMeasured(AuctionStage stage) {
+        return (measuredStages.get() & stageBit(stage)) != 0;
+    }
+
+    public long nanos(AuctionStage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Passes every measured stage with its total duration in nanoseconds to the given consumer in stage order.
+     */
+    public void forEachMeasured(ObjLongConsumer<AuctionStage> consumer) {
+        final int mask = measuredStages.get();
+        for (AuctionStage stage : STAGES) {
+            if ((mask & stageBit(stage)) != 0) {
+                consumer.accept(stage, stageNanos.get(stage.ordinal()));
+            }
+        }
+    }
+
+    private static int stageBit(AuctionStage stage) {
+        return 1 << stage.ordinal();
+    }
+}
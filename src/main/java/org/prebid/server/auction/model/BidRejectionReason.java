@@ -71,6 +71,11 @@ public enum BidRejectionReason {
      */
     REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY(205),
 
+    /**
+     * If the bidder was not called due to its QPS limit or adaptive traffic shaping.
+     */
+    REQUEST_BLOCKED_TRAFFIC_SHAPED(206),
+
     /**
      * The bidder is called, but its response is rejected.
      * Applied if any other RESPONSE_REJECTED reason is not recognized.
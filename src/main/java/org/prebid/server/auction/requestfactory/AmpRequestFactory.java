@@ -27,6 +27,7 @@ import org.prebid.server.auction.externalortb.ProfilesProcessor;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.gpp.AmpGppService;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.ConsentType;
 import org.prebid.server.auction.privacy.contextfactory.AmpPrivacyContextFactory;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
@@ -167,7 +168,8 @@ public class AmpRequestFactory {
                 .compose(auctionContext -> updateBidRequest(auctionContext)
                         .map(auctionContext::with))
 
-                .compose(auctionContext -> ampPrivacyContextFactory.contextFrom(auctionContext)
+                .compose(auctionContext -> auctionContext.getStageClock()
+                        .measure(AuctionStage.privacy, () -> ampPrivacyContextFactory.contextFrom(auctionContext))
                         .map(auctionContext::with))
 
                 .compose(auctionContext -> ortb2RequestFactory.enrichBidRequestWithAccountAndPrivacyData(auctionContext)
@@ -410,7 +412,8 @@ public class AmpRequestFactory {
 
         final HttpRequestContext httpRequest = auctionContext.getHttpRequest();
 
-        return storedRequestProcessor.processAmpRequest(accountId, storedRequestId, receivedBidRequest)
+        return auctionContext.getStageClock().measure(AuctionStage.stored_request, () ->
+                        storedRequestProcessor.processAmpRequest(accountId, storedRequestId, receivedBidRequest))
                 .compose(bidRequest -> profilesProcessor.process(auctionContext, bidRequest))
                 .map(ortbVersionConversionManager::convertToAuctionSupportedVersion)
                 .map(bidRequest -> gppService.updateBidRequest(bidRequest, auctionContext))
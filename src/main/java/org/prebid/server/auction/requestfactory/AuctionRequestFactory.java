@@ -15,6 +15,7 @@ import org.prebid.server.auction.externalortb.ProfilesProcessor;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.gpp.AuctionGppService;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.AuctionStoredResult;
 import org.prebid.server.auction.privacy.contextfactory.AuctionPrivacyContextFactory;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
@@ -144,7 +145,8 @@ public class AuctionRequestFactory {
                 .compose(auctionContext -> updateAndValidateBidRequest(auctionContext)
                         .map(auctionContext::with))
 
-                .compose(auctionContext -> auctionPrivacyContextFactory.contextFrom(auctionContext)
+                .compose(auctionContext -> auctionContext.getStageClock()
+                        .measure(AuctionStage.privacy, () -> auctionPrivacyContextFactory.contextFrom(auctionContext))
                         .map(auctionContext::with))
 
                 .compose(auctionContext -> ortb2RequestFactory.enrichBidRequestWithAccountAndPrivacyData(auctionContext)
@@ -243,7 +245,8 @@ public class AuctionRequestFactory {
         final HttpRequestContext httpRequest = auctionContext.getHttpRequest();
         final List<String> debugWarnings = auctionContext.getDebugWarnings();
 
-        return storedRequestProcessor.processAuctionRequest(account.getId(), auctionContext.getBidRequest())
+        return auctionContext.getStageClock().measure(AuctionStage.stored_request, () ->
+                        storedRequestProcessor.processAuctionRequest(account.getId(), auctionContext.getBidRequest()))
                 .compose(auctionStoredResult -> updateBidRequest(auctionStoredResult, auctionContext))
                 .compose(bidRequest -> ortb2RequestFactory.limitImpressions(account, bidRequest, debugWarnings))
                 .compose(bidRequest -> ortb2RequestFactory.validateRequest(
@@ -27,6 +27,7 @@ import org.prebid.server.auction.TimeoutResolver;
 import org.prebid.server.auction.externalortb.ProfilesProcessor;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.AuctionStoredResult;
 import org.prebid.server.auction.model.IpAddress;
 import org.prebid.server.auction.model.TimeoutContext;
@@ -174,11 +175,13 @@ public class Ortb2RequestFactory {
     }
 
     public Future<Account> fetchAccountWithoutStoredRequestLookup(AuctionContext auctionContext) {
-        return fetchAccount(auctionContext, false);
+        return auctionContext.getStageClock()
+                .measure(AuctionStage.account, () -> fetchAccount(auctionContext, false));
     }
 
     public Future<Account> fetchAccount(AuctionContext auctionContext) {
-        return fetchAccount(auctionContext, true);
+        return auctionContext.getStageClock()
+                .measure(AuctionStage.account, () -> fetchAccount(auctionContext, true));
     }
 
     private Future<Account> fetchAccount(AuctionContext auctionContext, boolean isLookupStoredRequest) {
@@ -374,21 +377,24 @@ public class Ortb2RequestFactory {
                                                              String body,
                                                              AuctionContext auctionContext) {
 
-        return hookStageExecutor.executeEntrypointStage(
-                        toCaseInsensitiveMultiMap(routingContext.queryParams()),
-                        toCaseInsensitiveMultiMap(routingContext.request().headers()),
-                        body,
-                        auctionContext)
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () ->
+                        hookStageExecutor.executeEntrypointStage(
+                                toCaseInsensitiveMultiMap(routingContext.queryParams()),
+                                toCaseInsensitiveMultiMap(routingContext.request().headers()),
+                                body,
+                                auctionContext))
                 .map(stageResult -> toHttpRequest(stageResult, routingContext, auctionContext));
     }
 
     public Future<BidRequest> executeRawAuctionRequestHooks(AuctionContext auctionContext) {
-        return hookStageExecutor.executeRawAuctionRequestStage(auctionContext)
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () ->
+                        hookStageExecutor.executeRawAuctionRequestStage(auctionContext))
                 .map(stageResult -> toBidRequest(stageResult, auctionContext));
     }
 
     public Future<BidRequest> executeProcessedAuctionRequestHooks(AuctionContext auctionContext) {
-        return hookStageExecutor.executeProcessedAuctionRequestStage(auctionContext)
+        return auctionContext.getStageClock().measure(AuctionStage.hooks, () ->
+                        hookStageExecutor.executeProcessedAuctionRequestStage(auctionContext))
                 .map(stageResult -> toBidRequest(stageResult, auctionContext));
     }
 
@@ -0,0 +1,106 @@
+package org.prebid.server.auction.trafficshaping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps per-bidder share of requests to send.
+ * <p>
+ * Outcomes of bidder requests are counted within fixed windows. At the end of a window with enough requests and
+ * no-bid or timeout rate above threshold the share is halved (but not below configured minimum), otherwise it is
+ * increased back by {@link #SAMPLING_RATE_INCREMENT}.
+ */
+class AdaptiveSampler {
+
+    private static final double SAMPLING_RATE_DECREASE_FACTOR = 0.5;
+    private static final double SAMPLING_RATE_INCREMENT = 0.1;
+
+    private final long windowMs;
+    private final int minRequests;
+    private final double noBidRateThreshold;
+    private final double timeoutRateThreshold;
+    private final double minSamplingRate;
+
+    private final Map<String, Window> bidderToWindow = new ConcurrentHashMap<>();
+
+    AdaptiveSampler(long windowMs,
+                    int minRequests,
+                    double noBidRateThreshold,
+                    double timeoutRateThreshold,
+                    double minSamplingRate) {
+
+        this.windowMs = windowMs;
+        this.minRequests = minRequests;
+        this.noBidRateThreshold = noBidRateThreshold;
+        this.timeoutRateThreshold = timeoutRateThreshold;
+        this.minSamplingRate = minSamplingRate;
+    }
+
+    boolean sample(String bidder, long nowMillis) {
+        final double samplingRate = window(bidder, nowMillis).samplingRate(nowMillis);
+        return samplingRate >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+
+    void record(String bidder, long nowMillis, boolean noBid, boolean timedOut) {
+        window(bidder, nowMillis).record(nowMillis, noBid, timedOut);
+    }
+
+    double samplingRate(String bidder, long nowMillis) {
+        return window(bidder, nowMillis).samplingRate(nowMillis);
+    }
+
+    private Window window(String bidder, long nowMillis) {
+        return bidderToWindow.computeIfAbsent(bidder, ignored -> new Window(nowMillis));
+    }
+
+    private class Window {
+
+        private long startMillis;
+        private int requests;
+        private int noBids;
+        private int timeouts;
+        private double samplingRate = 1;
+
+        Window(long startMillis) {
+            this.startMillis = startMillis;
+        }
+
+        synchronized double samplingRate(long nowMillis) {
+            rollIfExpired(nowMillis);
+            return samplingRate;
+        }
+
+        synchronized void record(long nowMillis, boolean noBid, boolean timedOut) {
+            rollIfExpired(nowMillis);
+
+            requests++;
+            if (timedOut) {
+                timeouts++;
+            } else if (noBid) {
+                noBids++;
+            }
+        }
+
+        private void rollIfExpired(long nowMillis) {
+            if (nowMillis - startMillis < windowMs) {
+                return;
+            }
+
+            samplingRate = isUnhealthy()
+                    ? Math.max(minSamplingRate, samplingRate * SAMPLING_RATE_DECREASE_FACTOR)
+                    : Math.min(1, samplingRate + SAMPLING_RATE_INCREMENT);
+
+            startMillis = nowMillis;
+            requests = 0;
+            noBids = 0;
+            timeouts = 0;
+        }
+
+        private boolean isUnhealthy() {
+            return requests >= minRequests
+                    && ((double) noBids / requests > noBidRateThreshold
+                    || (double) timeouts / requests > timeoutRateThreshold);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.prebid.server.auction.trafficshaping;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderInfo;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountBidderTrafficShapingConfig;
+import org.prebid.server.settings.model.AccountTrafficShapingConfig;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a request should be sent to the bidder, according to QPS limits from the bidder configuration
+ * and account {@code auction.traffic-shaping} settings and, for bidders with adaptive traffic shaping enabled,
+ * their recent no-bid and timeout rates.
+ */
+public class BidderTrafficShaper {
+
+    private static final long ACCOUNT_BUCKET_EXPIRATION_MINUTES = 10;
+
+    private final BidderCatalog bidderCatalog;
+    private final Clock clock;
+
+    private final Map<String, TokenBucket> bidderToBucket = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBidderToBucket;
+    private final AdaptiveSampler adaptiveSampler;
+
+    public BidderTrafficShaper(BidderCatalog bidderCatalog,
+                               int accountBucketsCacheSize,
+                               long adaptiveWindowMs,
+                               int adaptiveMinRequests,
+                               double adaptiveNoBidRateThreshold,
+                               double adaptiveTimeoutRateThreshold,
+                               double adaptiveMinSamplingRate,
+                               Clock clock) {
+
+        this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
+        this.clock = Objects.requireNonNull(clock);
+
+        accountBidderToBucket = Caffeine.newBuilder()
+                .maximumSize(accountBucketsCacheSize)
+                .expireAfterAccess(ACCOUNT_BUCKET_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+                .<String, TokenBucket>build()
+                .asMap();
+        adaptiveSampler = new AdaptiveSampler(
+                adaptiveWindowMs,
+                adaptiveMinRequests,
+                adaptiveNoBidRateThreshold,
+                adaptiveTimeoutRateThreshold,
+                adaptiveMinSamplingRate);
+    }
+
+    /**
+     * Adaptive sampling goes first, so requests dropped by it do not spend QPS limits.
+     */
+    public TrafficShapingResult shape(String bidder, Account account) {
+        final BidderInfo.TrafficShaping bidderConfig = bidderConfig(bidder);
+        final AccountBidderTrafficShapingConfig accountConfig = accountConfig(bidder, account);
+        if (bidderConfig == null && accountConfig == null) {
+            return TrafficShapingResult.ALLOWED;
+        }
+
+        final long now = clock.millis();
+
+        if (bidderConfig != null && bidderConfig.isAdaptive() && !adaptiveSampler.sample(bidder, now)) {
+            return TrafficShapingResult.SAMPLED_OUT;
+        }
+
+        final int accountQps = accountConfig != null ? ObjectUtils.defaultIfNull(accountConfig.getQps(), 0) : 0;
+        if (accountQps > 0) {
+            final int accountBurst = ObjectUtils.defaultIfNull(accountConfig.getBurst(), 0);
+            final TokenBucket accountBucket = accountBidderToBucket.compute(
+                    account.getId() + '.' + bidder,
+                    (key, bucket) -> bucket != null && bucket.hasLimits(accountQps, accountBurst)
+                            ? bucket
+                            : new TokenBucket(accountQps, accountBurst, now));
+
+            if (!accountBucket.tryAcquire(now)) {
+                return TrafficShapingResult.RATE_LIMITED;
+            }
+        }
+
+        if (bidderConfig != null && bidderConfig.getQps() > 0) {
+            final TokenBucket bidderBucket = bidderToBucket.computeIfAbsent(bidder,
+                    key -> new TokenBucket(bidderConfig.getQps(), bidderConfig.getBurst(), now));
+
+            if (!bidderBucket.tryAcquire(now)) {
+                return TrafficShapingResult.RATE_LIMITED;
+            }
+        }
+
+        return TrafficShapingResult.ALLOWED;
+    }
+
+    /**
+     * Feeds outcome of the request actually sent to the bidder into adaptive sampling.
+     */
+    public void recordResponse(String bidder, BidderSeatBid seatBid) {
+        final BidderInfo.TrafficShaping bidderConfig = bidderConfig(bidder);
+        if (bidderConfig == null || !bidderConfig.isAdaptive()) {
+            return;
+        }
+
+        final boolean timedOut = CollectionUtils.emptyIfNull(seatBid.getErrors()).stream()
+                .anyMatch(error -> error.getType() == BidderError.Type.timeout);
+
+        adaptiveSampler.record(bidder, clock.millis(), CollectionUtils.isEmpty(seatBid.getBids()), timedOut);
+    }
+
+    double samplingRate(String bidder) {
+        return adaptiveSampler.samplingRate(bidder, clock.millis());
+    }
+
+    private BidderInfo.TrafficShaping bidderConfig(String bidder) {
+        final BidderInfo bidderInfo = bidderCatalog.bidderInfoByName(bidder);
+        return bidderInfo != null ? bidderInfo.getTrafficShaping() : null;
+    }
+
+    private static AccountBidderTrafficShapingConfig accountConfig(String bidder, Account account) {
+        final Map<String, AccountBidderTrafficShapingConfig> bidderToConfig = Optional.ofNullable(account)
+                .map(Account::getAuction)
+                .map(AccountAuctionConfig::getTrafficShaping)
+                .map(AccountTrafficShapingConfig::getBidders)
+                .orElse(null);
+
+        if (MapUtils.isEmpty(bidderToConfig)) {
+            return null;
+        }
+
+        return bidderToConfig.entrySet().stream()
+                .filter(entry -> StringUtils.equalsIgnoreCase(entry.getKey(), bidder))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,39 @@
+package org.prebid.server.auction.trafficshaping;
+
+/**
+ * Allows up to {@code qps} acquisitions per second on average and up to {@code burst} at once.
+ */
+class TokenBucket {
+
+    private final int qps;
+    private final int burst;
+
+    private double tokens;
+    private long lastRefillMillis;
+
+    TokenBucket(int qps, int burst, long nowMillis) {
+        this.qps = qps;
+        this.burst = burst > 0 ? burst : qps;
+
+        tokens = this.burst;
+        lastRefillMillis = nowMillis;
+    }
+
+    synchronized boolean tryAcquire(long nowMillis) {
+        if (nowMillis > lastRefillMillis) {
+            tokens = Math.min(burst, tokens + (nowMillis - lastRefillMillis) * qps / 1000.0);
+            lastRefillMillis = nowMillis;
+        }
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    boolean hasLimits(int qps, int burst) {
+        return this.qps == qps && this.burst == (burst > 0 ? burst : qps);
+    }
+}
@@ -0,0 +1,16 @@
+package org.prebid.server.auction.trafficshaping;
+
+public enum TrafficShapingResult {
+
+    ALLOWED,
+
+    /**
+     * Bidder or account QPS limit is exhausted.
+     */
+    RATE_LIMITED,
+
+    /**
+     * Request is dropped by adaptive sampling of a bidder with high no-bid or timeout rate.
+     */
+    SAMPLED_OUT
+}
@@ -67,4 +67,13 @@ public interface Bidder<T> {
     default HttpRequest<Void> makeTimeoutNotification(HttpRequest<T> httpRequest) {
         return null;
     }
+
+    /**
+     * Combines several notifications made by {@link #makeTimeoutNotification} into a single request.
+     * <p>
+     * Returns null if bidder cannot accept them at once, so that notifications are sent one by one.
+     */
+    default HttpRequest<Void> makeBatchTimeoutNotification(List<HttpRequest<Void>> timeoutNotifications) {
+        return null;
+    }
 }
@@ -42,6 +42,8 @@ public class BidderInfo {
 
     long tmaxDeductionMs;
 
+    TrafficShaping trafficShaping;
+
     public static BidderInfo create(boolean enabled,
                                     OrtbVersion ortbVersion,
                                     boolean debugAllowed,
@@ -58,7 +60,8 @@ public class BidderInfo {
                                     boolean modifyingVastXmlAllowed,
                                     CompressionType compressionType,
                                     org.prebid.server.spring.config.bidder.model.Ortb ortb,
-                                    long tmaxDeductionMs) {
+                                    long tmaxDeductionMs,
+                                    org.prebid.server.spring.config.bidder.model.TrafficShaping trafficShaping) {
 
         return of(
                 enabled,
@@ -78,13 +81,22 @@ public class BidderInfo {
                 modifyingVastXmlAllowed,
                 compressionType,
                 Ortb.of(ortb.getMultiFormatSupported()),
-                tmaxDeductionMs);
+                tmaxDeductionMs,
+                trafficShaping(trafficShaping));
     }
 
     private static PlatformInfo platformInfo(List<MediaType> mediaTypes) {
         return mediaTypes != null ? new PlatformInfo(mediaTypes) : null;
     }
 
+    private static TrafficShaping trafficShaping(
+            org.prebid.server.spring.config.bidder.model.TrafficShaping trafficShaping) {
+
+        return trafficShaping != null
+                ? TrafficShaping.of(trafficShaping.getQps(), trafficShaping.getBurst(), trafficShaping.isAdaptive())
+                : null;
+    }
+
     @Value
     public static class MaintainerInfo {
 
@@ -131,4 +143,23 @@ public class BidderInfo {
         @JsonProperty("multiformat-supported")
         boolean multiFormatSupported;
     }
+
+    @Value(staticConstructor = "of")
+    public static class TrafficShaping {
+
+        /**
+         * Max number of requests per second sent to the bidder, 0 means no limit.
+         */
+        int qps;
+
+        /**
+         * Number of requests which could be sent at once after a quiet period, defaults to {@link #qps} if 0.
+         */
+        int burst;
+
+        /**
+         * Reduces share of requests sent to the bidder while its no-bid or timeout rate is high.
+         */
+        boolean adaptive;
+    }
 }
@@ -0,0 +1,74 @@
+package org.prebid.server.bidder;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderCall;
+import org.prebid.server.bidder.model.CompositeBidderResponse;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.Result;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Creates wrapped {@link Bidder} on first call. Only adapter creation is deferred, bidder configuration,
+ * info and usersyncer are still built at startup.
+ */
+public class LazyBidder<T> implements Bidder<T> {
+
+    private final Supplier<Bidder<T>> bidderCreator;
+
+    private volatile Bidder<T> bidder;
+
+    public LazyBidder(Supplier<Bidder<T>> bidderCreator) {
+        this.bidderCreator = Objects.requireNonNull(bidderCreator);
+    }
+
+    @Override
+    public Result<List<HttpRequest<T>>> makeHttpRequests(BidRequest request) {
+        return bidder().makeHttpRequests(request);
+    }
+
+    @Override
+    public Result<List<BidderBid>> makeBids(BidderCall<T> httpCall, BidRequest bidRequest) {
+        return bidder().makeBids(httpCall, bidRequest);
+    }
+
+    @Override
+    public CompositeBidderResponse makeBidderResponse(BidderCall<T> httpCall, BidRequest bidRequest) {
+        return bidder().makeBidderResponse(httpCall, bidRequest);
+    }
+
+    @Override
+    public Map<String, String> extractTargeting(ObjectNode ext) {
+        return bidder().extractTargeting(ext);
+    }
+
+    @Override
+    public HttpRequest<Void> makeTimeoutNotification(HttpRequest<T> httpRequest) {
+        return bidder().makeTimeoutNotification(httpRequest);
+    }
+
+    @Override
+    public HttpRequest<Void> makeBatchTimeoutNotification(List<HttpRequest<Void>> timeoutNotifications) {
+        return bidder().makeBatchTimeoutNotification(timeoutNotifications);
+    }
+
+    private Bidder<T> bidder() {
+        Bidder<T> result = bidder;
+        if (result == null) {
+            synchronized (this) {
+                result = bidder;
+                if (result == null) {
+                    result = Objects.requireNonNull(bidderCreator.get());
+                    bidder = result;
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,278 @@
+package org.prebid.server.bidder;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.Initializable;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends bidder timeout notifications in the background, so that a bidder having an incident is not flooded with them.
+ * <p>
+ * Identical notifications are sent once per deduplication window. The rest are queued per bidder and flushed
+ * periodically, no more than the bidder rate limit and the connection budget allow. The connection budget is shared
+ * between bidders in turns, so a bidder with a long queue can not take it entirely. Notifications are combined into
+ * batches if the bidder supports it. Notifications not fitting into the queue are dropped.
+ */
+public class TimeoutNotificationDispatcher implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutNotificationDispatcher.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+
+    private final long flushPeriodMs;
+    private final int maxRequestsPerFlush;
+    private final int maxQueueSize;
+    private final int maxBatchSize;
+    private final int maxConnections;
+    private final int timeoutMs;
+    private final boolean logResult;
+    private final boolean logFailureOnly;
+    private final double logSamplingRate;
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Metrics metrics;
+
+    private final Map<String, Boolean> recentNotifications;
+    private final Map<Bidder<?>, NotificationQueue> bidderToQueue = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    private int firstQueueIndex;
+
+    public TimeoutNotificationDispatcher(long flushPeriodMs,
+                                         int maxRequestsPerSecond,
+                                         int maxQueueSize,
+                                         int maxBatchSize,
+                                         long deduplicationWindowMs,
+                                         int deduplicationCacheSize,
+                                         int maxConnections,
+                                         int timeoutMs,
+                                         boolean logResult,
+                                         boolean logFailureOnly,
+                                         double logSamplingRate,
+                                         HttpClient httpClient,
+                                         Vertx vertx,
+                                         Metrics metrics) {
+
+        if (flushPeriodMs <= 0 || maxRequestsPerSecond <= 0 || maxQueueSize <= 0 || maxBatchSize <= 0
+                || deduplicationWindowMs <= 0 || deduplicationCacheSize <= 0 || maxConnections <= 0) {
+
+            throw new IllegalArgumentException("Timeout notification dispatcher settings must be positive");
+        }
+
+        this.flushPeriodMs = flushPeriodMs;
+        this.maxRequestsPerFlush = (int) Math.max(1L, maxRequestsPerSecond * flushPeriodMs / 1000L);
+        this.maxQueueSize = maxQueueSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConnections = maxConnections;
+        this.timeoutMs = timeoutMs;
+        this.logResult = logResult;
+        this.logFailureOnly = logFailureOnly;
+        this.logSamplingRate = logSamplingRate;
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        recentNotifications = Caffeine.newBuilder()
+                .maximumSize(deduplicationCacheSize)
+                .expireAfterWrite(deduplicationWindowMs, TimeUnit.MILLISECONDS)
+                .<String, Boolean>build()
+                .asMap();
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        vertx.setPeriodic(flushPeriodMs, ignored -> flush());
+        initializePromise.tryComplete();
+    }
+
+    /**
+     * Queues notification for sending, may be called from any thread.
+     */
+    public void dispatch(Bidder<?> bidder, HttpRequest<Void> timeoutNotification) {
+        if (recentNotifications.putIfAbsent(key(timeoutNotification), Boolean.TRUE) != null) {
+            metrics.updateTimeoutNotificationDispatchMetric(MetricName.deduplicated, 1);
+            return;
+        }
+
+        final NotificationQueue queue = bidderToQueue.computeIfAbsent(bidder, ignored -> new NotificationQueue());
+        if (!queue.offer(timeoutNotification, maxQueueSize)) {
+            metrics.updateTimeoutNotificationDispatchMetric(MetricName.dropped, 1);
+        }
+    }
+
+    private static String key(HttpRequest<Void> timeoutNotification) {
+        final byte[] body = timeoutNotification.getBody();
+        return timeoutNotification.getMethod() + " " + timeoutNotification.getUri()
+                + (body != null ? "\n" + new String(body, StandardCharsets.UTF_8) : "");
+    }
+
+    /**
+     * Sends one request per bidder in turns until every bidder reached its rate limit or emptied its queue,
+     * or the connection budget is exhausted. Every flush starts from the next bidder, so the same one is not
+     * always served first when the budget is short.
+     */
+    void flush() {
+        final List<Map.Entry<Bidder<?>, NotificationQueue>> queues = new ArrayList<>(bidderToQueue.entrySet());
+        if (queues.isEmpty()) {
+            return;
+        }
+
+        firstQueueIndex = firstQueueIndex % queues.size();
+        Collections.rotate(queues, -firstQueueIndex);
+        firstQueueIndex++;
+
+        final int[] requests = new int[queues.size()];
+        boolean sending = true;
+        while (sending) {
+            sending = false;
+            for (int i = 0; i < queues.size(); i++) {
+                if (inFlightRequests.get() >= maxConnections) {
+                    return;
+                }
+
+                final Map.Entry<Bidder<?>, NotificationQueue> queue = queues.get(i);
+                if (requests[i] < maxRequestsPerFlush && sendNext(queue.getKey(), queue.getValue())) {
+                    requests[i]++;
+                    sending = true;
+                }
+            }
+        }
+    }
+
+    private boolean sendNext(Bidder<?> bidder, NotificationQueue queue) {
+        final List<HttpRequest<Void>> notifications = queue.poll(queue.batchingUnsupported ? 1 : maxBatchSize);
+        if (notifications.isEmpty()) {
+            return false;
+        }
+
+        final HttpRequest<Void> batch = notifications.size() > 1
+                ? bidder.makeBatchTimeoutNotification(notifications)
+                : null;
+
+        if (batch != null) {
+            send(batch, notifications.size());
+        } else {
+            if (notifications.size() > 1) {
+                queue.batchingUnsupported = true;
+                queue.returnToHead(notifications.subList(1, notifications.size()));
+            }
+            send(notifications.getFirst(), 1);
+        }
+
+        return true;
+    }
+
+    private void send(HttpRequest<Void> timeoutNotification, int notificationsCount) {
+        inFlightRequests.incrementAndGet();
+
+        httpClient.request(
+                        timeoutNotification.getMethod(),
+                        timeoutNotification.getUri(),
+                        timeoutNotification.getHeaders(),
+                        timeoutNotification.getBody(),
+                        timeoutMs)
+                .onComplete(ignored -> inFlightRequests.decrementAndGet())
+                .map(response -> handleTimeoutNotificationSuccess(response, timeoutNotification, notificationsCount))
+                .otherwise(exception -> handleTimeoutNotificationFailure(exception, timeoutNotification));
+    }
+
+    private Void handleTimeoutNotificationSuccess(HttpClientResponse response,
+                                                  HttpRequest<Void> timeoutNotification,
+                                                  int notificationsCount) {
+
+        final boolean isSuccessful = response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+
+        metrics.updateTimeoutNotificationDispatchMetric(MetricName.sent, notificationsCount);
+        metrics.updateTimeoutNotificationMetric(isSuccessful);
+
+        if (logResult && !(logFailureOnly && isSuccessful)) {
+            conditionalLogger.warn(
+                    "Notified bidder about timeout. Status code: %s. Request: %s".formatted(
+                            response.getStatusCode(),
+                            describe(timeoutNotification)),
+                    logSamplingRate);
+        }
+
+        return null;
+    }
+
+    private Void handleTimeoutNotificationFailure(Throwable exception, HttpRequest<Void> timeoutNotification) {
+        metrics.updateTimeoutNotificationMetric(false);
+
+        if (logResult) {
+            conditionalLogger.warn(
+                    "Error occurred while notifying bidder about timeout. Error message: %s. Request: %s"
+                            .formatted(exception.getMessage(), describe(timeoutNotification)),
+                    logSamplingRate);
+        }
+
+        return null;
+    }
+
+    private static String describe(HttpRequest<Void> timeoutNotification) {
+        final byte[] body = timeoutNotification.getBody();
+        return body != null ? new String(body, StandardCharsets.UTF_8) : timeoutNotification.getUri();
+    }
+
+    /**
+     * Filled from any thread, but drained only by {@link #flush()}, so notifications can be put back to its head.
+     */
+    private static class NotificationQueue {
+
+        private final Deque<HttpRequest<Void>> notifications = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private volatile boolean batchingUnsupported;
+
+        boolean offer(HttpRequest<Void> notification, int maxSize) {
+            if (size.incrementAndGet() > maxSize) {
+                size.decrementAndGet();
+                return false;
+            }
+
+            notifications.addLast(notification);
+            return true;
+        }
+
+        List<HttpRequest<Void>> poll(int maxCount) {
+            final List<HttpRequest<Void>> result = new ArrayList<>(Math.min(maxCount, Math.max(size.get(), 0)));
+            while (result.size() < maxCount) {
+                final HttpRequest<Void> notification = notifications.pollFirst();
+                if (notification == null) {
+                    break;
+                }
+
+                size.decrementAndGet();
+                result.add(notification);
+            }
+
+            return result;
+        }
+
+        void returnToHead(List<HttpRequest<Void>> returned) {
+            for (int i = returned.size() - 1; i >= 0; i--) {
+                notifications.addFirst(returned.get(i));
+                size.incrementAndGet();
+            }
+        }
+    }
+}
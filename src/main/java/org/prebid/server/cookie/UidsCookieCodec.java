@@ -0,0 +1,267 @@
+package org.prebid.server.cookie;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.prebid.server.cookie.model.UidWithExpiry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes and reads uids cookie values without building intermediate {@link org.prebid.server.cookie.proto.Uids}
+ * objects.
+ * <p>
+ * JSON is written directly into a reusable per-thread buffer, so the exact size of the resulting Base64 value
+ * is known before a family is committed to a cookie. Reading is done with a streaming parser and is able to
+ * look up a single family without decoding the rest of the cookie.
+ */
+public class UidsCookieCodec {
+
+    private static final String UIDS_FIELD = "tempUIDs";
+    private static final String UID_FIELD = "uid";
+    private static final String EXPIRES_FIELD = "expires";
+
+    private static final byte[] UIDS_PREFIX = "{\"tempUIDs\":{".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENTRY_OPEN = ":{".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UID_KEY = "\"uid\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXPIRES_KEY = "\"expires\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NO_OPTOUT_SUFFIX = "}}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPTOUT_TRUE_SUFFIX = "},\"optout\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPTOUT_FALSE_SUFFIX = "},\"optout\":false}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // must be kept in sync with org.prebid.server.json.ZonedDateTimeModule
+    private static final DateTimeFormatter EXPIRES_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .appendPattern("XXX")
+            .toFormatter();
+
+    private final JsonFactory jsonFactory;
+    private final ThreadLocal<Writer> writers = ThreadLocal.withInitial(Writer::new);
+
+    public UidsCookieCodec(JsonFactory jsonFactory) {
+        this.jsonFactory = Objects.requireNonNull(jsonFactory);
+    }
+
+    /**
+     * Returns reset writer bound to the current thread.
+     * <p>
+     * Writer buffer is reused between calls, so returned instance must not be shared or kept after the
+     * cookie value is obtained.
+     */
+    public Writer writer(Boolean optout) {
+        final Writer writer = writers.get();
+        writer.reset(optout);
+        return writer;
+    }
+
+    /**
+     * Encodes given uids into the Base64 (URL safe) cookie value.
+     */
+    public String encode(Map<String, UidWithExpiry> uids, Boolean optout) {
+        final Writer writer = writer(optout);
+        uids.forEach((family, uid) -> writer.append(family, uid, 0));
+        return writer.toBase64();
+    }
+
+    /**
+     * Looks up the UID for given family in Base64 (URL safe) cookie value. All other families are skipped
+     * without being decoded.
+     *
+     * @throws IllegalArgumentException if cookie value can not be decoded.
+     */
+    public UidWithExpiry decodeUid(String cookieValue, String family) {
+        final byte[] json = Base64.getUrlDecoder().decode(cookieValue);
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                final JsonToken valueToken = parser.nextToken();
+                if (UIDS_FIELD.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    return findUid(parser, family);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException | DateTimeParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static UidWithExpiry findUid(JsonParser parser, String family) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String currentFamily = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            if (family.equals(currentFamily) && valueToken == JsonToken.START_OBJECT) {
+                return readUid(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static UidWithExpiry readUid(JsonParser parser) throws IOException {
+        String uid = null;
+        ZonedDateTime expires = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            if (UID_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                uid = parser.getText();
+            } else if (EXPIRES_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                expires = ZonedDateTime.parse(parser.getText(), EXPIRES_FORMATTER);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new UidWithExpiry(uid, expires);
+    }
+
+    /**
+     * Accumulates uids JSON in a growable byte buffer and tracks the exact size of its Base64 representation.
+     */
+    public static class Writer {
+
+        private byte[] buffer = new byte[1024];
+        private int length;
+        private int uidsCount;
+        private byte[] suffix;
+
+        private Writer() {
+        }
+
+        private void reset(Boolean optout) {
+            length = 0;
+            uidsCount = 0;
+            suffix = optout == null
+                    ? NO_OPTOUT_SUFFIX
+                    : optout ? OPTOUT_TRUE_SUFFIX : OPTOUT_FALSE_SUFFIX;
+
+            write(UIDS_PREFIX);
+        }
+
+        /**
+         * Appends uid for given family if resulting Base64 value does not exceed given size.
+         * Non-positive size means no limit.
+         *
+         * @return true if uid was appended, otherwise false and writer state stays unchanged.
+         */
+        public boolean append(String family, UidWithExpiry uidWithExpiry, int maxEncodedSize) {
+            final int mark = length;
+
+            if (uidsCount > 0) {
+                write((byte) ',');
+            }
+            writeString(family);
+            write(ENTRY_OPEN);
+
+            final String uid = uidWithExpiry.getUid();
+            final ZonedDateTime expires = uidWithExpiry.getExpires();
+            if (uid != null) {
+                write(UID_KEY);
+                writeString(uid);
+            }
+            if (expires != null) {
+                if (uid != null) {
+                    write((byte) ',');
+                }
+                write(EXPIRES_KEY);
+                writeString(EXPIRES_FORMATTER.format(expires));
+            }
+            write((byte) '}');
+
+            if (maxEncodedSize > 0 && encodedSize() > maxEncodedSize) {
+                length = mark;
+                return false;
+            }
+
+            uidsCount++;
+            return true;
+        }
+
+        public boolean isEmpty() {
+            return uidsCount == 0;
+        }
+
+        /**
+         * Returns exact size of the Base64 value {@link #toBase64()} would produce in current state.
+         */
+        public int encodedSize() {
+            return base64Size(length + suffix.length);
+        }
+
+        public String toBase64() {
+            final int jsonLength = length + suffix.length;
+            ensureCapacity(jsonLength);
+            System.arraycopy(suffix, 0, buffer, length, suffix.length);
+
+            final byte[] json = Arrays.copyOf(buffer, jsonLength);
+            return new String(Base64.getUrlEncoder().encode(json), StandardCharsets.US_ASCII);
+        }
+
+        private static int base64Size(int size) {
+            return (size + 2) / 3 * 4;
+        }
+
+        private void writeString(String value) {
+            write((byte) '"');
+            final int stringLength = value.length();
+            for (int i = 0; i < stringLength; i++) {
+                final char character = value.charAt(i);
+                if (character == '"' || character == '\\') {
+                    write((byte) '\\');
+                    write((byte) character);
+                } else if (character < 0x20) {
+                    writeUnicodeEscape(character);
+                } else if (character < 0x80) {
+                    write((byte) character);
+                } else {
+                    final int codePoint = value.codePointAt(i);
+                    i += Character.charCount(codePoint) - 1;
+                    write(new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            write((byte) '"');
+        }
+
+        private void writeUnicodeEscape(char character) {
+            write((byte) '\\');
+            write((byte) 'u');
+            write((byte) '0');
+            write((byte) '0');
+            write(HEX[character >> 4]);
+            write(HEX[character & 0xF]);
+        }
+
+        private void write(byte value) {
+            ensureCapacity(length + 1);
+            buffer[length++] = value;
+        }
+
+        private void write(byte[] values) {
+            ensureCapacity(length + values.length);
+            System.arraycopy(values, 0, buffer, length, values.length);
+            length += values.length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+    }
+}
@@ -18,14 +18,13 @@ import org.prebid.server.util.HttpUtil;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -55,6 +54,7 @@ public class UidsCookieService {
     private final PrioritizedCoopSyncProvider prioritizedCoopSyncProvider;
     private final Metrics metrics;
     private final JacksonMapper mapper;
+    private final UidsCookieCodec codec;
 
     public UidsCookieService(String optOutCookieName,
                              String optOutCookieValue,
@@ -90,6 +90,8 @@ public class UidsCookieService {
         this.prioritizedCoopSyncProvider = Objects.requireNonNull(prioritizedCoopSyncProvider);
         this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
+
+        codec = new UidsCookieCodec(mapper.mapper().getFactory());
     }
 
     /**
@@ -163,8 +165,8 @@ public class UidsCookieService {
      * as a value.
      */
     public Cookie aliveCookie(String cookieName, UidsCookie uidsCookie) {
-        final String value = Base64.getUrlEncoder().encodeToString(uidsCookie.toJson().getBytes());
-        return makeCookie(cookieName, value, ttlSeconds);
+        final Uids uids = uidsCookie.getCookieUids();
+        return makeCookie(cookieName, codec.encode(uids.getUids(), uids.getOptout()), ttlSeconds);
     }
 
     public Cookie aliveCookie(UidsCookie uidsCookie) {
@@ -274,80 +276,67 @@ public class UidsCookieService {
     }
 
     public List<Cookie> splitUidsIntoCookies(UidsCookie uidsCookie) {
-        final Uids cookieUids = uidsCookie.getCookieUids();
-        final Map<String, UidWithExpiry> uids = cookieUids.getUids();
+        final Map<String, UidWithExpiry> uids = uidsCookie.getCookieUids().getUids();
         final boolean hasOptout = !uidsCookie.allowsSync();
 
-        final Iterator<String> cookieFamilies = cookieFamilyNamesByDescPriorityAndExpiration(uidsCookie);
-        final List<Cookie> splitCookies = new ArrayList<>();
+        final CookieFamily[] cookieFamilies = cookieFamiliesByDescPriorityAndExpiration(uids);
+        final List<Cookie> splitCookies = new ArrayList<>(numberOfUidCookies);
 
-        final int cookieSchemaSize = UidsCookieSize.schemaSize(makeCookie(COOKIE_NAME, StringUtils.EMPTY, ttlSeconds));
-        String nextCookieFamily = null;
+        final int cookieSchemaSize = makeCookie(COOKIE_NAME, StringUtils.EMPTY, ttlSeconds).encode().length();
+        int nextCookieFamily = 0;
         for (int i = 0; i < numberOfUidCookies; i++) {
             final int digits = i < 10 ? Integer.signum(i) : 2;
-            final UidsCookieSize uidsCookieSize = new UidsCookieSize(cookieSchemaSize + digits, maxCookieSizeBytes);
-
-            final Map<String, UidWithExpiry> tempUids = new HashMap<>();
-            while (nextCookieFamily != null || cookieFamilies.hasNext()) {
-                nextCookieFamily = nextCookieFamily == null ? cookieFamilies.next() : nextCookieFamily;
-                final UidWithExpiry uidWithExpiry = uids.get(nextCookieFamily);
+            final int maxValueSize = maxCookieSizeBytes > 0 ? maxCookieSizeBytes - cookieSchemaSize - digits : 0;
 
-                uidsCookieSize.addUid(nextCookieFamily, uidWithExpiry.getUid());
-                if (!uidsCookieSize.isValid()) {
+            final UidsCookieCodec.Writer writer = codec.writer(hasOptout);
+            while (nextCookieFamily < cookieFamilies.length) {
+                final CookieFamily cookieFamily = cookieFamilies[nextCookieFamily];
+                if (!writer.append(cookieFamily.name(), cookieFamily.uid(), maxValueSize)) {
                     break;
                 }
-
-                tempUids.put(nextCookieFamily, uidWithExpiry);
-                nextCookieFamily = null;
+                nextCookieFamily++;
             }
 
             final String uidsName = i == 0 ? COOKIE_NAME : COOKIE_NAME_FORMAT.formatted(i + 1);
-
-            if (tempUids.isEmpty()) {
-                splitCookies.add(expiredCookie(uidsName));
-            } else {
-                splitCookies.add(aliveCookie(
-                        uidsName,
-                        new UidsCookie(Uids.builder().uids(tempUids).optout(hasOptout).build(), mapper)));
-            }
+            splitCookies.add(writer.isEmpty()
+                    ? expiredCookie(uidsName)
+                    : makeCookie(uidsName, writer.toBase64(), ttlSeconds));
         }
 
-        if (nextCookieFamily != null) {
-            updateSyncSizeMetrics(nextCookieFamily);
+        for (int i = nextCookieFamily; i < cookieFamilies.length; i++) {
+            updateSyncSizeMetrics(cookieFamilies[i]);
         }
 
-        cookieFamilies.forEachRemaining(this::updateSyncSizeMetrics);
-
         return splitCookies;
     }
 
-    private Iterator<String> cookieFamilyNamesByDescPriorityAndExpiration(UidsCookie uidsCookie) {
-        return uidsCookie.getCookieUids().getUids().entrySet().stream()
-                .sorted(this::compareCookieFamilyNames)
-                .map(Map.Entry::getKey)
-                .iterator();
-    }
+    private CookieFamily[] cookieFamiliesByDescPriorityAndExpiration(Map<String, UidWithExpiry> uids) {
+        final CookieFamily[] cookieFamilies = new CookieFamily[uids.size()];
 
-    private int compareCookieFamilyNames(Map.Entry<String, UidWithExpiry> left,
-                                         Map.Entry<String, UidWithExpiry> right) {
+        int index = 0;
+        for (Map.Entry<String, UidWithExpiry> entry : uids.entrySet()) {
+            final String family = entry.getKey();
+            cookieFamilies[index++] = new CookieFamily(
+                    family, entry.getValue(), prioritizedCoopSyncProvider.isPrioritizedFamily(family));
+        }
 
-        final boolean leftPrioritized = prioritizedCoopSyncProvider.isPrioritizedFamily(left.getKey());
-        final boolean rightPrioritized = prioritizedCoopSyncProvider.isPrioritizedFamily(right.getKey());
+        Arrays.sort(cookieFamilies, UidsCookieService::compareCookieFamilies);
+        return cookieFamilies;
+    }
 
-        if ((leftPrioritized && rightPrioritized) || (!leftPrioritized && !rightPrioritized)) {
-            return left.getValue().getExpires().compareTo(right.getValue().getExpires());
-        } else if (leftPrioritized) {
-            return -1;
-        } else { // right is prioritized
-            return 1;
+    private static int compareCookieFamilies(CookieFamily left, CookieFamily right) {
+        if (left.prioritized() == right.prioritized()) {
+            return left.uid().getExpires().compareTo(right.uid().getExpires());
         }
+
+        return left.prioritized() ? -1 : 1;
     }
 
-    private void updateSyncSizeMetrics(String nextCookieFamily) {
-        if (prioritizedCoopSyncProvider.isPrioritizedFamily(nextCookieFamily)) {
-            metrics.updateUserSyncSizedOutMetric(nextCookieFamily);
+    private void updateSyncSizeMetrics(CookieFamily cookieFamily) {
+        if (cookieFamily.prioritized()) {
+            metrics.updateUserSyncSizedOutMetric(cookieFamily.name());
         } else {
-            metrics.updateUserSyncSizeBlockedMetric(nextCookieFamily);
+            metrics.updateUserSyncSizeBlockedMetric(cookieFamily.name());
         }
     }
 
@@ -362,13 +351,42 @@ public class UidsCookieService {
             return null;
         }
 
-        final boolean inSync = Optional.ofNullable(parseUids(cookies))
-                .map(Uids::getUids)
-                .map(uids -> uids.get(cookieFamilyName))
-                .map(UidWithExpiry::getUid)
-                .filter(uid -> StringUtils.equals(hostCookieUid, uid))
-                .isPresent();
+        final UidWithExpiry uid = parseUid(cookies, cookieFamilyName);
+        final boolean inSync = uid != null && StringUtils.equals(hostCookieUid, uid.getUid());
 
         return inSync ? null : hostCookieUid;
     }
+
+    /**
+     * Looks up UID of the given family in all uids cookies, preferring one with the latest expiration.
+     * Other families are not decoded.
+     */
+    private UidWithExpiry parseUid(Map<String, String> cookies, String family) {
+        UidWithExpiry result = null;
+
+        for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+            if (!cookie.getKey().startsWith(COOKIE_NAME)) {
+                continue;
+            }
+
+            try {
+                final UidWithExpiry uid = codec.decodeUid(cookie.getValue(), family);
+                if (uid != null && (result == null || isLater(uid, result))) {
+                    result = uid;
+                }
+            } catch (IllegalArgumentException e) {
+                logger.debug("Could not decode or parse {} cookie value {}", e, COOKIE_NAME, cookie.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isLater(UidWithExpiry uid, UidWithExpiry other) {
+        return uid.getExpires() != null
+                && (other.getExpires() == null || uid.getExpires().compareTo(other.getExpires()) > 0);
+    }
+
+    private record CookieFamily(String name, UidWithExpiry uid, boolean prioritized) {
+    }
 }
@@ -0,0 +1,102 @@
+package org.prebid.server.execution.blocking;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking tasks of a single subsystem off the event loop, replacing {@link Vertx#executeBlocking} calls
+ * sharing one worker pool, so a subsystem with slow tasks can't delay tasks of the other ones.
+ * <p>
+ * Number of concurrently running and waiting tasks is bounded, tasks exceeding the waiting limit are rejected.
+ * Result is delivered on the context of the caller, the same way as by {@link Vertx#executeBlocking}.
+ */
+public class BlockingExecutor {
+
+    private final String name;
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int maxQueueSize;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    public BlockingExecutor(String name,
+                            ExecutorService executorService,
+                            int maxConcurrency,
+                            int maxQueueSize,
+                            Vertx vertx,
+                            Metrics metrics,
+                            Clock clock) {
+
+        this.name = Objects.requireNonNull(name);
+        this.executorService = Objects.requireNonNull(executorService);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxQueueSize = maxQueueSize;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public <T> Future<T> execute(Callable<T> task) {
+        if (queueSize.incrementAndGet() > maxQueueSize) {
+            queueSize.decrementAndGet();
+            metrics.updateBlockingExecutorRejectedMetric(name);
+            return Future.failedFuture(new RejectedExecutionException(
+                    "Too many tasks are waiting for %s blocking executor".formatted(name)));
+        }
+
+        final Context context = vertx.getOrCreateContext();
+        final Promise<T> promise = Promise.promise();
+        final long submitTime = clock.millis();
+        try {
+            executorService.execute(() -> run(task, submitTime, context, promise));
+        } catch (RejectedExecutionException e) {
+            queueSize.decrementAndGet();
+            return Future.failedFuture(e);
+        }
+
+        return promise.future();
+    }
+
+    private <T> void run(Callable<T> task, long submitTime, Context context, Promise<T> promise) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queueSize.decrementAndGet();
+            Thread.currentThread().interrupt();
+            context.runOnContext(ignored -> promise.fail(e));
+            return;
+        }
+
+        queueSize.decrementAndGet();
+        final long startTime = clock.millis();
+        metrics.updateBlockingExecutorQueueTime(name, startTime - submitTime);
+
+        try {
+            final T result = task.call();
+            context.runOnContext(ignored -> promise.complete(result));
+        } catch (Exception e) {
+            context.runOnContext(ignored -> promise.fail(e));
+        } finally {
+            permits.release();
+            metrics.updateBlockingExecutorExecutionTime(name, clock.millis() - startTime);
+        }
+    }
+
+    void shutdown() {
+        executorService.shutdown();
+    }
+}
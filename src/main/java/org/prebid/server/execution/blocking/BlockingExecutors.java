@@ -0,0 +1,73 @@
+package org.prebid.server.execution.blocking;
+
+import io.vertx.core.Vertx;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.spring.config.model.BlockingExecutorProperties;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates {@link BlockingExecutor} per subsystem, limits of each one can be configured separately.
+ * <p>
+ * Tasks run on virtual threads by default, so waiting for IO doesn't hold a platform thread. With virtual threads
+ * disabled every subsystem gets its own fixed size platform thread pool.
+ */
+public class BlockingExecutors implements AutoCloseable {
+
+    public static final String CIRCUIT_BREAKER = "circuit-breaker";
+    public static final String FILE_SYNCER = "file-syncer";
+
+    private final BlockingExecutorProperties properties;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Map<String, BlockingExecutor> executors = new ConcurrentHashMap<>();
+
+    public BlockingExecutors(BlockingExecutorProperties properties, Vertx vertx, Metrics metrics, Clock clock) {
+        this.properties = Objects.requireNonNull(properties);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public BlockingExecutor forSubsystem(String name) {
+        return executors.computeIfAbsent(name, this::createExecutor);
+    }
+
+    private BlockingExecutor createExecutor(String name) {
+        final Optional<BlockingExecutorProperties.PoolProperties> poolProperties =
+                Optional.ofNullable(properties.getPools().get(name));
+        final int maxConcurrency = poolProperties
+                .map(BlockingExecutorProperties.PoolProperties::getMaxConcurrency)
+                .orElse(properties.getMaxConcurrency());
+        final int maxQueueSize = poolProperties
+                .map(BlockingExecutorProperties.PoolProperties::getMaxQueueSize)
+                .orElse(properties.getMaxQueueSize());
+
+        return new BlockingExecutor(
+                name, executorService(name, maxConcurrency), maxConcurrency, maxQueueSize, vertx, metrics, clock);
+    }
+
+    private ExecutorService executorService(String name, int maxConcurrency) {
+        final String threadNamePrefix = "prebid-%s-".formatted(name);
+        if (properties.getVirtualThreads()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        }
+
+        final ThreadFactory threadFactory = Thread.ofPlatform().name(threadNamePrefix, 0).daemon(true).factory();
+        return Executors.newFixedThreadPool(maxConcurrency, threadFactory);
+    }
+
+    @Override
+    public void close() {
+        executors.values().forEach(BlockingExecutor::shutdown);
+    }
+}
@@ -7,12 +7,14 @@ import io.vertx.core.file.FileSystemException;
 import io.vertx.core.http.HttpClientOptions;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.file.syncer.FileSyncer;
 import org.prebid.server.execution.file.syncer.LocalFileSyncer;
 import org.prebid.server.execution.file.syncer.RemoteFileSyncerV2;
 import org.prebid.server.execution.retry.ExponentialBackoffRetryPolicy;
 import org.prebid.server.execution.retry.FixedIntervalRetryPolicy;
 import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.spring.config.model.ExponentialBackoffProperties;
 import org.prebid.server.spring.config.model.FileSyncerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
@@ -46,23 +48,32 @@ public class FileUtil {
     }
 
     public static FileSyncer fileSyncerFor(FileProcessor fileProcessor,
+                                           String name,
                                            FileSyncerProperties properties,
-                                           Vertx vertx) {
+                                           Vertx vertx,
+                                           BlockingExecutor blockingExecutor,
+                                           Metrics metrics) {
 
         return switch (properties.getType()) {
             case LOCAL -> new LocalFileSyncer(
                     fileProcessor,
+                    name,
                     properties.getSaveFilepath(),
                     properties.getUpdateIntervalMs(),
                     toRetryPolicy(properties),
-                    vertx);
-            case REMOTE -> remoteFileSyncer(fileProcessor, properties, vertx);
+                    vertx,
+                    blockingExecutor,
+                    metrics);
+            case REMOTE -> remoteFileSyncer(fileProcessor, name, properties, vertx, blockingExecutor, metrics);
         };
     }
 
     private static RemoteFileSyncerV2 remoteFileSyncer(FileProcessor fileProcessor,
+                                                       String name,
                                                        FileSyncerProperties properties,
-                                                       Vertx vertx) {
+                                                       Vertx vertx,
+                                                       BlockingExecutor blockingExecutor,
+                                                       Metrics metrics) {
 
         final HttpClientProperties httpClientProperties = properties.getHttpClient();
         final HttpClientOptions httpClientOptions = new HttpClientOptions()
@@ -71,6 +82,7 @@ public class FileUtil {
 
         return new RemoteFileSyncerV2(
                 fileProcessor,
+                name,
                 properties.getDownloadUrl(),
                 properties.getSaveFilepath(),
                 properties.getTmpFilepath(),
@@ -79,7 +91,9 @@ public class FileUtil {
                 properties.isCheckSize(),
                 properties.getUpdateIntervalMs(),
                 toRetryPolicy(properties),
-                vertx);
+                vertx,
+                blockingExecutor,
+                metrics);
     }
 
     // TODO: remove after transition period
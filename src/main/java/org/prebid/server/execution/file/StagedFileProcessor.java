@@ -0,0 +1,33 @@
+package org.prebid.server.execution.file;
+
+import io.vertx.core.Future;
+
+/**
+ * {@link FileProcessor} which builds new data aside from the one currently in use and replaces it at once,
+ * so requests are never served from partially loaded data and old data stays in use if new file is broken.
+ *
+ * @param <T> type of data built from file
+ */
+public interface StagedFileProcessor<T> extends FileProcessor {
+
+    /**
+     * Reads file and builds data from it. Called on worker thread while data currently in use
+     * is still served, so both of them are held in memory until {@link #swap(Object)}.
+     */
+    T stage(String dataFilePath) throws Exception;
+
+    /**
+     * Replaces data currently in use with the staged one.
+     */
+    void swap(T staged);
+
+    @Override
+    default Future<?> setDataPath(String dataFilePath) {
+        try {
+            swap(stage(dataFilePath));
+            return Future.succeededFuture();
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package org.prebid.server.execution.file.supplier;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.CopyOptions;
 import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
@@ -12,15 +16,24 @@ import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.RequestOptions;
+import io.vertx.core.streams.WriteStream;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.file.FileUtil;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.util.HttpUtil;
 
 import java.util.Objects;
 import java.util.function.Supplier;
 
+/**
+ * Downloads remote file, keeping previous one as backup until the new one is processed.
+ * <p>
+ * Remembers validators (ETag and Last-Modified) of the last downloaded file and asks server to send the file
+ * only if it has been changed since, so unchanged file is neither transferred nor processed again.
+ * Validators are kept in memory only, so the first download after restart is unconditional.
+ */
 public class RemoteFileSupplier implements Supplier<Future<String>> {
 
     private static final Logger logger = LoggerFactory.getLogger(RemoteFileSupplier.class);
@@ -30,23 +43,31 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
     private final String tmpPath;
     private final HttpClient httpClient;
     private final FileSystem fileSystem;
+    private final String name;
+    private final Metrics metrics;
 
     private final RequestOptions getRequestOptions;
     private final RequestOptions headRequestOptions;
 
-    public RemoteFileSupplier(String downloadUrl,
+    private volatile Validators validators;
+
+    public RemoteFileSupplier(String name,
+                              String downloadUrl,
                               String savePath,
                               String tmpPath,
                               HttpClient httpClient,
                               long timeout,
                               boolean checkRemoteFileSize,
-                              FileSystem fileSystem) {
+                              FileSystem fileSystem,
+                              Metrics metrics) {
 
         this.savePath = Objects.requireNonNull(savePath);
         this.backupPath = savePath + ".old";
         this.tmpPath = Objects.requireNonNull(tmpPath);
         this.httpClient = Objects.requireNonNull(httpClient);
         this.fileSystem = Objects.requireNonNull(fileSystem);
+        this.name = Objects.requireNonNull(name);
+        this.metrics = Objects.requireNonNull(metrics);
 
         HttpUtil.validateUrl(downloadUrl);
         FileUtil.createAndCheckWritePermissionsFor(fileSystem, savePath);
@@ -70,14 +91,15 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
     @Override
     public Future<String> get() {
         return isDownloadRequired().compose(isDownloadRequired -> isDownloadRequired
-                ? Future.all(downloadFile(), createBackup())
-                .compose(ignored -> tmpToSave())
-                .map(savePath)
+                ? downloadFile().compose(isDownloaded -> isDownloaded
+                ? createBackup().compose(ignored -> tmpToSave()).map(savePath)
+                : Future.succeededFuture())
                 : Future.succeededFuture());
     }
 
     private Future<Boolean> isDownloadRequired() {
-        return headRequestOptions != null
+        // conditional download request tells whether file is changed without the need to compare sizes
+        return headRequestOptions != null && validators == null
                 ? fileSystem.exists(savePath)
                 .compose(exists -> exists ? isSizeChanged() : Future.succeededFuture(true))
                 : Future.succeededFuture(true);
@@ -93,11 +115,63 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
                 .map(compositeResult -> !Objects.equals(compositeResult.resultAt(0), compositeResult.resultAt(1)));
     }
 
-    private Future<Void> downloadFile() {
-        return fileSystem.open(tmpPath, new OpenOptions())
-                .compose(tmpFile -> sendHttpRequest(getRequestOptions)
-                        .onFailure(ignored -> tmpFile.close())
-                        .compose(response -> response.pipeTo(tmpFile)));
+    /**
+     * Returns false if server responded that file is not modified, so there is nothing to save.
+     */
+    private Future<Boolean> downloadFile() {
+        return downloadRequestOptions()
+                .compose(requestOptions -> fileSystem.open(tmpPath, new OpenOptions())
+                        .compose(tmpFile -> sendHttpRequest(requestOptions)
+                                .onFailure(ignored -> tmpFile.close())
+                                .compose(response -> isNotModified(response)
+                                        ? tmpFile.close().map(false)
+                                        : download(response, tmpFile))));
+    }
+
+    private Future<Boolean> download(HttpClientResponse response, AsyncFile tmpFile) {
+        final CountingWriteStream countingTmpFile = new CountingWriteStream(tmpFile);
+        return response.pipeTo(countingTmpFile)
+                .map(ignored -> onDownloaded(response, countingTmpFile.getWrittenBytes()));
+    }
+
+    private Future<RequestOptions> downloadRequestOptions() {
+        final Validators currentValidators = validators;
+        if (currentValidators == null) {
+            return Future.succeededFuture(getRequestOptions);
+        }
+
+        return fileSystem.exists(savePath).map(exists -> exists
+                ? conditionalRequestOptions(currentValidators)
+                : getRequestOptions);
+    }
+
+    private RequestOptions conditionalRequestOptions(Validators validators) {
+        final RequestOptions requestOptions = new RequestOptions(getRequestOptions);
+        if (validators.etag() != null) {
+            requestOptions.putHeader(HttpHeaders.IF_NONE_MATCH, validators.etag());
+        }
+        if (validators.lastModified() != null) {
+            requestOptions.putHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+        }
+        return requestOptions;
+    }
+
+    private boolean isNotModified(HttpClientResponse response) {
+        if (response.statusCode() != HttpResponseStatus.NOT_MODIFIED.code()) {
+            return false;
+        }
+
+        metrics.updateFileSyncerNotModifiedMetric(name);
+        return true;
+    }
+
+    private boolean onDownloaded(HttpClientResponse response, long downloadedBytes) {
+        final String etag = response.getHeader(HttpHeaders.ETAG);
+        final String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        validators = etag != null || lastModified != null ? new Validators(etag, lastModified) : null;
+
+        metrics.updateFileSyncerDownloadedBytes(name, downloadedBytes);
+        return true;
     }
 
     private Future<HttpClientResponse> sendHttpRequest(RequestOptions requestOptions) {
@@ -108,7 +182,7 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
 
     private HttpClientResponse validateResponse(HttpClientResponse response) {
         final int statusCode = response.statusCode();
-        if (statusCode != HttpResponseStatus.OK.code()) {
+        if (statusCode != HttpResponseStatus.OK.code() && statusCode != HttpResponseStatus.NOT_MODIFIED.code()) {
             throw new PreBidException("Got unexpected response from server with status code %s and message %s"
                     .formatted(statusCode, response.statusMessage()));
         }
@@ -142,6 +216,9 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
     }
 
     public Future<Void> restoreFromBackup() {
+        // restored file doesn't match remembered validators anymore
+        validators = null;
+
         return fileSystem.exists(backupPath)
                 .compose(exists -> exists
                         ? copyFile(backupPath, savePath)
@@ -157,4 +234,69 @@ public class RemoteFileSupplier implements Supplier<Future<String>> {
         fileSystem.delete(filePath)
                 .onFailure(error -> logger.error("Can't delete file: " + filePath));
     }
+
+    private record Validators(String etag, String lastModified) {
+    }
+
+    /**
+     * Counts bytes written to the file while the response is piped to it.
+     */
+    private static class CountingWriteStream implements WriteStream<Buffer> {
+
+        private final WriteStream<Buffer> delegate;
+        private long writtenBytes;
+
+        private CountingWriteStream(WriteStream<Buffer> delegate) {
+            this.delegate = delegate;
+        }
+
+        long getWrittenBytes() {
+            return writtenBytes;
+        }
+
+        @Override
+        public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+            delegate.exceptionHandler(handler);
+            return this;
+        }
+
+        @Override
+        public Future<Void> write(Buffer data) {
+            writtenBytes += data.length();
+            return delegate.write(data);
+        }
+
+        @Override
+        public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+            writtenBytes += data.length();
+            delegate.write(data, handler);
+        }
+
+        @Override
+        public Future<Void> end() {
+            return delegate.end();
+        }
+
+        @Override
+        public void end(Handler<AsyncResult<Void>> handler) {
+            delegate.end(handler);
+        }
+
+        @Override
+        public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+            delegate.setWriteQueueMaxSize(maxSize);
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return delegate.writeQueueFull();
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+            delegate.drainHandler(handler);
+            return this;
+        }
+    }
 }
@@ -2,13 +2,16 @@ package org.prebid.server.execution.file.syncer;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.retry.RetryPolicy;
 import org.prebid.server.execution.retry.Retryable;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public abstract class FileSyncer {
@@ -16,19 +19,28 @@ public abstract class FileSyncer {
     private static final Logger logger = LoggerFactory.getLogger(FileSyncer.class);
 
     private final FileProcessor fileProcessor;
+    private final String name;
     private final long updatePeriod;
     private final RetryPolicy retryPolicy;
     private final Vertx vertx;
+    private final BlockingExecutor blockingExecutor;
+    private final Metrics metrics;
 
     protected FileSyncer(FileProcessor fileProcessor,
+                         String name,
                          long updatePeriod,
                          RetryPolicy retryPolicy,
-                         Vertx vertx) {
+                         Vertx vertx,
+                         BlockingExecutor blockingExecutor,
+                         Metrics metrics) {
 
         this.fileProcessor = Objects.requireNonNull(fileProcessor);
+        this.name = Objects.requireNonNull(name);
         this.updatePeriod = updatePeriod;
         this.retryPolicy = Objects.requireNonNull(retryPolicy);
         this.vertx = Objects.requireNonNull(vertx);
+        this.blockingExecutor = Objects.requireNonNull(blockingExecutor);
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     public void sync() {
@@ -45,11 +57,16 @@ public abstract class FileSyncer {
     protected abstract Future<String> getFile();
 
     private Future<?> processFile(String filePath) {
-        return filePath != null
-                ? vertx.executeBlocking(() -> fileProcessor.setDataPath(filePath))
+        if (filePath == null) {
+            return Future.succeededFuture();
+        }
+
+        final long startTime = System.nanoTime();
+        return blockingExecutor.execute(() -> fileProcessor.setDataPath(filePath))
                 .compose(Function.identity())
-                .onFailure(error -> logger.error("Can't process saved file: " + filePath))
-                : Future.succeededFuture();
+                .onSuccess(ignored -> metrics.updateFileSyncerRebuildTime(
+                        name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)))
+                .onFailure(error -> logger.error("Can't process saved file: " + filePath));
     }
 
     private void onSuccess() {
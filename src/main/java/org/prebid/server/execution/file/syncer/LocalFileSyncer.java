@@ -2,21 +2,26 @@ package org.prebid.server.execution.file.syncer;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.file.supplier.LocalFileSupplier;
 import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
 
 public class LocalFileSyncer extends FileSyncer {
 
     private final LocalFileSupplier localFileSupplier;
 
     public LocalFileSyncer(FileProcessor fileProcessor,
+                           String name,
                            String localFile,
                            long updatePeriod,
                            RetryPolicy retryPolicy,
-                           Vertx vertx) {
+                           Vertx vertx,
+                           BlockingExecutor blockingExecutor,
+                           Metrics metrics) {
 
-        super(fileProcessor, updatePeriod, retryPolicy, vertx);
+        super(fileProcessor, name, updatePeriod, retryPolicy, vertx, blockingExecutor, metrics);
 
         localFileSupplier = new LocalFileSupplier(localFile, vertx.fileSystem());
     }
@@ -4,10 +4,12 @@ import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClient;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.file.supplier.LocalFileSupplier;
 import org.prebid.server.execution.file.supplier.RemoteFileSupplier;
 import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
 
 public class RemoteFileSyncerV2 extends FileSyncer {
 
@@ -15,6 +17,7 @@ public class RemoteFileSyncerV2 extends FileSyncer {
     private final RemoteFileSupplier remoteFileSupplier;
 
     public RemoteFileSyncerV2(FileProcessor fileProcessor,
+                              String name,
                               String downloadUrl,
                               String saveFilePath,
                               String tmpFilePath,
@@ -23,20 +26,24 @@ public class RemoteFileSyncerV2 extends FileSyncer {
                               boolean checkSize,
                               long updatePeriod,
                               RetryPolicy retryPolicy,
-                              Vertx vertx) {
+                              Vertx vertx,
+                              BlockingExecutor blockingExecutor,
+                              Metrics metrics) {
 
-        super(fileProcessor, updatePeriod, retryPolicy, vertx);
+        super(fileProcessor, name, updatePeriod, retryPolicy, vertx, blockingExecutor, metrics);
 
         final FileSystem fileSystem = vertx.fileSystem();
         localFileSupplier = new LocalFileSupplier(saveFilePath, fileSystem);
         remoteFileSupplier = new RemoteFileSupplier(
+                name,
                 downloadUrl,
                 saveFilePath,
                 tmpFilePath,
                 httpClient,
                 timeout,
                 checkSize,
-                fileSystem);
+                fileSystem,
+                metrics);
     }
 
     @Override
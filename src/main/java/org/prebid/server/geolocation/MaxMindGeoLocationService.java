@@ -1,5 +1,8 @@
 package org.prebid.server.geolocation;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.Network;
 import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -9,34 +12,105 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.lang3.StringUtils;
-import org.prebid.server.execution.file.FileProcessor;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.file.StagedFileProcessor;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the {@link GeoLocationService}
  * backed by <a href="https://dev.maxmind.com/geoip/geoip2/geolite2/">MaxMind free database</a>
+ * <p>
+ * By default database is loaded into heap. If database directory is configured, database file is extracted there
+ * and opened memory-mapped instead, so it is shared with OS page cache and doesn't affect GC.
+ * Newly synced database is fully loaded aside and then replaces the previous one without interrupting lookups,
+ * so broken file never affects the database in use. The previous database is closed, and its extracted file is
+ * deleted, once lookups still using it are done. Files left in the directory by previous runs are deleted at startup.
+ * <p>
+ * Optional lookup cache keeps results per IPv4 /24 and IPv6 /48 network, but only when the database record
+ * covers the whole network, so cached answers are always the same as the database ones. Cached results are tagged
+ * with the database generation, so results of lookups finished on the previous database are never served.
  */
-public class MaxMindGeoLocationService implements GeoLocationService, FileProcessor {
+public class MaxMindGeoLocationService
+        implements GeoLocationService, StagedFileProcessor<MaxMindGeoLocationService.StagedDatabase> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaxMindGeoLocationService.class);
 
     private static final String VENDOR = "maxmind";
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
+    private static final String EXTRACTED_FILE_NAME_PREFIX = "GeoLite2-City-";
+    private static final String EXTRACTED_FILE_NAME_SUFFIX = ".mmdb";
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    private static final int IPV4_CACHED_PREFIX_LENGTH = 24;
+    private static final int IPV6_CACHED_PREFIX_LENGTH = 48;
+    private static final long IPV4_CACHE_KEY_FLAG = 1L << 56;
+
+    private final Path databaseDirectory;
+    private final Cache<Long, CachedGeoInfo> lookupCache;
+
+    private volatile Database database;
+    private long databaseGeneration;
+
+    public MaxMindGeoLocationService() {
+        this(null, 0);
+    }
+
+    public MaxMindGeoLocationService(String databaseDirectory, long lookupCacheSize) {
+        this.databaseDirectory = StringUtils.isNotBlank(databaseDirectory) ? Paths.get(databaseDirectory) : null;
+        this.lookupCache = lookupCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(lookupCacheSize).build()
+                : null;
+
+        if (this.databaseDirectory != null) {
+            deleteStaleDatabaseFiles(this.databaseDirectory);
+        }
+    }
+
+    private static void deleteStaleDatabaseFiles(Path databaseDirectory) {
+        if (!Files.isDirectory(databaseDirectory)) {
+            return;
+        }
 
-    private DatabaseReader databaseReader;
+        try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(
+                databaseDirectory,
+                EXTRACTED_FILE_NAME_PREFIX + "*" + EXTRACTED_FILE_NAME_SUFFIX + "{," + TMP_FILE_SUFFIX + "}")) {
 
-    public Future<?> setDataPath(String dataFilePath) {
+            for (Path staleFile : staleFiles) {
+                deleteDatabaseFile(staleFile);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to list stale database files in {}: {}", databaseDirectory, e.getMessage());
+        }
+    }
+
+    @Override
+    public StagedDatabase stage(String dataFilePath) {
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
                 new FileInputStream(dataFilePath)))) {
 
@@ -49,44 +123,168 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
                 }
             }
             if (!hasDatabaseFile) {
-                return Future.failedFuture("Database file %s not found in %s archive"
+                throw new PreBidException("Database file %s not found in %s archive"
                         .formatted(DATABASE_FILE_NAME, dataFilePath));
             }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
-            return Future.succeededFuture();
+            if (databaseDirectory == null) {
+                return new StagedDatabase(
+                        new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build(),
+                        null);
+            }
+
+            final Path extractedFile = extractDatabaseFile(tarInput);
+            try {
+                return new StagedDatabase(
+                        new DatabaseReader.Builder(extractedFile.toFile())
+                                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                                .build(),
+                        extractedFile);
+            } catch (IOException e) {
+                deleteDatabaseFile(extractedFile);
+                throw e;
+            }
         } catch (IOException e) {
-            return Future.failedFuture(
+            throw new PreBidException(
                     "IO Exception occurred while trying to read an archive/db file: " + e.getMessage());
         }
     }
 
+    /**
+     * Should not be called concurrently, which is guaranteed by file syncer.
+     */
+    @Override
+    public void swap(StagedDatabase staged) {
+        final Database previousDatabase = database;
+        database = new Database(staged.reader(), staged.file(), ++databaseGeneration);
+        if (lookupCache != null) {
+            lookupCache.invalidateAll();
+        }
+
+        if (previousDatabase != null) {
+            previousDatabase.retire();
+        }
+    }
+
+    private Path extractDatabaseFile(InputStream databaseInput) throws IOException {
+        Files.createDirectories(databaseDirectory);
+
+        final Path tmpFile = Files.createTempFile(
+                databaseDirectory, EXTRACTED_FILE_NAME_PREFIX, EXTRACTED_FILE_NAME_SUFFIX + TMP_FILE_SUFFIX);
+        final String tmpFileName = tmpFile.getFileName().toString();
+        final Path extractedFile = databaseDirectory.resolve(
+                tmpFileName.substring(0, tmpFileName.length() - TMP_FILE_SUFFIX.length()));
+
+        try {
+            Files.copy(databaseInput, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpFile, extractedFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteDatabaseFile(tmpFile);
+            throw e;
+        }
+
+        return extractedFile;
+    }
+
+    private static void deleteDatabaseFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete database file {}: {}", file, e.getMessage());
+        }
+    }
+
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
-        if (databaseReader == null) {
+        final Database currentDatabase = acquireDatabase();
+        if (currentDatabase == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
         try {
-            final InetAddress inetAddress = InetAddress.getByName(ip);
-            final CityResponse cityResponse = databaseReader.city(inetAddress);
-            final Location location = cityResponse != null ? cityResponse.getLocation() : null;
-
-            return Future.succeededFuture(GeoInfo.builder()
-                    .vendor(VENDOR)
-                    .continent(resolveContinent(cityResponse))
-                    .country(resolveCountry(cityResponse))
-                    .region(resolveRegion(cityResponse))
-                    // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(resolveCity(cityResponse))
-                    .lat(resolveLatitude(location))
-                    .lon(resolveLongitude(location))
-                    .build());
+            return Future.succeededFuture(lookup(currentDatabase, InetAddress.getByName(ip)));
         } catch (IOException | GeoIp2Exception e) {
             return Future.failedFuture(e);
+        } finally {
+            currentDatabase.release();
         }
     }
 
+    /**
+     * Returns current database registered as being in use, so that it is not closed until released.
+     */
+    private Database acquireDatabase() {
+        while (true) {
+            final Database currentDatabase = database;
+            if (currentDatabase == null) {
+                return null;
+            }
+
+            currentDatabase.acquire();
+            // swap may have retired the database before it was acquired
+            if (currentDatabase == database) {
+                return currentDatabase;
+            }
+            currentDatabase.release();
+        }
+    }
+
+    private GeoInfo lookup(Database currentDatabase, InetAddress inetAddress) throws IOException, GeoIp2Exception {
+        final Long cacheKey = lookupCache != null ? cacheKey(inetAddress) : null;
+        final CachedGeoInfo cachedGeoInfo = cacheKey != null ? lookupCache.getIfPresent(cacheKey) : null;
+        if (cachedGeoInfo != null && cachedGeoInfo.generation() == currentDatabase.generation()) {
+            return cachedGeoInfo.geoInfo();
+        }
+
+        final CityResponse cityResponse = currentDatabase.reader().city(inetAddress);
+        final GeoInfo geoInfo = toGeoInfo(cityResponse);
+        if (cacheKey != null && coversCachedNetwork(cityResponse, inetAddress)) {
+            lookupCache.put(cacheKey, new CachedGeoInfo(currentDatabase.generation(), geoInfo));
+        }
+
+        return geoInfo;
+    }
+
+    private static Long cacheKey(InetAddress inetAddress) {
+        final byte[] address = inetAddress.getAddress();
+        final boolean ipv4 = inetAddress instanceof Inet4Address;
+        final int prefixBytes = (ipv4 ? IPV4_CACHED_PREFIX_LENGTH : IPV6_CACHED_PREFIX_LENGTH) / Byte.SIZE;
+
+        long key = ipv4 ? IPV4_CACHE_KEY_FLAG : 0L;
+        for (int i = 0; i < prefixBytes; i++) {
+            key |= (address[i] & 0xFFL) << (Byte.SIZE * (prefixBytes - 1 - i));
+        }
+        return key;
+    }
+
+    private static boolean coversCachedNetwork(CityResponse cityResponse, InetAddress inetAddress) {
+        final Traits traits = cityResponse != null ? cityResponse.getTraits() : null;
+        final Network network = traits != null ? traits.getNetwork() : null;
+        if (network == null) {
+            return false;
+        }
+
+        final int cachedPrefixLength = inetAddress instanceof Inet4Address
+                ? IPV4_CACHED_PREFIX_LENGTH
+                : IPV6_CACHED_PREFIX_LENGTH;
+        return network.getPrefixLength() <= cachedPrefixLength;
+    }
+
+    private static GeoInfo toGeoInfo(CityResponse cityResponse) {
+        final Location location = cityResponse != null ? cityResponse.getLocation() : null;
+
+        return GeoInfo.builder()
+                .vendor(VENDOR)
+                .continent(resolveContinent(cityResponse))
+                .country(resolveCountry(cityResponse))
+                .region(resolveRegion(cityResponse))
+                // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
+                .city(resolveCity(cityResponse))
+                .lat(resolveLatitude(location))
+                .lon(resolveLongitude(location))
+                .build();
+    }
+
     private static String resolveContinent(CityResponse cityResponse) {
         final Continent continent = cityResponse != null ? cityResponse.getContinent() : null;
         final String code = continent != null ? continent.getCode() : null;
@@ -119,4 +317,72 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
         final Double longitude = location != null ? location.getLongitude() : null;
         return longitude != null ? longitude.floatValue() : null;
     }
+
+    public record StagedDatabase(DatabaseReader reader, Path file) {
+    }
+
+    private record CachedGeoInfo(long generation, GeoInfo geoInfo) {
+    }
+
+    /**
+     * Database reader in use, closed when it was replaced and the last lookup using it is done.
+     */
+    private static class Database {
+
+        private final DatabaseReader reader;
+        private final Path file;
+        private final long generation;
+
+        private final AtomicInteger lookupsInProgress = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile boolean retired;
+
+        Database(DatabaseReader reader, Path file, long generation) {
+            this.reader = Objects.requireNonNull(reader);
+            this.file = file;
+            this.generation = generation;
+        }
+
+        DatabaseReader reader() {
+            return reader;
+        }
+
+        long generation() {
+            return generation;
+        }
+
+        void acquire() {
+            lookupsInProgress.incrementAndGet();
+        }
+
+        void release() {
+            if (lookupsInProgress.decrementAndGet() == 0 && retired) {
+                close();
+            }
+        }
+
+        void retire() {
+            retired = true;
+            if (lookupsInProgress.get() == 0) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                reader.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close previous database: {}", e.getMessage());
+            }
+
+            if (file != null) {
+                deleteDatabaseFile(file);
+            }
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package org.prebid.server.hooks.execution;
+
+import org.prebid.server.hooks.execution.model.ABTest;
+import org.prebid.server.hooks.execution.model.Stage;
+import org.prebid.server.hooks.execution.model.StageExecutionPlan;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.settings.model.AccountHooksConfiguration;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Hooks execution settings of a single account resolved against host configuration: effective stage plans
+ * for every endpoint, modules execution flags and applicable A/B tests.
+ * <p>
+ * Instance is immutable and stays valid as long as the account hooks configuration it was compiled from
+ * is not changed.
+ */
+class AccountExecutionPlan {
+
+    private final AccountHooksConfiguration hooksConfiguration;
+    private final Map<String, Boolean> modulesExecution;
+    private final Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans;
+    private final List<ABTest> abTests;
+
+    private AccountExecutionPlan(AccountHooksConfiguration hooksConfiguration,
+                                 Map<String, Boolean> modulesExecution,
+                                 Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans,
+                                 List<ABTest> abTests) {
+
+        this.hooksConfiguration = hooksConfiguration;
+        this.modulesExecution = modulesExecution;
+        this.stagePlans = stagePlans;
+        this.abTests = abTests;
+    }
+
+    static AccountExecutionPlan compile(AccountHooksConfiguration hooksConfiguration,
+                                        Map<String, Boolean> modulesExecution,
+                                        BiFunction<Endpoint, Stage, StageExecutionPlan> stagePlanResolver,
+                                        List<ABTest> abTests) {
+
+        final Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            final Map<Stage, StageExecutionPlan> endpointStagePlans = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                final StageExecutionPlan stagePlan = stagePlanResolver.apply(endpoint, stage);
+                if (!stagePlan.isEmpty()) {
+                    endpointStagePlans.put(stage, stagePlan);
+                }
+            }
+
+            if (!endpointStagePlans.isEmpty()) {
+                stagePlans.put(endpoint, endpointStagePlans);
+            }
+        }
+
+        return new AccountExecutionPlan(hooksConfiguration, modulesExecution, stagePlans, List.copyOf(abTests));
+    }
+
+    boolean isCompiledFrom(AccountHooksConfiguration actualHooksConfiguration) {
+        return hooksConfiguration == actualHooksConfiguration
+                || Objects.equals(hooksConfiguration, actualHooksConfiguration);
+    }
+
+    Map<String, Boolean> modulesExecution() {
+        return modulesExecution;
+    }
+
+    StageExecutionPlan stagePlan(Endpoint endpoint, Stage stage) {
+        final Map<Stage, StageExecutionPlan> endpointStagePlans = stagePlans.get(endpoint);
+        final StageExecutionPlan stagePlan = endpointStagePlans != null ? endpointStagePlans.get(stage) : null;
+        return stagePlan != null ? stagePlan : StageExecutionPlan.empty();
+    }
+
+    List<ABTest> abTests() {
+        return abTests;
+    }
+}
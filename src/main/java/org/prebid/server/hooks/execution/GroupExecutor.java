@@ -11,16 +11,22 @@ import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
 import org.prebid.server.hooks.v1.InvocationResult;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
     private final Vertx vertx;
     private final Clock clock;
+    private final Metrics metrics;
     private final Map<String, Boolean> modulesExecution;
 
     private ExecutionGroup group;
@@ -30,18 +36,20 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
 
-    private GroupExecutor(Vertx vertx, Clock clock, Map<String, Boolean> modulesExecution) {
+    private GroupExecutor(Vertx vertx, Clock clock, Metrics metrics, Map<String, Boolean> modulesExecution) {
         this.vertx = vertx;
         this.clock = clock;
+        this.metrics = metrics;
         this.modulesExecution = modulesExecution;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> GroupExecutor<PAYLOAD, CONTEXT> create(
             Vertx vertx,
             Clock clock,
+            Metrics metrics,
             Map<String, Boolean> modulesExecution) {
 
-        return new GroupExecutor<>(vertx, clock, modulesExecution);
+        return new GroupExecutor<>(vertx, clock, metrics, modulesExecution);
     }
 
     public GroupExecutor<PAYLOAD, CONTEXT> withGroup(ExecutionGroup group) {
@@ -80,6 +88,8 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         final GroupResult<PAYLOAD> initialGroupResult = GroupResult.of(initialPayload, rejectAllowed);
         Future<GroupResult<PAYLOAD>> groupFuture = Future.succeededFuture(initialGroupResult);
 
+        final GroupDeadline deadline = new GroupDeadline(clock.millis() + group.getTimeout());
+
         for (final HookId hookId : group.getHookSequence()) {
             if (!modulesExecution.get(hookId.getModuleCode())) {
                 continue;
@@ -89,12 +99,14 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
             final long startTime = clock.millis();
             final Future<InvocationResult<PAYLOAD>> invocationResult = hookFuture
-                    .compose(hook -> executeHook(hook, group.getTimeout(), initialGroupResult, hookId));
+                    .compose(hook -> executeHook(hook, group.getTimeout(), initialGroupResult, hookId, deadline));
 
             groupFuture = groupFuture.compose(groupResult ->
                     applyInvocationResult(invocationResult, hookId, startTime, groupResult));
         }
 
+        deadline.arm();
+
         return groupFuture.recover(GroupExecutor::restoreResultFromRejection);
     }
 
@@ -109,30 +121,22 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private Future<InvocationResult<PAYLOAD>> executeHook(Hook<PAYLOAD, CONTEXT> hook,
                                                           Long timeout,
                                                           GroupResult<PAYLOAD> groupResult,
-                                                          HookId hookId) {
+                                                          HookId hookId,
+                                                          GroupDeadline deadline) {
 
         final CONTEXT invocationContext = invocationContextProvider.apply(timeout, hookId, moduleContextFor(hookId));
-        return executeWithTimeout(() -> hook.call(groupResult.payload(), invocationContext), timeout);
+        return executeWithTimeout(() -> hook.call(groupResult.payload(), invocationContext), deadline);
     }
 
-    private <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, Long timeout) {
+    private static <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, GroupDeadline deadline) {
         final Promise<T> promise = Promise.promise();
+        deadline.register(promise);
 
-        final long timeoutTimerId = vertx.setTimer(timeout, id -> failWithTimeout(promise));
-
-        executeSafely(action)
-                .onComplete(result -> completeWithActionResult(promise, timeoutTimerId, result));
+        executeSafely(action).onComplete(result -> deadline.complete(promise, result));
 
         return promise.future();
     }
 
-    private static <T> void failWithTimeout(Promise<T> promise) {
-        // no need for synchronization since timer is fired on the same event loop thread
-        if (!promise.future().isComplete()) {
-            promise.fail(new TimeoutException("Timed out while executing action"));
-        }
-    }
-
     private static <T> Future<T> executeSafely(Supplier<Future<T>> action) {
         try {
             final Future<T> result = action.get();
@@ -142,15 +146,6 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         }
     }
 
-    private <T> void completeWithActionResult(Promise<T> promise, long timeoutTimerId, AsyncResult<T> result) {
-        vertx.cancelTimer(timeoutTimerId);
-
-        // check is to avoid harmless exception if timeout exceeds before successful result becomes ready
-        if (!promise.future().isComplete()) {
-            promise.handle(result);
-        }
-    }
-
     private long executionTime(long startTime) {
         return clock.millis() - startTime;
     }
@@ -192,4 +187,80 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
         return Future.failedFuture(throwable);
     }
+
+    /**
+     * Times out all hook invocations of the group with a single timer instead of one timer per invocation.
+     * <p>
+     * All hooks of the group are started at once and share the same timeout, so the timer is armed once after
+     * all of them are started, and only if some of them are still running. It is cancelled as soon as the last
+     * running invocation completes.
+     */
+    private class GroupDeadline {
+
+        private final long deadline;
+        private final List<Promise<?>> promises = new ArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile long timerId = -1;
+        private volatile boolean expired;
+
+        GroupDeadline(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void register(Promise<?> promise) {
+            if (expired) {
+                promise.tryFail(new TimeoutException("Timed out while executing action"));
+                return;
+            }
+
+            promises.add(promise);
+            pending.incrementAndGet();
+        }
+
+        <T> void complete(Promise<T> promise, AsyncResult<T> result) {
+            // timer is cancelled before completion is propagated further down the group
+            if (pending.decrementAndGet() == 0) {
+                cancel();
+            }
+
+            // invocation might have already been timed out
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        }
+
+        void arm() {
+            if (pending.get() == 0) {
+                return;
+            }
+
+            timerId = vertx.setTimer(Math.max(1L, deadline - clock.millis()), id -> expire());
+            metrics.updateHooksTimerMetric(MetricName.timer_armed);
+
+            // the last invocation might have completed while timer was being armed
+            if (pending.get() == 0) {
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            final long currentTimerId = timerId;
+            if (currentTimerId != -1 && vertx.cancelTimer(currentTimerId)) {
+                metrics.updateHooksTimerMetric(MetricName.timer_cancelled);
+            }
+        }
+
+        private void expire() {
+            expired = true;
+            metrics.updateHooksTimerMetric(MetricName.timer_fired);
+            metrics.updateHooksTimerLateness(Math.max(0L, clock.millis() - deadline));
+
+            for (final Promise<?> promise : promises) {
+                promise.tryFail(new TimeoutException("Timed out while executing action"));
+            }
+        }
+    }
 }
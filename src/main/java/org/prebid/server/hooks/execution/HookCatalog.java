@@ -9,7 +9,9 @@ import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HookCatalog {
 
@@ -18,6 +20,9 @@ public class HookCatalog {
 
     private final Collection<Module> modules;
 
+    // modules are fixed at startup, so once found hook implementation never changes
+    private final Map<HookKey, Hook<?, ? extends InvocationContext>> resolvedHooks = new ConcurrentHashMap<>();
+
     public HookCatalog(Collection<Module> modules) {
         this.modules = Objects.requireNonNull(modules);
     }
@@ -26,6 +31,19 @@ public class HookCatalog {
                                                                              StageWithHookType<HOOK> stage) {
 
         final Class<HOOK> clazz = stage.hookType();
+        final Hook<?, ? extends InvocationContext> hook = resolvedHooks.computeIfAbsent(
+                new HookKey(hookId, clazz),
+                key -> findHook(hookId, clazz));
+
+        if (hook == null) {
+            logAbsentHook(hookId);
+            throw new IllegalArgumentException("Hook implementation does not exist or disabled");
+        }
+
+        return clazz.cast(hook);
+    }
+
+    private <HOOK extends Hook<?, ? extends InvocationContext>> HOOK findHook(HookId hookId, Class<HOOK> clazz) {
         return modules.stream()
                 .filter(module -> Objects.equals(module.code(), hookId.getModuleCode()))
                 .map(Module::hooks)
@@ -34,13 +52,13 @@ public class HookCatalog {
                 .filter(clazz::isInstance)
                 .map(clazz::cast)
                 .findFirst()
-                .orElseThrow(() -> {
-                    logAbsentHook(hookId);
-                    return new IllegalArgumentException("Hook implementation does not exist or disabled");
-                });
+                .orElse(null);
     }
 
     private static void logAbsentHook(HookId hookId) {
         conditionalLogger.error("Hook implementation %s does not exist or disabled".formatted(hookId), 0.01d);
     }
+
+    private record HookKey(HookId hookId, Class<?> hookType) {
+    }
 }
@@ -2,6 +2,8 @@ package org.prebid.server.hooks.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
@@ -56,6 +58,7 @@ import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.settings.model.Account;
@@ -82,6 +85,7 @@ public class HookStageExecutor {
     private static final String ENTITY_AUCTION_RESPONSE = "auction-response";
     private static final String ENTITY_ALL_PROCESSED_BID_RESPONSES = "all-processed-bid-responses";
     private static final Account EMPTY_ACCOUNT = Account.empty(StringUtils.EMPTY);
+    private static final int ACCOUNT_EXECUTION_PLANS_CACHE_SIZE = 10_000;
 
     private final ExecutionPlan hostExecutionPlan;
     private final ExecutionPlan defaultAccountExecutionPlan;
@@ -90,10 +94,15 @@ public class HookStageExecutor {
     private final TimeoutFactory timeoutFactory;
     private final Vertx vertx;
     private final Clock clock;
+    private final Metrics metrics;
     private final ObjectMapper mapper;
     private final boolean isConfigToInvokeRequired;
     private final double logSamplingRate;
 
+    private final Map<String, Boolean> entrypointModulesExecution;
+    private final List<ABTest> entrypointABTests;
+    private final Cache<String, AccountExecutionPlan> accountExecutionPlans;
+
     private HookStageExecutor(ExecutionPlan hostExecutionPlan,
                               ExecutionPlan defaultAccountExecutionPlan,
                               Map<String, Boolean> hostModuleExecution,
@@ -101,6 +110,7 @@ public class HookStageExecutor {
                               TimeoutFactory timeoutFactory,
                               Vertx vertx,
                               Clock clock,
+                              Metrics metrics,
                               ObjectMapper mapper,
                               boolean isConfigToInvokeRequired,
                               double logSamplingRate) {
@@ -111,10 +121,19 @@ public class HookStageExecutor {
         this.timeoutFactory = timeoutFactory;
         this.vertx = vertx;
         this.clock = clock;
+        this.metrics = metrics;
         this.mapper = mapper;
         this.isConfigToInvokeRequired = isConfigToInvokeRequired;
         this.hostModuleExecution = hostModuleExecution;
         this.logSamplingRate = logSamplingRate;
+
+        entrypointModulesExecution = hostModuleExecution != null
+                ? DefaultedMap.defaultedMap(Collections.unmodifiableMap(hostModuleExecution), true)
+                : null;
+        entrypointABTests = abTestsForEntrypointStage();
+        accountExecutionPlans = Caffeine.newBuilder()
+                .maximumSize(ACCOUNT_EXECUTION_PLANS_CACHE_SIZE)
+                .build();
     }
 
     public static HookStageExecutor create(String hostExecutionPlan,
@@ -124,6 +143,7 @@ public class HookStageExecutor {
                                            TimeoutFactory timeoutFactory,
                                            Vertx vertx,
                                            Clock clock,
+                                           Metrics metrics,
                                            JacksonMapper mapper,
                                            boolean isConfigToInvokeRequired,
                                            double logSamplingRate) {
@@ -139,6 +159,7 @@ public class HookStageExecutor {
                 Objects.requireNonNull(timeoutFactory),
                 Objects.requireNonNull(vertx),
                 Objects.requireNonNull(clock),
+                Objects.requireNonNull(metrics),
                 mapper.mapper(),
                 isConfigToInvokeRequired,
                 logSamplingRate);
@@ -200,7 +221,7 @@ public class HookStageExecutor {
                 .withHookProvider(hookProviderForEntrypointStage(context))
                 .withInitialPayload(EntrypointPayloadImpl.of(queryParams, headers, body))
                 .withInvocationContextProvider(invocationContextProvider(endpoint))
-                .withModulesExecution(DefaultedMap.defaultedMap(hostModuleExecution, true))
+                .withModulesExecution(entrypointModulesExecution)
                 .withRejectAllowed(true)
                 .execute()
                 .map(result -> rejectAll(auctionContext, result));
@@ -360,7 +381,7 @@ public class HookStageExecutor {
             String entity,
             HookExecutionContext context) {
 
-        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock)
+        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, metrics)
                 .withStage(stage)
                 .withEntity(entity)
                 .withHookExecutionContext(context);
@@ -373,10 +394,40 @@ public class HookStageExecutor {
             Account account,
             Endpoint endpoint) {
 
+        final AccountExecutionPlan accountExecutionPlan = accountExecutionPlan(account);
+
         return stageExecutor(stage, entity, context)
-                .withModulesExecution(modulesExecutionForAccount(account))
-                .withExecutionPlan(planForStage(account, endpoint, stage.stage()))
-                .withHookProvider(hookProvider(stage, account, context));
+                .withModulesExecution(accountExecutionPlan.modulesExecution())
+                .withExecutionPlan(accountExecutionPlan.stagePlan(endpoint, stage.stage()))
+                .withHookProvider(hookProvider(stage, accountExecutionPlan.abTests(), context));
+    }
+
+    /**
+     * Returns plan compiled for the given account, compiling it only if account is seen for the first time
+     * or its hooks configuration has changed since the last compilation.
+     */
+    private AccountExecutionPlan accountExecutionPlan(Account account) {
+        final String accountId = StringUtils.defaultString(account.getId());
+        final AccountHooksConfiguration hooksConfiguration = account.getHooks();
+
+        final AccountExecutionPlan cached = accountExecutionPlans.getIfPresent(accountId);
+        if (cached != null && cached.isCompiledFrom(hooksConfiguration)) {
+            return cached;
+        }
+
+        final AccountExecutionPlan compiled = compileAccountExecutionPlan(account);
+        accountExecutionPlans.put(accountId, compiled);
+        return compiled;
+    }
+
+    private AccountExecutionPlan compileAccountExecutionPlan(Account account) {
+        final ExecutionPlan accountExecutionPlan = effectiveExecutionPlanFor(account);
+
+        return AccountExecutionPlan.compile(
+                account.getHooks(),
+                modulesExecutionForAccount(account),
+                (endpoint, stage) -> effectiveStagePlanFrom(accountExecutionPlan, endpoint, stage),
+                abTests(account));
     }
 
     private Map<String, Boolean> modulesExecutionForAccount(Account account) {
@@ -397,17 +448,14 @@ public class HookStageExecutor {
         }
 
         resultModulesExecution.putAll(hostModuleExecution);
-        return DefaultedMap.defaultedMap(resultModulesExecution, !isConfigToInvokeRequired);
+        return DefaultedMap.defaultedMap(
+                Collections.unmodifiableMap(resultModulesExecution), !isConfigToInvokeRequired);
     }
 
     private StageExecutionPlan planForEntrypointStage(Endpoint endpoint) {
         return effectiveStagePlanFrom(ExecutionPlan.empty(), endpoint, Stage.entrypoint);
     }
 
-    private StageExecutionPlan planForStage(Account account, Endpoint endpoint, Stage stage) {
-        return effectiveStagePlanFrom(effectiveExecutionPlanFor(account), endpoint, stage);
-    }
-
     private StageExecutionPlan effectiveStagePlanFrom(
             ExecutionPlan accountExecutionPlan, Endpoint endpoint, Stage stage) {
 
@@ -448,19 +496,19 @@ public class HookStageExecutor {
 
         return new ABTestHookProvider<>(
                 defaultHookProvider(StageWithHookType.ENTRYPOINT),
-                abTestsForEntrypointStage(),
+                entrypointABTests,
                 context,
                 mapper);
     }
 
     private <PAYLOAD, CONTEXT extends InvocationContext> HookProvider<PAYLOAD, CONTEXT> hookProvider(
             StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage,
-            Account account,
+            List<ABTest> abTests,
             HookExecutionContext context) {
 
         return new ABTestHookProvider<>(
                 defaultHookProvider(stage),
-                abTests(account),
+                abTests,
                 context,
                 mapper);
     }
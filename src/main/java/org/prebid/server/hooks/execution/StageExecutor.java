@@ -10,6 +10,7 @@ import org.prebid.server.hooks.execution.model.StageWithHookType;
 import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
+import org.prebid.server.metric.Metrics;
 
 import java.time.Clock;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
     private final Vertx vertx;
     private final Clock clock;
+    private final Metrics metrics;
 
     private StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage;
     private String entity;
@@ -30,16 +32,18 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private boolean rejectAllowed;
     private Map<String, Boolean> modulesExecution;
 
-    private StageExecutor(Vertx vertx, Clock clock) {
+    private StageExecutor(Vertx vertx, Clock clock, Metrics metrics) {
         this.vertx = vertx;
         this.clock = clock;
+        this.metrics = metrics;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> create(
             Vertx vertx,
-            Clock clock) {
+            Clock clock,
+            Metrics metrics) {
 
-        return new StageExecutor<>(vertx, clock);
+        return new StageExecutor<>(vertx, clock, metrics);
     }
 
     public StageExecutor<PAYLOAD, CONTEXT> withStage(StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage) {
@@ -105,7 +109,7 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     }
 
     private Future<GroupResult<PAYLOAD>> executeGroup(ExecutionGroup group, PAYLOAD initialPayload) {
-        return GroupExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, modulesExecution)
+        return GroupExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, metrics, modulesExecution)
                 .withGroup(group)
                 .withInitialPayload(initialPayload)
                 .withHookProvider(hookProvider)
@@ -8,13 +8,16 @@ import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class JsonLogic {
 
     private final JsonLogicEvaluator evaluator;
+    private final JsonLogicCompiler compiler;
 
-    public JsonLogic(JsonLogicEvaluator jsonLogicEvaluator) {
+    public JsonLogic(JsonLogicEvaluator jsonLogicEvaluator, JsonLogicCompiler jsonLogicCompiler) {
         evaluator = Objects.requireNonNull(jsonLogicEvaluator);
+        compiler = Objects.requireNonNull(jsonLogicCompiler);
     }
 
     public JsonLogicNode parse(String jsonNode) {
@@ -26,8 +29,25 @@ public class JsonLogic {
     }
 
     public boolean evaluate(JsonLogicNode jsonLogicNode, Map<String, Object> data) throws JsonLogicEvaluationException {
-        final Object result = evaluator.evaluate(jsonLogicNode, data);
+        return toBoolean(evaluator.evaluate(jsonLogicNode, data));
+    }
+
+    /**
+     * Compiles expression into predicate evaluated against typed data without building map of variables.
+     * Result of the predicate is the same as the one of {@link #evaluate(JsonLogicNode, Map)} with data map
+     * holding values of all variables.
+     *
+     * @param variableResolver returns accessor of the variable with given name, or null if variable is not known.
+     * @return compiled predicate or null if expression is not supported by compiler.
+     */
+    public <T> JsonLogicPredicate<T> compile(JsonLogicNode jsonLogicNode,
+                                             Function<String, Function<T, Object>> variableResolver) {
+
+        final JsonLogicCompiler.CompiledNode<T> compiledNode = compiler.compile(jsonLogicNode, variableResolver);
+        return compiledNode != null ? data -> toBoolean(compiledNode.evaluate(data)) : null;
+    }
 
+    private static boolean toBoolean(Object result) throws JsonLogicEvaluationException {
         if (result instanceof Boolean booleanResult) {
             return booleanResult;
         }
@@ -0,0 +1,172 @@
+package org.prebid.server.json;
+
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicString;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MissingExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles parsed JsonLogic expressions into trees of nodes evaluated directly against typed data.
+ * <p>
+ * Variables are resolved to data accessors once at compile time, so no intermediate map with all the variables
+ * has to be built for every evaluation. Operators with pre-evaluated arguments are delegated to the same
+ * expression implementations the evaluator is configured with, so compiled and interpreted results are the same.
+ * Expressions that iterate over arrays, depend on the whole data object or use nested variable paths are not
+ * supported and are left for the evaluator.
+ */
+public class JsonLogicCompiler {
+
+    private static final String AND = "and";
+    private static final String OR = "or";
+
+    private final Map<String, PreEvaluatedArgumentsExpression> expressions;
+
+    public JsonLogicCompiler(Collection<? extends JsonLogicExpression> expressions) {
+        this.expressions = expressions.stream()
+                .filter(expression -> expression instanceof PreEvaluatedArgumentsExpression)
+                .filter(expression -> !(expression instanceof MissingExpression))
+                .collect(Collectors.toMap(
+                        JsonLogicExpression::key,
+                        expression -> (PreEvaluatedArgumentsExpression) expression));
+    }
+
+    /**
+     * Returns compiled expression or null if it can not be compiled.
+     *
+     * @param variableResolver returns accessor of the variable with given name, or null if variable is not known.
+     */
+    <T> CompiledNode<T> compile(JsonLogicNode node, Function<String, Function<T, Object>> variableResolver) {
+        if (node instanceof JsonLogicPrimitive<?> primitive) {
+            final Object value = primitive.getValue();
+            return data -> value;
+        }
+        if (node instanceof JsonLogicVariable variable) {
+            return compileVariable(variable, variableResolver);
+        }
+        if (node instanceof JsonLogicArray array) {
+            final List<CompiledNode<T>> items = compileAll(array, variableResolver);
+            return items != null ? data -> evaluateAll(items, data) : null;
+        }
+        if (node instanceof JsonLogicOperation operation) {
+            return compileOperation(operation, variableResolver);
+        }
+
+        return null;
+    }
+
+    private <T> CompiledNode<T> compileVariable(JsonLogicVariable variable,
+                                                Function<String, Function<T, Object>> variableResolver) {
+
+        if (!(variable.getKey() instanceof JsonLogicString key)
+                || !(variable.getDefaultValue() instanceof JsonLogicPrimitive<?> defaultValueNode)) {
+            return null;
+        }
+
+        final String name = key.getValue();
+        if (name.isEmpty() || name.contains(".")) {
+            return null;
+        }
+
+        final Function<T, Object> accessor = variableResolver.apply(name);
+        if (accessor == null) {
+            return null;
+        }
+
+        final Object defaultValue = defaultValueNode.getValue();
+        return data -> {
+            final Object value = accessor.apply(data);
+            if (value == null) {
+                return defaultValue;
+            }
+
+            // evaluator treats all numbers from data as doubles
+            return value instanceof Number number ? number.doubleValue() : value;
+        };
+    }
+
+    private <T> CompiledNode<T> compileOperation(JsonLogicOperation operation,
+                                                 Function<String, Function<T, Object>> variableResolver) {
+
+        final List<CompiledNode<T>> arguments = compileAll(operation.getArguments(), variableResolver);
+        if (arguments == null) {
+            return null;
+        }
+
+        final String operator = operation.getOperator();
+        if (AND.equals(operator) || OR.equals(operator)) {
+            return !arguments.isEmpty() ? logic(arguments, AND.equals(operator)) : null;
+        }
+
+        final PreEvaluatedArgumentsExpression expression = expressions.get(operator);
+        return expression != null
+                ? data -> expression.evaluate(evaluateArguments(arguments, data), null)
+                : null;
+    }
+
+    private static <T> CompiledNode<T> logic(List<CompiledNode<T>> arguments, boolean isAnd) {
+        return data -> {
+            Object result = null;
+            for (final CompiledNode<T> argument : arguments) {
+                result = argument.evaluate(data);
+                if (io.github.jamsesso.jsonlogic.JsonLogic.truthy(result) != isAnd) {
+                    return result;
+                }
+            }
+            return result;
+        };
+    }
+
+    private <T> List<CompiledNode<T>> compileAll(JsonLogicArray array,
+                                                 Function<String, Function<T, Object>> variableResolver) {
+
+        final List<CompiledNode<T>> compiledNodes = new ArrayList<>(array.size());
+        for (final JsonLogicNode node : array) {
+            final CompiledNode<T> compiledNode = compile(node, variableResolver);
+            if (compiledNode == null) {
+                return null;
+            }
+            compiledNodes.add(compiledNode);
+        }
+
+        return compiledNodes;
+    }
+
+    private static <T> List<Object> evaluateAll(List<CompiledNode<T>> nodes, T data)
+            throws JsonLogicEvaluationException {
+
+        final List<Object> values = new ArrayList<>(nodes.size());
+        for (final CompiledNode<T> node : nodes) {
+            values.add(node.evaluate(data));
+        }
+
+        return values;
+    }
+
+    private static <T> List<?> evaluateArguments(List<CompiledNode<T>> arguments, T data)
+            throws JsonLogicEvaluationException {
+
+        final List<Object> values = evaluateAll(arguments, data);
+
+        // evaluator spreads single array argument the same way
+        return values.size() == 1 && values.getFirst() instanceof List<?> list ? list : values;
+    }
+
+    @FunctionalInterface
+    interface CompiledNode<T> {
+
+        Object evaluate(T data) throws JsonLogicEvaluationException;
+    }
+}
@@ -0,0 +1,9 @@
+package org.prebid.server.json;
+
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+
+@FunctionalInterface
+public interface JsonLogicPredicate<T> {
+
+    boolean test(T data) throws JsonLogicEvaluationException;
+}
@@ -1,6 +1,7 @@
 package org.prebid.server.json;
 
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.AllExpression;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.ArrayHasExpression;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.ConcatenateExpression;
@@ -29,7 +30,7 @@ public class JsonLogicProvider {
     private static final JsonLogic JSON_LOGIC;
 
     static {
-        final JsonLogicEvaluator evaluator = new JsonLogicEvaluator(List.of(
+        final List<JsonLogicExpression> expressions = List.of(
                 MathExpression.ADD,
                 MathExpression.SUBTRACT,
                 MathExpression.MULTIPLY,
@@ -63,9 +64,9 @@ public class JsonLogicProvider {
                 ConcatenateExpression.INSTANCE,
                 SubstringExpression.INSTANCE,
                 MissingExpression.ALL,
-                MissingExpression.SOME));
+                MissingExpression.SOME);
 
-        JSON_LOGIC = new JsonLogic(evaluator);
+        JSON_LOGIC = new JsonLogic(new JsonLogicEvaluator(expressions), new JsonLogicCompiler(expressions));
     }
 
     private JsonLogicProvider() {
@@ -0,0 +1,49 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import org.prebid.server.proto.openrtb.ext.request.ExtImp;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebid;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
+
+import java.util.List;
+
+/**
+ * Builds and caches Jackson serializers and deserializers of the OpenRTB model on startup,
+ * so the first auction requests do not pay for introspection and Blackbird accessors generation.
+ */
+public final class ObjectMapperWarmer {
+
+    private static final List<Class<?>> OPENRTB_MODEL = List.of(
+            BidRequest.class,
+            ExtRequest.class,
+            ExtImp.class,
+            ExtImpPrebid.class,
+            BidResponse.class,
+            ExtBidResponse.class,
+            ExtBidPrebid.class);
+
+    private ObjectMapperWarmer() {
+    }
+
+    /**
+     * Returns number of OpenRTB model types both serializer and deserializer were prepared for.
+     */
+    public static int warmUp(ObjectMapper mapper) {
+        int prepared = 0;
+        for (Class<?> type : OPENRTB_MODEL) {
+            final JavaType javaType = mapper.constructType(type);
+            final boolean serializable = mapper.canSerialize(type);
+            final boolean deserializable = mapper.canDeserialize(javaType);
+            if (serializable && deserializable) {
+                prepared++;
+            }
+        }
+
+        return prepared;
+    }
+}
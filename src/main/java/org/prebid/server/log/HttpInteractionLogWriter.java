@@ -0,0 +1,225 @@
+package org.prebid.server.log;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Value;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes HTTP interactions to a file in JSON Lines format from a dedicated thread.
+ * <p>
+ * Entries are put into a bounded ring buffer and dropped if it is full, so callers are never blocked. Entry content
+ * is built by the writer thread, which keeps JSON processing off the event loop. The file is rolled when it exceeds
+ * the maximum size: {@code file} is renamed to {@code file.1}, {@code file.1} to {@code file.2} and so on.
+ */
+public class HttpInteractionLogWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpInteractionLogWriter.class);
+
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long POLL_TIMEOUT_MS = 100L;
+    private static final long CLOSE_TIMEOUT_MS = 5000L;
+
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final JacksonMapper mapper;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final BlockingQueue<Entry> buffer;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    // accessed by writer thread only
+    private OutputStream out;
+    private long fileSize;
+
+    public HttpInteractionLogWriter(Path file,
+                                    long maxFileSize,
+                                    int maxHistory,
+                                    int bufferSize,
+                                    JacksonMapper mapper,
+                                    Metrics metrics,
+                                    Clock clock) {
+
+        if (maxFileSize <= 0 || maxHistory < 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid HTTP interaction log writer settings");
+        }
+
+        this.file = Objects.requireNonNull(file);
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        this.mapper = Objects.requireNonNull(mapper);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        writerThread = new Thread(this::run, "http-interaction-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Puts entry to the buffer without blocking, entry content is supplied later by the writer thread.
+     *
+     * @return false if entry was dropped because the buffer is full
+     */
+    public boolean offer(Supplier<ObjectNode> entrySupplier) {
+        if (running && buffer.offer(Entry.of(clock.millis(), entrySupplier))) {
+            return true;
+        }
+
+        metrics.updateHttpInteractionLogMetric(MetricName.dropped, 1);
+        return false;
+    }
+
+    private void run() {
+        final List<Entry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                final Entry first = buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        closeFile();
+    }
+
+    private void write(List<Entry> batch) {
+        int written = 0;
+        int dropped = 0;
+        try {
+            for (Entry entry : batch) {
+                final byte[] line = toLine(entry);
+                if (line == null) {
+                    dropped++;
+                    continue;
+                }
+
+                rollIfNeeded();
+                out.write(line);
+                fileSize += line.length;
+                written++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            logger.warn("Error occurred while writing HTTP interactions to {}: {}", file, e.getMessage());
+            dropped = batch.size() - written;
+            closeFile();
+        }
+
+        metrics.updateHttpInteractionLogMetric(MetricName.written, written);
+        metrics.updateHttpInteractionLogMetric(MetricName.dropped, dropped);
+    }
+
+    private byte[] toLine(Entry entry) {
+        try {
+            final ObjectNode line = mapper.mapper().createObjectNode()
+                    .put("timestamp", Instant.ofEpochMilli(entry.getTimestamp()).toString());
+            line.setAll(entry.getSupplier().get());
+            return (mapper.encodeToString(line) + '\n').getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            logger.warn("Error occurred while building HTTP interaction log entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void rollIfNeeded() throws IOException {
+        if (out != null && fileSize < maxFileSize) {
+            return;
+        }
+
+        if (out != null) {
+            closeFile();
+            roll();
+        }
+
+        out = new BufferedOutputStream(Files.newOutputStream(
+                file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        fileSize = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        if (maxHistory == 0) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            final Path rolled = rolledFile(i);
+            if (Files.exists(rolled)) {
+                Files.move(rolled, rolledFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolledFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void closeFile() {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warn("Error occurred while closing {}: {}", file, e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Stops accepting entries and waits for the buffered ones to be written.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class Entry {
+
+        long timestamp;
+
+        Supplier<ObjectNode> supplier;
+    }
+}
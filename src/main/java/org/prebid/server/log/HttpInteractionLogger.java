@@ -3,11 +3,13 @@ package org.prebid.server.log;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import io.vertx.ext.web.RoutingContext;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.json.JacksonMapper;
@@ -18,6 +20,7 @@ import org.prebid.server.util.ObjectUtil;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -27,11 +30,18 @@ public class HttpInteractionLogger {
     private final Logger logger = LoggerFactory.getLogger(HTTP_INTERACTION_LOGGER_NAME);
 
     private final JacksonMapper mapper;
+    private final HttpInteractionLogWriter writer;
+    private final double samplingRate;
 
     private final AtomicReference<SpecWithCounter> specWithCounter = new AtomicReference<>();
 
-    public HttpInteractionLogger(JacksonMapper mapper) {
+    /**
+     * Interactions are written by the given writer if it is present, and logged synchronously otherwise.
+     */
+    public HttpInteractionLogger(JacksonMapper mapper, HttpInteractionLogWriter writer, double samplingRate) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.writer = writer;
+        this.samplingRate = samplingRate;
     }
 
     public void setSpec(HttpLogSpec spec) {
@@ -43,15 +53,24 @@ public class HttpInteractionLogger {
                                         int statusCode,
                                         String responseBody) {
 
-        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext)) {
-            logger.info(
-                    "Requested URL: \"{}\", request body: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
-                    toOneLineString(routingContext.body().asString()),
-                    statusCode,
-                    responseBody);
+        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext) && isSampled()) {
+            final String uri = routingContext.request().uri();
+            final String requestBody = routingContext.body().asString();
 
-            incLoggedInteractions();
+            if (writer == null) {
+                logger.info(
+                        "Requested URL: \"{}\", request body: \"{}\", response status: \"{}\", response body: \"{}\"",
+                        uri,
+                        toOneLineString(requestBody),
+                        statusCode,
+                        responseBody);
+
+                incLoggedInteractions();
+            } else if (writer.offer(() -> endpointEntry(
+                    HttpLogSpec.Endpoint.auction, uri, requestBody, statusCode, responseBody))) {
+
+                incLoggedInteractions();
+            }
         }
     }
 
@@ -68,27 +87,82 @@ public class HttpInteractionLogger {
                                     int statusCode,
                                     String responseBody) {
 
-        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.amp, statusCode, auctionContext)) {
-            logger.info(
-                    "Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
-                    statusCode,
-                    responseBody);
+        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.amp, statusCode, auctionContext) && isSampled()) {
+            final String uri = routingContext.request().uri();
 
-            incLoggedInteractions();
+            if (writer == null) {
+                logger.info(
+                        "Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
+                        uri,
+                        statusCode,
+                        responseBody);
+
+                incLoggedInteractions();
+            } else if (writer.offer(() -> endpointEntry(
+                    HttpLogSpec.Endpoint.amp, uri, null, statusCode, responseBody))) {
+
+                incLoggedInteractions();
+            }
         }
     }
 
     public void maybeLogBidderRequest(AuctionContext context, BidderRequest bidderRequest) {
         final String bidder = bidderRequest.getBidder();
-        if (interactionSatisfiesSpec(context, bidder)) {
+        if (interactionSatisfiesSpec(context, bidder) && isSampled()) {
             final BidRequest bidRequest = bidderRequest.getBidRequest();
-            final BidRequest updatedBidRequest = bidRequestWithBidderName(bidder, bidRequest);
-            final String jsonBidRequest = mapper.encodeToString(updatedBidRequest);
-            logger.info("Request body to {}: \"{}\"", bidder, jsonBidRequest);
 
-            incLoggedInteractions();
+            if (writer == null) {
+                final BidRequest updatedBidRequest = bidRequestWithBidderName(bidder, bidRequest);
+                final String jsonBidRequest = mapper.encodeToString(updatedBidRequest);
+                logger.info("Request body to {}: \"{}\"", bidder, jsonBidRequest);
+
+                incLoggedInteractions();
+            } else if (writer.offer(() -> bidderEntry(bidder, bidRequest))) {
+                incLoggedInteractions();
+            }
+        }
+    }
+
+    private boolean isSampled() {
+        return samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+
+    private ObjectNode endpointEntry(HttpLogSpec.Endpoint endpoint,
+                                     String uri,
+                                     String requestBody,
+                                     int statusCode,
+                                     String responseBody) {
+
+        final ObjectNode entry = mapper.mapper().createObjectNode()
+                .put("endpoint", endpoint.name())
+                .put("uri", uri)
+                .put("status", statusCode);
+        if (requestBody != null) {
+            entry.set("requestBody", toJsonNode(requestBody));
+        }
+        if (responseBody != null) {
+            entry.set("responseBody", toJsonNode(responseBody));
+        }
+
+        return entry;
+    }
+
+    private JsonNode toJsonNode(String value) {
+        if (StringUtils.isBlank(value)) {
+            return TextNode.valueOf(value);
         }
+
+        try {
+            return mapper.mapper().readTree(value);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(value);
+        }
+    }
+
+    private ObjectNode bidderEntry(String bidder, BidRequest bidRequest) {
+        final ObjectNode entry = mapper.mapper().createObjectNode().put("bidder", bidder);
+        entry.set("requestBody", mapper.mapper().valueToTree(bidRequestWithBidderName(bidder, bidRequest)));
+        return entry;
     }
 
     private boolean interactionSatisfiesSpec(HttpLogSpec.Endpoint requestEndpoint,
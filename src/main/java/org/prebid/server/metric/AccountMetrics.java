@@ -1,7 +1,9 @@
 package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
+import org.prebid.server.auction.model.AuctionStage;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -24,6 +26,8 @@ class AccountMetrics extends UpdatableMetrics {
     private final HooksMetrics hooksMetrics;
     private final ActivitiesMetrics activitiesMetrics;
     private final ProfileMetrics profileMetrics;
+    private final Function<AuctionStage, AuctionStageMetrics> auctionStageMetricsCreator;
+    private final Map<AuctionStage, AuctionStageMetrics> auctionStageMetrics;
 
     AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, String account) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
@@ -38,6 +42,9 @@ class AccountMetrics extends UpdatableMetrics {
         hooksMetrics = new HooksMetrics(metricRegistry, counterType, createPrefix(account));
         activitiesMetrics = new ActivitiesMetrics(metricRegistry, counterType, createPrefix(account));
         profileMetrics = new ProfileMetrics(metricRegistry, counterType, createPrefix(account));
+        auctionStageMetricsCreator = stage ->
+                new AuctionStageMetrics(metricRegistry, counterType, createPrefix(account), stage);
+        auctionStageMetrics = new EnumMap<>(AuctionStage.class);
     }
 
     private static String createPrefix(String account) {
@@ -79,4 +86,8 @@ class AccountMetrics extends UpdatableMetrics {
     ProfileMetrics profiles() {
         return profileMetrics;
     }
+
+    AuctionStageMetrics auctionStage(AuctionStage stage) {
+        return auctionStageMetrics.computeIfAbsent(stage, auctionStageMetricsCreator);
+    }
 }
@@ -0,0 +1,39 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+import org.prebid.server.auction.model.AuctionStage;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Auction stage metrics support.
+ */
+class AuctionStageMetrics extends UpdatableMetrics {
+
+    AuctionStageMetrics(MetricRegistry metricRegistry, CounterType counterType, AuctionStage stage) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(stage))));
+    }
+
+    AuctionStageMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, AuctionStage stage) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(stage))));
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+
+    private static String createPrefix(String prefix, AuctionStage stage) {
+        return "%s.%s".formatted(prefix, createPrefix(stage));
+    }
+
+    private static String createPrefix(AuctionStage stage) {
+        return "auction.stage." + stage;
+    }
+}
@@ -0,0 +1,23 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Blocking executors metrics support.
+ */
+class BlockingExecutorMetrics extends UpdatableMetrics {
+
+    BlockingExecutorMetrics(MetricRegistry metricRegistry, CounterType counterType, String name) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(Objects.requireNonNull(name)));
+    }
+
+    private static Function<MetricName, String> nameCreator(String name) {
+        return metricName -> "blocking-executor.%s.%s".formatted(name, metricName);
+    }
+}
@@ -0,0 +1,23 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Synced files metrics support.
+ */
+class FileSyncerMetrics extends UpdatableMetrics {
+
+    FileSyncerMetrics(MetricRegistry metricRegistry, CounterType counterType, String name) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(Objects.requireNonNull(name)));
+    }
+
+    private static Function<MetricName, String> nameCreator(String name) {
+        return metricName -> "file-syncer.%s.%s".formatted(name, metricName);
+    }
+}
@@ -0,0 +1,193 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.stream.LongStream;
+
+/**
+ * {@link Reservoir} backed by HdrHistogram {@link Recorder}, which is wait-free for concurrent writers
+ * and keeps all recorded values with fixed relative precision instead of a biased sample.
+ * <p>
+ * Snapshots reflect values recorded within the last complete interval and the current one, so several
+ * reporters reading the same reservoir see the same data. Cumulative histogram of all recorded values
+ * is kept as well, so its buckets can be exported and merged across instances.
+ * <p>
+ * All histograms cover a fixed range of values, so their memory footprint is known upfront. Values outside
+ * of the range are recorded as the range bounds.
+ */
+class HdrHistogramReservoir implements Reservoir {
+
+    private final long highestTrackableValue;
+    private final long intervalMs;
+    private final Clock clock;
+    private final Recorder recorder;
+
+    private final Histogram cumulative;
+    private final Histogram window;
+    private Histogram current;
+    private Histogram previous;
+    private Histogram recycled;
+    private long intervalStart;
+
+    HdrHistogramReservoir(long lowestDiscernibleValue,
+                          long highestTrackableValue,
+                          int significantValueDigits,
+                          long intervalMs,
+                          Clock clock) {
+
+        this.highestTrackableValue = highestTrackableValue;
+        this.intervalMs = intervalMs;
+        this.clock = Objects.requireNonNull(clock);
+
+        recorder = new Recorder(lowestDiscernibleValue, highestTrackableValue, significantValueDigits);
+        cumulative = new Histogram(lowestDiscernibleValue, highestTrackableValue, significantValueDigits);
+        window = new Histogram(lowestDiscernibleValue, highestTrackableValue, significantValueDigits);
+        current = new Histogram(lowestDiscernibleValue, highestTrackableValue, significantValueDigits);
+        previous = new Histogram(lowestDiscernibleValue, highestTrackableValue, significantValueDigits);
+        intervalStart = clock.millis();
+    }
+
+    /**
+     * Returns number of values in the window as of the last snapshot, without sampling values recorded since then.
+     */
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(previous.getTotalCount() + current.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(0, Math.min(value, highestTrackableValue)));
+    }
+
+    /**
+     * Returns snapshot backed by the window histogram shared by all snapshots of the reservoir, so it reflects
+     * the window as of the latest {@link #getSnapshot()} call. Reporters are expected to read the snapshot right
+     * after taking it.
+     */
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        sample();
+
+        window.reset();
+        window.add(previous);
+        window.add(current);
+        return new HdrSnapshot(window, this);
+    }
+
+    /**
+     * Returns copy of the histogram with all values recorded since the reservoir creation.
+     */
+    synchronized Histogram cumulativeHistogram() {
+        sample();
+
+        return cumulative.copy();
+    }
+
+    private void sample() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        cumulative.add(recycled);
+
+        final long now = clock.millis();
+        if (now - intervalStart >= intervalMs) {
+            final Histogram completed = current;
+            current = previous;
+            current.reset();
+            previous = completed;
+            intervalStart = now;
+        }
+
+        current.add(recycled);
+    }
+
+    private static class HdrSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+        private final Object lock;
+
+        HdrSnapshot(Histogram histogram, Object lock) {
+            this.histogram = histogram;
+            this.lock = lock;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+
+            synchronized (lock) {
+                return histogram.getValueAtPercentile(quantile * 100);
+            }
+        }
+
+        /**
+         * Returns one value per each non-empty bucket of the histogram, since keeping all recorded values
+         * is exactly what this reservoir avoids.
+         */
+        @Override
+        public long[] getValues() {
+            final LongStream.Builder values = LongStream.builder();
+            synchronized (lock) {
+                for (HistogramIterationValue value : histogram.recordedValues()) {
+                    values.add(histogram.highestEquivalentValue(value.getValueIteratedTo()));
+                }
+            }
+            return values.build().toArray();
+        }
+
+        @Override
+        public int size() {
+            synchronized (lock) {
+                return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public long getMax() {
+            synchronized (lock) {
+                return histogram.getMaxValue();
+            }
+        }
+
+        @Override
+        public double getMean() {
+            synchronized (lock) {
+                return histogram.getMean();
+            }
+        }
+
+        @Override
+        public long getMin() {
+            synchronized (lock) {
+                return histogram.getMinValue();
+            }
+        }
+
+        @Override
+        public double getStdDev() {
+            synchronized (lock) {
+                return histogram.getStdDeviation();
+            }
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
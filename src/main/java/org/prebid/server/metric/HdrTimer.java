@@ -0,0 +1,44 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Timer;
+import org.HdrHistogram.Histogram;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Timer} with durations recorded into {@link HdrHistogramReservoir}, so its percentiles are not biased
+ * and the recorded durations can be exported as histogram buckets.
+ * <p>
+ * Durations are tracked from 1 microsecond up to 1 minute with 1% precision, longer ones are recorded as 1 minute.
+ */
+public class HdrTimer extends Timer {
+
+    private static final long INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long LOWEST_DISCERNIBLE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final HdrHistogramReservoir reservoir;
+
+    public HdrTimer() {
+        this(new HdrHistogramReservoir(
+                LOWEST_DISCERNIBLE_NANOS,
+                HIGHEST_TRACKABLE_NANOS,
+                SIGNIFICANT_VALUE_DIGITS,
+                INTERVAL_MS,
+                Clock.systemUTC()));
+    }
+
+    private HdrTimer(HdrHistogramReservoir reservoir) {
+        super(reservoir);
+        this.reservoir = reservoir;
+    }
+
+    /**
+     * Returns histogram of all durations in nanoseconds recorded since the timer creation.
+     */
+    public Histogram cumulativeHistogram() {
+        return reservoir.cumulativeHistogram();
+    }
+}
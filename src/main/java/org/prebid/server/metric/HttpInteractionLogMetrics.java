@@ -0,0 +1,20 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * HTTP interaction log metrics support.
+ */
+class HttpInteractionLogMetrics extends UpdatableMetrics {
+
+    HttpInteractionLogMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType), nameCreator());
+    }
+
+    private static Function<MetricName, String> nameCreator() {
+        return "http_interaction_log.%s"::formatted;
+    }
+}
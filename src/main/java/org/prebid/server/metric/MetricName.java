@@ -13,9 +13,13 @@ public enum MetricName {
     http,
     opened,
     existing,
+    failure_rate,
+    slow_call_rate,
 
     // database
     db_query_time,
+    db_batch_size,
+    db_queries_saved,
 
     // geo location
     geolocation_requests,
@@ -77,6 +81,8 @@ public enum MetricName {
     networkerr,
     buyeruid_scrubbed,
     seat,
+    rate_limited,
+    sampled_out,
 
     // bids validation
     warn,
@@ -135,9 +141,11 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    shared_settings("shared-settings"),
     account,
     initialize,
     update,
+    changed,
     hit,
     miss,
 
@@ -152,6 +160,38 @@ public enum MetricName {
     execution_error("execution-error"),
     duration,
 
+    // modules cache
+    negative_hit("negative-hit"),
+    deduplicated,
+    queue_depth("queue-depth"),
+    pipeline_depth("pipeline-depth"),
+    pipeline_time("pipeline-time"),
+
+    // modules functions
+    evaluation_time("evaluation-time"),
+    reused,
+
+    // hooks timers
+    timer_armed("timer.armed"),
+    timer_cancelled("timer.cancelled"),
+    timer_fired("timer.fired"),
+    timer_lateness("timer.lateness"),
+
+    // startup
+    context,
+    bidders,
+    verticles,
+
+    // file syncer
+    downloaded_bytes("downloaded-bytes"),
+    not_modified("not-modified"),
+    rebuild_time("rebuild-time"),
+
+    // blocking executor
+    queue_time("queue-time"),
+    execution_time("execution-time"),
+    rejected,
+
     // price-floors
     price_floors("price-floors"),
 
@@ -160,7 +200,16 @@ public enum MetricName {
     processed_rules_count("processedrules.count"),
 
     // profiles
-    limit_exceeded;
+    limit_exceeded,
+
+    // timeout notifications and http interaction log
+    sent,
+    dropped,
+    written,
+
+    // prometheus
+    scrape_time("scrape-time"),
+    collapsed_label_values("collapsed-label-values");
 
     private final String name;
 
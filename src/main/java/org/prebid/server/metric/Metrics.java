@@ -5,6 +5,7 @@ import com.iab.openrtb.request.Imp;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
 import org.prebid.server.hooks.execution.model.ExecutionStatus;
 import org.prebid.server.hooks.execution.model.Stage;
@@ -18,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
@@ -39,6 +42,9 @@ public class Metrics extends UpdatableMetrics {
     private final Function<Integer, BidderCardinalityMetrics> bidderCardinalityMetricsCreator;
     private final Function<MetricName, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
     private final Function<MetricName, SettingsCacheMetrics> settingsCacheMetricsCreator;
+    private final Function<String, FileSyncerMetrics> fileSyncerMetricsCreator;
+    private final Function<String, BlockingExecutorMetrics> blockingExecutorMetricsCreator;
+    private final Function<AuctionStage, AuctionStageMetrics> auctionStageMetricsCreator;
     // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
     // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
     // thread-safe
@@ -60,6 +66,13 @@ public class Metrics extends UpdatableMetrics {
     private final Map<MetricName, SettingsCacheMetrics> settingsCacheMetrics;
     private final HooksMetrics hooksMetrics;
     private final ProfileMetrics profileMetrics;
+    private final StartupMetrics startupMetrics;
+    private final PrometheusMetrics prometheusMetrics;
+    private final HttpInteractionLogMetrics httpInteractionLogMetrics;
+    private final Map<AuctionStage, AuctionStageMetrics> auctionStageMetrics;
+    private final Map<String, FileSyncerMetrics> fileSyncerMetrics;
+    // updated from blocking executor threads concurrently
+    private final Map<String, BlockingExecutorMetrics> blockingExecutorMetrics;
 
     public Metrics(MetricRegistry metricRegistry,
                    CounterType counterType,
@@ -80,6 +93,9 @@ public class Metrics extends UpdatableMetrics {
                 metricRegistry, counterType, moduleType);
         circuitBreakerMetricsCreator = type -> new CircuitBreakerMetrics(metricRegistry, counterType, type);
         settingsCacheMetricsCreator = type -> new SettingsCacheMetrics(metricRegistry, counterType, type);
+        fileSyncerMetricsCreator = name -> new FileSyncerMetrics(metricRegistry, counterType, name);
+        blockingExecutorMetricsCreator = name -> new BlockingExecutorMetrics(metricRegistry, counterType, name);
+        auctionStageMetricsCreator = stage -> new AuctionStageMetrics(metricRegistry, counterType, stage);
 
         requestsMetrics = new RequestsMetrics(metricRegistry, counterType);
         requestMetrics = new EnumMap<>(MetricName.class);
@@ -99,6 +115,12 @@ public class Metrics extends UpdatableMetrics {
         settingsCacheMetrics = new HashMap<>();
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
         profileMetrics = new ProfileMetrics(metricRegistry, counterType);
+        startupMetrics = new StartupMetrics(metricRegistry, counterType);
+        prometheusMetrics = new PrometheusMetrics(metricRegistry, counterType);
+        httpInteractionLogMetrics = new HttpInteractionLogMetrics(metricRegistry, counterType);
+        auctionStageMetrics = new EnumMap<>(AuctionStage.class);
+        fileSyncerMetrics = new HashMap<>();
+        blockingExecutorMetrics = new ConcurrentHashMap<>();
     }
 
     RequestsMetrics requests() {
@@ -169,6 +191,18 @@ public class Metrics extends UpdatableMetrics {
         return hooksMetrics;
     }
 
+    FileSyncerMetrics forFileSyncer(String name) {
+        return fileSyncerMetrics.computeIfAbsent(name, fileSyncerMetricsCreator);
+    }
+
+    BlockingExecutorMetrics forBlockingExecutor(String name) {
+        return blockingExecutorMetrics.computeIfAbsent(name, blockingExecutorMetricsCreator);
+    }
+
+    AuctionStageMetrics forAuctionStage(AuctionStage stage) {
+        return auctionStageMetrics.computeIfAbsent(stage, auctionStageMetricsCreator);
+    }
+
     public void updateDebugRequestMetrics(boolean debugEnabled) {
         if (debugEnabled) {
             incCounter(MetricName.debug_requests);
@@ -230,7 +264,7 @@ public class Metrics extends UpdatableMetrics {
     }
 
     public void updateRequestTimeMetric(MetricName requestType, long millis) {
-        updateTimer(requestType, millis);
+        updateHdrTimer(requestType, millis);
     }
 
     public void updateRequestTypeMetric(MetricName requestType, MetricName requestStatus) {
@@ -261,6 +295,19 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAuctionStageMetric(Account account, AuctionStage stage, long nanos) {
+        forAuctionStage(stage).updateHdrTimer(MetricName.duration, nanos, TimeUnit.NANOSECONDS);
+
+        if (account == null) {
+            return;
+        }
+
+        if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
+            forAccount(account.getId()).auctionStage(stage)
+                    .updateHdrTimer(MetricName.duration, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public void updateAccountRequestRejectedByInvalidAccountMetrics(String accountId) {
         updateAccountRequestsMetrics(accountId, MetricName.rejected_by_invalid_account);
     }
@@ -300,12 +347,12 @@ public class Metrics extends UpdatableMetrics {
 
     public void updateAdapterResponseTime(String bidder, Account account, int responseTime) {
         final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
-        adapterTypeMetrics.updateTimer(MetricName.request_time, responseTime);
+        adapterTypeMetrics.updateHdrTimer(MetricName.request_time, responseTime);
 
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
             final AdapterTypeMetrics accountAdapterMetrics =
                     forAccount(account.getId()).adapter().forAdapter(bidder);
-            accountAdapterMetrics.updateTimer(MetricName.request_time, responseTime);
+            accountAdapterMetrics.updateHdrTimer(MetricName.request_time, responseTime);
         }
     }
 
@@ -323,6 +370,13 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterRequestTrafficShapedMetrics(String bidder, Account account, MetricName metricName) {
+        forAdapter(bidder).request().incCounter(metricName);
+        if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
+            forAccount(account.getId()).adapter().forAdapter(bidder).request().incCounter(metricName);
+        }
+    }
+
     public void updateAdapterBidMetrics(String bidder, Account account, long cpm, boolean isAdm, String bidType) {
         final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
         adapterTypeMetrics.updateHistogram(MetricName.prices, cpm);
@@ -560,7 +614,12 @@ public class Metrics extends UpdatableMetrics {
     }
 
     public void updateDatabaseQueryTimeMetric(long millis) {
-        updateTimer(MetricName.db_query_time, millis);
+        updateHdrTimer(MetricName.db_query_time, millis);
+    }
+
+    public void updateDatabaseBatchMetrics(int batchSize) {
+        updateHistogram(MetricName.db_batch_size, batchSize);
+        incCounter(MetricName.db_queries_saved, batchSize - 1);
     }
 
     public void createDatabaseCircuitBreakerGauge(BooleanSupplier stateSupplier) {
@@ -574,8 +633,22 @@ public class Metrics extends UpdatableMetrics {
                 .createGauge(MetricName.opened, () -> stateSupplier.getAsBoolean() ? 1 : 0);
     }
 
+    public void createHttpClientCircuitBreakerRateGauges(String name,
+                                                         LongSupplier failureRateSupplier,
+                                                         LongSupplier slowCallRateSupplier) {
+
+        final CircuitBreakerMetrics.NamedCircuitBreakerMetrics namedMetrics =
+                forCircuitBreakerType(MetricName.http).forName(name);
+        namedMetrics.createGauge(MetricName.failure_rate, failureRateSupplier);
+        namedMetrics.createGauge(MetricName.slow_call_rate, slowCallRateSupplier);
+    }
+
     public void removeHttpClientCircuitBreakerGauge(String name) {
-        forCircuitBreakerType(MetricName.http).forName(name).removeMetric(MetricName.opened);
+        final CircuitBreakerMetrics.NamedCircuitBreakerMetrics namedMetrics =
+                forCircuitBreakerType(MetricName.http).forName(name);
+        namedMetrics.removeMetric(MetricName.opened);
+        namedMetrics.removeMetric(MetricName.failure_rate);
+        namedMetrics.removeMetric(MetricName.slow_call_rate);
     }
 
     public void createHttpClientCircuitBreakerNumberGauge(LongSupplier numberSupplier) {
@@ -647,6 +720,31 @@ public class Metrics extends UpdatableMetrics {
         cache().moduleStorage(moduleCode).entryTtl().updateHistogram(type, entryTtl);
     }
 
+    public void updateModuleCacheMetric(String moduleCode, MetricName event) {
+        hooks().module(moduleCode).cache().incCounter(event);
+    }
+
+    public void updateModuleCacheRequestTime(String moduleCode, long timeElapsed) {
+        hooks().module(moduleCode).cache().updateTimer(MetricName.request_time, timeElapsed);
+    }
+
+    public void updateModuleHistogram(String moduleCode, MetricName metricName, long value) {
+        hooks().module(moduleCode).updateHistogram(metricName, value);
+    }
+
+    public void updateModulePipelineTime(String moduleCode, long timeElapsed) {
+        hooks().module(moduleCode).updateTimer(MetricName.pipeline_time, timeElapsed);
+    }
+
+    public void updateModuleFunctionEvaluationTime(String moduleCode, String function, long nanos) {
+        hooks().module(moduleCode).function(function)
+                .updateTimer(MetricName.evaluation_time, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void updateModuleFunctionReusedMetric(String moduleCode, String function) {
+        hooks().module(moduleCode).function(function).incCounter(MetricName.reused);
+    }
+
     public void updateAuctionCacheRequestTime(String accountId, long timeElapsed, MetricName metricName) {
         cache().requests().updateTimer(metricName, timeElapsed);
         forAccount(accountId).cache().requests().updateTimer(metricName, timeElapsed);
@@ -670,12 +768,21 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateTimeoutNotificationDispatchMetric(MetricName metricName, long count) {
+        timeoutNotificationMetrics.incCounter(metricName, count);
+    }
+
     public void createCurrencyRatesGauge(BooleanSupplier stateSupplier) {
         currencyRates().createGauge(MetricName.stale, () -> stateSupplier.getAsBoolean() ? 1 : 0);
     }
 
     public void updateSettingsCacheRefreshTime(MetricName cacheType, MetricName refreshType, long timeElapsed) {
-        forSettingsCacheType(cacheType).forRefreshType(refreshType).updateTimer(MetricName.db_query_time, timeElapsed);
+        forSettingsCacheType(cacheType).forRefreshType(refreshType)
+                .updateHdrTimer(MetricName.db_query_time, timeElapsed);
+    }
+
+    public void updateSettingsCacheRefreshChangedMetric(MetricName cacheType, MetricName refreshType, int changed) {
+        forSettingsCacheType(cacheType).forRefreshType(refreshType).incCounter(MetricName.changed, changed);
     }
 
     public void updateSettingsCacheRefreshErrorMetric(MetricName cacheType, MetricName refreshType) {
@@ -707,11 +814,61 @@ public class Metrics extends UpdatableMetrics {
         }
 
         if (action != ExecutionAction.no_invocation) {
-            hookImplMetrics.updateTimer(MetricName.duration, executionTime);
+            hookImplMetrics.updateHdrTimer(MetricName.duration, executionTime);
         }
 
     }
 
+    public void updateHooksTimerMetric(MetricName event) {
+        hooks().incCounter(event);
+    }
+
+    public void updateHooksTimerLateness(long lateness) {
+        hooks().updateHistogram(MetricName.timer_lateness, lateness);
+    }
+
+    public void updateStartupPhaseTime(MetricName phase, long millis) {
+        startupMetrics.updateTimer(phase, millis);
+    }
+
+    public void updatePrometheusScrapeTime(long millis) {
+        prometheusMetrics.updateTimer(MetricName.scrape_time, millis);
+    }
+
+    public void updatePrometheusCollapsedLabelValuesMetric(long collapsed) {
+        prometheusMetrics.incCounter(MetricName.collapsed_label_values, collapsed);
+    }
+
+    public void updateHttpInteractionLogMetric(MetricName metricName, long count) {
+        if (count > 0) {
+            httpInteractionLogMetrics.incCounter(metricName, count);
+        }
+    }
+
+    public void updateFileSyncerDownloadedBytes(String name, long bytes) {
+        forFileSyncer(name).incCounter(MetricName.downloaded_bytes, bytes);
+    }
+
+    public void updateFileSyncerNotModifiedMetric(String name) {
+        forFileSyncer(name).incCounter(MetricName.not_modified);
+    }
+
+    public void updateFileSyncerRebuildTime(String name, long millis) {
+        forFileSyncer(name).updateTimer(MetricName.rebuild_time, millis);
+    }
+
+    public void updateBlockingExecutorQueueTime(String name, long millis) {
+        forBlockingExecutor(name).updateTimer(MetricName.queue_time, millis);
+    }
+
+    public void updateBlockingExecutorExecutionTime(String name, long millis) {
+        forBlockingExecutor(name).updateTimer(MetricName.execution_time, millis);
+    }
+
+    public void updateBlockingExecutorRejectedMetric(String name) {
+        forBlockingExecutor(name).incCounter(MetricName.rejected);
+    }
+
     public void updateAccountHooksMetrics(
             Account account,
             String moduleCode,
@@ -735,7 +892,8 @@ public class Metrics extends UpdatableMetrics {
 
     public void updateAccountModuleDurationMetric(Account account, String moduleCode, Long executionTime) {
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
-            forAccount(account.getId()).hooks().module(moduleCode).updateTimer(MetricName.duration, executionTime);
+            forAccount(account.getId()).hooks().module(moduleCode)
+                    .updateHdrTimer(MetricName.duration, executionTime);
         }
     }
 
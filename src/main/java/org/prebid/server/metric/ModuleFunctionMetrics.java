@@ -0,0 +1,27 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Metrics of functions evaluated by modules, like rule engine schema functions.
+ */
+class ModuleFunctionMetrics extends UpdatableMetrics {
+
+    ModuleFunctionMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String function) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(function))));
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+
+    private static String createPrefix(String prefix, String function) {
+        return "%s.function.%s".formatted(prefix, function);
+    }
+}
@@ -15,8 +15,11 @@ class ModuleMetrics extends UpdatableMetrics {
     // thread-safe
     private final Function<Stage, StageMetrics> stageMetricsCreator;
     private final Map<Stage, StageMetrics> stageMetrics;
+    private final Function<String, ModuleFunctionMetrics> functionMetricsCreator;
+    private final Map<String, ModuleFunctionMetrics> functionMetrics;
 
     private final HookSuccessMetrics successMetrics;
+    private final ModuleCacheMetrics cacheMetrics;
 
     ModuleMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String moduleCode) {
         super(
@@ -27,8 +30,12 @@ class ModuleMetrics extends UpdatableMetrics {
         stageMetricsCreator = stage ->
                 new StageMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode), stage);
         stageMetrics = new HashMap<>();
+        functionMetricsCreator = function ->
+                new ModuleFunctionMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode), function);
+        functionMetrics = new HashMap<>();
 
         successMetrics = new HookSuccessMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode));
+        cacheMetrics = new ModuleCacheMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode));
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
@@ -43,7 +50,15 @@ class ModuleMetrics extends UpdatableMetrics {
         return stageMetrics.computeIfAbsent(stage, stageMetricsCreator);
     }
 
+    ModuleFunctionMetrics function(String function) {
+        return functionMetrics.computeIfAbsent(function, functionMetricsCreator);
+    }
+
     HookSuccessMetrics success() {
         return successMetrics;
     }
+
+    ModuleCacheMetrics cache() {
+        return cacheMetrics;
+    }
 }
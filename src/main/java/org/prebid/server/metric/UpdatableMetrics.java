@@ -51,7 +51,30 @@ class UpdatableMetrics {
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        updateTimer(metricName, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates metric's timer with a given value in a given time unit, for durations too short to be measured
+     * in milliseconds.
+     */
+    void updateTimer(MetricName metricName, long duration, TimeUnit timeUnit) {
+        metricRegistry.timer(name(metricName)).update(duration, timeUnit);
+    }
+
+    /**
+     * Updates metric's {@link HdrTimer} with a given value, for latencies whose percentiles have to be
+     * accurate and mergeable across instances.
+     */
+    void updateHdrTimer(MetricName metricName, long millis) {
+        updateHdrTimer(metricName, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates metric's {@link HdrTimer} with a given value in a given time unit.
+     */
+    void updateHdrTimer(MetricName metricName, long duration, TimeUnit timeUnit) {
+        metricRegistry.timer(name(metricName), HdrTimer::new).update(duration, timeUnit);
     }
 
     /**
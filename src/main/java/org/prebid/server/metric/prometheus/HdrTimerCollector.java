@@ -0,0 +1,97 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.prometheus.client.Collector;
+import io.prometheus.client.dropwizard.samplebuilder.SampleBuilder;
+import org.HdrHistogram.Histogram;
+import org.prebid.server.metric.HdrTimer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports {@link HdrTimer}s as Prometheus histograms with cumulative bucket counts, which unlike summary
+ * quantiles exported by {@link io.prometheus.client.dropwizard.DropwizardExports} can be aggregated across
+ * instances with {@code histogram_quantile()}.
+ * <p>
+ * Histogram names get {@code _hdr} suffix to not clash with the summaries of the same timers.
+ */
+public class HdrTimerCollector extends Collector {
+
+    private static final String HELP = "Generated from Dropwizard timer with HdrHistogram reservoir";
+    private static final String NAME_SUFFIX = "_hdr";
+    private static final String BUCKET_SUFFIX = NAME_SUFFIX + "_bucket";
+    private static final String COUNT_SUFFIX = NAME_SUFFIX + "_count";
+    private static final String SUM_SUFFIX = NAME_SUFFIX + "_sum";
+    private static final List<String> NO_LABELS = Collections.emptyList();
+    private static final List<String> BUCKET_LABEL_NAMES = Collections.singletonList("le");
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricRegistry metricRegistry;
+    private final SampleBuilder sampleBuilder;
+    private final List<Long> bucketsMs;
+
+    public HdrTimerCollector(MetricRegistry metricRegistry, SampleBuilder sampleBuilder, List<Long> bucketsMs) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.sampleBuilder = Objects.requireNonNull(sampleBuilder);
+        this.bucketsMs = bucketsMs.stream().sorted().distinct().toList();
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        // custom mapping may turn different timers into the same metric with different labels
+        final Map<String, List<MetricFamilySamples.Sample>> familySamples = new LinkedHashMap<>();
+        for (Map.Entry<String, Timer> entry : metricRegistry.getTimers(HdrTimerCollector::isHdrTimer).entrySet()) {
+            final Histogram histogram = ((HdrTimer) entry.getValue()).cumulativeHistogram();
+            final List<MetricFamilySamples.Sample> samples = samples(entry.getKey(), histogram);
+            final String countName = samples.getLast().name;
+            final String familyName = countName.substring(0, countName.length() - "_count".length());
+
+            familySamples.computeIfAbsent(familyName, key -> new ArrayList<>()).addAll(samples);
+        }
+
+        return familySamples.entrySet().stream()
+                .map(entry -> new MetricFamilySamples(entry.getKey(), Type.HISTOGRAM, HELP, entry.getValue()))
+                .toList();
+    }
+
+    private static boolean isHdrTimer(String name, Metric metric) {
+        return metric instanceof HdrTimer;
+    }
+
+    /**
+     * Returns samples of the given histogram with the count sample being the last one.
+     */
+    private List<MetricFamilySamples.Sample> samples(String dropwizardName, Histogram histogram) {
+        final long count = histogram.getTotalCount();
+        final List<MetricFamilySamples.Sample> samples = new ArrayList<>(bucketsMs.size() + 3);
+
+        for (Long bucketMs : bucketsMs) {
+            final long bucketCount = histogram.getCountBetweenValues(0, TimeUnit.MILLISECONDS.toNanos(bucketMs));
+            samples.add(bucketSample(dropwizardName, bucketMs / 1000.0, bucketCount));
+        }
+        samples.add(bucketSample(dropwizardName, Double.POSITIVE_INFINITY, count));
+
+        samples.add(sampleBuilder.createSample(
+                dropwizardName, SUM_SUFFIX, NO_LABELS, NO_LABELS, histogram.getMean() * count / NANOS_PER_SECOND));
+        samples.add(sampleBuilder.createSample(dropwizardName, COUNT_SUFFIX, NO_LABELS, NO_LABELS, count));
+
+        return samples;
+    }
+
+    private MetricFamilySamples.Sample bucketSample(String dropwizardName, double bucketSeconds, long count) {
+        return sampleBuilder.createSample(
+                dropwizardName,
+                BUCKET_SUFFIX,
+                BUCKET_LABEL_NAMES,
+                Collections.singletonList(Collector.doubleToGoString(bucketSeconds)),
+                count);
+    }
+}
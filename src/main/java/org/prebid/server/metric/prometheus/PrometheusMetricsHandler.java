@@ -0,0 +1,77 @@
+package org.prebid.server.metric.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.util.HttpUtil;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Objects;
+
+/**
+ * Serves Prometheus scrapes with Dropwizard metrics written by {@link PrometheusTextExporter} followed by
+ * samples of other collectors registered in {@link CollectorRegistry}.
+ * <p>
+ * The text is rendered into the same builder on every scrape, so its capacity is reused.
+ */
+public class PrometheusMetricsHandler implements Handler<RoutingContext> {
+
+    private static final String ENDPOINT = "/metrics";
+
+    private final PrometheusTextExporter exporter;
+    private final CollectorRegistry collectorRegistry;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final StringBuilderWriter writer = new StringBuilderWriter();
+
+    public PrometheusMetricsHandler(PrometheusTextExporter exporter,
+                                    CollectorRegistry collectorRegistry,
+                                    Metrics metrics,
+                                    Clock clock) {
+
+        this.exporter = Objects.requireNonNull(exporter);
+        this.collectorRegistry = Objects.requireNonNull(collectorRegistry);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        final long startTime = clock.millis();
+
+        final Buffer body;
+        try {
+            body = render();
+        } catch (IOException e) {
+            routingContext.fail(e);
+            return;
+        }
+
+        metrics.updatePrometheusScrapeTime(clock.millis() - startTime);
+
+        HttpUtil.executeSafely(routingContext, ENDPOINT,
+                response -> response
+                        .putHeader(HttpUtil.CONTENT_TYPE_HEADER, TextFormat.CONTENT_TYPE_004)
+                        .end(body));
+    }
+
+    private synchronized Buffer render() throws IOException {
+        final StringBuilder builder = writer.getBuilder();
+        builder.setLength(0);
+
+        final int collapsed = exporter.write(builder);
+        TextFormat.write004(writer, collectorRegistry.metricFamilySamples());
+
+        if (collapsed > 0) {
+            metrics.updatePrometheusCollapsedLabelValuesMetric(collapsed);
+        }
+
+        return Buffer.buffer(builder.toString());
+    }
+}
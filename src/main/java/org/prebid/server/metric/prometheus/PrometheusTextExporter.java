@@ -0,0 +1,342 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.prometheus.client.Collector;
+import io.prometheus.client.dropwizard.samplebuilder.SampleBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes metrics of {@link MetricRegistry} in Prometheus text format the same way
+ * {@link io.prometheus.client.dropwizard.DropwizardExports} exposes them, but without creating intermediate
+ * samples on each scrape.
+ * <p>
+ * Metric name and labels produced by {@link SampleBuilder} are resolved once per metric and cached in already
+ * escaped form. Number of distinct values of each label within a metric family is limited: once the limit
+ * is reached, new values are replaced with {@code other}, and metrics collapsed into the same series are summed up.
+ * Gauges and quantiles of collapsed metrics can not be summed up, so they are not exposed. Label values are released
+ * when the last metric using them is removed from the registry, so churning metrics do not exhaust the limit.
+ */
+public class PrometheusTextExporter {
+
+    static final String OTHER_LABEL_VALUE = "other";
+
+    private static final String HELP = "Generated from Dropwizard metric import";
+    private static final List<String> NO_LABELS = Collections.emptyList();
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {
+            "quantile=\"0.5\"",
+            "quantile=\"0.75\"",
+            "quantile=\"0.95\"",
+            "quantile=\"0.98\"",
+            "quantile=\"0.99\"",
+            "quantile=\"0.999\""};
+    private static final double SECONDS_PER_NANO = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricRegistry metricRegistry;
+    private final SampleBuilder sampleBuilder;
+    private final int maxLabelValues;
+
+    private final Map<String, Series> seriesByName = new ConcurrentHashMap<>();
+    private final Map<String, FamilyLabelValues> labelValuesByFamily = new ConcurrentHashMap<>();
+    private final AtomicInteger collapsedMetrics = new AtomicInteger();
+
+    public PrometheusTextExporter(MetricRegistry metricRegistry, SampleBuilder sampleBuilder, int maxLabelValues) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.sampleBuilder = Objects.requireNonNull(sampleBuilder);
+        this.maxLabelValues = maxLabelValues;
+
+        metricRegistry.addListener(new SeriesEvictingListener());
+    }
+
+    /**
+     * Appends all metrics of the registry to the given builder and returns number of metrics
+     * collapsed into {@code other} label value for the first time.
+     */
+    public int write(StringBuilder out) {
+        final Map<String, Metric> metrics = metricRegistry.getMetrics();
+        final Map<String, List<MetricSeries>> families = new LinkedHashMap<>();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            final Series metricSeries = seriesByName.computeIfAbsent(entry.getKey(), this::resolve);
+            families.computeIfAbsent(metricSeries.family(), key -> new ArrayList<>())
+                    .add(new MetricSeries(metricSeries, entry.getValue()));
+        }
+
+        for (Map.Entry<String, List<MetricSeries>> family : families.entrySet()) {
+            writeFamily(out, family.getKey(), family.getValue());
+        }
+
+        // metric removed while being written may have been resolved again
+        if (seriesByName.size() > metrics.size()) {
+            seriesByName.keySet().stream()
+                    .filter(name -> !metrics.containsKey(name))
+                    .toList()
+                    .forEach(this::evict);
+        }
+
+        return collapsedMetrics.getAndSet(0);
+    }
+
+    private Series resolve(String dropwizardName) {
+        final Collector.MetricFamilySamples.Sample sample =
+                sampleBuilder.createSample(dropwizardName, "", NO_LABELS, NO_LABELS, 0);
+
+        final FamilyLabelValues familyLabelValues = labelValuesByFamily.computeIfAbsent(
+                sample.name, key -> new FamilyLabelValues());
+
+        boolean collapsed = false;
+        final List<LabelValue> acquiredLabelValues = new ArrayList<>();
+        final StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < sample.labelNames.size(); i++) {
+            final LabelValue labelValue = new LabelValue(sample.labelNames.get(i), sample.labelValues.get(i));
+            final boolean withinLimit = familyLabelValues.acquire(labelValue, maxLabelValues);
+            if (withinLimit) {
+                acquiredLabelValues.add(labelValue);
+            }
+            collapsed |= !withinLimit;
+
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(labelValue.name()).append("=\"");
+            appendEscaped(labels, withinLimit ? labelValue.value() : OTHER_LABEL_VALUE);
+            labels.append('"');
+        }
+
+        if (collapsed) {
+            collapsedMetrics.incrementAndGet();
+        }
+
+        return new Series(sample.name, labels.toString(), collapsed, acquiredLabelValues);
+    }
+
+    private void evict(String dropwizardName) {
+        final Series series = seriesByName.remove(dropwizardName);
+        if (series == null) {
+            return;
+        }
+
+        final FamilyLabelValues familyLabelValues = labelValuesByFamily.get(series.family());
+        if (familyLabelValues != null) {
+            series.labelValues().forEach(familyLabelValues::release);
+        }
+    }
+
+    private static void writeFamily(StringBuilder out, String family, List<MetricSeries> metrics) {
+        out.append("# HELP ").append(family).append(' ').append(HELP).append('\n');
+        out.append("# TYPE ").append(family).append(' ').append(type(metrics)).append('\n');
+
+        // collapsed series are summed up and written after all others
+        final Map<String, Double> collapsed = new LinkedHashMap<>();
+        for (MetricSeries metricSeries : metrics) {
+            final Series series = metricSeries.series();
+            final Metric metric = metricSeries.metric();
+            if (metric instanceof Counter counter) {
+                writeSample(out, collapsed, series, "", counter.getCount());
+            } else if (metric instanceof Gauge<?> gauge) {
+                writeGauge(out, series, gauge.getValue());
+            } else if (metric instanceof Meter meter) {
+                writeSample(out, collapsed, series, "_total", meter.getCount());
+            } else if (metric instanceof Timer timer) {
+                writeSummary(out, collapsed, series, timer.getSnapshot(), timer.getCount(), SECONDS_PER_NANO);
+            } else if (metric instanceof Histogram histogram) {
+                writeSummary(out, collapsed, series, histogram.getSnapshot(), histogram.getCount(), 1.0);
+            }
+        }
+
+        for (Map.Entry<String, Double> entry : collapsed.entrySet()) {
+            out.append(entry.getKey()).append(' ').append(Collector.doubleToGoString(entry.getValue())).append('\n');
+        }
+    }
+
+    /**
+     * Returns type of the family, which is {@code untyped} if the family mixes metrics of different types.
+     */
+    private static String type(List<MetricSeries> metrics) {
+        final String type = type(metrics.getFirst().metric());
+        for (MetricSeries metricSeries : metrics) {
+            if (!type.equals(type(metricSeries.metric()))) {
+                return "untyped";
+            }
+        }
+
+        return type;
+    }
+
+    private static String type(Metric metric) {
+        if (metric instanceof Meter) {
+            return "counter";
+        }
+
+        return metric instanceof Timer || metric instanceof Histogram ? "summary" : "gauge";
+    }
+
+    private static void writeGauge(StringBuilder out, Series series, Object value) {
+        final double doubleValue;
+        if (value instanceof Number number) {
+            doubleValue = number.doubleValue();
+        } else if (value instanceof Boolean booleanValue) {
+            doubleValue = booleanValue ? 1 : 0;
+        } else {
+            return;
+        }
+
+        if (!series.collapsed()) {
+            appendName(out, series, "", null);
+            out.append(' ').append(Collector.doubleToGoString(doubleValue)).append('\n');
+        }
+    }
+
+    private static void writeSummary(StringBuilder out,
+                                     Map<String, Double> collapsed,
+                                     Series series,
+                                     Snapshot snapshot,
+                                     long count,
+                                     double factor) {
+
+        if (!series.collapsed()) {
+            for (int i = 0; i < QUANTILES.length; i++) {
+                appendName(out, series, "", QUANTILE_LABELS[i]);
+                out.append(' ').append(Collector.doubleToGoString(snapshot.getValue(QUANTILES[i]) * factor))
+                        .append('\n');
+            }
+        }
+
+        writeSample(out, collapsed, series, "_count", count);
+    }
+
+    private static void writeSample(StringBuilder out,
+                                    Map<String, Double> collapsed,
+                                    Series series,
+                                    String suffix,
+                                    double value) {
+
+        if (series.collapsed()) {
+            final StringBuilder name = new StringBuilder();
+            appendName(name, series, suffix, null);
+            collapsed.merge(name.toString(), value, Double::sum);
+            return;
+        }
+
+        appendName(out, series, suffix, null);
+        out.append(' ').append(Collector.doubleToGoString(value)).append('\n');
+    }
+
+    private static void appendName(StringBuilder out, Series series, String suffix, String extraLabel) {
+        out.append(series.family()).append(suffix);
+
+        final boolean hasLabels = !series.labels().isEmpty();
+        if (!hasLabels && extraLabel == null) {
+            return;
+        }
+
+        out.append('{').append(series.labels());
+        if (extraLabel != null) {
+            if (hasLabels) {
+                out.append(',');
+            }
+            out.append(extraLabel);
+        }
+        out.append('}');
+    }
+
+    private static void appendEscaped(StringBuilder out, String labelValue) {
+        for (int i = 0; i < labelValue.length(); i++) {
+            final char c = labelValue.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Metric name and already escaped labels as they should appear in the exposition.
+     */
+    private record Series(String family, String labels, boolean collapsed, List<LabelValue> labelValues) {
+    }
+
+    private record MetricSeries(Series series, Metric metric) {
+    }
+
+    private record LabelValue(String name, String value) {
+    }
+
+    /**
+     * Distinct values of each label within a metric family with the number of series using each of them.
+     */
+    private static class FamilyLabelValues {
+
+        private final Map<String, Map<String, Integer>> usagesByLabel = new HashMap<>();
+
+        /**
+         * Returns false if label value is new and the label has already reached the max number of values.
+         */
+        synchronized boolean acquire(LabelValue labelValue, int maxLabelValues) {
+            final Map<String, Integer> usages =
+                    usagesByLabel.computeIfAbsent(labelValue.name(), key -> new HashMap<>());
+            final Integer usageCount = usages.get(labelValue.value());
+            if (usageCount == null && usages.size() >= maxLabelValues) {
+                return false;
+            }
+
+            usages.put(labelValue.value(), usageCount != null ? usageCount + 1 : 1);
+            return true;
+        }
+
+        synchronized void release(LabelValue labelValue) {
+            final Map<String, Integer> usages = usagesByLabel.get(labelValue.name());
+            if (usages != null) {
+                usages.computeIfPresent(
+                        labelValue.value(), (value, usageCount) -> usageCount > 1 ? usageCount - 1 : null);
+            }
+        }
+    }
+
+    private class SeriesEvictingListener extends MetricRegistryListener.Base {
+
+        @Override
+        public void onGaugeRemoved(String name) {
+            evict(name);
+        }
+
+        @Override
+        public void onCounterRemoved(String name) {
+            evict(name);
+        }
+
+        @Override
+        public void onHistogramRemoved(String name) {
+            evict(name);
+        }
+
+        @Override
+        public void onMeterRemoved(String name) {
+            evict(name);
+        }
+
+        @Override
+        public void onTimerRemoved(String name) {
+            evict(name);
+        }
+    }
+}
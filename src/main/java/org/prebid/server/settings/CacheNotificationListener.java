@@ -8,4 +8,19 @@ public interface CacheNotificationListener<T> {
     void save(Map<String, T> requests, Map<String, T> imps);
 
     void invalidate(List<String> requests, List<String> imps);
+
+    /**
+     * Returns true if the listener currently holds the given stored request as it was passed to {@link #save},
+     * so saving it again could be skipped. Listeners which do not keep stored data return false.
+     */
+    default boolean containsRequest(String id, T value) {
+        return false;
+    }
+
+    /**
+     * Same as {@link #containsRequest} for stored imps.
+     */
+    default boolean containsImp(String id, T value) {
+        return false;
+    }
 }
@@ -11,6 +11,7 @@ import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.settings.helper.DatabaseProfilesResultMapper;
+import org.prebid.server.settings.helper.DatabaseStoredDataBatcher;
 import org.prebid.server.settings.helper.DatabaseStoredDataResultMapper;
 import org.prebid.server.settings.helper.DatabaseStoredResponseResultMapper;
 import org.prebid.server.settings.helper.ParametrizedQueryHelper;
@@ -86,6 +87,11 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
      */
     private final String selectStoredResponsesQuery;
 
+    /**
+     * Batches concurrent stored requests, imps and account lookups, could be null if batching is disabled.
+     */
+    private final DatabaseStoredDataBatcher storedDataBatcher;
+
     public DatabaseApplicationSettings(DatabaseClient databaseClient,
                                        JacksonMapper mapper,
                                        ParametrizedQueryHelper parametrizedQueryHelper,
@@ -93,7 +99,8 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
                                        String selectStoredRequestsQuery,
                                        String selectAmpStoredRequestsQuery,
                                        String selectProfilesQuery,
-                                       String selectStoredResponsesQuery) {
+                                       String selectStoredResponsesQuery,
+                                       DatabaseStoredDataBatcher storedDataBatcher) {
 
         this.databaseClient = Objects.requireNonNull(databaseClient);
         this.mapper = Objects.requireNonNull(mapper);
@@ -104,10 +111,17 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
         this.selectAmpStoredRequestsQuery = Objects.requireNonNull(selectAmpStoredRequestsQuery);
         this.selectProfilesQuery = selectProfilesQuery;
         this.selectStoredResponsesQuery = Objects.requireNonNull(selectStoredResponsesQuery);
+        this.storedDataBatcher = storedDataBatcher;
     }
 
     @Override
     public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        return storedDataBatcher != null
+                ? storedDataBatcher.coalesce(accountId, () -> fetchAccount(accountId, timeout), timeout)
+                : fetchAccount(accountId, timeout);
+    }
+
+    private Future<Account> fetchAccount(String accountId, Timeout timeout) {
         return databaseClient.executeQuery(
                         selectAccountQuery,
                         Collections.singletonList(accountId),
@@ -144,7 +158,7 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
                                                           Set<String> impIds,
                                                           Timeout timeout) {
 
-        return fetchStoredData(
+        return fetchBatchableStoredData(
                 selectStoredRequestsQuery,
                 requestIds,
                 impIds,
@@ -158,7 +172,7 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
                                                              Set<String> impIds,
                                                              Timeout timeout) {
 
-        return fetchStoredData(
+        return fetchBatchableStoredData(
                 selectAmpStoredRequestsQuery,
                 requestIds,
                 Collections.emptySet(),
@@ -172,7 +186,7 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
                                                                Set<String> impIds,
                                                                Timeout timeout) {
 
-        return fetchStoredData(
+        return fetchBatchableStoredData(
                 selectStoredRequestsQuery,
                 requestIds,
                 impIds,
@@ -199,6 +213,20 @@ public class DatabaseApplicationSettings implements ApplicationSettings {
                 timeout);
     }
 
+    private <T> Future<StoredDataResult<T>> fetchBatchableStoredData(
+            String query,
+            Set<String> requestIds,
+            Set<String> impIds,
+            Function<RowSet<Row>, StoredDataResult<T>> mapper,
+            Timeout timeout) {
+
+        if (storedDataBatcher == null || (CollectionUtils.isEmpty(requestIds) && CollectionUtils.isEmpty(impIds))) {
+            return fetchStoredData(query, requestIds, impIds, mapper, timeout);
+        }
+
+        return storedDataBatcher.fetch(query, requestIds, impIds, mapper, timeout);
+    }
+
     private <T> Future<StoredDataResult<T>> fetchStoredData(String query,
                                                             Set<String> requestIds,
                                                             Set<String> impIds,
@@ -88,6 +88,24 @@ public class SettingsCache<T> implements CacheNotificationListener<T> {
         }
     }
 
+    @Override
+    public boolean containsRequest(String id, T value) {
+        return containsSavedValue(requestCache, id, value);
+    }
+
+    @Override
+    public boolean containsImp(String id, T value) {
+        return containsSavedValue(impCache, id, value);
+    }
+
+    /**
+     * Reading the value does not prolong its expiration, so that an entry is still saved again after it expires.
+     */
+    private static <T> boolean containsSavedValue(Map<String, Set<StoredItem<T>>> cache, String id, T value) {
+        final Set<StoredItem<T>> values = cache.get(id);
+        return values != null && values.size() == 1 && values.contains(StoredItem.of(null, value));
+    }
+
     @Override
     public void invalidate(List<String> requests, List<String> imps) {
         requests.forEach(requestCache.keySet()::remove);
@@ -0,0 +1,571 @@
+package org.prebid.server.settings;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.helper.SharedSettingsFile;
+import org.prebid.server.settings.helper.StoredDataFetcher;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.Profile;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+import org.prebid.server.vertx.Initializable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps accounts, stored requests and stored imps in a {@link SharedSettingsFile} shared by processes on the same
+ * host, so that they are held off-heap and fetched from the delegate by one process only.
+ * <p>
+ * The writer process puts everything it gets from the delegate to the file and republishes it periodically, entries
+ * which were not requested for the configured TTL are dropped and the rest are periodically refreshed from the
+ * delegate. Readers look up the file and go to the delegate only if an entry is missing there or the file was not
+ * republished for too long. Readers also report keys they look up to the writer, so that it fetches entries missing
+ * in the file and keeps publishing the ones requested by readers only.
+ */
+public class SharedFileApplicationSettings implements ApplicationSettings, Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedFileApplicationSettings.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+
+    private static final String ACCOUNT_PREFIX = "account";
+    private static final String REQUEST_PREFIX = "request";
+    private static final String IMP_PREFIX = "imp";
+    private static final String AMP_REQUEST_PREFIX = "amp-request";
+    private static final String AMP_IMP_PREFIX = "amp-imp";
+    private static final String VIDEO_REQUEST_PREFIX = "video-request";
+    private static final String VIDEO_IMP_PREFIX = "video-imp";
+
+    private static final int MAX_DECODED_ACCOUNTS = 1000;
+
+    private final ApplicationSettings delegate;
+    private final SharedSettingsFile file;
+    private final int size;
+    private final long publishPeriodMs;
+    private final long refreshPeriodMs;
+    private final long refreshTimeoutMs;
+    private final Vertx vertx;
+    private final TimeoutFactory timeoutFactory;
+    private final JacksonMapper mapper;
+    private final Metrics metrics;
+
+    private final List<StoredDataType> storedDataTypes;
+    private final Map<String, byte[]> writerEntries;
+    private final Set<String> requestedKeys;
+    private final Map<String, DecodedAccount> decodedAccounts;
+
+    public SharedFileApplicationSettings(ApplicationSettings delegate,
+                                         SharedSettingsFile file,
+                                         int ttl,
+                                         int size,
+                                         long publishPeriodMs,
+                                         long refreshPeriodMs,
+                                         long refreshTimeoutMs,
+                                         Vertx vertx,
+                                         TimeoutFactory timeoutFactory,
+                                         JacksonMapper mapper,
+                                         Metrics metrics) {
+
+        if (ttl <= 0 || size <= 0 || publishPeriodMs <= 0 || refreshPeriodMs <= 0 || refreshTimeoutMs <= 0) {
+            throw new IllegalArgumentException("ttl, size, publish and refresh periods and timeout must be positive");
+        }
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.file = Objects.requireNonNull(file);
+        this.size = size;
+        this.publishPeriodMs = publishPeriodMs;
+        this.refreshPeriodMs = refreshPeriodMs;
+        this.refreshTimeoutMs = refreshTimeoutMs;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        storedDataTypes = List.of(
+                StoredDataType.of(REQUEST_PREFIX, IMP_PREFIX, delegate::getStoredData),
+                StoredDataType.of(AMP_REQUEST_PREFIX, AMP_IMP_PREFIX, delegate::getAmpStoredData),
+                StoredDataType.of(VIDEO_REQUEST_PREFIX, VIDEO_IMP_PREFIX, delegate::getVideoStoredData));
+        writerEntries = file.isWriter() ? createWriterEntries(ttl, size) : null;
+        requestedKeys = file.isWriter() ? null : ConcurrentHashMap.newKeySet();
+        decodedAccounts = file.isWriter()
+                ? null
+                : Caffeine.newBuilder().maximumSize(MAX_DECODED_ACCOUNTS).<String, DecodedAccount>build().asMap();
+    }
+
+    private static Map<String, byte[]> createWriterEntries(int ttlSeconds, int size) {
+        return Caffeine.newBuilder()
+                .expireAfter(new AccessExpiry<String, byte[]>(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                .maximumSize(size)
+                .<String, byte[]>build()
+                .asMap();
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        if (writerEntries != null) {
+            vertx.setPeriodic(publishPeriodMs, ignored -> publish());
+            vertx.setPeriodic(refreshPeriodMs, ignored -> refresh());
+        } else {
+            vertx.setPeriodic(publishPeriodMs, ignored -> sendRequestedKeys());
+        }
+        initializePromise.tryComplete();
+    }
+
+    private void publish() {
+        vertx.executeBlocking(() -> file.takeRequestedKeys(size))
+                .onSuccess(this::fetchRequestedKeys)
+                .onFailure(this::handlePublishFailure);
+
+        vertx.executeBlocking(() -> file.publish(new HashMap<>(writerEntries)))
+                .onFailure(this::handlePublishFailure);
+    }
+
+    private void fetchRequestedKeys(Set<String> keys) {
+        final List<String> missingKeys = new ArrayList<>();
+        for (String key : keys) {
+            // lookup prolongs publishing of the entry requested by readers
+            if (writerEntries.get(key) == null) {
+                missingKeys.add(key);
+            }
+        }
+
+        fetch(missingKeys, false);
+    }
+
+    private void refresh() {
+        fetch(new ArrayList<>(writerEntries.keySet()), true);
+    }
+
+    private void sendRequestedKeys() {
+        if (requestedKeys.isEmpty()) {
+            return;
+        }
+
+        final List<String> keys = new ArrayList<>(requestedKeys);
+        keys.forEach(requestedKeys::remove);
+
+        vertx.executeBlocking(() -> {
+            file.requestKeys(keys);
+            return null;
+        }).onFailure(this::handlePublishFailure);
+    }
+
+    private void handlePublishFailure(Throwable exception) {
+        logger.warn("Error occurred while publishing shared settings", exception);
+        metrics.updateSettingsCacheRefreshErrorMetric(MetricName.shared_settings, MetricName.update);
+    }
+
+    /**
+     * Fetches entries of the given keys from the delegate in batches. Entries which are not found anymore are removed.
+     */
+    private void fetch(Collection<String> keys, boolean existingOnly) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        final Timeout timeout = timeoutFactory.create(refreshTimeoutMs);
+        final Map<StoredDataType, Map<String, StoredDataIds>> typeToAccountIds = new HashMap<>();
+
+        for (String key : keys) {
+            final SharedKey sharedKey = SharedKey.parse(key);
+            if (sharedKey == null) {
+                continue;
+            }
+
+            final String prefix = sharedKey.getPrefix();
+            if (ACCOUNT_PREFIX.equals(prefix)) {
+                fetchAccount(sharedKey.getId(), timeout, existingOnly);
+                continue;
+            }
+
+            for (StoredDataType type : storedDataTypes) {
+                final boolean request = type.getRequestPrefix().equals(prefix);
+                if (request || type.getImpPrefix().equals(prefix)) {
+                    final StoredDataIds ids = typeToAccountIds
+                            .computeIfAbsent(type, ignored -> new HashMap<>())
+                            .computeIfAbsent(sharedKey.getAccountId(), ignored -> new StoredDataIds());
+                    final Set<String> idsOfType = request ? ids.requestIds : ids.impIds;
+                    idsOfType.add(sharedKey.getId());
+                }
+            }
+        }
+
+        typeToAccountIds.forEach((type, accountToIds) -> accountToIds.forEach((accountId, ids) ->
+                fetchStoredData(type, accountId, ids, timeout, existingOnly)));
+    }
+
+    private void fetchAccount(String accountId, Timeout timeout, boolean existingOnly) {
+        final String key = key(ACCOUNT_PREFIX, null, accountId);
+        delegate.getAccountById(accountId, timeout)
+                .onSuccess(account -> store(key, mapper.encodeToBytes(account), existingOnly))
+                .onFailure(exception -> {
+                    if (exception instanceof PreBidException) {
+                        writerEntries.remove(key);
+                    } else {
+                        handleFetchFailure(exception);
+                    }
+                });
+    }
+
+    private void fetchStoredData(StoredDataType type,
+                                 String accountId,
+                                 StoredDataIds ids,
+                                 Timeout timeout,
+                                 boolean existingOnly) {
+
+        type.getFetcher().apply(StringUtils.stripToNull(accountId), ids.requestIds, ids.impIds, timeout)
+                .onSuccess(result -> {
+                    storeStoredData(type.getRequestPrefix(), accountId, ids.requestIds,
+                            result.getStoredIdToRequest(), existingOnly);
+                    storeStoredData(type.getImpPrefix(), accountId, ids.impIds,
+                            result.getStoredIdToImp(), existingOnly);
+                })
+                .onFailure(this::handleFetchFailure);
+    }
+
+    private void storeStoredData(String prefix,
+                                 String accountId,
+                                 Set<String> ids,
+                                 Map<String, String> idToStoredItem,
+                                 boolean existingOnly) {
+
+        for (String id : ids) {
+            final String key = key(prefix, accountId, id);
+            final String storedItem = idToStoredItem.get(id);
+            if (storedItem != null) {
+                store(key, storedItem.getBytes(StandardCharsets.UTF_8), existingOnly);
+            } else {
+                writerEntries.remove(key);
+            }
+        }
+    }
+
+    private void store(String key, byte[] value, boolean existingOnly) {
+        if (existingOnly) {
+            // entry could expire while it was being refreshed
+            writerEntries.computeIfPresent(key, (ignored, oldValue) -> value);
+        } else {
+            writerEntries.put(key, value);
+        }
+    }
+
+    private void handleFetchFailure(Throwable exception) {
+        conditionalLogger.warn("Error occurred while fetching shared settings: " + exception.getMessage(),
+                1, TimeUnit.MINUTES);
+        metrics.updateSettingsCacheRefreshErrorMetric(MetricName.shared_settings, MetricName.update);
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        final String key = key(ACCOUNT_PREFIX, null, accountId);
+        final Account sharedAccount = writerEntries != null
+                ? decodeAccount(writerEntries.get(key))
+                : readAccount(key);
+        if (sharedAccount != null) {
+            metrics.updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.hit);
+            return Future.succeededFuture(sharedAccount);
+        }
+
+        metrics.updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.miss);
+        return delegate.getAccountById(accountId, timeout)
+                .onSuccess(account -> save(key, mapper.encodeToBytes(account)));
+    }
+
+    /**
+     * Accounts are needed by every auction, so readers keep decoded ones until the next snapshot is published.
+     * Generation is taken before the lookup, so that account could only be tagged by an older generation.
+     */
+    private Account readAccount(String key) {
+        requestKey(key);
+
+        final long generation = file.generation();
+        final DecodedAccount decodedAccount = decodedAccounts.get(key);
+        if (decodedAccount != null && generation >= 0 && decodedAccount.getGeneration() == generation) {
+            return decodedAccount.getAccount();
+        }
+
+        final Account account = decodeAccount(file.get(key));
+        if (account != null && generation >= 0) {
+            decodedAccounts.put(key, DecodedAccount.of(generation, account));
+        } else {
+            decodedAccounts.remove(key);
+        }
+        return account;
+    }
+
+    private Account decodeAccount(byte[] account) {
+        if (account == null) {
+            return null;
+        }
+
+        try {
+            return mapper.decodeValue(account, Account.class);
+        } catch (DecodeException e) {
+            logger.warn("Error occurred while decoding shared account: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public Future<StoredDataResult<String>> getStoredData(String accountId,
+                                                          Set<String> requestIds,
+                                                          Set<String> impIds,
+                                                          Timeout timeout) {
+
+        return getStoredDataFromFileOrDelegate(
+                REQUEST_PREFIX, IMP_PREFIX, accountId, requestIds, impIds, timeout, delegate::getStoredData);
+    }
+
+    @Override
+    public Future<StoredDataResult<String>> getAmpStoredData(String accountId,
+                                                             Set<String> requestIds,
+                                                             Set<String> impIds,
+                                                             Timeout timeout) {
+
+        return getStoredDataFromFileOrDelegate(
+                AMP_REQUEST_PREFIX, AMP_IMP_PREFIX, accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
+    }
+
+    @Override
+    public Future<StoredDataResult<String>> getVideoStoredData(String accountId,
+                                                               Set<String> requestIds,
+                                                               Set<String> impIds,
+                                                               Timeout timeout) {
+
+        return getStoredDataFromFileOrDelegate(
+                VIDEO_REQUEST_PREFIX,
+                VIDEO_IMP_PREFIX,
+                accountId,
+                requestIds,
+                impIds,
+                timeout,
+                delegate::getVideoStoredData);
+    }
+
+    private Future<StoredDataResult<String>> getStoredDataFromFileOrDelegate(String requestPrefix,
+                                                                             String impPrefix,
+                                                                             String accountId,
+                                                                             Set<String> requestIds,
+                                                                             Set<String> impIds,
+                                                                             Timeout timeout,
+                                                                             StoredDataFetcher<String> retriever) {
+
+        // empty string account ID doesn't make sense
+        final String normalizedAccountId = StringUtils.stripToNull(accountId);
+
+        final Set<String> missedRequestIds = new HashSet<>();
+        final Map<String, String> storedIdToRequest =
+                getFromFileOrAddMissedIds(requestPrefix, normalizedAccountId, requestIds, missedRequestIds);
+
+        final Set<String> missedImpIds = new HashSet<>();
+        final Map<String, String> storedIdToImp =
+                getFromFileOrAddMissedIds(impPrefix, normalizedAccountId, impIds, missedImpIds);
+
+        if (missedRequestIds.isEmpty() && missedImpIds.isEmpty()) {
+            metrics.updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.hit);
+            return Future.succeededFuture(StoredDataResult.of(
+                    Collections.unmodifiableMap(storedIdToRequest),
+                    Collections.unmodifiableMap(storedIdToImp),
+                    Collections.emptyList()));
+        }
+
+        metrics.updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.miss);
+        return retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
+            saveStoredData(requestPrefix, normalizedAccountId, result.getStoredIdToRequest());
+            storedIdToRequest.putAll(result.getStoredIdToRequest());
+
+            saveStoredData(impPrefix, normalizedAccountId, result.getStoredIdToImp());
+            storedIdToImp.putAll(result.getStoredIdToImp());
+
+            return StoredDataResult.of(
+                    Collections.unmodifiableMap(storedIdToRequest),
+                    Collections.unmodifiableMap(storedIdToImp),
+                    result.getErrors());
+        });
+    }
+
+    private Map<String, String> getFromFileOrAddMissedIds(String prefix,
+                                                          String accountId,
+                                                          Set<String> ids,
+                                                          Set<String> missedIds) {
+
+        final Map<String, String> idToStoredItem = new HashMap<>(ids.size());
+
+        for (String id : ids) {
+            final byte[] storedItem = lookup(key(prefix, accountId, id));
+            if (storedItem != null) {
+                idToStoredItem.put(id, new String(storedItem, StandardCharsets.UTF_8));
+            } else {
+                missedIds.add(id);
+            }
+        }
+
+        return idToStoredItem;
+    }
+
+    private void saveStoredData(String prefix, String accountId, Map<String, String> idToStoredItem) {
+        idToStoredItem.forEach((id, storedItem) ->
+                save(key(prefix, accountId, id), storedItem.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public Future<StoredDataResult<Profile>> getProfiles(String accountId,
+                                                         Set<String> requestIds,
+                                                         Set<String> impIds,
+                                                         Timeout timeout) {
+
+        return delegate.getProfiles(accountId, requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        return delegate.getStoredResponses(responseIds, timeout);
+    }
+
+    @Override
+    public Future<Map<String, String>> getCategories(String primaryAdServer, String publisher, Timeout timeout) {
+        return delegate.getCategories(primaryAdServer, publisher, timeout);
+    }
+
+    /**
+     * Stored items are resolved by the delegate for the given account, so it is a part of the key.
+     * Account ID is prefixed with its length, so that the key could be parsed back by {@link SharedKey#parse}.
+     */
+    private static String key(String prefix, String accountId, String id) {
+        final String account = StringUtils.defaultString(accountId);
+        return "%s/%d/%s/%s".formatted(prefix, account.length(), account, StringUtils.defaultString(id));
+    }
+
+    private byte[] lookup(String key) {
+        // entries are published with a delay, so the writer uses its own copy
+        if (writerEntries != null) {
+            return writerEntries.get(key);
+        }
+
+        requestKey(key);
+        return file.get(key);
+    }
+
+    private void requestKey(String key) {
+        if (requestedKeys.size() < size) {
+            requestedKeys.add(key);
+        }
+    }
+
+    private void save(String key, byte[] value) {
+        if (writerEntries != null) {
+            writerEntries.put(key, value);
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class SharedKey {
+
+        String prefix;
+
+        String accountId;
+
+        String id;
+
+        static SharedKey parse(String key) {
+            try {
+                final int prefixEnd = key.indexOf('/');
+                if (prefixEnd <= 0) {
+                    return null;
+                }
+
+                final int accountStart = key.indexOf('/', prefixEnd + 1) + 1;
+                final int accountEnd = accountStart
+                        + Integer.parseInt(key.substring(prefixEnd + 1, accountStart - 1));
+                if (key.charAt(accountEnd) != '/') {
+                    return null;
+                }
+
+                return SharedKey.of(
+                        key.substring(0, prefixEnd),
+                        key.substring(accountStart, accountEnd),
+                        key.substring(accountEnd + 1));
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class DecodedAccount {
+
+        long generation;
+
+        Account account;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class StoredDataType {
+
+        String requestPrefix;
+
+        String impPrefix;
+
+        StoredDataFetcher<String> fetcher;
+    }
+
+    private static class StoredDataIds {
+
+        private final Set<String> requestIds = new HashSet<>();
+
+        private final Set<String> impIds = new HashSet<>();
+    }
+
+    /**
+     * Expires entries which were not read for the given time: refreshing the value does not prolong it.
+     */
+    private static class AccessExpiry<K, V> implements Expiry<K, V> {
+
+        private final long expireAfterNanos;
+
+        private AccessExpiry(long expireAfterNanos) {
+            this.expireAfterNanos = expireAfterNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return expireAfterNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, @NonNegative long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, @NonNegative long currentDuration) {
+            return expireAfterNanos;
+        }
+    }
+}
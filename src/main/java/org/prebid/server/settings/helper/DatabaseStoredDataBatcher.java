@@ -0,0 +1,411 @@
+package org.prebid.server.settings.helper;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.PropertyKind;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.desc.ColumnDescriptor;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.model.StoredDataType;
+import org.prebid.server.vertx.database.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Collects stored requests and imps lookups made with the same query within a short window and fetches them
+ * from the database with a single query.
+ * <p>
+ * Number of ids passed to the query is rounded up to the power of two by repeating the last id, so only a few
+ * distinct query texts are ever produced and prepared statements can be reused. Every caller gets only the rows
+ * of the ids it asked for, so result of the batched lookup is the same as the one of a separate query.
+ * Each caller's future is completed on the Vert.x context the caller was running on, not the one of the query.
+ * <p>
+ * Lookups that can not be merged are only deduplicated, see {@link #coalesce(String, Supplier, Timeout)}.
+ */
+public class DatabaseStoredDataBatcher {
+
+    private final DatabaseClient databaseClient;
+    private final ParametrizedQueryHelper parametrizedQueryHelper;
+    private final Vertx vertx;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Metrics metrics;
+
+    private final Map<String, Batch> pendingBatches = new ConcurrentHashMap<>();
+    private final Map<QueryKey, String> parametrizedQueries = new ConcurrentHashMap<>();
+    private final Map<String, SharedQuery<?>> sharedQueries = new ConcurrentHashMap<>();
+
+    public DatabaseStoredDataBatcher(DatabaseClient databaseClient,
+                                     ParametrizedQueryHelper parametrizedQueryHelper,
+                                     Vertx vertx,
+                                     long windowMs,
+                                     int maxBatchSize,
+                                     Metrics metrics) {
+
+        this.databaseClient = Objects.requireNonNull(databaseClient);
+        this.parametrizedQueryHelper = Objects.requireNonNull(parametrizedQueryHelper);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Schedules lookup of stored data by given ids. Query must return account id, id, data and data type columns,
+     * the same way as the one used by {@link DatabaseStoredDataResultMapper}.
+     */
+    public <T> Future<T> fetch(String query,
+                               Set<String> requestIds,
+                               Set<String> impIds,
+                               Function<RowSet<Row>, T> mapper,
+                               Timeout timeout) {
+
+        final long remainingTimeout = timeout.remaining();
+        if (remainingTimeout <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Lookup<T> lookup = new Lookup<>(requestIds, impIds, mapper, timeout);
+
+        Batch batch;
+        do {
+            batch = pendingBatches.computeIfAbsent(query, Batch::new);
+        } while (!batch.add(lookup));
+
+        return lookup.promise.future()
+                .timeout(remainingTimeout, TimeUnit.MILLISECONDS)
+                .recover(DatabaseStoredDataBatcher::handleFailure);
+    }
+
+    /**
+     * Shares result of the query with all callers asking for the same key while it is in progress.
+     * <p>
+     * Used for lookups which can not be merged into a single query because their rows do not tell what
+     * key they belong to, like account lookup.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> coalesce(String key, Supplier<Future<T>> querySupplier, Timeout timeout) {
+        final long remainingTimeout = timeout.remaining();
+        if (remainingTimeout <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Context context = Vertx.currentContext();
+        final Promise<T> promise = Promise.promise();
+
+        final SharedQuery<T> created = new SharedQuery<>();
+        while (true) {
+            final SharedQuery<?> shared = sharedQueries.putIfAbsent(key, created);
+            if (shared == null) {
+                break;
+            }
+            if (shared.join()) {
+                ((Future<T>) shared.promise.future())
+                        .onComplete(result -> completeOnContext(context, promise, result));
+
+                return promise.future()
+                        .timeout(remainingTimeout, TimeUnit.MILLISECONDS)
+                        .recover(DatabaseStoredDataBatcher::handleFailure);
+            }
+
+            // query has been just completed, start a new one
+            sharedQueries.remove(key, shared);
+        }
+
+        created.promise.future().onComplete(result -> completeOnContext(context, promise, result));
+        querySupplier.get().onComplete(result -> {
+            metrics.updateDatabaseBatchMetrics(created.complete());
+            sharedQueries.remove(key, created);
+            created.promise.handle(result);
+        });
+
+        return promise.future();
+    }
+
+    private static <T> void completeOnContext(Context context, Promise<T> promise, AsyncResult<T> result) {
+        if (context == null || context == Vertx.currentContext()) {
+            promise.handle(result);
+        } else {
+            context.runOnContext(ignored -> promise.handle(result));
+        }
+    }
+
+    private void execute(Batch batch) {
+        final List<Lookup<?>> lookups = batch.lookups;
+        metrics.updateDatabaseBatchMetrics(lookups.size());
+
+        final List<String> requestIds = padToPowerOfTwo(batch.requestIds);
+        final List<String> impIds = padToPowerOfTwo(batch.impIds);
+
+        final String parametrizedQuery = parametrizedQueries.computeIfAbsent(
+                new QueryKey(batch.query, requestIds.size(), impIds.size()),
+                key -> parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(
+                        key.query(), key.requestIdNumber(), key.impIdNumber()));
+
+        final List<Object> idsQueryParameters = new ArrayList<>();
+        IntStream.rangeClosed(1, StringUtils.countMatches(batch.query, ParametrizedQueryHelper.REQUEST_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(requestIds));
+        IntStream.rangeClosed(1, StringUtils.countMatches(batch.query, ParametrizedQueryHelper.IMP_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(impIds));
+
+        final Timeout timeout = lookups.stream()
+                .map(lookup -> lookup.timeout)
+                .max(Comparator.comparingLong(Timeout::remaining))
+                .orElseThrow();
+
+        databaseClient.executeQuery(parametrizedQuery, idsQueryParameters, Function.identity(), timeout)
+                .onComplete(result -> lookups.forEach(lookup -> lookup.complete(result)));
+    }
+
+    private static List<String> padToPowerOfTwo(Set<String> ids) {
+        final List<String> paddedIds = new ArrayList<>(ids);
+        if (paddedIds.size() <= 1) {
+            return paddedIds;
+        }
+
+        final int bucketSize = Integer.highestOneBit(paddedIds.size() - 1) << 1;
+        final String lastId = paddedIds.getLast();
+        while (paddedIds.size() < bucketSize) {
+            paddedIds.add(lastId);
+        }
+
+        return paddedIds;
+    }
+
+    private static <T> Future<T> handleFailure(Throwable throwable) {
+        return Future.failedFuture(throwable instanceof TimeoutException ? timeoutException() : throwable);
+    }
+
+    private static TimeoutException timeoutException() {
+        return new TimeoutException("Timed out while executing SQL query");
+    }
+
+    private class Batch {
+
+        private final String query;
+        private final List<Lookup<?>> lookups = new ArrayList<>();
+        private final Set<String> requestIds = new LinkedHashSet<>();
+        private final Set<String> impIds = new LinkedHashSet<>();
+        private boolean closed;
+
+        Batch(String query) {
+            this.query = query;
+        }
+
+        /**
+         * Returns false if batch has been already closed and lookup has to be added to the next one.
+         */
+        boolean add(Lookup<?> lookup) {
+            final boolean full;
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+
+                lookups.add(lookup);
+                requestIds.addAll(lookup.requestIds);
+                impIds.addAll(lookup.impIds);
+
+                full = requestIds.size() + impIds.size() >= maxBatchSize;
+                if (lookups.size() == 1 && !full) {
+                    vertx.setTimer(windowMs, timerId -> close());
+                }
+            }
+
+            if (full) {
+                close();
+            }
+            return true;
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+
+            pendingBatches.remove(query, this);
+            execute(this);
+        }
+    }
+
+    private static class Lookup<T> {
+
+        private final Set<String> requestIds;
+        private final Set<String> impIds;
+        private final Function<RowSet<Row>, T> mapper;
+        private final Timeout timeout;
+        private final Context context = Vertx.currentContext();
+        private final Promise<T> promise = Promise.promise();
+
+        Lookup(Set<String> requestIds, Set<String> impIds, Function<RowSet<Row>, T> mapper, Timeout timeout) {
+            this.requestIds = requestIds;
+            this.impIds = impIds;
+            this.mapper = mapper;
+            this.timeout = timeout;
+        }
+
+        void complete(AsyncResult<RowSet<Row>> result) {
+            completeOnContext(context, promise, map(result));
+        }
+
+        private Future<T> map(AsyncResult<RowSet<Row>> result) {
+            if (result.failed()) {
+                return Future.failedFuture(result.cause());
+            }
+
+            final RowSet<Row> rowSet = result.result();
+            try {
+                return Future.succeededFuture(mapper.apply(rowSet != null ? requestedRows(rowSet) : null));
+            } catch (Exception e) {
+                return Future.failedFuture(e);
+            }
+        }
+
+        private RowSet<Row> requestedRows(RowSet<Row> rowSet) {
+            final List<Row> rows = new ArrayList<>();
+            final RowIterator<Row> rowIterator = rowSet.iterator();
+            while (rowIterator.hasNext()) {
+                final Row row = rowIterator.next();
+                if (isRequested(row)) {
+                    rows.add(row);
+                }
+            }
+            return new ListRowSet(rowSet, rows);
+        }
+
+        private boolean isRequested(Row row) {
+            // let mapper report malformed rows the same way as for a separate query
+            if (row.size() < 4) {
+                return true;
+            }
+
+            final String id = Objects.toString(row.getValue(1), null);
+            final String type = Objects.toString(row.getValue(3), null);
+            if (StoredDataType.request.name().equals(type)) {
+                return requestIds.contains(id);
+            }
+            if (StoredDataType.imp.name().equals(type)) {
+                return impIds.contains(id);
+            }
+            return requestIds.contains(id) || impIds.contains(id);
+        }
+    }
+
+    private static class SharedQuery<T> {
+
+        private final Promise<T> promise = Promise.promise();
+        private int callers = 1;
+        private boolean completed;
+
+        synchronized boolean join() {
+            if (completed) {
+                return false;
+            }
+
+            callers++;
+            return true;
+        }
+
+        /**
+         * Returns number of callers sharing the query.
+         */
+        synchronized int complete() {
+            completed = true;
+            return callers;
+        }
+    }
+
+    private record QueryKey(String query, int requestIdNumber, int impIdNumber) {
+    }
+
+    /**
+     * Read-only {@link RowSet} over the part of rows returned by the batched query.
+     * <p>
+     * Column metadata and query properties are the ones of the batched query result.
+     */
+    private static class ListRowSet implements RowSet<Row> {
+
+        private final RowSet<Row> source;
+        private final List<Row> rows;
+
+        ListRowSet(RowSet<Row> source, List<Row> rows) {
+            this.source = source;
+            this.rows = rows;
+        }
+
+        @Override
+        public RowIterator<Row> iterator() {
+            final Iterator<Row> iterator = rows.iterator();
+            return new RowIterator<>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Row next() {
+                    return iterator.next();
+                }
+            };
+        }
+
+        @Override
+        public int rowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public List<String> columnsNames() {
+            return source.columnsNames();
+        }
+
+        @Override
+        public List<ColumnDescriptor> columnDescriptors() {
+            return source.columnDescriptors();
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        @Override
+        public <V> V property(PropertyKind<V> propertyKind) {
+            return source.property(propertyKind);
+        }
+
+        @Override
+        public RowSet<Row> value() {
+            return this;
+        }
+
+        @Override
+        public RowSet<Row> next() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package org.prebid.server.settings.helper;
+
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Key-value snapshot in a memory-mapped file shared by processes on the same host.
+ * <p>
+ * Only one process (the writer) publishes snapshots, any number of processes read them concurrently.
+ * The file holds two regions: a new snapshot is written into the region readers are not pointed to, then the header
+ * is switched to it. Each region is guarded by a sequence number which is odd while the region is being written, so a
+ * reader detects a lookup that raced with a writer and retries it.
+ * <p>
+ * Layout of the header:
+ * <pre>
+ * 0  int  magic
+ * 4  int  format version
+ * 8  long state: snapshot generation << 1 | active region index
+ * 16 long time of the last publication, millis
+ * 24 long sequence number of the region 0
+ * 32 long sequence number of the region 1
+ * 40 int  region size
+ * </pre>
+ * Region is an open addressing hash table: {@code int slotCount, int entryCount}, then {@code slotCount} slots of
+ * {@code int hash, int entryOffset} followed by {@code int keyLength, key, int valueLength, value} entries.
+ * <p>
+ * Readers tell the writer which keys they need through the {@code <file>.requests} directory next to the file: each
+ * request is a separate file, which is written under a temporary name and then renamed, so the writer never sees it
+ * partially written.
+ */
+public class SharedSettingsFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSettingsFile.class);
+
+    private static final int MAGIC = 0x50425353;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FORMAT_VERSION_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+    private static final int PUBLISHED_AT_OFFSET = 16;
+    private static final int SEQUENCE_OFFSET = 24;
+    private static final int REGION_SIZE_OFFSET = 40;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOTS_OFFSET = 8;
+    private static final int SLOT_SIZE = 8;
+
+    private static final int MAX_READ_ATTEMPTS = 4;
+    private static final long REMAP_INTERVAL_MS = 1000L;
+
+    private static final String REQUEST_SUFFIX = ".keys";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final long ABANDONED_REQUEST_AGE_MS = 60000L;
+    // keeps key encoded by DataOutput#writeUTF within its 64KB limit
+    private static final int MAX_REQUESTED_KEY_LENGTH = 16 * 1024;
+
+    private static final VarHandle LONG_HANDLE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private final Path requestsDir;
+    private final boolean writer;
+    private final int fileSize;
+    private final long staleAfterMs;
+    private final Clock clock;
+
+    private volatile MappedByteBuffer buffer;
+    private volatile long lastMapAttemptMillis;
+    private FileChannel channel;
+    private FileLock lock;
+
+    private SharedSettingsFile(Path path, boolean writer, int fileSize, long staleAfterMs, Clock clock) {
+        this.path = Objects.requireNonNull(path);
+        this.requestsDir = path.resolveSibling(path.getFileName() + ".requests");
+        this.writer = writer;
+        this.fileSize = fileSize;
+        this.staleAfterMs = staleAfterMs;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Maps the file for publishing, holding an exclusive lock on it, so that a second writer fails to start.
+     */
+    public static SharedSettingsFile writer(Path path, int fileSize, Clock clock) throws IOException {
+        if (fileSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Shared settings file size must be greater than " + HEADER_SIZE);
+        }
+
+        final SharedSettingsFile file = new SharedSettingsFile(path, true, fileSize, 0L, clock);
+        file.openForWriting();
+        return file;
+    }
+
+    /**
+     * Returns reader, which maps the file lazily, so readers could be started before the writer.
+     */
+    public static SharedSettingsFile reader(Path path, long staleAfterMs, Clock clock) {
+        return new SharedSettingsFile(path, false, 0, staleAfterMs, clock);
+    }
+
+    public boolean isWriter() {
+        return writer;
+    }
+
+    private void openForWriting() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("Shared settings file %s is locked by another writer".formatted(path));
+        }
+
+        // the file is never shrunk: readers may still have the larger mapping
+        final int size = (int) Math.max(channel.size(), fileSize);
+        final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.nativeOrder());
+
+        final int regionSize = ((fileSize - HEADER_SIZE) / 2) & ~7;
+        if (mapped.getInt(MAGIC_OFFSET) != MAGIC
+                || mapped.getInt(FORMAT_VERSION_OFFSET) != FORMAT_VERSION
+                || mapped.getInt(REGION_SIZE_OFFSET) != regionSize) {
+
+            // readers ignore the file until magic is written
+            mapped.putInt(MAGIC_OFFSET, 0);
+            VarHandle.releaseFence();
+            // generation starts from the current time, so that it does not repeat generations of the previous file
+            LONG_HANDLE.setRelease(mapped, STATE_OFFSET, clock.millis() << 1);
+            LONG_HANDLE.setRelease(mapped, SEQUENCE_OFFSET, 0L);
+            LONG_HANDLE.setRelease(mapped, SEQUENCE_OFFSET + 8, 0L);
+            mapped.putInt(HEADER_SIZE, 0);
+            mapped.putInt(REGION_SIZE_OFFSET, regionSize);
+            mapped.putInt(FORMAT_VERSION_OFFSET, FORMAT_VERSION);
+            VarHandle.releaseFence();
+            mapped.putInt(MAGIC_OFFSET, MAGIC);
+        } else {
+            recoverInterruptedPublication(mapped, SEQUENCE_OFFSET);
+            recoverInterruptedPublication(mapped, SEQUENCE_OFFSET + 8);
+        }
+
+        buffer = mapped;
+    }
+
+    /**
+     * Odd sequence number is left if the previous writer died while writing the region. The region is not active,
+     * so it is enough to make the number even again: otherwise it would stay odd after every following publication
+     * and readers would never read the region.
+     */
+    private static void recoverInterruptedPublication(MappedByteBuffer mapped, int sequenceOffset) {
+        final long sequence = (long) LONG_HANDLE.getAcquire(mapped, sequenceOffset);
+        if ((sequence & 1) != 0) {
+            LONG_HANDLE.setRelease(mapped, sequenceOffset, sequence + 1);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with given entries. Entries which do not fit into the region are skipped.
+     * <p>
+     * Should not be called concurrently.
+     *
+     * @return number of published entries
+     */
+    public int publish(Map<String, byte[]> entries) {
+        if (!writer) {
+            throw new IllegalStateException("Shared settings file is opened for reading");
+        }
+
+        final MappedByteBuffer mapped = buffer;
+        final int regionSize = mapped.getInt(REGION_SIZE_OFFSET);
+        final long state = (long) LONG_HANDLE.getAcquire(mapped, STATE_OFFSET);
+        final int region = (int) (state & 1) ^ 1;
+        final int regionStart = HEADER_SIZE + region * regionSize;
+        final int sequenceOffset = SEQUENCE_OFFSET + region * 8;
+        final long sequence = (long) LONG_HANDLE.getAcquire(mapped, sequenceOffset);
+
+        LONG_HANDLE.setVolatile(mapped, sequenceOffset, sequence + 1);
+        VarHandle.releaseFence();
+
+        final int entryCount = writeRegion(mapped, regionStart, regionSize, entries);
+
+        LONG_HANDLE.setRelease(mapped, sequenceOffset, sequence + 2);
+        LONG_HANDLE.setRelease(mapped, STATE_OFFSET, ((state >>> 1) + 1) << 1 | region);
+        LONG_HANDLE.setRelease(mapped, PUBLISHED_AT_OFFSET, clock.millis());
+
+        if (entryCount < entries.size()) {
+            logger.warn("Shared settings file {} is too small, {} of {} entries were not published",
+                    path, entries.size() - entryCount, entries.size());
+        }
+
+        return entryCount;
+    }
+
+    private static int writeRegion(MappedByteBuffer mapped,
+                                   int regionStart,
+                                   int regionSize,
+                                   Map<String, byte[]> entries) {
+
+        final int slotCount = Math.min(
+                slotCount(entries.size()),
+                Integer.highestOneBit((regionSize - SLOTS_OFFSET) / SLOT_SIZE / 2));
+        final int slotsStart = regionStart + SLOTS_OFFSET;
+        final int regionEnd = regionStart + regionSize;
+
+        for (int i = 0; i < slotCount; i++) {
+            mapped.putLong(slotsStart + i * SLOT_SIZE, 0L);
+        }
+
+        int entryPosition = slotsStart + slotCount * SLOT_SIZE;
+        int entryCount = 0;
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            final byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            final byte[] value = entry.getValue();
+            final long entrySize = 8L + key.length + value.length;
+            if (entryCount >= slotCount / 2 || entryPosition + entrySize > regionEnd) {
+                continue;
+            }
+
+            final int hash = hash(entry.getKey());
+            int slot = hash & (slotCount - 1);
+            while (mapped.getInt(slotsStart + slot * SLOT_SIZE + 4) != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+
+            mapped.putInt(entryPosition, key.length);
+            mapped.put(entryPosition + 4, key);
+            mapped.putInt(entryPosition + 4 + key.length, value.length);
+            mapped.put(entryPosition + 8 + key.length, value);
+
+            mapped.putInt(slotsStart + slot * SLOT_SIZE, hash);
+            mapped.putInt(slotsStart + slot * SLOT_SIZE + 4, entryPosition - regionStart);
+
+            entryPosition += (int) entrySize;
+            entryCount++;
+        }
+
+        mapped.putInt(regionStart, slotCount);
+        mapped.putInt(regionStart + 4, entryCount);
+
+        return entryCount;
+    }
+
+    private static int slotCount(int entries) {
+        return Math.max(2, Integer.highestOneBit(Math.max(entries, 1) * 2 - 1) << 1);
+    }
+
+    /**
+     * Returns generation of the latest snapshot, which grows with every publication, or -1 if the snapshot is not
+     * available. Lets readers reuse values derived from the snapshot until the next publication.
+     */
+    public long generation() {
+        final MappedByteBuffer mapped = mappedBuffer();
+        return mapped != null ? (long) LONG_HANDLE.getAcquire(mapped, STATE_OFFSET) >>> 1 : -1L;
+    }
+
+    /**
+     * Returns value of the given key from the latest snapshot, or null if there is no such key, the file is not
+     * published yet or was not updated for too long.
+     */
+    public byte[] get(String key) {
+        final MappedByteBuffer mapped = mappedBuffer();
+        if (mapped == null) {
+            return null;
+        }
+
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final int hash = hash(key);
+
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            final long state = (long) LONG_HANDLE.getAcquire(mapped, STATE_OFFSET);
+            final int region = (int) (state & 1);
+            final int sequenceOffset = SEQUENCE_OFFSET + region * 8;
+            final long sequence = (long) LONG_HANDLE.getAcquire(mapped, sequenceOffset);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            byte[] value;
+            try {
+                value = find(mapped, region, hash, keyBytes);
+            } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+                // region was overwritten while reading
+                value = null;
+            }
+
+            VarHandle.acquireFence();
+            if ((long) LONG_HANDLE.getAcquire(mapped, sequenceOffset) == sequence) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private static byte[] find(MappedByteBuffer mapped, int region, int hash, byte[] keyBytes) {
+        final int regionSize = mapped.getInt(REGION_SIZE_OFFSET);
+        final int regionStart = HEADER_SIZE + region * regionSize;
+        final int slotCount = mapped.getInt(regionStart);
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1 || slotCount > regionSize / SLOT_SIZE) {
+            return null;
+        }
+
+        final int slotsStart = regionStart + SLOTS_OFFSET;
+        int slot = hash & (slotCount - 1);
+        for (int probe = 0; probe < slotCount; probe++) {
+            final int entryOffset = mapped.getInt(slotsStart + slot * SLOT_SIZE + 4);
+            if (entryOffset == 0) {
+                return null;
+            }
+
+            if (mapped.getInt(slotsStart + slot * SLOT_SIZE) == hash) {
+                final byte[] value = valueIfKeyMatches(mapped, regionStart + entryOffset, regionSize, keyBytes);
+                if (value != null) {
+                    return value;
+                }
+            }
+
+            slot = (slot + 1) & (slotCount - 1);
+        }
+
+        return null;
+    }
+
+    private static byte[] valueIfKeyMatches(MappedByteBuffer mapped, int entryStart, int regionSize, byte[] keyBytes) {
+        if (mapped.getInt(entryStart) != keyBytes.length) {
+            return null;
+        }
+
+        final byte[] storedKey = new byte[keyBytes.length];
+        mapped.get(entryStart + 4, storedKey);
+        if (!Arrays.equals(storedKey, keyBytes)) {
+            return null;
+        }
+
+        final int valueLength = mapped.getInt(entryStart + 4 + keyBytes.length);
+        if (valueLength < 0 || valueLength > regionSize) {
+            throw new IllegalArgumentException("Corrupted value length");
+        }
+
+        final byte[] value = new byte[valueLength];
+        mapped.get(entryStart + 8 + keyBytes.length, value);
+        return value;
+    }
+
+    /**
+     * Asks the writer to publish given keys, keys which are too long are skipped.
+     */
+    public void requestKeys(Collection<String> keys) throws IOException {
+        if (writer) {
+            throw new IllegalStateException("Shared settings file is opened for writing");
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(requestsDir);
+        final Path temporary = Files.createTempFile(requestsDir, "keys-", TEMPORARY_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+
+                for (String key : keys) {
+                    if (key.length() <= MAX_REQUESTED_KEY_LENGTH) {
+                        out.writeUTF(key);
+                    }
+                }
+            }
+
+            final String name = temporary.getFileName().toString();
+            final Path request = temporary.resolveSibling(
+                    name.substring(0, name.length() - TEMPORARY_SUFFIX.length()) + REQUEST_SUFFIX);
+            Files.move(temporary, request, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns keys requested by readers since the previous call and removes the requests.
+     * Keys over the given limit are dropped, readers request them again while they need them.
+     */
+    public Set<String> takeRequestedKeys(int maxKeys) throws IOException {
+        if (!writer) {
+            throw new IllegalStateException("Shared settings file is opened for reading");
+        }
+        if (!Files.isDirectory(requestsDir)) {
+            return Set.of();
+        }
+
+        final Set<String> keys = new HashSet<>();
+        try (DirectoryStream<Path> requests = Files.newDirectoryStream(requestsDir)) {
+            for (Path request : requests) {
+                final String name = request.getFileName().toString();
+                if (name.endsWith(REQUEST_SUFFIX)) {
+                    readRequestedKeys(request, keys, maxKeys);
+                    Files.deleteIfExists(request);
+                } else if (name.endsWith(TEMPORARY_SUFFIX) && isAbandoned(request)) {
+                    Files.deleteIfExists(request);
+                }
+            }
+        }
+
+        return keys;
+    }
+
+    private static void readRequestedKeys(Path request, Set<String> keys, int maxKeys) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(request)))) {
+            while (keys.size() < maxKeys) {
+                keys.add(in.readUTF());
+            }
+        } catch (EOFException e) {
+            // all keys are read
+        } catch (IOException e) {
+            logger.warn("Cannot read shared settings request {}: {}", request, e.getMessage());
+        }
+    }
+
+    /**
+     * Temporary file left by a reader which failed before renaming it.
+     */
+    private boolean isAbandoned(Path request) {
+        try {
+            return clock.millis() - Files.getLastModifiedTime(request).toMillis() > ABANDONED_REQUEST_AGE_MS;
+        } catch (IOException e) {
+            // renamed by the reader meanwhile
+            return false;
+        }
+    }
+
+    private MappedByteBuffer mappedBuffer() {
+        MappedByteBuffer mapped = buffer;
+        if (!writer && (mapped == null || !isValid(mapped) || isStale(mapped))) {
+            mapped = remapIfAllowed();
+        }
+
+        return mapped != null && isValid(mapped) && !isStale(mapped) ? mapped : null;
+    }
+
+    private MappedByteBuffer remapIfAllowed() {
+        final long now = clock.millis();
+        if (now - lastMapAttemptMillis < REMAP_INTERVAL_MS) {
+            return buffer;
+        }
+        lastMapAttemptMillis = now;
+
+        if (!Files.exists(path)) {
+            return buffer;
+        }
+
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            mapped.order(ByteOrder.nativeOrder());
+            buffer = mapped;
+            return mapped;
+        } catch (IOException e) {
+            logger.warn("Cannot map shared settings file {}: {}", path, e.getMessage());
+            return buffer;
+        }
+    }
+
+    private static boolean isValid(MappedByteBuffer mapped) {
+        return mapped.capacity() >= HEADER_SIZE
+                && mapped.getInt(MAGIC_OFFSET) == MAGIC
+                && mapped.getInt(FORMAT_VERSION_OFFSET) == FORMAT_VERSION
+                && HEADER_SIZE + 2L * mapped.getInt(REGION_SIZE_OFFSET) <= mapped.capacity();
+    }
+
+    private boolean isStale(MappedByteBuffer mapped) {
+        return !writer && clock.millis() - (long) LONG_HANDLE.getAcquire(mapped, PUBLISHED_AT_OFFSET) > staleAfterMs;
+    }
+
+    private static int hash(String key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (lock != null) {
+            lock.release();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
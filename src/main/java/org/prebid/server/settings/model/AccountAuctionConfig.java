@@ -65,4 +65,7 @@ public class AccountAuctionConfig {
     Integer impressionLimit;
 
     AccountProfilesConfig profiles;
+
+    @JsonAlias("traffic-shaping")
+    AccountTrafficShapingConfig trafficShaping;
 }
@@ -0,0 +1,11 @@
+package org.prebid.server.settings.model;
+
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class AccountBidderTrafficShapingConfig {
+
+    Integer qps;
+
+    Integer burst;
+}
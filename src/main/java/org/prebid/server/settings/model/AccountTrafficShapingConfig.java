@@ -0,0 +1,11 @@
+package org.prebid.server.settings.model;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value(staticConstructor = "of")
+public class AccountTrafficShapingConfig {
+
+    Map<String, AccountBidderTrafficShapingConfig> bidders;
+}
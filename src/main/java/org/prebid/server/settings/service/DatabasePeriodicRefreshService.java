@@ -18,12 +18,13 @@ import org.prebid.server.vertx.database.DatabaseClient;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -41,6 +42,9 @@ import java.util.stream.Collectors;
  * If data is empty or the JSON "null", then the ID will be invalidated (e.g. a deletion).
  * If data is not empty, depending on TYPE, it should be put to corresponding map with ID as a key and DATA as value.
  * </p>
+ * <p>
+ * Only stored data that was actually added, changed or deleted since previous refresh is passed to the cache.
+ * </p>
  */
 public class DatabasePeriodicRefreshService implements Initializable {
 
@@ -69,7 +73,7 @@ public class DatabasePeriodicRefreshService implements Initializable {
     private final long refreshPeriod;
     private final long timeout;
     private final MetricName cacheType;
-    private final CacheNotificationListener<String> cacheNotificationListener;
+    private final StoredDataChangeTracker changeTracker;
     private final Vertx vertx;
     private final DatabaseClient databaseClient;
     private final TimeoutFactory timeoutFactory;
@@ -95,7 +99,7 @@ public class DatabasePeriodicRefreshService implements Initializable {
         this.refreshPeriod = refreshPeriod;
         this.timeout = timeout;
         this.cacheType = Objects.requireNonNull(cacheType);
-        this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
+        this.changeTracker = new StoredDataChangeTracker(cacheNotificationListener);
         this.vertx = Objects.requireNonNull(vertx);
         this.databaseClient = Objects.requireNonNull(databaseClient);
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
@@ -121,19 +125,23 @@ public class DatabasePeriodicRefreshService implements Initializable {
                         DatabaseStoredDataResultMapper::map,
                         createTimeout())
                 .map(storedDataResult ->
-                        handleResult(storedDataResult, Instant.now(clock), startTime, MetricName.initialize))
+                        handleResult(saveAll(storedDataResult), Instant.now(clock), startTime, MetricName.initialize))
                 .recover(exception -> handleFailure(exception, startTime, MetricName.initialize));
     }
 
-    private Void handleResult(StoredDataResult<String> storedDataResult,
-                              Instant updateTime,
-                              long startTime,
-                              MetricName refreshType) {
+    private int saveAll(StoredDataResult<String> storedDataResult) {
+        return changeTracker.apply(
+                storedDataResult.getStoredIdToRequest(),
+                storedDataResult.getStoredIdToImp(),
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
 
-        cacheNotificationListener.save(storedDataResult.getStoredIdToRequest(), storedDataResult.getStoredIdToImp());
+    private Void handleResult(int changed, Instant updateTime, long startTime, MetricName refreshType) {
         lastUpdate = updateTime;
 
         metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
+        metrics.updateSettingsCacheRefreshChangedMetric(cacheType, refreshType, changed);
 
         return null;
     }
@@ -157,37 +165,34 @@ public class DatabasePeriodicRefreshService implements Initializable {
                         DatabaseStoredDataResultMapper::map,
                         createTimeout())
                 .map(storedDataResult ->
-                        handleResult(invalidate(storedDataResult), updateTime, startTime, MetricName.update))
+                        handleResult(applyDelta(storedDataResult), updateTime, startTime, MetricName.update))
                 .recover(exception -> handleFailure(exception, startTime, MetricName.update));
     }
 
-    private StoredDataResult<String> invalidate(StoredDataResult<String> storedDataResult) {
-        final List<String> invalidatedRequests = getInvalidatedKeys(storedDataResult.getStoredIdToRequest());
-        final List<String> invalidatedImps = getInvalidatedKeys(storedDataResult.getStoredIdToImp());
-
-        if (!invalidatedRequests.isEmpty() || !invalidatedImps.isEmpty()) {
-            cacheNotificationListener.invalidate(invalidatedRequests, invalidatedImps);
-        }
-
-        final Map<String, String> requestsToSave = removeFromMap(storedDataResult.getStoredIdToRequest(),
-                invalidatedRequests);
-        final Map<String, String> impsToSave = removeFromMap(storedDataResult.getStoredIdToImp(), invalidatedImps);
+    private int applyDelta(StoredDataResult<String> storedDataResult) {
+        final Map<String, String> updatedRequests = new HashMap<>();
+        final Map<String, String> updatedImps = new HashMap<>();
+        final List<String> deletedRequests = new ArrayList<>();
+        final List<String> deletedImps = new ArrayList<>();
 
-        return StoredDataResult.of(requestsToSave, impsToSave, storedDataResult.getErrors());
-    }
+        splitDeleted(storedDataResult.getStoredIdToRequest(), updatedRequests, deletedRequests);
+        splitDeleted(storedDataResult.getStoredIdToImp(), updatedImps, deletedImps);
 
-    private static List<String> getInvalidatedKeys(Map<String, String> changesMap) {
-        return changesMap.entrySet().stream()
-                .filter(entry -> StringUtils.isBlank(entry.getValue())
-                        || StringUtils.equalsIgnoreCase(entry.getValue(), "null"))
-                .map(Map.Entry::getKey)
-                .toList();
+        return changeTracker.apply(updatedRequests, updatedImps, deletedRequests, deletedImps);
     }
 
-    private static Map<String, String> removeFromMap(Map<String, String> map, List<String> invalidatedKeys) {
-        return map.entrySet().stream()
-                .filter(entry -> !invalidatedKeys.contains(entry.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private static void splitDeleted(Map<String, String> changes,
+                                     Map<String, String> updated,
+                                     List<String> deleted) {
+
+        for (final Map.Entry<String, String> entry : changes.entrySet()) {
+            final String value = entry.getValue();
+            if (StringUtils.isBlank(value) || StringUtils.equalsIgnoreCase(value, "null")) {
+                deleted.add(entry.getKey());
+            } else {
+                updated.put(entry.getKey(), value);
+            }
+        }
     }
 
     private Timeout createTimeout() {
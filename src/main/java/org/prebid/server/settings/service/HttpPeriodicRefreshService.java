@@ -1,24 +1,27 @@
 package org.prebid.server.settings.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.prebid.server.exception.PreBidException;
-import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CacheNotificationListener;
-import org.prebid.server.settings.model.StoredDataType;
-import org.prebid.server.settings.proto.response.HttpRefreshResponse;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -58,36 +61,52 @@ import java.util.Objects;
  * <p>
  * To signal deletions, the endpoint may return { "deleted": true }
  * in place of the Stored Data if the "last-modified" param existed.
+ * <p>
+ * Response is parsed as a stream: data of every stored request and imp is copied to a string as is, without building
+ * intermediate JSON trees, and only entries that were actually added, changed or deleted are passed to the cache.
  */
 public class HttpPeriodicRefreshService implements Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpPeriodicRefreshService.class);
 
+    private static final String REQUESTS_FIELD = "requests";
+    private static final String IMPS_FIELD = "imps";
+    private static final String DELETED_FIELD = "deleted";
+
     private final String refreshUrl;
     private final long refreshPeriod;
     private final long timeout;
-    private final CacheNotificationListener<String> cacheNotificationListener;
+    private final MetricName cacheType;
+    private final StoredDataChangeTracker changeTracker;
     private final Vertx vertx;
     private final HttpClient httpClient;
-    private final JacksonMapper mapper;
+    private final JsonFactory jsonFactory;
+    private final Metrics metrics;
+    private final Clock clock;
 
     private Instant lastUpdateTime;
 
     public HttpPeriodicRefreshService(String refreshUrl,
                                       long refreshPeriod,
                                       long timeout,
+                                      MetricName cacheType,
                                       CacheNotificationListener<String> cacheNotificationListener,
                                       Vertx vertx,
                                       HttpClient httpClient,
-                                      JacksonMapper mapper) {
+                                      JacksonMapper mapper,
+                                      Metrics metrics,
+                                      Clock clock) {
 
         this.refreshUrl = HttpUtil.validateUrl(Objects.requireNonNull(refreshUrl));
         this.refreshPeriod = refreshPeriod;
         this.timeout = timeout;
-        this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
+        this.cacheType = Objects.requireNonNull(cacheType);
+        this.changeTracker = new StoredDataChangeTracker(cacheNotificationListener);
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
-        this.mapper = Objects.requireNonNull(mapper);
+        this.jsonFactory = Objects.requireNonNull(mapper).mapper().getFactory();
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
     }
 
     @Override
@@ -101,119 +120,163 @@ public class HttpPeriodicRefreshService implements Initializable {
     }
 
     private void getAll() {
+        final Instant updateTime = Instant.now(clock);
+        final long startTime = clock.millis();
+
         httpClient.get(refreshUrl, timeout)
-                .map(this::processResponse)
+                .map(response -> processResponse(response, false))
                 .map(this::save)
-                .map(ignored -> setLastUpdateTime(Instant.now()))
-                .recover(HttpPeriodicRefreshService::failResponse);
+                .map(changed -> handleResult(changed, updateTime, startTime, MetricName.initialize))
+                .recover(exception -> failResponse(exception, startTime, MetricName.initialize));
     }
 
-    private Void save(HttpRefreshResponse refreshResponse) {
-        final Map<String, String> requests = parseStoredData(refreshResponse.getRequests(), StoredDataType.request);
-        final Map<String, String> imps = parseStoredData(refreshResponse.getImps(), StoredDataType.imp);
+    private int save(StoredDataUpdate update) {
+        return changeTracker.apply(update.requests, update.imps, update.deletedRequests, update.deletedImps);
+    }
 
-        cacheNotificationListener.save(requests, imps);
+    private Void handleResult(int changed, Instant updateTime, long startTime, MetricName refreshType) {
+        lastUpdateTime = updateTime;
 
-        return null;
-    }
+        metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
+        metrics.updateSettingsCacheRefreshChangedMetric(cacheType, refreshType, changed);
 
-    private Void setLastUpdateTime(Instant instant) {
-        lastUpdateTime = instant;
         return null;
     }
 
     /**
      * Handles errors occurred while HTTP request or response processing.
      */
-    private static Future<Void> failResponse(Throwable exception) {
+    private Future<Void> failResponse(Throwable exception, long startTime, MetricName refreshType) {
         logger.warn("Error occurred while request to http periodic refresh service", exception);
+
+        metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
+        metrics.updateSettingsCacheRefreshErrorMetric(cacheType, refreshType);
+
         return Future.failedFuture(exception);
     }
 
-    private HttpRefreshResponse processResponse(HttpClientResponse response) {
+    private StoredDataUpdate processResponse(HttpClientResponse response, boolean deletionsAllowed) {
         final int statusCode = response.getStatusCode();
         if (statusCode != 200) {
             throw new PreBidException("HTTP status code " + statusCode);
         }
 
         final String body = response.getBody();
-        final HttpRefreshResponse refreshResponse;
         try {
-            refreshResponse = mapper.decodeValue(body, HttpRefreshResponse.class);
-        } catch (DecodeException e) {
+            return parseResponse(body, deletionsAllowed);
+        } catch (IOException | IllegalStateException e) {
             throw new PreBidException("Cannot parse response: " + body, e);
         }
+    }
+
+    private StoredDataUpdate parseResponse(String body, boolean deletionsAllowed) throws IOException {
+        final StoredDataUpdate update = new StoredDataUpdate();
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Response is not a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case REQUESTS_FIELD -> parseStoredData(
+                            parser, update.requests, deletionsAllowed ? update.deletedRequests : null);
+                    case IMPS_FIELD -> parseStoredData(
+                            parser, update.imps, deletionsAllowed ? update.deletedImps : null);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
 
-        return refreshResponse;
+        return update;
     }
 
-    private Map<String, String> parseStoredData(Map<String, ObjectNode> refreshResponse,
-                                                StoredDataType type) {
-        final Map<String, String> result = new HashMap<>();
+    private void parseStoredData(JsonParser parser, Map<String, String> data, List<String> deleted)
+            throws IOException {
 
-        for (Map.Entry<String, ObjectNode> entry : refreshResponse.entrySet()) {
-            final String id = entry.getKey();
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Stored data is not a JSON object");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String id = parser.currentName();
+            parser.nextToken();
+
+            final StringWriter writer = new StringWriter();
+            final boolean isDeletion;
+            try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+                isDeletion = copyValue(parser, generator);
+            }
 
-            final String jsonAsString;
-            try {
-                jsonAsString = mapper.mapper().writeValueAsString(entry.getValue());
-            } catch (JsonProcessingException e) {
-                throw new PreBidException("Error parsing %s json for id: %s with message: %s"
-                        .formatted(type, id, e.getMessage()));
+            if (isDeletion && deleted != null) {
+                deleted.add(id);
+            } else {
+                data.put(id, writer.toString());
+            }
+        }
+    }
+
+    /**
+     * Copies value parser points to and returns true if it is a deletion mark, i.e. JSON object having
+     * top-level "deleted" property with true value.
+     */
+    private static boolean copyValue(JsonParser parser, JsonGenerator generator) throws IOException {
+        boolean isDeletion = false;
+        int depth = 0;
+
+        JsonToken token = parser.currentToken();
+        while (true) {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            generator.copyCurrentEvent(parser);
+            if (depth == 0) {
+                return isDeletion;
+            }
+
+            final boolean isDeletedField = depth == 1
+                    && token == JsonToken.FIELD_NAME
+                    && DELETED_FIELD.equals(parser.currentName());
+
+            token = parser.nextToken();
+            if (isDeletedField) {
+                isDeletion = parser.getValueAsBoolean();
             }
-            result.put(id, jsonAsString);
         }
-        return result;
     }
 
     private void refresh() {
-        final Instant updateTime = Instant.now();
+        final Instant updateTime = Instant.now(clock);
+        final long startTime = clock.millis();
 
         final String lastModifiedParam = "last-modified=" + lastUpdateTime;
         final String andOrParam = refreshUrl.contains("?") ? "&" : "?";
         final String refreshEndpoint = refreshUrl + andOrParam + lastModifiedParam;
 
         httpClient.get(refreshEndpoint, timeout)
-                .map(this::processResponse)
-                .map(this::invalidate)
+                .map(response -> processResponse(response, true))
                 .map(this::save)
-                .map(ignored -> setLastUpdateTime(updateTime))
-                .recover(HttpPeriodicRefreshService::failResponse);
+                .map(changed -> handleResult(changed, updateTime, startTime, MetricName.update))
+                .recover(exception -> failResponse(exception, startTime, MetricName.update));
     }
 
-    private HttpRefreshResponse invalidate(HttpRefreshResponse refreshResponse) {
-        final List<String> invalidatedRequests = getInvalidatedKeys(refreshResponse.getRequests());
-        final List<String> invalidatedImps = getInvalidatedKeys(refreshResponse.getImps());
+    private static class StoredDataUpdate {
 
-        if (!invalidatedRequests.isEmpty() || !invalidatedImps.isEmpty()) {
-            cacheNotificationListener.invalidate(invalidatedRequests, invalidatedImps);
-        }
+        private final Map<String, String> requests = new HashMap<>();
 
-        final Map<String, ObjectNode> requestsToSave = removeFromMap(refreshResponse.getRequests(),
-                invalidatedRequests);
-        final Map<String, ObjectNode> impsToSave = removeFromMap(refreshResponse.getImps(), invalidatedImps);
+        private final Map<String, String> imps = new HashMap<>();
 
-        return HttpRefreshResponse.of(requestsToSave, impsToSave);
-    }
+        private final List<String> deletedRequests = new ArrayList<>();
 
-    private static List<String> getInvalidatedKeys(Map<String, ObjectNode> changes) {
-        final List<String> result = new ArrayList<>();
-
-        for (Map.Entry<String, ObjectNode> entry : changes.entrySet()) {
-            final ObjectNode jsonNodes = entry.getValue();
-            final JsonNode deleted = jsonNodes.get("deleted");
-            if (deleted != null && deleted.asBoolean()) {
-                result.add(entry.getKey());
-            }
-        }
-        return result;
-    }
-
-    private static Map<String, ObjectNode> removeFromMap(Map<String, ObjectNode> map, List<String> invalidatedKeys) {
-        final Map<String, ObjectNode> result = new HashMap<>(map);
-        for (String key : invalidatedKeys) {
-            result.remove(key);
-        }
-        return result;
+        private final List<String> deletedImps = new ArrayList<>();
     }
 }
@@ -0,0 +1,61 @@
+package org.prebid.server.settings.service;
+
+import org.prebid.server.settings.CacheNotificationListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Forwards stored requests and imps fetched by periodic refresh service to {@link CacheNotificationListener},
+ * skipping the ones the listener already holds unchanged, so entries returned unchanged on refresh are not saved
+ * to the cache again.
+ * <p>
+ * Entries are compared with what the listener holds rather than with what was passed to it before: the cache may
+ * have evicted an entry meanwhile, and then it has to be saved again even if it did not change.
+ */
+class StoredDataChangeTracker {
+
+    private final CacheNotificationListener<String> cacheNotificationListener;
+
+    StoredDataChangeTracker(CacheNotificationListener<String> cacheNotificationListener) {
+        this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
+    }
+
+    /**
+     * Invalidates deleted and saves added or changed stored data, returns number of such entries.
+     * Deleted ids are expected to be absent in updated data.
+     */
+    int apply(Map<String, String> updatedRequests,
+              Map<String, String> updatedImps,
+              List<String> deletedRequests,
+              List<String> deletedImps) {
+
+        if (!deletedRequests.isEmpty() || !deletedImps.isEmpty()) {
+            cacheNotificationListener.invalidate(deletedRequests, deletedImps);
+        }
+
+        final Map<String, String> changedRequests =
+                changed(updatedRequests, cacheNotificationListener::containsRequest);
+        final Map<String, String> changedImps =
+                changed(updatedImps, cacheNotificationListener::containsImp);
+        if (!changedRequests.isEmpty() || !changedImps.isEmpty()) {
+            cacheNotificationListener.save(changedRequests, changedImps);
+        }
+
+        return deletedRequests.size() + deletedImps.size() + changedRequests.size() + changedImps.size();
+    }
+
+    private static Map<String, String> changed(Map<String, String> updated, BiPredicate<String, String> contains) {
+        final Map<String, String> changed = new HashMap<>();
+        for (final Map.Entry<String, String> entry : updated.entrySet()) {
+            if (!contains.test(entry.getKey(), entry.getValue())) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return changed;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.GeoLocationServiceWrapper;
 import org.prebid.server.auction.requestfactory.Ortb2ImplicitParametersResolver;
+import org.prebid.server.execution.blocking.BlockingExecutor;
+import org.prebid.server.execution.blocking.BlockingExecutors;
 import org.prebid.server.execution.file.FileUtil;
 import org.prebid.server.execution.file.syncer.FileSyncer;
 import org.prebid.server.geolocation.CircuitBreakerSecuredGeoLocationService;
@@ -58,30 +60,51 @@ public class GeoLocationConfiguration {
         @Bean
         @ConditionalOnProperty(prefix = "geolocation.circuit-breaker", name = "enabled", havingValue = "false",
                 matchIfMissing = true)
-        GeoLocationService basicGeoLocationService(FileSyncerProperties fileSyncerProperties,
-                                                   Vertx vertx) {
+        GeoLocationService basicGeoLocationService(
+                FileSyncerProperties fileSyncerProperties,
+                @Value("${geolocation.maxmind.database-dir:#{null}}") String databaseDir,
+                @Value("${geolocation.maxmind.lookup-cache-size:0}") long lookupCacheSize,
+                Vertx vertx,
+                BlockingExecutors blockingExecutors,
+                Metrics metrics) {
 
-            return createGeoLocationService(fileSyncerProperties, vertx);
+            return createGeoLocationService(
+                    fileSyncerProperties, databaseDir, lookupCacheSize, vertx, blockingExecutors, metrics);
         }
 
         @Bean
         @ConditionalOnProperty(prefix = "geolocation.circuit-breaker", name = "enabled", havingValue = "true")
         CircuitBreakerSecuredGeoLocationService circuitBreakerSecuredGeoLocationService(
                 Vertx vertx,
+                BlockingExecutors blockingExecutors,
                 Metrics metrics,
                 FileSyncerProperties fileSyncerProperties,
                 @Qualifier("maxMindCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
+                @Value("${geolocation.maxmind.database-dir:#{null}}") String databaseDir,
+                @Value("${geolocation.maxmind.lookup-cache-size:0}") long lookupCacheSize,
                 Clock clock) {
 
             return new CircuitBreakerSecuredGeoLocationService(vertx,
-                    createGeoLocationService(fileSyncerProperties, vertx), metrics,
+                    blockingExecutors.forSubsystem(BlockingExecutors.CIRCUIT_BREAKER),
+                    createGeoLocationService(
+                            fileSyncerProperties, databaseDir, lookupCacheSize, vertx, blockingExecutors, metrics),
+                    metrics,
                     circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                     circuitBreakerProperties.getClosingIntervalMs(), clock);
         }
 
-        private GeoLocationService createGeoLocationService(FileSyncerProperties properties, Vertx vertx) {
-            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService();
-            final FileSyncer fileSyncer = FileUtil.fileSyncerFor(maxMindGeoLocationService, properties, vertx);
+        private GeoLocationService createGeoLocationService(FileSyncerProperties properties,
+                                                            String databaseDir,
+                                                            long lookupCacheSize,
+                                                            Vertx vertx,
+                                                            BlockingExecutors blockingExecutors,
+                                                            Metrics metrics) {
+
+            final MaxMindGeoLocationService maxMindGeoLocationService =
+                    new MaxMindGeoLocationService(databaseDir, lookupCacheSize);
+            final BlockingExecutor blockingExecutor = blockingExecutors.forSubsystem(BlockingExecutors.FILE_SYNCER);
+            final FileSyncer fileSyncer = FileUtil.fileSyncerFor(
+                    maxMindGeoLocationService, "geolocation", properties, vertx, blockingExecutor, metrics);
             fileSyncer.sync();
             return maxMindGeoLocationService;
         }
@@ -8,6 +8,7 @@ import org.prebid.server.hooks.execution.HookCatalog;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.HooksAdminConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -34,6 +35,7 @@ public class HooksConfiguration {
                                         TimeoutFactory timeoutFactory,
                                         Vertx vertx,
                                         Clock clock,
+                                        Metrics metrics,
                                         JacksonMapper mapper,
                                         @Value("${settings.modules.require-config-to-invoke:false}")
                                         boolean isConfigToInvokeRequired,
@@ -49,6 +51,7 @@ public class HooksConfiguration {
                 timeoutFactory,
                 vertx,
                 clock,
+                metrics,
                 mapper,
                 isConfigToInvokeRequired,
                 logSamplingRate);
@@ -1,10 +1,13 @@
 package org.prebid.server.spring.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonLogic;
 import org.prebid.server.json.JsonLogicProvider;
 import org.prebid.server.json.JsonMerger;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.json.ObjectMapperWarmer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,8 +15,13 @@ import org.springframework.context.annotation.Configuration;
 public class JsonConfiguration {
 
     @Bean
-    JacksonMapper jacksonMapper() {
-        return new JacksonMapper(ObjectMapperProvider.mapper());
+    JacksonMapper jacksonMapper(@Value("${json.warm-up-openrtb-model:true}") boolean warmUpOpenrtbModel) {
+        final ObjectMapper mapper = ObjectMapperProvider.mapper();
+        if (warmUpOpenrtbModel) {
+            ObjectMapperWarmer.warmUp(mapper);
+        }
+
+        return new JacksonMapper(mapper);
     }
 
     @Bean
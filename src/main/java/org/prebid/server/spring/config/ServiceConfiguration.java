@@ -63,6 +63,7 @@ import org.prebid.server.auction.requestfactory.AuctionRequestFactory;
 import org.prebid.server.auction.requestfactory.Ortb2ImplicitParametersResolver;
 import org.prebid.server.auction.requestfactory.Ortb2RequestFactory;
 import org.prebid.server.auction.requestfactory.VideoRequestFactory;
+import org.prebid.server.auction.trafficshaping.BidderTrafficShaper;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConverterFactory;
 import org.prebid.server.bidadjustments.BidAdjustmentFactorResolver;
@@ -76,6 +77,7 @@ import org.prebid.server.bidder.BidderErrorNotifier;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
 import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.TimeoutNotificationDispatcher;
 import org.prebid.server.cache.BasicPbcStorageService;
 import org.prebid.server.cache.CoreCacheService;
 import org.prebid.server.cache.PbcStorageService;
@@ -102,6 +104,7 @@ import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonMerger;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.log.CriteriaManager;
+import org.prebid.server.log.HttpInteractionLogWriter;
 import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.log.LoggerControlKnob;
 import org.prebid.server.metric.Metrics;
@@ -124,6 +127,7 @@ import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
 import org.prebid.server.vast.VastModifier;
 import org.prebid.server.version.PrebidVersionProvider;
+import org.prebid.server.vertx.SlidingWindowCircuitBreaker;
 import org.prebid.server.vertx.httpclient.BasicHttpClient;
 import org.prebid.server.vertx.httpclient.CircuitBreakerSecuredHttpClient;
 import org.prebid.server.vertx.httpclient.HttpClient;
@@ -139,6 +143,7 @@ import org.springframework.context.annotation.ScopedProxyMode;
 
 import jakarta.validation.constraints.Min;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -663,19 +668,31 @@ public class ServiceConfiguration {
         final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
 
         return new CircuitBreakerSecuredHttpClient(
-                vertx,
                 httpClient,
+                () -> new SlidingWindowCircuitBreaker(
+                        circuitBreakerProperties.getOpeningThreshold(),
+                        circuitBreakerProperties.getOpeningIntervalMs(),
+                        circuitBreakerProperties.getFailureRateThreshold(),
+                        circuitBreakerProperties.getSlowCallDurationMs(),
+                        circuitBreakerProperties.getSlowCallRateThreshold(),
+                        circuitBreakerProperties.getMinimumCalls(),
+                        circuitBreakerProperties.getHalfOpenMaxCalls(),
+                        circuitBreakerProperties.getClosingIntervalMs(),
+                        clock),
                 metrics,
-                circuitBreakerProperties.getOpeningThreshold(),
-                circuitBreakerProperties.getOpeningIntervalMs(),
-                circuitBreakerProperties.getClosingIntervalMs(),
-                circuitBreakerProperties.getIdleExpireHours(),
-                clock);
+                circuitBreakerProperties.getIdleExpireHours());
     }
 
     private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+        return createBasicHttpClient(vertx, httpClientProperties, httpClientProperties.getMaxPoolSize());
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx,
+                                                         HttpClientProperties httpClientProperties,
+                                                         int maxPoolSize) {
+
         final HttpClientOptions options = new HttpClientOptions()
-                .setMaxPoolSize(httpClientProperties.getMaxPoolSize())
+                .setMaxPoolSize(maxPoolSize)
                 .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
                 .setIdleTimeout(httpClientProperties.getIdleTimeoutMs())
                 .setPoolCleanerPeriod(httpClientProperties.getPoolCleanerPeriodMs())
@@ -837,20 +854,42 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    BidderErrorNotifier bidderErrorNotifier(
+    BidderErrorNotifier bidderErrorNotifier(TimeoutNotificationDispatcher timeoutNotificationDispatcher) {
+        return new BidderErrorNotifier(timeoutNotificationDispatcher);
+    }
+
+    @Bean
+    TimeoutNotificationDispatcher timeoutNotificationDispatcher(
             @Value("${auction.timeout-notification.timeout-ms}") int timeoutNotificationTimeoutMs,
             @Value("${auction.timeout-notification.log-result}") boolean logTimeoutNotificationResult,
             @Value("${auction.timeout-notification.log-failure-only}") boolean logTimeoutNotificationFailureOnly,
             @Value("${auction.timeout-notification.log-sampling-rate}") double logTimeoutNotificationSamplingRate,
-            HttpClient httpClient,
+            @Value("${auction.timeout-notification.flush-period-ms}") long flushPeriodMs,
+            @Value("${auction.timeout-notification.max-requests-per-second}") int maxRequestsPerSecond,
+            @Value("${auction.timeout-notification.max-queue-size}") int maxQueueSize,
+            @Value("${auction.timeout-notification.max-batch-size}") int maxBatchSize,
+            @Value("${auction.timeout-notification.deduplication-window-ms}") long deduplicationWindowMs,
+            @Value("${auction.timeout-notification.deduplication-cache-size}") int deduplicationCacheSize,
+            @Value("${auction.timeout-notification.max-connections}") int maxConnections,
+            HttpClientProperties httpClientProperties,
+            Vertx vertx,
             Metrics metrics) {
 
-        return new BidderErrorNotifier(
+        return new TimeoutNotificationDispatcher(
+                flushPeriodMs,
+                maxRequestsPerSecond,
+                maxQueueSize,
+                maxBatchSize,
+                deduplicationWindowMs,
+                deduplicationCacheSize,
+                maxConnections,
                 timeoutNotificationTimeoutMs,
                 logTimeoutNotificationResult,
                 logTimeoutNotificationFailureOnly,
                 logTimeoutNotificationSamplingRate,
-                httpClient,
+                // notifications have their own connection pool, so they never take connections needed for auctions
+                createBasicHttpClient(vertx, httpClientProperties, maxConnections),
+                vertx,
                 metrics);
     }
 
@@ -922,6 +961,7 @@ public class ServiceConfiguration {
             TimeoutFactory timeoutFactory,
             BidRequestOrtbVersionConversionManager bidRequestOrtbVersionConversionManager,
             HttpBidderRequester httpBidderRequester,
+            BidderTrafficShaper bidderTrafficShaper,
             BidResponseCreator bidResponseCreator,
             BidResponsePostProcessor bidResponsePostProcessor,
             HookStageExecutor hookStageExecutor,
@@ -950,6 +990,7 @@ public class ServiceConfiguration {
                 timeoutFactory,
                 bidRequestOrtbVersionConversionManager,
                 httpBidderRequester,
+                bidderTrafficShaper,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
@@ -964,6 +1005,28 @@ public class ServiceConfiguration {
                 enabledStrictAppSiteDoohValidation);
     }
 
+    @Bean
+    BidderTrafficShaper bidderTrafficShaper(
+            BidderCatalog bidderCatalog,
+            @Value("${auction.traffic-shaping.account-buckets-cache-size}") int accountBucketsCacheSize,
+            @Value("${auction.traffic-shaping.adaptive.window-ms}") long adaptiveWindowMs,
+            @Value("${auction.traffic-shaping.adaptive.min-requests}") int adaptiveMinRequests,
+            @Value("${auction.traffic-shaping.adaptive.no-bid-rate-threshold}") double adaptiveNoBidRateThreshold,
+            @Value("${auction.traffic-shaping.adaptive.timeout-rate-threshold}") double adaptiveTimeoutRateThreshold,
+            @Value("${auction.traffic-shaping.adaptive.min-sampling-rate}") double adaptiveMinSamplingRate,
+            Clock clock) {
+
+        return new BidderTrafficShaper(
+                bidderCatalog,
+                accountBucketsCacheSize,
+                adaptiveWindowMs,
+                adaptiveMinRequests,
+                adaptiveNoBidRateThreshold,
+                adaptiveTimeoutRateThreshold,
+                adaptiveMinSamplingRate,
+                clock);
+    }
+
     @Bean
     BidsAdjuster bidsAdjuster(ResponseBidValidator responseBidValidator,
                               PriceFloorEnforcer priceFloorEnforcer,
@@ -1247,8 +1310,33 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    HttpInteractionLogger httpInteractionLogger(JacksonMapper mapper) {
-        return new HttpInteractionLogger(mapper);
+    HttpInteractionLogger httpInteractionLogger(
+            JacksonMapper mapper,
+            @Autowired(required = false) HttpInteractionLogWriter httpInteractionLogWriter,
+            @Value("${logging.http-interaction.sampling-rate:1.0}") double samplingRate) {
+
+        return new HttpInteractionLogger(mapper, httpInteractionLogWriter, samplingRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "logging.http-interaction.async", name = "file")
+    HttpInteractionLogWriter httpInteractionLogWriter(
+            @Value("${logging.http-interaction.async.file}") String file,
+            @Value("${logging.http-interaction.async.max-file-size-mb:100}") long maxFileSizeMb,
+            @Value("${logging.http-interaction.async.max-history:5}") int maxHistory,
+            @Value("${logging.http-interaction.async.buffer-size:1024}") int bufferSize,
+            JacksonMapper mapper,
+            Metrics metrics,
+            Clock clock) {
+
+        return new HttpInteractionLogWriter(
+                Path.of(file),
+                maxFileSizeMb * 1024 * 1024,
+                maxHistory,
+                bufferSize,
+                mapper,
+                metrics,
+                clock);
     }
 
     @Bean
@@ -25,7 +25,10 @@ import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
 import org.prebid.server.settings.S3ApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
+import org.prebid.server.settings.SharedFileApplicationSettings;
+import org.prebid.server.settings.helper.DatabaseStoredDataBatcher;
 import org.prebid.server.settings.helper.ParametrizedQueryHelper;
+import org.prebid.server.settings.helper.SharedSettingsFile;
 import org.prebid.server.settings.model.Profile;
 import org.prebid.server.settings.service.DatabasePeriodicRefreshService;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
@@ -51,11 +54,14 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.List;
 import java.util.Objects;
@@ -106,9 +112,18 @@ public class SettingsConfiguration {
                 @Value("${settings.database.amp-stored-requests-query}") String ampStoredRequestsQuery,
                 @Value("${settings.database.profiles-query:#{null}}") String profilesQuery,
                 @Value("${settings.database.stored-responses-query}") String storedResponsesQuery,
+                @Value("${settings.database.batch.window-ms:0}") long batchWindowMs,
+                @Value("${settings.database.batch.max-size:256}") int batchMaxSize,
                 ParametrizedQueryHelper parametrizedQueryHelper,
                 DatabaseClient databaseClient,
-                JacksonMapper jacksonMapper) {
+                JacksonMapper jacksonMapper,
+                Vertx vertx,
+                Metrics metrics) {
+
+            final DatabaseStoredDataBatcher storedDataBatcher = batchWindowMs > 0
+                    ? new DatabaseStoredDataBatcher(
+                    databaseClient, parametrizedQueryHelper, vertx, batchWindowMs, batchMaxSize, metrics)
+                    : null;
 
             return new DatabaseApplicationSettings(
                     databaseClient,
@@ -118,7 +133,8 @@ public class SettingsConfiguration {
                     storedRequestsQuery,
                     ampStoredRequestsQuery,
                     profilesQuery,
-                    storedResponsesQuery);
+                    storedResponsesQuery,
+                    storedDataBatcher);
         }
     }
 
@@ -164,6 +180,12 @@ public class SettingsConfiguration {
         @Autowired
         HttpClient httpClient;
 
+        @Autowired
+        Metrics metrics;
+
+        @Autowired
+        Clock clock;
+
         @Bean
         public HttpPeriodicRefreshService httpPeriodicRefreshService(
                 @Value("${settings.in-memory-cache.http-update.endpoint}") String endpoint,
@@ -171,7 +193,16 @@ public class SettingsConfiguration {
                 JacksonMapper mapper) {
 
             return new HttpPeriodicRefreshService(
-                    endpoint, refreshPeriod, timeout, settingsCache, vertx, httpClient, mapper);
+                    endpoint,
+                    refreshPeriod,
+                    timeout,
+                    MetricName.stored_request,
+                    settingsCache,
+                    vertx,
+                    httpClient,
+                    mapper,
+                    metrics,
+                    clock);
         }
 
         @Bean
@@ -181,7 +212,16 @@ public class SettingsConfiguration {
                 JacksonMapper mapper) {
 
             return new HttpPeriodicRefreshService(
-                    ampEndpoint, refreshPeriod, timeout, ampSettingsCache, vertx, httpClient, mapper);
+                    ampEndpoint,
+                    refreshPeriod,
+                    timeout,
+                    MetricName.amp_stored_request,
+                    ampSettingsCache,
+                    vertx,
+                    httpClient,
+                    mapper,
+                    metrics,
+                    clock);
         }
     }
 
@@ -434,12 +474,79 @@ public class SettingsConfiguration {
         }
     }
 
+    @Configuration
+    @ConditionalOnProperty(prefix = "settings.shared-cache", name = "path")
+    static class SharedFileSettingsConfiguration {
+
+        @Bean
+        SharedSettingsFile sharedSettingsFile(SharedSettingsCacheProperties cacheProperties,
+                                              Clock clock) throws IOException {
+
+            final Path path = Path.of(cacheProperties.getPath());
+            return cacheProperties.isWriter()
+                    ? SharedSettingsFile.writer(path, cacheProperties.getFileSizeMb() * 1024 * 1024, clock)
+                    : SharedSettingsFile.reader(path, cacheProperties.getStaleAfterMs(), clock);
+        }
+
+        @Bean
+        SharedFileApplicationSettings sharedFileApplicationSettings(
+                EnrichingApplicationSettings enrichingApplicationSettings,
+                SharedSettingsFile sharedSettingsFile,
+                SharedSettingsCacheProperties cacheProperties,
+                Vertx vertx,
+                TimeoutFactory timeoutFactory,
+                JacksonMapper mapper,
+                Metrics metrics) {
+
+            return new SharedFileApplicationSettings(
+                    enrichingApplicationSettings,
+                    sharedSettingsFile,
+                    cacheProperties.getTtlSeconds(),
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getPublishPeriodMs(),
+                    cacheProperties.getRefreshPeriodMs(),
+                    cacheProperties.getRefreshTimeoutMs(),
+                    vertx,
+                    timeoutFactory,
+                    mapper,
+                    metrics);
+        }
+
+        @Component
+        @ConfigurationProperties(prefix = "settings.shared-cache")
+        @Validated
+        @Data
+        @NoArgsConstructor
+        protected static class SharedSettingsCacheProperties {
+
+            @NotBlank
+            private String path;
+            private boolean writer;
+            @Min(1)
+            @Max(2047)
+            private int fileSizeMb = 64;
+            @Min(1)
+            private long publishPeriodMs = 1000L;
+            @Min(1)
+            private long staleAfterMs = 10000L;
+            @Min(1)
+            private long refreshPeriodMs = 60000L;
+            @Min(1)
+            private long refreshTimeoutMs = 2000L;
+            @Min(1)
+            private int ttlSeconds = 300;
+            @Min(1)
+            private int cacheSize = 10000;
+        }
+    }
+
     @Configuration
     static class CachingSettingsConfiguration {
 
         @Bean
         @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = {"ttl-seconds", "cache-size"})
         CachingApplicationSettings cachingApplicationSettings(
+                @Autowired(required = false) SharedFileApplicationSettings sharedFileApplicationSettings,
                 EnrichingApplicationSettings enrichingApplicationSettings,
                 ApplicationSettingsCacheProperties cacheProperties,
                 @Qualifier("settingsCache") SettingsCache<String> cache,
@@ -449,7 +556,7 @@ public class SettingsConfiguration {
                 Metrics metrics) {
 
             return new CachingApplicationSettings(
-                    enrichingApplicationSettings,
+                    ObjectUtils.defaultIfNull(sharedFileApplicationSettings, enrichingApplicationSettings),
                     cache,
                     ampCache,
                     videoCache,
@@ -467,8 +574,13 @@ public class SettingsConfiguration {
         @Bean
         ApplicationSettings applicationSettings(
                 @Autowired(required = false) CachingApplicationSettings cachingApplicationSettings,
+                @Autowired(required = false) SharedFileApplicationSettings sharedFileApplicationSettings,
                 EnrichingApplicationSettings enrichingApplicationSettings) {
-            return ObjectUtils.defaultIfNull(cachingApplicationSettings, enrichingApplicationSettings);
+
+            return ObjectUtils.firstNonNull(
+                    cachingApplicationSettings,
+                    sharedFileApplicationSettings,
+                    enrichingApplicationSettings);
         }
     }
 
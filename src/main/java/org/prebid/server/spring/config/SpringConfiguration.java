@@ -19,6 +19,11 @@ public class SpringConfiguration {
         return conversionService;
     }
 
+    @Bean
+    static StartupMetricsRecorder startupMetricsRecorder() {
+        return new StartupMetricsRecorder();
+    }
+
     @Bean
     static CustomScopeConfigurer customScopeConfigurer() {
         final CustomScopeConfigurer configurer = new CustomScopeConfigurer();
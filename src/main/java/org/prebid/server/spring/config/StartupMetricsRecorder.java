@@ -0,0 +1,55 @@
+package org.prebid.server.spring.config;
+
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures time spent on startup phases happening before {@link Metrics} bean is available
+ * and reports it as soon as application context is refreshed.
+ * <p>
+ * Bidders phase sums up creation of all {@link BidderDeps} beans, including binding of their configuration.
+ */
+public class StartupMetricsRecorder
+        implements InstantiationAwareBeanPostProcessor, ApplicationListener<ContextRefreshedEvent> {
+
+    private final Map<String, Long> bidderDepsCreationStartTimes = new ConcurrentHashMap<>();
+    private final AtomicLong biddersCreationTime = new AtomicLong();
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (BidderDeps.class.isAssignableFrom(beanClass)) {
+            bidderDepsCreationStartTimes.put(beanName, System.nanoTime());
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        final Long startTime = bean instanceof BidderDeps ? bidderDepsCreationStartTimes.remove(beanName) : null;
+        if (startTime != null) {
+            biddersCreationTime.addAndGet(System.nanoTime() - startTime);
+        }
+
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        final Metrics metrics = event.getApplicationContext().getBean(Metrics.class);
+
+        metrics.updateStartupPhaseTime(MetricName.context, ManagementFactory.getRuntimeMXBean().getUptime());
+        metrics.updateStartupPhaseTime(
+                MetricName.bidders, TimeUnit.NANOSECONDS.toMillis(biddersCreationTime.get()));
+    }
+}
@@ -2,6 +2,8 @@ package org.prebid.server.spring.config;
 
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.verticles.VerticleDefinition;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 
+import java.time.Clock;
 import java.util.List;
 
 @Configuration
@@ -23,8 +26,15 @@ public class VerticleStarter {
     @Autowired
     private List<VerticleDefinition> definitions;
 
+    @Autowired
+    private Metrics metrics;
+
+    @Autowired
+    private Clock clock;
+
     @EventListener(ContextRefreshedEvent.class)
     public void start() {
+        final long startTime = clock.millis();
         for (VerticleDefinition definition : definitions) {
             if (definition.getAmount() <= 0) {
                 continue;
@@ -36,5 +46,7 @@ public class VerticleStarter {
                             new DeploymentOptions().setInstances(definition.getAmount()),
                             promise));
         }
+
+        metrics.updateStartupPhaseTime(MetricName.verticles, clock.millis() - startTime);
     }
 }
@@ -53,6 +53,10 @@ public class BidderConfigurationProperties {
 
     private long tmaxDeductionMs;
 
+    private TrafficShaping trafficShaping;
+
+    private Boolean lazyInit;
+
     private final Class<? extends BidderConfigurationProperties> selfClass;
 
     public BidderConfigurationProperties() {
@@ -71,6 +75,7 @@ public class BidderConfigurationProperties {
         deprecatedNames = ObjectUtils.defaultIfNull(deprecatedNames, defaultProperties.getDeprecatedNames());
         endpointCompression = ObjectUtils.defaultIfNull(
                 endpointCompression, defaultProperties.getEndpointCompression());
+        lazyInit = ObjectUtils.defaultIfNull(lazyInit, defaultProperties.getLazyInit());
         ortb = ortb != null && ortb.getMultiFormatSupported() != null
                 ? ortb
                 : defaultProperties.getOrtb();
@@ -38,4 +38,6 @@ public class DefaultBidderConfigurationProperties {
     private final Map<String, String> extraInfo = Collections.emptyMap();
 
     private CompressionType endpointCompression = CompressionType.NONE;
+
+    private Boolean lazyInit = false;
 }
@@ -0,0 +1,23 @@
+package org.prebid.server.spring.config.bidder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+@Data
+@Validated
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+public class TrafficShaping {
+
+    @PositiveOrZero
+    int qps;
+
+    @PositiveOrZero
+    int burst;
+
+    boolean adaptive;
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.bidder.Bidder;
@@ -15,6 +16,7 @@ import org.prebid.server.bidder.BidderDeps;
 import org.prebid.server.bidder.BidderInfo;
 import org.prebid.server.bidder.BidderInstanceDeps;
 import org.prebid.server.bidder.DisabledBidder;
+import org.prebid.server.bidder.LazyBidder;
 import org.prebid.server.bidder.Usersyncer;
 import org.prebid.server.spring.config.bidder.model.BidderConfigurationProperties;
 import org.prebid.server.spring.config.bidder.model.MediaType;
@@ -22,6 +24,7 @@ import org.prebid.server.spring.config.bidder.model.MetaInfo;
 import org.prebid.server.spring.config.bidder.model.usersync.CookieFamilySource;
 import org.prebid.server.spring.config.bidder.model.usersync.UsersyncConfigurationProperties;
 import org.prebid.server.spring.env.YamlPropertySourceFactory;
+import org.prebid.server.util.HttpUtil;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 import org.springframework.core.io.InputStreamResource;
@@ -33,6 +36,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -154,9 +158,21 @@ public class BidderDepsAssembler<CFG extends BidderConfigurationProperties> {
     }
 
     private Bidder<?> bidder(CFG configProperties) {
-        return configProperties.getEnabled()
-                ? bidderCreator.apply(configProperties)
-                : new DisabledBidder(ERROR_MESSAGE_TEMPLATE_FOR_DISABLED.formatted(bidderName));
+        if (!configProperties.getEnabled()) {
+            return new DisabledBidder(ERROR_MESSAGE_TEMPLATE_FOR_DISABLED.formatted(bidderName));
+        }
+
+        return BooleanUtils.isTrue(configProperties.getLazyInit())
+                ? lazyBidder(configProperties)
+                : bidderCreator.apply(configProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bidder<?> lazyBidder(CFG configProperties) {
+        // adapter is created on first call, so check what adapters validate on creation right now
+        // to keep failing at startup instead of first auction
+        HttpUtil.validateUrl(Objects.requireNonNull(configProperties.getEndpoint()));
+        return new LazyBidder<>(() -> (Bidder<Object>) bidderCreator.apply(configProperties));
     }
 
     private CFG updateAliasProperties(CFG aliasProperties) {
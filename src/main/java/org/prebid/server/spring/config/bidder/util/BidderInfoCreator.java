@@ -33,6 +33,7 @@ public class BidderInfoCreator {
                 configurationProperties.getModifyingVastXmlAllowed(),
                 configurationProperties.getEndpointCompression(),
                 configurationProperties.getOrtb(),
-                configurationProperties.getTmaxDeductionMs());
+                configurationProperties.getTmaxDeductionMs(),
+                configurationProperties.getTrafficShaping());
     }
 }
@@ -2,10 +2,8 @@ package org.prebid.server.spring.config.metrics;
 
 import com.codahale.metrics.MetricRegistry;
 import io.prometheus.client.CollectorRegistry;
-import io.prometheus.client.dropwizard.DropwizardExports;
 import io.prometheus.client.dropwizard.samplebuilder.MapperConfig;
 import io.prometheus.client.dropwizard.samplebuilder.SampleBuilder;
-import io.prometheus.client.vertx.MetricsHandler;
 import io.vertx.core.Vertx;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.Router;
@@ -15,7 +13,10 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.prometheus.HdrTimerCollector;
 import org.prebid.server.metric.prometheus.NamespaceSubsystemSampleBuilder;
+import org.prebid.server.metric.prometheus.PrometheusMetricsHandler;
+import org.prebid.server.metric.prometheus.PrometheusTextExporter;
 import org.prebid.server.vertx.verticles.VerticleDefinition;
 import org.prebid.server.vertx.verticles.server.ServerVerticle;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -25,7 +26,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.time.Clock;
 import java.util.List;
 
 @Configuration
@@ -39,9 +42,9 @@ public class PrometheusConfiguration {
     public VerticleDefinition prometheusHttpServerVerticleDefinition(
             PrometheusConfigurationProperties prometheusConfigurationProperties,
             Router prometheusRouter,
-            DropwizardExports dropwizardExports) {
+            HdrTimerCollector hdrTimerCollector) {
 
-        CollectorRegistry.defaultRegistry.register(dropwizardExports);
+        CollectorRegistry.defaultRegistry.register(hdrTimerCollector);
 
         return VerticleDefinition.ofSingleInstance(
                 () -> new ServerVerticle(
@@ -61,18 +64,34 @@ public class PrometheusConfiguration {
     }
 
     @Bean
-    DropwizardExports dropwizardExports(Metrics metrics, MetricRegistry metricRegistry, SampleBuilder sampleBuilder) {
+    PrometheusTextExporter prometheusTextExporter(
+            PrometheusConfigurationProperties prometheusConfigurationProperties,
+            Metrics metrics,
+            MetricRegistry metricRegistry,
+            SampleBuilder sampleBuilder) {
+
         if (metrics.getCounterType() == CounterType.flushingCounter) {
             logger.warn("Prometheus metric system: Metric type is flushingCounter.");
         }
 
-        return new DropwizardExports(metricRegistry, sampleBuilder);
+        return new PrometheusTextExporter(
+                metricRegistry, sampleBuilder, prometheusConfigurationProperties.getMaxLabelValues());
+    }
+
+    @Bean
+    HdrTimerCollector hdrTimerCollector(PrometheusConfigurationProperties prometheusConfigurationProperties,
+                                        MetricRegistry metricRegistry,
+                                        SampleBuilder sampleBuilder) {
+
+        return new HdrTimerCollector(
+                metricRegistry, sampleBuilder, prometheusConfigurationProperties.getHistogramBucketsMs());
     }
 
     @Bean
-    Router prometheusRouter(Vertx vertx) {
+    Router prometheusRouter(Vertx vertx, PrometheusTextExporter prometheusTextExporter, Metrics metrics, Clock clock) {
         final Router router = Router.router(vertx);
-        router.route("/metrics").handler(new MetricsHandler());
+        router.route("/metrics").handler(new PrometheusMetricsHandler(
+                prometheusTextExporter, CollectorRegistry.defaultRegistry, metrics, clock));
         return router;
     }
 
@@ -90,5 +109,12 @@ public class PrometheusConfiguration {
         String namespace;
 
         String subsystem;
+
+        @NotNull
+        @Min(1)
+        Integer maxLabelValues = 1000;
+
+        @NotNull
+        List<Long> histogramBucketsMs = List.of(5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L);
     }
 }
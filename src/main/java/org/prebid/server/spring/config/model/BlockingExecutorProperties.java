@@ -0,0 +1,42 @@
+package org.prebid.server.spring.config.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+
+@Validated
+@Data
+@NoArgsConstructor
+public class BlockingExecutorProperties {
+
+    @NotNull
+    private Boolean virtualThreads;
+
+    @NotNull
+    @Min(1)
+    private Integer maxConcurrency;
+
+    @NotNull
+    @Min(1)
+    private Integer maxQueueSize;
+
+    @Valid
+    private Map<String, PoolProperties> pools = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class PoolProperties {
+
+        @Min(1)
+        private Integer maxConcurrency;
+
+        @Min(1)
+        private Integer maxQueueSize;
+    }
+}
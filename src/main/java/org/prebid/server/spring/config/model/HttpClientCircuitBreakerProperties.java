@@ -5,6 +5,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -17,4 +18,21 @@ public class HttpClientCircuitBreakerProperties extends CircuitBreakerProperties
     @NotNull
     @Min(1)
     private Integer idleExpireHours;
+
+    @Min(0)
+    @Max(100)
+    private int failureRateThreshold;
+
+    @Min(0)
+    private long slowCallDurationMs;
+
+    @Min(0)
+    @Max(100)
+    private int slowCallRateThreshold;
+
+    @Min(0)
+    private int minimumCalls;
+
+    @Min(1)
+    private int halfOpenMaxCalls = 1;
 }
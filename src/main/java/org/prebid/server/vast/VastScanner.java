@@ -0,0 +1,173 @@
+package org.prebid.server.vast;
+
+/**
+ * Inserts impression tracking tag into VAST in a single pass over the document.
+ * <p>
+ * Tags are recognized exactly like case-insensitive {@code <\s*name(?:>|\s.*?>)} and
+ * {@code <\s*\/\s*name(?:>|\s.*?>)} regular expressions would do it: tag name is compared ignoring case of US-ASCII
+ * letters only and attributes part of the tag ends with the first {@code >} on the same line.
+ */
+final class VastScanner {
+
+    private static final String INLINE = "inline";
+    private static final String WRAPPER = "wrapper";
+    private static final String IMPRESSION = "impression";
+
+    private static final String IMPRESSION_TAG_PREFIX = "<Impression><![CDATA[";
+    private static final String IMPRESSION_TAG_SUFFIX = "]]></Impression>";
+
+    private static final int NOT_FOUND = -1;
+
+    private VastScanner() {
+    }
+
+    /**
+     * Returns VAST with impression tracking tag inserted after the last closing {@code Impression} tag following
+     * {@code InLine} (or {@code Wrapper}, if there is no {@code InLine}) opening tag, or just before its closing tag
+     * if there are no impressions. VAST is returned as is if the closing tag is missing as well.
+     * <p>
+     * Returns null if VAST contains neither {@code InLine} nor {@code Wrapper}.
+     */
+    static String insertImpressionTracking(String vastXml, String vastUrlTracking) {
+        int inlineOpenEnd = NOT_FOUND;
+        int inlineCloseStart = NOT_FOUND;
+        int wrapperOpenEnd = NOT_FOUND;
+        int wrapperCloseStart = NOT_FOUND;
+        int lastImpressionCloseStart = NOT_FOUND;
+        int lastImpressionCloseEnd = NOT_FOUND;
+
+        int tagStart = vastXml.indexOf('<');
+        while (tagStart != NOT_FOUND) {
+            final int afterBracket = skipWhitespaces(vastXml, tagStart + 1);
+            final boolean closing = afterBracket < vastXml.length() && vastXml.charAt(afterBracket) == '/';
+
+            if (closing) {
+                final int nameStart = skipWhitespaces(vastXml, afterBracket + 1);
+
+                final int impressionCloseEnd = tagEnd(vastXml, nameStart, IMPRESSION);
+                if (impressionCloseEnd != NOT_FOUND) {
+                    lastImpressionCloseStart = tagStart;
+                    lastImpressionCloseEnd = impressionCloseEnd;
+                } else if (isCloseTagExpected(inlineOpenEnd, inlineCloseStart, tagStart)
+                        && tagEnd(vastXml, nameStart, INLINE) != NOT_FOUND) {
+
+                    inlineCloseStart = tagStart;
+                } else if (isCloseTagExpected(wrapperOpenEnd, wrapperCloseStart, tagStart)
+                        && tagEnd(vastXml, nameStart, WRAPPER) != NOT_FOUND) {
+
+                    wrapperCloseStart = tagStart;
+                }
+            } else if (inlineOpenEnd == NOT_FOUND || wrapperOpenEnd == NOT_FOUND) {
+                if (inlineOpenEnd == NOT_FOUND) {
+                    inlineOpenEnd = tagEnd(vastXml, afterBracket, INLINE);
+                }
+                if (wrapperOpenEnd == NOT_FOUND) {
+                    wrapperOpenEnd = tagEnd(vastXml, afterBracket, WRAPPER);
+                }
+            }
+
+            tagStart = vastXml.indexOf('<', tagStart + 1);
+        }
+
+        if (inlineOpenEnd != NOT_FOUND) {
+            return insert(vastXml, vastUrlTracking, inlineOpenEnd, inlineCloseStart,
+                    lastImpressionCloseStart, lastImpressionCloseEnd);
+        }
+        if (wrapperOpenEnd != NOT_FOUND) {
+            return insert(vastXml, vastUrlTracking, wrapperOpenEnd, wrapperCloseStart,
+                    lastImpressionCloseStart, lastImpressionCloseEnd);
+        }
+
+        return null;
+    }
+
+    private static boolean isCloseTagExpected(int openEnd, int closeStart, int tagStart) {
+        return openEnd != NOT_FOUND && closeStart == NOT_FOUND && tagStart >= openEnd;
+    }
+
+    private static String insert(String vastXml,
+                                 String vastUrlTracking,
+                                 int openEnd,
+                                 int closeStart,
+                                 int lastImpressionCloseStart,
+                                 int lastImpressionCloseEnd) {
+
+        // closing tags end at the first '>' after their start, so the last one found ends further than any other
+        final int index;
+        if (lastImpressionCloseStart >= openEnd) {
+            index = lastImpressionCloseEnd;
+        } else if (closeStart != NOT_FOUND) {
+            index = closeStart;
+        } else {
+            return vastXml;
+        }
+
+        return new StringBuilder(vastXml.length() + IMPRESSION_TAG_PREFIX.length() + vastUrlTracking.length()
+                + IMPRESSION_TAG_SUFFIX.length())
+                .append(vastXml, 0, index)
+                .append(IMPRESSION_TAG_PREFIX)
+                .append(vastUrlTracking)
+                .append(IMPRESSION_TAG_SUFFIX)
+                .append(vastXml, index, vastXml.length())
+                .toString();
+    }
+
+    /**
+     * Returns position right after the tag with given lower-case name starting at the given position,
+     * or {@link #NOT_FOUND} if there is no such tag.
+     */
+    private static int tagEnd(String vastXml, int nameStart, String name) {
+        final int nameEnd = nameStart + name.length();
+        if (nameEnd >= vastXml.length()) {
+            return NOT_FOUND;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if ((vastXml.charAt(nameStart + i) | 0x20) != name.charAt(i)) {
+                return NOT_FOUND;
+            }
+        }
+
+        final char afterName = vastXml.charAt(nameEnd);
+        if (afterName == '>') {
+            return nameEnd + 1;
+        }
+        if (!isWhitespace(afterName)) {
+            return NOT_FOUND;
+        }
+
+        for (int i = nameEnd + 1; i < vastXml.length(); i++) {
+            final char current = vastXml.charAt(i);
+            if (current == '>') {
+                return i + 1;
+            }
+            if (isLineTerminator(current)) {
+                return NOT_FOUND;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    private static int skipWhitespaces(String vastXml, int from) {
+        int position = from;
+        while (position < vastXml.length() && isWhitespace(vastXml.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(char character) {
+        return switch (character) {
+            case ' ', '\t', '\n', '\u000B', '\f', '\r' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return switch (character) {
+            case '\n', '\r', '\u0085', '\u2028', '\u2029' -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,302 @@
+package org.prebid.server.vertx;
+
+import io.vertx.circuitbreaker.OpenCircuitException;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Circuit breaker keeping statistics of calls made within the sliding time window in atomic counters.
+ * <p>
+ * Unlike {@link CircuitBreaker}, all state transitions are made on the thread completing the call,
+ * so failures do not require any worker thread. The circuit opens when within the window either
+ * number of failures reaches opening threshold, or failure rate or slow call rate (if configured)
+ * reaches its threshold once minimum number of calls is made. After being open for closing interval
+ * the circuit lets limited number of probe calls through and closes if all of them succeed in time.
+ */
+public class SlidingWindowCircuitBreaker {
+
+    private static final int BUCKETS_NUMBER = 10;
+
+    private final int openingThreshold;
+    private final int failureRateThreshold;
+    private final long slowCallDurationMs;
+    private final int slowCallRateThreshold;
+    private final int minimumCalls;
+    private final int halfOpenMaxCalls;
+    private final long closingIntervalMs;
+    private final Clock clock;
+
+    private final long bucketSizeMs;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS_NUMBER);
+    private final AtomicReference<State> state = new AtomicReference<>(State.closed());
+
+    private volatile Handler<Void> openHandler;
+    private volatile Handler<Void> halfOpenHandler;
+    private volatile Handler<Void> closeHandler;
+
+    /**
+     * Rate thresholds are set in percents, zero value disables corresponding check.
+     */
+    public SlidingWindowCircuitBreaker(int openingThreshold,
+                                       long openingIntervalMs,
+                                       int failureRateThreshold,
+                                       long slowCallDurationMs,
+                                       int slowCallRateThreshold,
+                                       int minimumCalls,
+                                       int halfOpenMaxCalls,
+                                       long closingIntervalMs,
+                                       Clock clock) {
+
+        this.openingThreshold = openingThreshold;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDurationMs = slowCallDurationMs;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.halfOpenMaxCalls = Math.max(halfOpenMaxCalls, 1);
+        this.closingIntervalMs = closingIntervalMs;
+        this.clock = Objects.requireNonNull(clock);
+
+        bucketSizeMs = Math.max(openingIntervalMs / BUCKETS_NUMBER, 1);
+    }
+
+    /**
+     * Executes the given operation with the circuit breaker control.
+     */
+    public <T> Future<T> execute(Handler<Promise<T>> command) {
+        final long startTime = clock.millis();
+        final State acquiredState = acquire(startTime);
+        if (acquiredState == null) {
+            return Future.failedFuture(OpenCircuitException.INSTANCE);
+        }
+
+        final Promise<T> promise = Promise.promise();
+        try {
+            command.handle(promise);
+        } catch (Exception e) {
+            promise.tryFail(e);
+        }
+
+        return promise.future()
+                .onComplete(result -> record(acquiredState, result.succeeded(), startTime));
+    }
+
+    /**
+     * Returns state the call is permitted in or null if the circuit is open.
+     */
+    private State acquire(long currentTime) {
+        while (true) {
+            final State currentState = state.get();
+            switch (currentState.status) {
+                case CLOSED -> {
+                    return currentState;
+                }
+                case HALF_OPEN -> {
+                    return currentState.probes.incrementAndGet() <= halfOpenMaxCalls ? currentState : null;
+                }
+                case OPEN -> {
+                    if (currentTime - currentState.openedAt < closingIntervalMs) {
+                        return null;
+                    }
+                    transition(currentState, State.halfOpen(), halfOpenHandler);
+                }
+            }
+        }
+    }
+
+    private void record(State acquiredState, boolean succeeded, long startTime) {
+        final long currentTime = clock.millis();
+        final boolean slow = slowCallDurationMs > 0 && currentTime - startTime >= slowCallDurationMs;
+
+        if (acquiredState.status == Status.HALF_OPEN) {
+            if (!succeeded || slow) {
+                transition(acquiredState, State.open(currentTime), openHandler);
+            } else if (acquiredState.succeededProbes.incrementAndGet() >= halfOpenMaxCalls) {
+                resetWindow();
+                transition(acquiredState, State.closed(), closeHandler);
+            }
+            return;
+        }
+
+        currentBucket(currentTime).record(succeeded, slow);
+        if (state.get() == acquiredState && shouldOpen(snapshot(currentTime))) {
+            transition(acquiredState, State.open(currentTime), openHandler);
+        }
+    }
+
+    private boolean shouldOpen(Snapshot snapshot) {
+        if (snapshot.failures() >= openingThreshold) {
+            return true;
+        }
+        if (snapshot.calls() == 0 || snapshot.calls() < minimumCalls) {
+            return false;
+        }
+        if (failureRateThreshold > 0 && snapshot.failureRate() >= failureRateThreshold) {
+            return true;
+        }
+
+        return slowCallRateThreshold > 0 && snapshot.slowCallRate() >= slowCallRateThreshold;
+    }
+
+    private void transition(State from, State to, Handler<Void> handler) {
+        if (state.compareAndSet(from, to) && handler != null) {
+            handler.handle(null);
+        }
+    }
+
+    private Bucket currentBucket(long currentTime) {
+        final long index = currentTime / bucketSizeMs;
+        final int position = (int) (index % BUCKETS_NUMBER);
+        while (true) {
+            final Bucket bucket = buckets.get(position);
+            // bucket of later time means the call completed on the bucket boundary, keep it there
+            if (bucket != null && bucket.index >= index) {
+                return bucket;
+            }
+
+            final Bucket newBucket = new Bucket(index);
+            if (buckets.compareAndSet(position, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    private Snapshot snapshot(long currentTime) {
+        final long oldestIndex = currentTime / bucketSizeMs - BUCKETS_NUMBER + 1;
+
+        int calls = 0;
+        int failures = 0;
+        int slowCalls = 0;
+        for (int i = 0; i < BUCKETS_NUMBER; i++) {
+            final Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.index >= oldestIndex) {
+                calls += bucket.calls.get();
+                failures += bucket.failures.get();
+                slowCalls += bucket.slowCalls.get();
+            }
+        }
+
+        return new Snapshot(calls, failures, slowCalls);
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < BUCKETS_NUMBER; i++) {
+            buckets.set(i, null);
+        }
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to open.
+     */
+    public SlidingWindowCircuitBreaker openHandler(Handler<Void> handler) {
+        openHandler = handler;
+        return this;
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to half-open.
+     */
+    public SlidingWindowCircuitBreaker halfOpenHandler(Handler<Void> handler) {
+        halfOpenHandler = handler;
+        return this;
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to close.
+     */
+    public SlidingWindowCircuitBreaker closeHandler(Handler<Void> handler) {
+        closeHandler = handler;
+        return this;
+    }
+
+    public boolean isOpen() {
+        return state.get().status != Status.CLOSED;
+    }
+
+    /**
+     * Returns percent of failed calls within the current window.
+     */
+    public int failureRate() {
+        return snapshot(clock.millis()).failureRate();
+    }
+
+    /**
+     * Returns percent of slow calls within the current window.
+     */
+    public int slowCallRate() {
+        return snapshot(clock.millis()).slowCallRate();
+    }
+
+    private enum Status {
+
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Immutable circuit state, a new instance is created on every transition, so counters of probe calls
+     * are reset atomically with the state itself.
+     */
+    private static class State {
+
+        private final Status status;
+        private final long openedAt;
+        private final AtomicInteger probes = new AtomicInteger();
+        private final AtomicInteger succeededProbes = new AtomicInteger();
+
+        private State(Status status, long openedAt) {
+            this.status = status;
+            this.openedAt = openedAt;
+        }
+
+        static State closed() {
+            return new State(Status.CLOSED, 0L);
+        }
+
+        static State open(long openedAt) {
+            return new State(Status.OPEN, openedAt);
+        }
+
+        static State halfOpen() {
+            return new State(Status.HALF_OPEN, 0L);
+        }
+    }
+
+    private static class Bucket {
+
+        private final long index;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        Bucket(long index) {
+            this.index = index;
+        }
+
+        void record(boolean succeeded, boolean slow) {
+            calls.incrementAndGet();
+            if (!succeeded) {
+                failures.incrementAndGet();
+            }
+            if (slow) {
+                slowCalls.incrementAndGet();
+            }
+        }
+    }
+
+    private record Snapshot(int calls, int failures, int slowCalls) {
+
+        int failureRate() {
+            return calls > 0 ? failures * 100 / calls : 0;
+        }
+
+        int slowCallRate() {
+            return calls > 0 ? slowCalls * 100 / calls : 0;
+        }
+    }
+}
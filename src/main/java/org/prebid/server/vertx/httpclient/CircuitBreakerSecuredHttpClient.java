@@ -3,26 +3,26 @@ package org.prebid.server.vertx.httpclient;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.Metrics;
-import org.prebid.server.vertx.CircuitBreaker;
+import org.prebid.server.vertx.SlidingWindowCircuitBreaker;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.time.Clock;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Wrapper over {@link HttpClient} with circuit breaker functionality.
+ * <p>
+ * Keeps separate {@link SlidingWindowCircuitBreaker} per requested host, which runs on the calling thread,
+ * so failed and timed out requests do not occupy worker threads.
  */
 public class CircuitBreakerSecuredHttpClient implements HttpClient {
 
@@ -30,28 +30,25 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
     private static final int LOG_PERIOD_SECONDS = 5;
 
-    private final Function<String, CircuitBreaker> circuitBreakerCreator;
-    private final Map<String, CircuitBreaker> circuitBreakerByName;
+    private final Function<String, SlidingWindowCircuitBreaker> circuitBreakerCreator;
+    private final Map<String, SlidingWindowCircuitBreaker> circuitBreakerByName;
 
     private final HttpClient httpClient;
 
-    public CircuitBreakerSecuredHttpClient(Vertx vertx,
-                                           HttpClient httpClient,
+    public CircuitBreakerSecuredHttpClient(HttpClient httpClient,
+                                           Supplier<SlidingWindowCircuitBreaker> circuitBreakerFactory,
                                            Metrics metrics,
-                                           int openingThreshold,
-                                           long openingIntervalMs,
-                                           long closingIntervalMs,
-                                           int idleExpireHours,
-                                           Clock clock) {
+                                           int idleExpireHours) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
+        Objects.requireNonNull(circuitBreakerFactory);
 
-        circuitBreakerCreator = name -> createCircuitBreaker(
-                name, vertx, openingThreshold, openingIntervalMs, closingIntervalMs, clock, metrics);
+        circuitBreakerCreator = name -> createCircuitBreaker(name, circuitBreakerFactory, metrics);
 
         circuitBreakerByName = Caffeine.newBuilder()
                 .expireAfterAccess(idleExpireHours, TimeUnit.HOURS)
-                .<String, CircuitBreaker>removalListener((name, cb, cause) -> removeCircuitBreakerGauge(name, metrics))
+                .<String, SlidingWindowCircuitBreaker>removalListener(
+                        (name, cb, cause) -> removeCircuitBreakerGauge(name, metrics))
                 .build()
                 .asMap();
 
@@ -87,32 +84,26 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                                 .onComplete(promise));
     }
 
-    private CircuitBreaker createCircuitBreaker(String name,
-                                                Vertx vertx,
-                                                int openingThreshold,
-                                                long openingIntervalMs,
-                                                long closingIntervalMs,
-                                                Clock clock,
-                                                Metrics metrics) {
-
-        final CircuitBreaker circuitBreaker = new CircuitBreaker(
-                "http_cb_" + name,
-                Objects.requireNonNull(vertx),
-                openingThreshold,
-                openingIntervalMs,
-                closingIntervalMs,
-                Objects.requireNonNull(clock))
+    private SlidingWindowCircuitBreaker createCircuitBreaker(
+            String name,
+            Supplier<SlidingWindowCircuitBreaker> circuitBreakerFactory,
+            Metrics metrics) {
+
+        final SlidingWindowCircuitBreaker circuitBreaker = circuitBreakerFactory.get()
                 .openHandler(ignored -> circuitOpened(name))
                 .halfOpenHandler(ignored -> circuitHalfOpened(name))
                 .closeHandler(ignored -> circuitClosed(name));
 
-        createCircuitBreakerGauge(name, circuitBreaker, metrics);
+        createCircuitBreakerGauges(name, circuitBreaker, metrics);
 
         return circuitBreaker;
     }
 
-    private void createCircuitBreakerGauge(String name, CircuitBreaker circuitBreaker, Metrics metrics) {
-        metrics.createHttpClientCircuitBreakerGauge(idFrom(name), circuitBreaker::isOpen);
+    private void createCircuitBreakerGauges(String name, SlidingWindowCircuitBreaker circuitBreaker, Metrics metrics) {
+        final String id = idFrom(name);
+        metrics.createHttpClientCircuitBreakerGauge(id, circuitBreaker::isOpen);
+        metrics.createHttpClientCircuitBreakerRateGauges(
+                id, circuitBreaker::failureRate, circuitBreaker::slowCallRate);
     }
 
     private void removeCircuitBreakerGauge(String name, Metrics metrics) {
@@ -134,21 +125,32 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
         logger.warn("Http client request to {} becomes succeeded, circuit closed.", name);
     }
 
-    private static String nameFrom(String urlAsString) {
-        final URL url = parseUrl(urlAsString);
-        return url.getProtocol() + "://" + url.getHost() + (url.getPort() != -1 ? ":" + url.getPort() : "");
+    /**
+     * Returns scheme and authority (without user info) of the given URL. Scans the string instead of parsing it
+     * as {@link java.net.URL} since it is done for every request.
+     */
+    private static String nameFrom(String url) {
+        final int schemeEnd = url.indexOf("://");
+        if (schemeEnd <= 0) {
+            throw new PreBidException("Invalid url: " + url);
+        }
+
+        final int authorityStart = schemeEnd + 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < url.length() && "/?#".indexOf(url.charAt(authorityEnd)) == -1) {
+            authorityEnd++;
+        }
+
+        final int hostStart = Math.max(url.lastIndexOf('@', authorityEnd - 1) + 1, authorityStart);
+        if (hostStart == authorityEnd) {
+            throw new PreBidException("Invalid url: " + url);
+        }
+
+        return url.substring(0, authorityStart) + url.substring(hostStart, authorityEnd);
     }
 
     private static String idFrom(String urlAsString) {
         return urlAsString
                 .replaceAll("[^\\w]+", "_");
     }
-
-    private static URL parseUrl(String url) {
-        try {
-            return new URL(url);
-        } catch (MalformedURLException e) {
-            throw new PreBidException("Invalid url: " + url, e);
-        }
-    }
 }
@@ -17,6 +17,7 @@ enum BidRejectionReason {
     REQUEST_BIDDER_REMOVED_BY_RULE_ENGINE_MODULE(203),
     REQUEST_BLOCKED_PRIVACY(204),
     REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY(205),
+    REQUEST_BLOCKED_TRAFFIC_SHAPED(206),
 
     RESPONSE_REJECTED_GENERAL(300),
     RESPONSE_REJECTED_DUE_TO_PRICE_FLOOR(301),
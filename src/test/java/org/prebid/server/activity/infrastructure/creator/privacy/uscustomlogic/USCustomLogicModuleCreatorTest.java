@@ -13,6 +13,7 @@ import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.infrastructure.creator.PrivacyModuleCreationContext;
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModule;
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModuleQualifier;
+import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicGppReader;
 import org.prebid.server.activity.infrastructure.privacy.usnat.reader.USNationalGppReader;
 import org.prebid.server.activity.infrastructure.rule.Rule;
 import org.prebid.server.auction.gpp.model.GppContextCreator;
@@ -36,6 +37,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -44,6 +46,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 @ExtendWith(MockitoExtension.class)
 public class USCustomLogicModuleCreatorTest extends VertxTest {
 
+    private static final String USNAT_GPP_STRING = "DBABL~BVVqAAEABCA.QA";
+
     @Mock(strictness = LENIENT)
     private USCustomLogicGppReaderFactory gppReaderFactory;
 
@@ -142,6 +146,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic, times(6)).parse(eq("{}"));
+        verify(jsonLogic, times(6)).compile(any(), any());
         verify(jsonLogic, times(6)).evaluate(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
@@ -162,6 +167,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic).parse(eq("{}"));
+        verify(jsonLogic).compile(any(), any());
         verify(jsonLogic).evaluate(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
@@ -216,6 +222,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic).parse(eq("{}"));
+        verify(jsonLogic).compile(any(), any());
         verify(jsonLogic).evaluate(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
@@ -244,13 +251,57 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(metrics);
     }
 
+    @Test
+    public void fromShouldUseCompiledJsonLogicWhenSupported() throws JsonLogicEvaluationException {
+        // given
+        given(jsonLogic.<USCustomLogicGppReader>compile(any(), any())).willReturn(gppReader -> true);
+
+        final PrivacyModuleCreationContext creationContext = givenCreationContext(
+                singletonList(7),
+                givenConfig(singleton(7), null, Activity.CALL_BIDDER, mapper.createObjectNode()));
+
+        // when
+        final PrivacyModule privacyModule = target.from(creationContext);
+
+        // then
+        assertThat(privacyModule.proceed(null)).isEqualTo(Rule.Result.DISALLOW);
+        verify(jsonLogic, never()).evaluate(any(), any());
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void fromShouldReuseModuleEvaluatedForSameSectionAndJsonLogic() throws JsonLogicEvaluationException {
+        // given
+        target = new USCustomLogicModuleCreator(gppReaderFactory, jsonLogic, 60, 100, metrics, 0);
+
+        final AccountUSCustomLogicModuleConfig.Config config =
+                givenConfig(singleton(7), null, Activity.CALL_BIDDER, mapper.createObjectNode());
+
+        // when
+        target.from(givenCreationContext(USNAT_GPP_STRING, singletonList(7), config));
+        target.from(givenCreationContext(USNAT_GPP_STRING, singletonList(7), config));
+
+        // then
+        verify(gppReaderFactory).forSection(eq(7), eq(true), any());
+        verify(jsonLogic).parse(eq("{}"));
+        verify(jsonLogic).evaluate(any(), any());
+        verifyNoInteractions(metrics);
+    }
+
     private static PrivacyModuleCreationContext givenCreationContext(List<Integer> sectionsIds,
                                                                      AccountUSCustomLogicModuleConfig.Config config) {
 
+        return givenCreationContext(null, sectionsIds, config);
+    }
+
+    private static PrivacyModuleCreationContext givenCreationContext(String gpp,
+                                                                     List<Integer> sectionsIds,
+                                                                     AccountUSCustomLogicModuleConfig.Config config) {
+
         return PrivacyModuleCreationContext.of(
                 Activity.CALL_BIDDER,
                 AccountUSCustomLogicModuleConfig.of(true, 0, config),
-                GppContextCreator.from(null, sectionsIds).build().getGppContext());
+                GppContextCreator.from(gpp, sectionsIds).build().getGppContext());
     }
 
     private static AccountUSCustomLogicModuleConfig.Config givenConfig(Set<Integer> supportedSectionsIds,
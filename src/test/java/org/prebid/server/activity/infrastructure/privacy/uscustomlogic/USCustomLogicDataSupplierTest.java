@@ -88,6 +88,27 @@ public class USCustomLogicDataSupplierTest {
                 "KnownChildSensitiveDataConsents9", 1));
     }
 
+    @Test
+    public void accessorShouldReadSameValuesAsPutIntoData() {
+        // given
+        given(gppReader.getVersion()).willReturn(0);
+        given(gppReader.getKnownChildSensitiveDataConsents()).willReturn(asList(9, 8, 7));
+
+        // when and then
+        assertThat(USCustomLogicDataSupplier.accessor("Version").apply(gppReader)).isEqualTo(0);
+        assertThat(USCustomLogicDataSupplier.accessor("KnownChildSensitiveDataConsents1").apply(gppReader))
+                .isEqualTo(9);
+        assertThat(USCustomLogicDataSupplier.accessor("KnownChildSensitiveDataConsents3").apply(gppReader))
+                .isEqualTo(7);
+        assertThat(USCustomLogicDataSupplier.accessor("KnownChildSensitiveDataConsents4").apply(gppReader))
+                .isNull();
+        assertThat(USCustomLogicDataSupplier.accessor("KnownChildSensitiveDataConsents").apply(gppReader))
+                .isNull();
+        assertThat(USCustomLogicDataSupplier.accessor("KnownChildSensitiveDataConsents01").apply(gppReader))
+                .isNull();
+        assertThat(USCustomLogicDataSupplier.accessor("Unknown1").apply(gppReader)).isNull();
+    }
+
     @NonNull
     private static Map<String, Object> expectedData() {
         final Map<String, Object> data = new HashMap<>();
@@ -37,6 +37,7 @@ import org.prebid.server.auction.categorymapping.CategoryMappingService;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.BidInfo;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
@@ -3332,6 +3333,31 @@ public class BidResponseCreatorTest extends VertxTest {
                         .build());
     }
 
+    @Test
+    public void shouldPopulateResponseDebugStageTimesIfDebugIsEnabled() {
+        // given
+        final Bid bid = Bid.builder().id("bidId1").impid(IMP_ID).price(BigDecimal.valueOf(5.67)).build();
+        final List<BidderResponse> bidderResponses = singletonList(
+                BidderResponse.of("bidder1", givenSeatBid(BidderBid.of(bid, banner, "seat", "USD")), 100));
+
+        final AuctionContext auctionContext = givenAuctionContext(
+                givenBidRequest(givenImp()),
+                builder -> builder
+                        .debugContext(DebugContext.of(true, false, null))
+                        .auctionParticipations(toAuctionParticipant(bidderResponses)));
+        auctionContext.getStageClock().stop(AuctionStage.account, auctionContext.getStageClock().start());
+
+        final BidRequestCacheInfo cacheInfo = BidRequestCacheInfo.builder().doCaching(true).build();
+        givenCacheServiceResult(CacheServiceResult.of(null, null, emptyMap()));
+
+        // when
+        final BidResponse bidResponse = target.create(auctionContext, cacheInfo, MULTI_BIDS).result();
+
+        // then
+        assertThat(bidResponse.getExt().getDebug().getStagetimemicros())
+                .containsOnlyKeys("account", "hooks", "category_mapping", "cache");
+    }
+
     @Test
     public void shouldPopulateResponseDebugExtensionAndWarningsIfDebugIsEnabled() {
         // given
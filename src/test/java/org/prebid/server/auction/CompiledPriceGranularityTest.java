@@ -0,0 +1,70 @@
+package org.prebid.server.auction;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledPriceGranularityTest {
+
+    @Test
+    public void compileShouldReturnNullIfRangesAreNotSortedByMax() {
+        // given
+        final List<ExtGranularityRange> ranges = asList(
+                ExtGranularityRange.of(BigDecimal.TEN, BigDecimal.ONE),
+                ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.ONE));
+
+        // when and then
+        assertThat(CompiledPriceGranularity.compile(ranges, BigDecimal.TEN, 2)).isNull();
+    }
+
+    @Test
+    public void compileShouldReturnNullIfRangesProduceTooManyBuckets() {
+        // given
+        final List<ExtGranularityRange> ranges = singletonList(
+                ExtGranularityRange.of(BigDecimal.valueOf(1000), BigDecimal.valueOf(0.01)));
+
+        // when and then
+        assertThat(CompiledPriceGranularity.compile(ranges, BigDecimal.valueOf(1000), 2)).isNull();
+    }
+
+    @Test
+    public void bucketForShouldRoundPriceWithinRangeAccordingToRoundingMode() {
+        // given
+        final CompiledPriceGranularity compiled = CompiledPriceGranularity.compile(
+                asList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(1.5), BigDecimal.ONE),
+                        ExtGranularityRange.of(BigDecimal.valueOf(2.5), BigDecimal.valueOf(0.3))),
+                BigDecimal.valueOf(2.5),
+                2);
+
+        // when and then
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(1.7), RoundingMode.FLOOR)).isEqualTo("1.50");
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(1.7), RoundingMode.CEILING)).isEqualTo("1.80");
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(1.65), RoundingMode.HALF_UP)).isEqualTo("1.80");
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(1.64), RoundingMode.HALF_UP)).isEqualTo("1.50");
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(2.45), RoundingMode.CEILING)).isEqualTo("2.70");
+        assertThat(compiled.bucketFor(BigDecimal.valueOf(3), RoundingMode.FLOOR)).isEqualTo("2.50");
+        assertThat(compiled.bucketFor(BigDecimal.ZERO, RoundingMode.FLOOR)).isEqualTo(CpmRange.DEFAULT_CPM);
+    }
+
+    @Test
+    public void bucketForShouldReturnNullIfPriceHasFractionalMicros() {
+        // given
+        final CompiledPriceGranularity compiled = CompiledPriceGranularity.compile(
+                singletonList(ExtGranularityRange.of(BigDecimal.TEN, BigDecimal.valueOf(0.1))),
+                BigDecimal.TEN,
+                2);
+
+        // when and then
+        assertThat(compiled.bucketFor(new BigDecimal("1.0000001"), RoundingMode.FLOOR)).isNull();
+        assertThat(compiled.bucketFor(new BigDecimal("1.000000100"), RoundingMode.FLOOR)).isNull();
+        assertThat(compiled.bucketFor(new BigDecimal("1.0000010000"), RoundingMode.FLOOR)).isEqualTo("1.00");
+    }
+}
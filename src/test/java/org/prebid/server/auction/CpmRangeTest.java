@@ -276,6 +276,57 @@ public class CpmRangeTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    public void fromCpmShouldReturnSameResultAsCalculatedOneForAllStringGranularitiesAndRoundingModes() {
+        for (String granularity : asList("low", "med", "high", "auto", "dense")) {
+            final PriceGranularity priceGranularity = createFromString(granularity);
+            for (AccountAuctionBidRoundingMode mode : asList(DOWN, UP, TRUE)) {
+                final Account account = givenAccount(mode);
+                for (int micros = 0; micros <= 21_000_000; micros += 2_500) {
+                    // given
+                    final BigDecimal cpm = BigDecimal.valueOf(micros, 6);
+                    final BigDecimal calculated = CpmRange.fromCpmAsNumber(cpm, priceGranularity, account);
+
+                    // when
+                    final String result = CpmRange.fromCpm(cpm, priceGranularity, account);
+
+                    // then
+                    assertThat(result)
+                            .as("%s granularity, %s rounding, %s cpm", granularity, mode, cpm)
+                            .isEqualTo(calculated != null
+                                    ? CpmRange.format(calculated, priceGranularity.getPrecision())
+                                    : CpmRange.DEFAULT_CPM);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fromCpmShouldCalculateBucketForPriceWithFractionalMicros() {
+        // given
+        final BigDecimal cpm = new BigDecimal("3.8599999999");
+
+        // when
+        final String result = CpmRange.fromCpm(cpm, createFromString("high"), givenAccount(UP));
+
+        // then
+        assertThat(result).isEqualTo("3.86");
+    }
+
+    @Test
+    public void fromCpmShouldCalculateBucketWhenGranularityCanNotBeCompiled() {
+        // given
+        final PriceGranularity priceGranularity = createFromExtPriceGranularity(
+                ExtPriceGranularity.of(8, singletonList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(3), new BigDecimal("0.00000005")))));
+
+        // when
+        final String result = CpmRange.fromCpm(new BigDecimal("1.23456789"), priceGranularity, givenAccount());
+
+        // then
+        assertThat(result).isEqualTo("1.23456785");
+    }
+
     private static Account givenAccount(AccountAuctionBidRoundingMode mode) {
         return Account.builder().auction(AccountAuctionConfig.builder().bidRounding(mode).build()).build();
     }
@@ -59,6 +59,8 @@ import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.auction.model.debug.DebugContext;
 import org.prebid.server.auction.privacy.enforcement.PrivacyEnforcementService;
+import org.prebid.server.auction.trafficshaping.BidderTrafficShaper;
+import org.prebid.server.auction.trafficshaping.TrafficShapingResult;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -208,6 +210,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.prebid.server.auction.model.BidRejectionReason.NO_BID;
+import static org.prebid.server.auction.model.BidRejectionReason.REQUEST_BLOCKED_TRAFFIC_SHAPED;
 import static org.prebid.server.auction.model.BidRejectionReason.REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY;
 import static org.prebid.server.proto.openrtb.ext.response.BidType.banner;
 import static org.prebid.server.proto.openrtb.ext.response.BidType.video;
@@ -254,6 +257,9 @@ public class ExchangeServiceTest extends VertxTest {
     @Mock(strictness = LENIENT)
     private HttpBidderRequester httpBidderRequester;
 
+    @Mock(strictness = LENIENT)
+    private BidderTrafficShaper bidderTrafficShaper;
+
     @Mock(strictness = LENIENT)
     private BidResponseCreator bidResponseCreator;
 
@@ -321,9 +327,12 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
         given(bidderCatalog.configuredName(anyString())).willAnswer(invocation -> invocation.getArgument(0));
 
+        given(bidderTrafficShaper.shape(anyString(), any())).willReturn(TrafficShapingResult.ALLOWED);
+
         given(privacyEnforcementService.mask(any(), argThat(MapUtils::isNotEmpty), any()))
                 .willAnswer(inv ->
                         Future.succeededFuture(((Map<String, Pair<User, Device>>) inv.getArgument(1)).entrySet()
@@ -1364,7 +1373,7 @@ public class ExchangeServiceTest extends VertxTest {
                 .willReturn(Future.succeededFuture(
                         BidResponse.builder()
                                 .ext(ExtBidResponse.builder()
-                                        .debug(ExtResponseDebug.of(null, null, null))
+                                        .debug(ExtResponseDebug.of(null, null, null, null))
                                         .build())
                                 .build()));
 
@@ -1394,7 +1403,7 @@ public class ExchangeServiceTest extends VertxTest {
                 .willReturn(Future.succeededFuture(
                         BidResponse.builder()
                                 .ext(ExtBidResponse.builder()
-                                        .debug(ExtResponseDebug.of(null, null, null))
+                                        .debug(ExtResponseDebug.of(null, null, null, null))
                                         .build())
                                 .build()));
 
@@ -4033,7 +4042,8 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
 
         given(bidResponseCreator.create(
                 argThat(argument -> argument.getAuctionParticipations().getFirst()
@@ -4065,6 +4075,48 @@ public class ExchangeServiceTest extends VertxTest {
                 .isEqualTo(Set.of(ImpRejection.of("bidder1", "impId1", REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY)));
     }
 
+    @Test
+    public void shouldNotRequestBidderAndRejectItsImpsIfTrafficShaperDoesNotAllowRequest() {
+        // given
+        final Bidder<?> bidder = mock(Bidder.class);
+        givenBidder("bidder1", bidder, givenEmptySeatBid());
+
+        final Imp imp = givenImp(singletonMap("bidder1", 1), builder -> builder.id("impId1"));
+        final AuctionContext auctionContext = givenRequestContext(givenBidRequest(singletonList(imp)));
+
+        given(bidderTrafficShaper.shape(eq("bidder1"), any())).willReturn(TrafficShapingResult.RATE_LIMITED);
+
+        // when
+        final Future<AuctionContext> result = target.holdAuction(auctionContext);
+
+        // then
+        verifyNoInteractions(httpBidderRequester);
+        verify(metrics).updateAdapterRequestTrafficShapedMetrics(
+                "bidder1", auctionContext.getAccount(), MetricName.rate_limited);
+        assertThat(result.result())
+                .extracting(AuctionContext::getBidRejectionTrackers)
+                .extracting(rejectionTrackers -> rejectionTrackers.get("bidder1"))
+                .extracting(BidRejectionTracker::getRejected)
+                .isEqualTo(Set.of(ImpRejection.of("bidder1", "impId1", REQUEST_BLOCKED_TRAFFIC_SHAPED)));
+    }
+
+    @Test
+    public void shouldPassBidderResponseToTrafficShaper() {
+        // given
+        final Bidder<?> bidder = mock(Bidder.class);
+        final BidderSeatBid seatBid = givenEmptySeatBid();
+        givenBidder("bidder1", bidder, seatBid);
+
+        final Imp imp = givenImp(singletonMap("bidder1", 1), identity());
+        final AuctionContext auctionContext = givenRequestContext(givenBidRequest(singletonList(imp)));
+
+        // when
+        target.holdAuction(auctionContext);
+
+        // then
+        verify(bidderTrafficShaper).recordResponse("bidder1", seatBid);
+    }
+
     @Test
     public void shouldMakeBidRejectionTrackers() {
         // given
@@ -4151,7 +4203,8 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                100L));
+                100L,
+                null));
 
         given(timeoutResolver.adjustForBidder(anyLong(), eq(90), eq(200L), eq(100L))).willReturn(400L);
         given(timeoutResolver.adjustForRequest(anyLong(), eq(200L))).willReturn(450L);
@@ -4255,6 +4308,7 @@ public class ExchangeServiceTest extends VertxTest {
                 timeoutFactory,
                 ortbVersionConversionManager,
                 httpBidderRequester,
+                bidderTrafficShaper,
                 bidResponseCreator,
                 bidResponsePostProcessor,
                 hookStageExecutor,
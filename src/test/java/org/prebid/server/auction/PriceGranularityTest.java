@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -21,6 +22,50 @@ public class PriceGranularityTest {
                 ExtPriceGranularity.of(2, emptyList())));
     }
 
+    @Test
+    public void createFromExtPriceGranularityShouldReturnSameInstanceForEqualGranularities() {
+        // given
+        final ExtPriceGranularity extPriceGranularity = ExtPriceGranularity.of(2, singletonList(
+                ExtGranularityRange.of(BigDecimal.valueOf(7), BigDecimal.valueOf(0.07))));
+
+        // when
+        final PriceGranularity first = PriceGranularity.createFromExtPriceGranularity(extPriceGranularity);
+        final PriceGranularity second = PriceGranularity.createFromExtPriceGranularity(ExtPriceGranularity.of(2,
+                singletonList(ExtGranularityRange.of(BigDecimal.valueOf(7), BigDecimal.valueOf(0.07)))));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getCompiled()).isNotNull();
+    }
+
+    @Test
+    public void createFromExtPriceGranularityShouldReturnPredefinedGranularityForEqualRanges() {
+        // given
+        final PriceGranularity high = PriceGranularity.createFromString("high");
+
+        // when
+        final PriceGranularity result = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(2, singletonList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(20), BigDecimal.valueOf(0.01)))));
+
+        // then
+        assertThat(result).isSameAs(high);
+    }
+
+    @Test
+    public void createFromExtPriceGranularityShouldNotCompileCustomGranularityWithTooManyBuckets() {
+        // given
+        final ExtPriceGranularity extPriceGranularity = ExtPriceGranularity.of(2, singletonList(
+                ExtGranularityRange.of(BigDecimal.valueOf(30), BigDecimal.valueOf(0.01))));
+
+        // when
+        final PriceGranularity result = PriceGranularity.createFromExtPriceGranularity(extPriceGranularity);
+
+        // then
+        assertThat(result.getCompiled()).isNull();
+        assertThat(PriceGranularity.createFromRanges(2, extPriceGranularity.getRanges()).getCompiled()).isNotNull();
+    }
+
     @Test
     public void createFromStringShouldThrowPrebidExceptionIfInvalidStringType() {
         assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> PriceGranularity.createFromString("invalid"));
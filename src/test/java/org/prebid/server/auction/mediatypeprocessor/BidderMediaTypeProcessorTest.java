@@ -176,7 +176,8 @@ public class BidderMediaTypeProcessorTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
     }
 
     private static BidRequest givenBidRequest(UnaryOperator<BidRequest.BidRequestBuilder> bidRequestCustomizer,
@@ -280,7 +280,8 @@ public class MultiFormatMediaTypeProcessorTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(multiFormatSupported),
-                0L);
+                0L,
+                null);
     }
 
     private static BidRequest givenBidRequest(UnaryOperator<BidRequest.BidRequestBuilder> bidRequestCustomizer,
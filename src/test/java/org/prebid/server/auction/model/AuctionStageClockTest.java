@@ -0,0 +1,69 @@
+package org.prebid.server.auction.model;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuctionStageClockTest {
+
+    private AuctionStageClock target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new AuctionStageClock();
+    }
+
+    @Test
+    public void stopShouldSumUpDurationsOfTheSameStage() {
+        // given
+        final long startTime = target.start();
+
+        // when
+        target.stop(AuctionStage.hooks, startTime);
+        final long firstDuration = target.nanos(AuctionStage.hooks);
+        target.stop(AuctionStage.hooks, startTime);
+
+        // then
+        assertThat(target.isMeasured(AuctionStage.hooks)).isTrue();
+        assertThat(target.nanos(AuctionStage.hooks)).isGreaterThanOrEqualTo(2 * firstDuration);
+        assertThat(target.isMeasured(AuctionStage.floors)).isFalse();
+        assertThat(target.nanos(AuctionStage.floors)).isZero();
+    }
+
+    @Test
+    public void measureShouldStopStageWhenFutureIsCompleted() {
+        // given
+        final Promise<String> promise = Promise.promise();
+
+        // when
+        final Future<String> result = target.measure(AuctionStage.bidders, promise::future);
+
+        // then
+        assertThat(target.isMeasured(AuctionStage.bidders)).isFalse();
+
+        promise.fail("failed");
+        assertThat(result.failed()).isTrue();
+        assertThat(target.isMeasured(AuctionStage.bidders)).isTrue();
+    }
+
+    @Test
+    public void forEachMeasuredShouldPassOnlyMeasuredStagesInStageOrder() {
+        // given
+        target.stop(AuctionStage.cache, target.start());
+        target.stop(AuctionStage.account, target.start());
+
+        final List<AuctionStage> stages = new ArrayList<>();
+
+        // when
+        target.forEachMeasured((stage, nanos) -> stages.add(stage));
+
+        // then
+        assertThat(stages).containsExactly(AuctionStage.account, AuctionStage.cache);
+    }
+}
@@ -0,0 +1,193 @@
+package org.prebid.server.auction.trafficshaping;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderInfo;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountBidderTrafficShapingConfig;
+import org.prebid.server.settings.model.AccountTrafficShapingConfig;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.Ortb;
+import org.prebid.server.spring.config.bidder.model.TrafficShaping;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class BidderTrafficShaperTest {
+
+    private static final String BIDDER = "bidder";
+
+    @Mock(strictness = LENIENT)
+    private BidderCatalog bidderCatalog;
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    private BidderTrafficShaper target;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+
+        target = new BidderTrafficShaper(bidderCatalog, 100, 1000L, 2, 0.5, 0.5, 0.0, clock);
+    }
+
+    @Test
+    public void shapeShouldAllowRequestIfTrafficShapingIsNotConfigured() {
+        // given
+        givenBidderTrafficShaping(null);
+
+        // when and then
+        assertThat(target.shape(BIDDER, Account.empty("accountId"))).isEqualTo(TrafficShapingResult.ALLOWED);
+    }
+
+    @Test
+    public void shapeShouldLimitRequestsToBidderQpsAndBurst() {
+        // given
+        givenBidderTrafficShaping(TrafficShaping.of(2, 3, false));
+
+        // when
+        final List<TrafficShapingResult> burst = List.of(
+                target.shape(BIDDER, null),
+                target.shape(BIDDER, null),
+                target.shape(BIDDER, null),
+                target.shape(BIDDER, null));
+
+        given(clock.millis()).willReturn(500L);
+        final List<TrafficShapingResult> refilled = List.of(target.shape(BIDDER, null), target.shape(BIDDER, null));
+
+        // then
+        assertThat(burst).containsExactly(
+                TrafficShapingResult.ALLOWED,
+                TrafficShapingResult.ALLOWED,
+                TrafficShapingResult.ALLOWED,
+                TrafficShapingResult.RATE_LIMITED);
+        assertThat(refilled).containsExactly(TrafficShapingResult.ALLOWED, TrafficShapingResult.RATE_LIMITED);
+    }
+
+    @Test
+    public void shapeShouldLimitRequestsToAccountQpsPerAccount() {
+        // given
+        givenBidderTrafficShaping(null);
+        final Account account = givenAccount("accountId", AccountBidderTrafficShapingConfig.of(1, null));
+        final Account otherAccount = givenAccount("otherAccountId", AccountBidderTrafficShapingConfig.of(1, null));
+
+        // when and then
+        assertThat(target.shape(BIDDER, account)).isEqualTo(TrafficShapingResult.ALLOWED);
+        assertThat(target.shape(BIDDER, account)).isEqualTo(TrafficShapingResult.RATE_LIMITED);
+        assertThat(target.shape(BIDDER, otherAccount)).isEqualTo(TrafficShapingResult.ALLOWED);
+    }
+
+    @Test
+    public void shapeShouldApplyNewAccountQpsLimit() {
+        // given
+        givenBidderTrafficShaping(null);
+        target.shape(BIDDER, givenAccount("accountId", AccountBidderTrafficShapingConfig.of(1, null)));
+
+        // when
+        final TrafficShapingResult result =
+                target.shape(BIDDER, givenAccount("accountId", AccountBidderTrafficShapingConfig.of(5, null)));
+
+        // then
+        assertThat(result).isEqualTo(TrafficShapingResult.ALLOWED);
+    }
+
+    @Test
+    public void samplingRateShouldBeHalvedForBidderWithHighTimeoutRate() {
+        // given
+        givenBidderTrafficShaping(TrafficShaping.of(0, 0, true));
+        final BidderSeatBid timedOut = BidderSeatBid.builder()
+                .errors(List.of(BidderError.timeout("Timed out")))
+                .build();
+
+        // when
+        target.recordResponse(BIDDER, timedOut);
+        target.recordResponse(BIDDER, timedOut);
+
+        given(clock.millis()).willReturn(1000L);
+        final double samplingRate = target.samplingRate(BIDDER);
+
+        // then
+        assertThat(samplingRate).isEqualTo(0.5);
+    }
+
+    @Test
+    public void samplingRateShouldBeIncreasedBackIfBidderIsHealthy() {
+        // given
+        givenBidderTrafficShaping(TrafficShaping.of(0, 0, true));
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+
+        given(clock.millis()).willReturn(1000L);
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+
+        // when
+        given(clock.millis()).willReturn(2000L);
+        final double decreasedRate = target.samplingRate(BIDDER);
+        given(clock.millis()).willReturn(3000L);
+        final double increasedRate = target.samplingRate(BIDDER);
+
+        // then
+        assertThat(decreasedRate).isEqualTo(0.25);
+        assertThat(increasedRate).isCloseTo(0.35, within(1e-9));
+    }
+
+    @Test
+    public void recordResponseShouldIgnoreBiddersWithoutAdaptiveTrafficShaping() {
+        // given
+        givenBidderTrafficShaping(TrafficShaping.of(10, 0, false));
+
+        // when
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+        target.recordResponse(BIDDER, BidderSeatBid.empty());
+        given(clock.millis()).willReturn(1000L);
+
+        // then
+        assertThat(target.samplingRate(BIDDER)).isEqualTo(1.0);
+    }
+
+    private void givenBidderTrafficShaping(TrafficShaping trafficShaping) {
+        given(bidderCatalog.bidderInfoByName(BIDDER)).willReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                null,
+                false,
+                false,
+                CompressionType.NONE,
+                Ortb.of(false),
+                0L,
+                trafficShaping));
+    }
+
+    private static Account givenAccount(String accountId, AccountBidderTrafficShapingConfig bidderConfig) {
+        return Account.builder()
+                .id(accountId)
+                .auction(AccountAuctionConfig.builder()
+                        .trafficShaping(AccountTrafficShapingConfig.of(Map.of(BIDDER, bidderConfig)))
+                        .build())
+                .build();
+    }
+}
@@ -1,9 +1,7 @@
 package org.prebid.server.bidder;
 
 import com.iab.openrtb.request.BidRequest;
-import io.vertx.core.Future;
 import io.vertx.core.http.HttpMethod;
-import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,17 +11,11 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.model.BidderCall;
 import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.HttpRequest;
-import org.prebid.server.metric.Metrics;
-import org.prebid.server.vertx.httpclient.HttpClient;
-import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
-
-import java.util.concurrent.TimeoutException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -34,9 +26,7 @@ public class BidderErrorNotifierTest extends VertxTest {
     private static final byte[] EMPTY_BODY = "{}".getBytes();
 
     @Mock
-    private HttpClient httpClient;
-    @Mock
-    private Metrics metrics;
+    private TimeoutNotificationDispatcher timeoutNotificationDispatcher;
     @Mock
     private Bidder<BidRequest> bidder;
 
@@ -44,7 +34,7 @@ public class BidderErrorNotifierTest extends VertxTest {
 
     @BeforeEach
     public void setUp() {
-        target = new BidderErrorNotifier(200, true, false, 1d, httpClient, metrics);
+        target = new BidderErrorNotifier(timeoutNotificationDispatcher);
     }
 
     @Test
@@ -60,81 +50,44 @@ public class BidderErrorNotifierTest extends VertxTest {
 
         // then
         verify(bidder).makeTimeoutNotification(eq(bidderRequest));
-        verifyNoInteractions(httpClient);
+        verifyNoInteractions(timeoutNotificationDispatcher);
     }
 
     @Test
-    public void shouldSendTimeoutNotificationAndUpdateSuccessMetric() {
+    public void shouldNotSendTimeoutNotificationWhenBidderCallDidNotTimeOut() {
         // given
         final HttpRequest<BidRequest> bidderRequest = HttpRequest.<BidRequest>builder().build();
-        final BidderCall<BidRequest> bidderCall = BidderCall.failedHttp(
-                bidderRequest, BidderError.timeout("Timeout"));
-
-        given(bidder.makeTimeoutNotification(any())).willReturn(HttpRequest.<Void>builder()
-                .uri("url")
-                .method(HttpMethod.POST)
-                .body(EMPTY_BODY)
-                .build());
-
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
-
-        // when
-        final BidderCall<BidRequest> result = target.processTimeout(bidderCall, bidder);
-
-        // then
-        Assertions.assertThat(result).isSameAs(bidderCall);
-
-        verify(bidder).makeTimeoutNotification(eq(bidderRequest));
-        verify(httpClient).request(eq(HttpMethod.POST), eq("url"), isNull(), eq(EMPTY_BODY), eq(200L));
-        verify(metrics).updateTimeoutNotificationMetric(eq(true));
-    }
-
-    @Test
-    public void shouldSendTimeoutNotificationAndUpdateFailedMetricWhenResponseCodeNonSuccess() {
-        // given
-        final HttpRequest<BidRequest> bidderRequest = HttpRequest.<BidRequest>builder().build();
-
-        given(bidder.makeTimeoutNotification(any())).willReturn(HttpRequest.<Void>builder()
-                .uri("url")
-                .method(HttpMethod.POST)
-                .body(EMPTY_BODY)
-                .build());
-
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(404, null, null)));
 
         // when
         target.processTimeout(
-                BidderCall.failedHttp(bidderRequest, BidderError.timeout("Timeout")), bidder);
+                BidderCall.failedHttp(bidderRequest, BidderError.badServerResponse("Error")), bidder);
 
         // then
-        verify(bidder).makeTimeoutNotification(eq(bidderRequest));
-        verify(httpClient).request(eq(HttpMethod.POST), eq("url"), isNull(), eq(EMPTY_BODY), eq(200L));
-        verify(metrics).updateTimeoutNotificationMetric(eq(false));
+        verifyNoInteractions(bidder);
+        verifyNoInteractions(timeoutNotificationDispatcher);
     }
 
     @Test
-    public void shouldSendTimeoutNotificationAndUpdateFailedMetricWhenResponseTimedOut() {
+    public void shouldDispatchTimeoutNotification() {
         // given
         final HttpRequest<BidRequest> bidderRequest = HttpRequest.<BidRequest>builder().build();
+        final BidderCall<BidRequest> bidderCall = BidderCall.failedHttp(
+                bidderRequest, BidderError.timeout("Timeout"));
 
-        given(bidder.makeTimeoutNotification(any())).willReturn(HttpRequest.<Void>builder()
+        final HttpRequest<Void> timeoutNotification = HttpRequest.<Void>builder()
                 .uri("url")
                 .method(HttpMethod.POST)
                 .body(EMPTY_BODY)
-                .build());
-
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
-                .willReturn(Future.failedFuture(new TimeoutException("Timeout exception")));
+                .build();
+        given(bidder.makeTimeoutNotification(any())).willReturn(timeoutNotification);
 
         // when
-        target.processTimeout(
-                BidderCall.failedHttp(bidderRequest, BidderError.timeout("Timeout")), bidder);
+        final BidderCall<BidRequest> result = target.processTimeout(bidderCall, bidder);
 
         // then
+        assertThat(result).isSameAs(bidderCall);
+
         verify(bidder).makeTimeoutNotification(eq(bidderRequest));
-        verify(httpClient).request(eq(HttpMethod.POST), eq("url"), isNull(), eq(EMPTY_BODY), eq(200L));
-        verify(metrics).updateTimeoutNotificationMetric(eq(false));
+        verify(timeoutNotificationDispatcher).dispatch(same(bidder), same(timeoutNotification));
     }
 }
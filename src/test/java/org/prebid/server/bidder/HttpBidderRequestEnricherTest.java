@@ -175,7 +175,8 @@ public class HttpBidderRequestEnricherTest {
                 false,
                 CompressionType.GZIP,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
 
         final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
 
@@ -214,7 +215,8 @@ public class HttpBidderRequestEnricherTest {
                 false,
                 CompressionType.GZIP,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
 
         final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
 
@@ -0,0 +1,74 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.bidder.model.BidderCall;
+import org.prebid.server.bidder.model.CompositeBidderResponse;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.Result;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class LazyBidderTest {
+
+    @Mock
+    private Supplier<Bidder<String>> bidderCreator;
+    @Mock
+    private Bidder<String> bidder;
+
+    private LazyBidder<String> target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new LazyBidder<>(bidderCreator);
+    }
+
+    @Test
+    public void creationShouldNotCreateBidder() {
+        // then
+        verifyNoInteractions(bidderCreator);
+    }
+
+    @Test
+    public void makeHttpRequestsShouldCreateBidderOnceAndDelegateToIt() {
+        // given
+        given(bidderCreator.get()).willReturn(bidder);
+        final BidRequest bidRequest = BidRequest.builder().id("id").build();
+        given(bidder.makeHttpRequests(bidRequest)).willReturn(Result.withValues(emptyList()));
+
+        // when
+        target.makeHttpRequests(bidRequest);
+        final Result<List<HttpRequest<String>>> result = target.makeHttpRequests(bidRequest);
+
+        // then
+        assertThat(result.getValue()).isEmpty();
+        verify(bidderCreator).get();
+    }
+
+    @Test
+    public void makeBidderResponseShouldDelegateToCreatedBidder() {
+        // given
+        given(bidderCreator.get()).willReturn(bidder);
+        final BidderCall<String> httpCall = BidderCall.succeededHttp(null, null, null);
+        final CompositeBidderResponse response = CompositeBidderResponse.builder().build();
+        given(bidder.makeBidderResponse(httpCall, null)).willReturn(response);
+
+        // when
+        final CompositeBidderResponse result = target.makeBidderResponse(httpCall, null);
+
+        // then
+        assertThat(result).isSameAs(response);
+    }
+}
@@ -0,0 +1,323 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class TimeoutNotificationDispatcherTest extends VertxTest {
+
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Bidder<BidRequest> bidder;
+    @Mock
+    private Bidder<BidRequest> anotherBidder;
+
+    @Test
+    public void initializeShouldScheduleFlushing() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+
+        // when
+        target.initialize(Promise.promise());
+
+        // then
+        verify(vertx).setPeriodic(eq(1000L), any());
+    }
+
+    @Test
+    public void flushShouldSendNotificationAndUpdateSuccessMetric() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        target.dispatch(bidder, givenNotification("url"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq("url"), isNull(), eq("{}".getBytes()), eq(200L));
+        verify(metrics).updateTimeoutNotificationDispatchMetric(MetricName.sent, 1);
+        verify(metrics).updateTimeoutNotificationMetric(true);
+    }
+
+    @Test
+    public void flushShouldUpdateFailedMetricWhenResponseCodeNonSuccess() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(404, null, null)));
+        target.dispatch(bidder, givenNotification("url"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(metrics).updateTimeoutNotificationMetric(false);
+    }
+
+    @Test
+    public void flushShouldUpdateFailedMetricWhenResponseTimedOut() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        givenHttpClientReturns(Future.failedFuture(new TimeoutException("Timeout exception")));
+        target.dispatch(bidder, givenNotification("url"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(metrics).updateTimeoutNotificationMetric(false);
+    }
+
+    @Test
+    public void flushShouldNotCountNotificationAsSentWhenRequestFailed() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        givenHttpClientReturns(Future.failedFuture(new TimeoutException("Timeout exception")));
+        target.dispatch(bidder, givenNotification("url"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(metrics, never()).updateTimeoutNotificationDispatchMetric(eq(MetricName.sent), anyInt());
+    }
+
+    @Test
+    public void flushShouldNotCountNotificationAsSentBeforeBidderResponded() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        final Promise<HttpClientResponse> response = Promise.promise();
+        givenHttpClientReturns(response.future());
+        target.dispatch(bidder, givenNotification("url"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(metrics, never()).updateTimeoutNotificationDispatchMetric(eq(MetricName.sent), anyInt());
+
+        // when
+        response.complete(HttpClientResponse.of(200, null, null));
+
+        // then
+        verify(metrics).updateTimeoutNotificationDispatchMetric(MetricName.sent, 1);
+    }
+
+    @Test
+    public void dispatchShouldDeduplicateIdenticalNotifications() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        target.dispatch(bidder, givenNotification("url"));
+        target.dispatch(bidder, givenNotification("url"));
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), anyString(), any(), any(byte[].class), anyLong());
+        verify(metrics).updateTimeoutNotificationDispatchMetric(MetricName.deduplicated, 1);
+    }
+
+    @Test
+    public void dispatchShouldDropNotificationsNotFittingIntoQueue() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 1, 1, 10);
+
+        // when
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+
+        // then
+        verify(metrics).updateTimeoutNotificationDispatchMetric(MetricName.dropped, 1);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void flushShouldNotSendMoreThanAllowedPerSecondToBidder() {
+        // given
+        final TimeoutNotificationDispatcher target = target(1, 10, 1, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), eq("url1"), any(), any(byte[].class), anyLong());
+
+        // when
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), eq("url2"), any(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    public void flushShouldNotExceedConnectionBudget() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 1);
+        givenHttpClientReturns(Promise.<HttpClientResponse>promise().future());
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+
+        // when
+        target.flush();
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), anyString(), any(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    public void flushShouldShareConnectionBudgetBetweenBidders() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 2);
+        givenHttpClientReturns(Promise.<HttpClientResponse>promise().future());
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+        target.dispatch(anotherBidder, givenNotification("anotherUrl1"));
+        target.dispatch(anotherBidder, givenNotification("anotherUrl2"));
+
+        // when
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), eq("url1"), any(), any(byte[].class), anyLong());
+        verify(httpClient).request(any(), eq("anotherUrl1"), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    public void flushShouldStartFromNextBidderEveryTime() {
+        // given
+        final TimeoutNotificationDispatcher target = target(10, 10, 1, 1);
+        final Promise<HttpClientResponse> firstResponse = Promise.promise();
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+                .willReturn(firstResponse.future(), Promise.<HttpClientResponse>promise().future());
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+        target.dispatch(anotherBidder, givenNotification("anotherUrl1"));
+        target.dispatch(anotherBidder, givenNotification("anotherUrl2"));
+
+        // when
+        target.flush();
+        firstResponse.complete(HttpClientResponse.of(200, null, null));
+        target.flush();
+
+        // then
+        verify(httpClient).request(any(), eq("url1"), any(), any(byte[].class), anyLong());
+        verify(httpClient).request(any(), eq("anotherUrl1"), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    public void flushShouldSendNotificationsInBatchIfBidderSupportsIt() {
+        // given
+        final TimeoutNotificationDispatcher target = target(1, 10, 10, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final HttpRequest<Void> first = givenNotification("url1");
+        final HttpRequest<Void> second = givenNotification("url2");
+        given(bidder.makeBatchTimeoutNotification(any())).willReturn(givenNotification("batch"));
+        target.dispatch(bidder, first);
+        target.dispatch(bidder, second);
+
+        // when
+        target.flush();
+
+        // then
+        verify(bidder).makeBatchTimeoutNotification(List.of(first, second));
+        verify(httpClient).request(any(), eq("batch"), any(), any(byte[].class), anyLong());
+        verify(metrics).updateTimeoutNotificationDispatchMetric(MetricName.sent, 2);
+    }
+
+    @Test
+    public void flushShouldSendNotificationsOneByOneIfBidderDoesNotSupportBatches() {
+        // given
+        final TimeoutNotificationDispatcher target = target(1, 10, 10, 10);
+        givenHttpClientReturns(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        target.dispatch(bidder, givenNotification("url1"));
+        target.dispatch(bidder, givenNotification("url2"));
+        target.dispatch(bidder, givenNotification("url3"));
+
+        // when
+        target.flush();
+        target.flush();
+        target.flush();
+
+        // then
+        verify(bidder).makeBatchTimeoutNotification(any());
+        verify(httpClient).request(any(), eq("url1"), any(), any(byte[].class), anyLong());
+        verify(httpClient).request(any(), eq("url2"), any(), any(byte[].class), anyLong());
+        verify(httpClient).request(any(), eq("url3"), any(), any(byte[].class), anyLong());
+        verify(metrics, times(3)).updateTimeoutNotificationDispatchMetric(MetricName.sent, 1);
+    }
+
+    private TimeoutNotificationDispatcher target(int maxRequestsPerSecond,
+                                                 int maxQueueSize,
+                                                 int maxBatchSize,
+                                                 int maxConnections) {
+
+        return new TimeoutNotificationDispatcher(
+                1000L,
+                maxRequestsPerSecond,
+                maxQueueSize,
+                maxBatchSize,
+                60000L,
+                100,
+                maxConnections,
+                200,
+                true,
+                false,
+                1d,
+                httpClient,
+                vertx,
+                metrics);
+    }
+
+    private void givenHttpClientReturns(Future<HttpClientResponse> response) {
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong())).willReturn(response);
+    }
+
+    private static HttpRequest<Void> givenNotification(String uri) {
+        return HttpRequest.<Void>builder()
+                .uri(uri)
+                .method(HttpMethod.POST)
+                .body("{}".getBytes())
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package org.prebid.server.cookie;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class UidsCookieCodecTest extends VertxTest {
+
+    private static final ZonedDateTime EXPIRES = ZonedDateTime.of(2030, 1, 2, 3, 4, 5, 123_000_000, ZoneOffset.UTC);
+
+    private UidsCookieCodec target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new UidsCookieCodec(mapper.getFactory());
+    }
+
+    @Test
+    public void encodeShouldProduceValueEqualToJacksonEncodedUids() throws IOException {
+        // given
+        final Map<String, UidWithExpiry> uids = new LinkedHashMap<>();
+        uids.put("rubicon", new UidWithExpiry("J5VLCWQP-26-CWFT", EXPIRES));
+        uids.put("adnxs", new UidWithExpiry("12345", EXPIRES));
+
+        // when
+        final String result = target.encode(uids, false);
+
+        // then
+        final String expected = Base64.getUrlEncoder().encodeToString(
+                mapper.writeValueAsBytes(Uids.builder().uids(uids).optout(false).build()));
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void encodeShouldOmitOptoutWhenAbsent() {
+        // when
+        final String result = target.encode(Map.of("rubicon", new UidWithExpiry("uid", EXPIRES)), null);
+
+        // then
+        assertThat(decodeJson(result))
+                .isEqualTo("{\"tempUIDs\":{\"rubicon\":{\"uid\":\"uid\",\"expires\":\"2030-01-02T03:04:05.123Z\"}}}");
+    }
+
+    @Test
+    public void encodeShouldEscapeSpecialCharacters() {
+        // given
+        final String uid = "quote\"back\\slash\ttab-é-😀";
+
+        // when
+        final String result = target.encode(Map.of("family", new UidWithExpiry(uid, EXPIRES)), true);
+
+        // then
+        final Uids uids = decodeUids(result);
+        assertThat(uids.getOptout()).isTrue();
+        assertThat(uids.getUids().get("family").getUid()).isEqualTo(uid);
+    }
+
+    @Test
+    public void writerShouldReportExactEncodedSize() {
+        // given
+        final UidsCookieCodec.Writer writer = target.writer(false);
+        writer.append("rubicon", new UidWithExpiry("uid", EXPIRES), 0);
+        writer.append("adnxs", UidWithExpiry.live("another-uid"), 0);
+
+        // when
+        final int size = writer.encodedSize();
+
+        // then
+        assertThat(writer.toBase64()).hasSize(size);
+    }
+
+    @Test
+    public void writerShouldRejectUidExceedingMaxSizeAndKeepPreviousState() {
+        // given
+        final UidsCookieCodec.Writer writer = target.writer(false);
+        writer.append("rubicon", new UidWithExpiry("uid", EXPIRES), 0);
+        final int sizeBefore = writer.encodedSize();
+
+        // when
+        final boolean result = writer.append("adnxs", new UidWithExpiry("another-uid", EXPIRES), sizeBefore + 1);
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(writer.encodedSize()).isEqualTo(sizeBefore);
+        assertThat(decodeUids(writer.toBase64()).getUids()).containsOnlyKeys("rubicon");
+    }
+
+    @Test
+    public void writerShouldBeEmptyAfterReset() {
+        // given
+        target.writer(false).append("rubicon", new UidWithExpiry("uid", EXPIRES), 0);
+
+        // when
+        final UidsCookieCodec.Writer writer = target.writer(false);
+
+        // then
+        assertThat(writer.isEmpty()).isTrue();
+        assertThat(decodeJson(writer.toBase64())).isEqualTo("{\"tempUIDs\":{},\"optout\":false}");
+    }
+
+    @Test
+    public void decodeUidShouldReturnOnlyRequestedFamily() {
+        // given
+        final Map<String, UidWithExpiry> uids = new LinkedHashMap<>();
+        uids.put("rubicon", new UidWithExpiry("rubicon-uid", EXPIRES));
+        uids.put("adnxs", new UidWithExpiry("adnxs-uid", EXPIRES));
+        final String value = target.encode(uids, false);
+
+        // when
+        final UidWithExpiry result = target.decodeUid(value, "adnxs");
+
+        // then
+        assertThat(result.getUid()).isEqualTo("adnxs-uid");
+        assertThat(result.getExpires().toInstant()).isEqualTo(EXPIRES.toInstant());
+    }
+
+    @Test
+    public void decodeUidShouldReturnNullWhenFamilyIsAbsent() {
+        // given
+        final String value = target.encode(Map.of("rubicon", new UidWithExpiry("uid", EXPIRES)), null);
+
+        // when and then
+        assertThat(target.decodeUid(value, "adnxs")).isNull();
+    }
+
+    @Test
+    public void decodeUidShouldSkipUnknownFields() {
+        // given
+        final String value = Base64.getUrlEncoder().encodeToString(
+                "{\"uids\":{\"adnxs\":\"legacy\"},\"tempUIDs\":{\"adnxs\":{\"uid\":\"uid\",\"extra\":[1,2]}}}"
+                        .getBytes());
+
+        // when
+        final UidWithExpiry result = target.decodeUid(value, "adnxs");
+
+        // then
+        assertThat(result).isEqualTo(new UidWithExpiry("uid", null));
+    }
+
+    @Test
+    public void decodeUidShouldFailOnInvalidValue() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> target.decodeUid(Base64.getUrlEncoder().encodeToString("{invalid".getBytes()), "a"));
+    }
+
+    private static String decodeJson(String value) {
+        return new String(Base64.getUrlDecoder().decode(value));
+    }
+
+    private static Uids decodeUids(String value) {
+        try {
+            return mapper.readValue(Base64.getUrlDecoder().decode(value), Uids.class);
+        } catch (IOException e) {
+            Assertions.fail(e.getMessage());
+            throw new RuntimeException("Fail decoding cookie value");
+        }
+    }
+}
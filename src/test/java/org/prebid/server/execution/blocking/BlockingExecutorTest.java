@@ -0,0 +1,120 @@
+package org.prebid.server.execution.blocking;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BlockingExecutorTest {
+
+    @Mock(strictness = LENIENT)
+    private ExecutorService executorService;
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+    @Mock(strictness = LENIENT)
+    private Context context;
+    @Mock
+    private Metrics metrics;
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    private BlockingExecutor target;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        given(vertx.getOrCreateContext()).willReturn(context);
+        willAnswer(invocation -> {
+            ((Handler<Void>) invocation.getArgument(0)).handle(null);
+            return null;
+        }).given(context).runOnContext(any());
+        willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).given(executorService).execute(any());
+
+        target = new BlockingExecutor("test", executorService, 1, 1, vertx, metrics, clock);
+    }
+
+    @Test
+    public void executeShouldReturnResultOfTask() {
+        // when
+        final Future<String> result = target.execute(() -> "result");
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo("result");
+    }
+
+    @Test
+    public void executeShouldFailWhenTaskThrowsException() {
+        // when
+        final Future<String> result = target.execute(() -> {
+            throw new IllegalStateException("failure");
+        });
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(IllegalStateException.class).hasMessage("failure");
+    }
+
+    @Test
+    public void executeShouldUpdateQueueAndExecutionTimeMetrics() {
+        // given
+        given(clock.millis()).willReturn(100L, 150L, 180L);
+
+        // when
+        target.execute(() -> "result");
+
+        // then
+        verify(metrics).updateBlockingExecutorQueueTime("test", 50L);
+        verify(metrics).updateBlockingExecutorExecutionTime("test", 30L);
+    }
+
+    @Test
+    public void executeShouldRejectTaskWhenTooManyTasksAreWaiting() {
+        // given
+        willAnswer(invocation -> null).given(executorService).execute(any());
+
+        // when
+        final Future<String> first = target.execute(() -> "first");
+        final Future<String> second = target.execute(() -> "second");
+
+        // then
+        assertThat(first.isComplete()).isFalse();
+        assertThat(second.failed()).isTrue();
+        assertThat(second.cause()).isInstanceOf(RejectedExecutionException.class)
+                .hasMessage("Too many tasks are waiting for test blocking executor");
+        verify(metrics).updateBlockingExecutorRejectedMetric("test");
+    }
+
+    @Test
+    public void executeShouldAcceptTaskAgainWhenWaitingTaskStarted() {
+        // when
+        target.execute(() -> "first");
+        final Future<String> second = target.execute(() -> "second");
+
+        // then
+        assertThat(second.result()).isEqualTo("second");
+        verify(metrics, never()).updateBlockingExecutorRejectedMetric("test");
+    }
+}
@@ -2,6 +2,7 @@ package org.prebid.server.execution.file.supplier;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.CopyOptions;
 import io.vertx.core.file.FileProps;
@@ -11,15 +12,21 @@ import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.streams.WriteStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.prebid.server.assertion.FutureAssertion;
+import org.prebid.server.metric.Metrics;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +53,9 @@ public class RemoteFileSupplierTest {
     @Mock
     private FileSystem fileSystem;
 
+    @Mock
+    private Metrics metrics;
+
     private RemoteFileSupplier target;
 
     @Mock
@@ -74,13 +84,15 @@ public class RemoteFileSupplierTest {
 
     private RemoteFileSupplier target(boolean checkRemoteFileSize) {
         return new RemoteFileSupplier(
+                "test",
                 "https://download.url/",
                 SAVE_PATH,
                 TMP_PATH,
                 httpClient,
                 1000L,
                 checkRemoteFileSize,
-                fileSystem);
+                fileSystem,
+                metrics);
     }
 
     @Test
@@ -201,6 +213,106 @@ public class RemoteFileSupplierTest {
         assertThat(result.result()).isNull();
     }
 
+    @Test
+    public void getShouldUpdateDownloadedBytesMetric() {
+        // given
+        givenSuccessfulDownload();
+        given(getResponse.pipeTo(any())).willAnswer(invocation -> {
+            final WriteStream<Buffer> tmpFile = invocation.getArgument(0);
+            tmpFile.write(Buffer.buffer(new byte[60]));
+            tmpFile.write(Buffer.buffer(new byte[40]));
+            return Future.succeededFuture();
+        });
+
+        // when
+        target.get();
+
+        // then
+        verify(metrics).updateFileSyncerDownloadedBytes("test", 100L);
+    }
+
+    @Test
+    public void getShouldSendConditionalRequestWithValidatorsOfPreviouslyDownloadedFile() {
+        // given
+        givenSuccessfulDownload();
+        given(getResponse.getHeader(eq(HttpHeaders.ETAG))).willReturn("\"etag\"");
+        given(getResponse.getHeader(eq(HttpHeaders.LAST_MODIFIED))).willReturn("Wed, 21 Oct 2015 07:28:00 GMT");
+        target.get();
+
+        // when
+        target.get();
+
+        // then
+        final ArgumentCaptor<RequestOptions> requestOptionsCaptor = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(httpClient, times(2)).request(requestOptionsCaptor.capture());
+        final List<RequestOptions> requestOptions = requestOptionsCaptor.getAllValues();
+        assertThat(header(requestOptions.getFirst(), HttpHeaders.IF_NONE_MATCH)).isNull();
+        assertThat(header(requestOptions.getLast(), HttpHeaders.IF_NONE_MATCH)).isEqualTo("\"etag\"");
+        assertThat(header(requestOptions.getLast(), HttpHeaders.IF_MODIFIED_SINCE))
+                .isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+    }
+
+    @Test
+    public void getShouldReturnNullAndKeepSavedFileWhenFileIsNotModified() {
+        // given
+        final AsyncFile tmpFile = givenSuccessfulDownload();
+        given(getResponse.getHeader(eq(HttpHeaders.ETAG))).willReturn("\"etag\"");
+        target.get();
+
+        given(getResponse.statusCode()).willReturn(304);
+        given(tmpFile.close()).willReturn(Future.succeededFuture());
+
+        // when
+        final Future<String> result = target.get();
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isNull();
+        verify(tmpFile).close();
+        verify(fileSystem).move(eq(SAVE_PATH), eq(BACKUP_PATH), Mockito.<CopyOptions>any());
+        verify(metrics).updateFileSyncerNotModifiedMetric("test");
+    }
+
+    @Test
+    public void getShouldSkipSizeCheckWhenValidatorsOfPreviouslyDownloadedFileAreKnown() {
+        // given
+        target = target(true);
+        final FileProps fileProps = mock(FileProps.class);
+        given(fileSystem.props(eq(SAVE_PATH))).willReturn(Future.succeededFuture(fileProps));
+        given(fileProps.size()).willReturn(1000L);
+        given(headResponse.getHeader(eq(HttpHeaders.CONTENT_LENGTH))).willReturn("1001");
+
+        givenSuccessfulDownload();
+        given(getResponse.getHeader(eq(HttpHeaders.ETAG))).willReturn("\"etag\"");
+        target.get();
+
+        // when
+        target.get();
+
+        // then
+        verify(httpClient).request(argThat(requestOptions -> requestOptions.getMethod().equals(HttpMethod.HEAD)));
+        verify(httpClient, times(2))
+                .request(argThat(requestOptions -> requestOptions.getMethod().equals(HttpMethod.GET)));
+    }
+
+    @Test
+    public void getShouldSendUnconditionalRequestAfterRestoreFromBackup() {
+        // given
+        givenSuccessfulDownload();
+        given(getResponse.getHeader(eq(HttpHeaders.ETAG))).willReturn("\"etag\"");
+        given(fileSystem.exists(eq(BACKUP_PATH))).willReturn(Future.succeededFuture(false));
+        target.get();
+        target.restoreFromBackup();
+
+        // when
+        target.get();
+
+        // then
+        final ArgumentCaptor<RequestOptions> requestOptionsCaptor = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(httpClient, times(2)).request(requestOptionsCaptor.capture());
+        assertThat(header(requestOptionsCaptor.getAllValues().getLast(), HttpHeaders.IF_NONE_MATCH)).isNull();
+    }
+
     @Test
     public void clearTmpShouldCallExpectedMethods() {
         // given
@@ -240,4 +352,23 @@ public class RemoteFileSupplierTest {
         // then
         verify(fileSystem).delete(BACKUP_PATH);
     }
+
+    private AsyncFile givenSuccessfulDownload() {
+        final AsyncFile tmpFile = mock(AsyncFile.class);
+        given(fileSystem.open(eq(TMP_PATH), any())).willReturn(Future.succeededFuture(tmpFile));
+        given(fileSystem.exists(eq(SAVE_PATH))).willReturn(Future.succeededFuture(true));
+        given(fileSystem.move(eq(SAVE_PATH), eq(BACKUP_PATH), Mockito.<CopyOptions>any()))
+                .willReturn(Future.succeededFuture());
+        given(fileSystem.move(eq(TMP_PATH), eq(SAVE_PATH), Mockito.<CopyOptions>any()))
+                .willReturn(Future.succeededFuture());
+
+        given(getResponse.statusCode()).willReturn(200);
+        given(getResponse.pipeTo(any())).willReturn(Future.succeededFuture());
+
+        return tmpFile;
+    }
+
+    private static String header(RequestOptions requestOptions, CharSequence name) {
+        return requestOptions.getHeaders() != null ? requestOptions.getHeaders().get(name) : null;
+    }
 }
@@ -12,15 +12,18 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.retry.FixedIntervalRetryPolicy;
 import org.prebid.server.execution.retry.NonRetryable;
 import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
 import org.testcontainers.shaded.org.apache.commons.lang3.NotImplementedException;
 
 import java.util.concurrent.Callable;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.spy;
@@ -40,9 +43,15 @@ public class FileSyncerTest {
     @Mock
     private Vertx vertx;
 
+    @Mock
+    private BlockingExecutor blockingExecutor;
+
+    @Mock
+    private Metrics metrics;
+
     @BeforeEach
     public void setUp() {
-        given(vertx.executeBlocking(Mockito.<Callable<?>>any())).willAnswer(invocation -> {
+        given(blockingExecutor.execute(Mockito.<Callable<?>>any())).willAnswer(invocation -> {
             try {
                 return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
             } catch (Throwable e) {
@@ -82,6 +91,34 @@ public class FileSyncerTest {
         verify(vertx).setTimer(eq(1000L), any());
     }
 
+    @Test
+    public void syncShouldUpdateRebuildTimeMetricWhenFileProcessed() {
+        // given
+        final FileSyncer fileSyncer = fileSyncer(NonRetryable.instance());
+        given(fileSyncer.getFile()).willReturn(Future.succeededFuture(SAVE_PATH));
+        given(fileProcessor.setDataPath(eq(SAVE_PATH))).willReturn(Future.succeededFuture());
+
+        // when
+        fileSyncer.sync();
+
+        // then
+        verify(metrics).updateFileSyncerRebuildTime(eq("test"), anyLong());
+    }
+
+    @Test
+    public void syncShouldNotUpdateRebuildTimeMetricWhenFileProcessingFailed() {
+        // given
+        final FileSyncer fileSyncer = fileSyncer(NonRetryable.instance());
+        given(fileSyncer.getFile()).willReturn(Future.succeededFuture(SAVE_PATH));
+        given(fileProcessor.setDataPath(eq(SAVE_PATH))).willReturn(Future.failedFuture("Failure"));
+
+        // when
+        fileSyncer.sync();
+
+        // then
+        verifyNoInteractions(metrics);
+    }
+
     @Test
     public void syncShouldCallExpectedMethodsOnFailure() {
         // given
@@ -129,7 +166,7 @@ public class FileSyncerTest {
     }
 
     private FileSyncer fileSyncer(RetryPolicy retryPolicy) {
-        return spy(new TestFileSyncer(fileProcessor, 1000L, retryPolicy, vertx));
+        return spy(new TestFileSyncer(fileProcessor, 1000L, retryPolicy, vertx, blockingExecutor, metrics));
     }
 
     private static class TestFileSyncer extends FileSyncer {
@@ -137,9 +174,11 @@ public class FileSyncerTest {
         protected TestFileSyncer(FileProcessor fileProcessor,
                                  long updatePeriod,
                                  RetryPolicy retryPolicy,
-                                 Vertx vertx) {
+                                 Vertx vertx,
+                                 BlockingExecutor blockingExecutor,
+                                 Metrics metrics) {
 
-            super(fileProcessor, updatePeriod, retryPolicy, vertx);
+            super(fileProcessor, "test", updatePeriod, retryPolicy, vertx, blockingExecutor, metrics);
         }
 
         @Override
@@ -13,12 +13,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.metric.Metrics;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.concurrent.Executors;
 import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,14 +41,18 @@ public class CircuitBreakerSecuredGeoLocationServiceTest {
     @Mock
     private Metrics metrics;
 
+    private BlockingExecutor blockingExecutor;
+
     private CircuitBreakerSecuredGeoLocationService geoLocationService;
 
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
-        geoLocationService = new CircuitBreakerSecuredGeoLocationService(vertx, wrappedGeoLocationService, metrics, 1,
-                100L, 200L, clock);
+        blockingExecutor = new BlockingExecutor(
+                "circuit-breaker", Executors.newVirtualThreadPerTaskExecutor(), 1, 100, vertx, metrics, clock);
+        geoLocationService = new CircuitBreakerSecuredGeoLocationService(
+                vertx, blockingExecutor, wrappedGeoLocationService, metrics, 1, 100L, 200L, clock);
     }
 
     @AfterEach
@@ -142,8 +148,8 @@ public class CircuitBreakerSecuredGeoLocationServiceTest {
     @Test
     public void lookupShouldFailsWithOriginalExceptionIfOpeningIntervalExceeds() {
         // given
-        geoLocationService = new CircuitBreakerSecuredGeoLocationService(vertx, wrappedGeoLocationService, metrics, 2,
-                100L, 200L, clock);
+        geoLocationService = new CircuitBreakerSecuredGeoLocationService(
+                vertx, blockingExecutor, wrappedGeoLocationService, metrics, 2, 100L, 200L, clock);
 
         givenWrappedGeoLocationReturning(
                 Future.failedFuture(new RuntimeException("exception1")),
@@ -1,5 +1,6 @@
 package org.prebid.server.geolocation;
 
+import com.maxmind.db.Network;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
@@ -8,26 +9,46 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
-import org.mockito.internal.util.reflection.ReflectionMemberAccessor;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.geolocation.MaxMindGeoLocationService.StagedDatabase;
 import org.prebid.server.geolocation.model.GeoInfo;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class MaxMindGeoLocationServiceTest {
 
     private static final String TEST_IP = "80.215.195.122";
 
+    @TempDir
+    private Path tempDirectory;
+
     private MaxMindGeoLocationService maxMindGeoLocationService;
 
     @BeforeEach
@@ -58,8 +79,7 @@ public class MaxMindGeoLocationServiceTest {
     }
 
     @Test
-    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws NoSuchFieldException, IOException,
-            GeoIp2Exception, IllegalAccessException {
+    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws IOException, GeoIp2Exception {
         // given
         final Country country = Mockito.mock(Country.class);
         Mockito.when(country.getIsoCode()).thenReturn("fr");
@@ -88,10 +108,7 @@ public class MaxMindGeoLocationServiceTest {
         final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
         given(databaseReader.city(any())).willReturn(cityResponse);
 
-        new ReflectionMemberAccessor().set(
-                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"),
-                maxMindGeoLocationService,
-                databaseReader);
+        maxMindGeoLocationService.swap(new StagedDatabase(databaseReader, null));
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
@@ -111,14 +128,12 @@ public class MaxMindGeoLocationServiceTest {
     }
 
     @Test
-    public void lookupShouldTolerateMissingGeoInfo() throws IOException, GeoIp2Exception, NoSuchFieldException,
-            IllegalAccessException {
+    public void lookupShouldTolerateMissingGeoInfo() throws IOException, GeoIp2Exception {
         // given
         final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
         given(databaseReader.city(any())).willReturn(null);
 
-        new ReflectionMemberAccessor().set(maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"),
-                maxMindGeoLocationService, databaseReader);
+        maxMindGeoLocationService.swap(new StagedDatabase(databaseReader, null));
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
@@ -127,4 +142,244 @@ public class MaxMindGeoLocationServiceTest {
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(GeoInfo.builder().vendor("maxmind").build());
     }
+
+    @Test
+    public void lookupShouldReuseCachedGeoInfoForIpFromSameNetwork() throws IOException, GeoIp2Exception {
+
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, 100);
+        final DatabaseReader databaseReader = givenDatabaseReaderWithNetworkPrefixLength(16);
+
+        // when
+        final Future<GeoInfo> first = maxMindGeoLocationService.lookup("80.215.195.122", null);
+        final Future<GeoInfo> second = maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        assertThat(first.result()).isEqualTo(second.result());
+        verify(databaseReader).city(any());
+    }
+
+    @Test
+    public void lookupShouldNotCacheGeoInfoWhenDatabaseNetworkIsNarrowerThanCachedOne() throws IOException,
+            GeoIp2Exception {
+
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, 100);
+        final DatabaseReader databaseReader = givenDatabaseReaderWithNetworkPrefixLength(28);
+
+        // when
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+        maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldNotShareCachedGeoInfoBetweenDifferentNetworks() throws IOException, GeoIp2Exception {
+
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, 100);
+        final DatabaseReader databaseReader = givenDatabaseReaderWithNetworkPrefixLength(24);
+
+        // when
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+        maxMindGeoLocationService.lookup("80.215.196.122", null);
+
+        // then
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldNotReuseGeoInfoCachedForReplacedDatabase() throws IOException, GeoIp2Exception {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, 100);
+        givenDatabaseReaderWithNetworkPrefixLength(16);
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+
+        final DatabaseReader newDatabaseReader = givenDatabaseReaderWithNetworkPrefixLength(16);
+
+        // when
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+
+        // then
+        verify(newDatabaseReader).city(any());
+    }
+
+    @Test
+    public void swapShouldCloseReplacedDatabaseReaderAndDeleteItsFile() throws IOException {
+        // given
+        final Path oldFile = Files.createFile(tempDirectory.resolve("GeoLite2-City-1.mmdb"));
+        final Path newFile = Files.createFile(tempDirectory.resolve("GeoLite2-City-2.mmdb"));
+        final DatabaseReader oldDatabaseReader = Mockito.mock(DatabaseReader.class);
+        final DatabaseReader newDatabaseReader = Mockito.mock(DatabaseReader.class);
+        maxMindGeoLocationService.swap(new StagedDatabase(oldDatabaseReader, oldFile));
+
+        // when
+        maxMindGeoLocationService.swap(new StagedDatabase(newDatabaseReader, newFile));
+
+        // then
+        verify(oldDatabaseReader).close();
+        verify(newDatabaseReader, never()).close();
+        assertThat(oldFile).doesNotExist();
+        assertThat(newFile).exists();
+    }
+
+    @Test
+    public void swapShouldNotCloseReplacedDatabaseReaderUntilLookupInProgressIsDone() throws IOException,
+            GeoIp2Exception {
+
+        // given
+        final DatabaseReader oldDatabaseReader = Mockito.mock(DatabaseReader.class);
+        final DatabaseReader newDatabaseReader = Mockito.mock(DatabaseReader.class);
+        maxMindGeoLocationService.swap(new StagedDatabase(oldDatabaseReader, null));
+
+        final AtomicBoolean closedDuringLookup = new AtomicBoolean();
+        given(oldDatabaseReader.city(any())).willAnswer(invocation -> {
+            maxMindGeoLocationService.swap(new StagedDatabase(newDatabaseReader, null));
+            closedDuringLookup.set(Mockito.mockingDetails(oldDatabaseReader).getInvocations().stream()
+                    .anyMatch(performed -> performed.getMethod().getName().equals("close")));
+            return null;
+        });
+
+        // when
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        assertThat(closedDuringLookup).isFalse();
+        verify(oldDatabaseReader).close();
+    }
+
+    @Test
+    public void creationShouldDeleteStaleDatabaseFiles() throws IOException {
+        // given
+        final Path staleFile = Files.createFile(tempDirectory.resolve("GeoLite2-City-1.mmdb"));
+        final Path staleTmpFile = Files.createFile(tempDirectory.resolve("GeoLite2-City-2.mmdb.tmp"));
+        final Path otherFile = Files.createFile(tempDirectory.resolve("other.mmdb"));
+
+        // when
+        new MaxMindGeoLocationService(tempDirectory.toString(), 0);
+
+        // then
+        assertThat(staleFile).doesNotExist();
+        assertThat(staleTmpFile).doesNotExist();
+        assertThat(otherFile).exists();
+    }
+
+    @Test
+    public void stageShouldExtractDatabaseFileIntoDirectory() throws IOException {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(tempDirectory.toString(), 0);
+        final Path archive = givenDatabaseArchive(givenEmptyDatabase());
+
+        // when
+        final StagedDatabase result = maxMindGeoLocationService.stage(archive.toString());
+
+        // then
+        assertThat(result.file()).hasParentRaw(tempDirectory).hasBinaryContent(givenEmptyDatabase());
+        assertThat(result.file().getFileName().toString()).startsWith("GeoLite2-City-").endsWith(".mmdb");
+        assertThat(result.reader().getMetadata().getDatabaseType()).isEqualTo("GeoLite2-City");
+        assertThat(tempDirectory.resolve(result.file().getFileName() + ".tmp")).doesNotExist();
+    }
+
+    @Test
+    public void swapShouldDeletePreviouslyExtractedDatabaseFile() throws IOException {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(tempDirectory.toString(), 0);
+        final Path archive = givenDatabaseArchive(givenEmptyDatabase());
+        final StagedDatabase first = maxMindGeoLocationService.stage(archive.toString());
+        final StagedDatabase second = maxMindGeoLocationService.stage(archive.toString());
+        maxMindGeoLocationService.swap(first);
+
+        // when
+        maxMindGeoLocationService.swap(second);
+
+        // then
+        assertThat(first.file()).doesNotExist();
+        assertThat(second.file()).exists();
+    }
+
+    @Test
+    public void stageShouldDeleteExtractedFileIfItIsNotValidDatabase() throws IOException {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(tempDirectory.toString(), 0);
+        final Path archive = givenDatabaseArchive("invalid".getBytes(StandardCharsets.UTF_8));
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> maxMindGeoLocationService.stage(archive.toString()));
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertThat(files).containsOnly(archive);
+        }
+    }
+
+    private DatabaseReader givenDatabaseReaderWithNetworkPrefixLength(int prefixLength) throws IOException,
+            GeoIp2Exception {
+
+        final Traits traits = Mockito.mock(Traits.class);
+        given(traits.getNetwork()).willReturn(new Network(InetAddress.getByName("80.215.0.0"), prefixLength));
+
+        final CityResponse cityResponse = Mockito.mock(CityResponse.class);
+        given(cityResponse.getTraits()).willReturn(traits);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+
+        maxMindGeoLocationService.swap(new StagedDatabase(databaseReader, null));
+
+        return databaseReader;
+    }
+
+    private Path givenDatabaseArchive(byte[] database) throws IOException {
+        final Path archive = tempDirectory.resolve("archive.tar.gz");
+        try (TarArchiveOutputStream tarOutput = new TarArchiveOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(archive)))) {
+
+            final TarArchiveEntry entry = new TarArchiveEntry("GeoLite2-City_20260101/GeoLite2-City.mmdb");
+            entry.setSize(database.length);
+            tarOutput.putArchiveEntry(entry);
+            tarOutput.write(database);
+            tarOutput.closeArchiveEntry();
+        }
+        return archive;
+    }
+
+    /**
+     * Database without any network, consisting of data section separator and metadata only.
+     */
+    private static byte[] givenEmptyDatabase() throws IOException {
+        final ByteArrayOutputStream database = new ByteArrayOutputStream();
+        database.write(new byte[16]);
+        database.write(new byte[] {(byte) 0xAB, (byte) 0xCD, (byte) 0xEF});
+        database.write("MaxMind.com".getBytes(StandardCharsets.US_ASCII));
+
+        database.write(0xE9); // map with 9 entries
+        writeString(database, "binary_format_major_version");
+        database.write(new byte[] {(byte) 0xA1, 2}); // uint16
+        writeString(database, "binary_format_minor_version");
+        database.write(0xA0); // uint16
+        writeString(database, "build_epoch");
+        database.write(new byte[] {1, 2, 1}); // uint64
+        writeString(database, "database_type");
+        writeString(database, "GeoLite2-City");
+        writeString(database, "description");
+        database.write(0xE0); // empty map
+        writeString(database, "languages");
+        database.write(new byte[] {0, 4}); // empty array
+        writeString(database, "ip_version");
+        database.write(new byte[] {(byte) 0xA1, 6}); // uint16
+        writeString(database, "node_count");
+        database.write(0xC0); // uint32
+        writeString(database, "record_size");
+        database.write(new byte[] {(byte) 0xA1, 24}); // uint16
+
+        return database.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.write(0x40 | bytes.length);
+        output.write(bytes);
+    }
 }
@@ -200,7 +200,8 @@ public class BidderDetailsHandlerTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
     }
 
     private static BidderInfo givenBidderInfo() {
@@ -24,6 +24,8 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class HookCatalogTest {
@@ -161,6 +163,21 @@ public class HookCatalogTest {
                 .isEqualTo("sample-hook");
     }
 
+    @Test
+    public void hookByIdShouldLookUpModulesOnlyOnceForTheSameHook() {
+        // given
+        givenHook(EntrypointHook.class);
+        final HookId hookId = HookId.of("sample-module", "sample-hook");
+
+        // when
+        final EntrypointHook firstHook = hookCatalog.hookById(hookId, StageWithHookType.ENTRYPOINT);
+        final EntrypointHook secondHook = hookCatalog.hookById(hookId, StageWithHookType.ENTRYPOINT);
+
+        // then
+        assertThat(firstHook).isSameAs(secondHook);
+        verify(sampleModule, times(1)).hooks();
+    }
+
     private void givenHook(Class<? extends Hook<?, ? extends InvocationContext>> clazz) {
         sampleHook = mock(clazz);
         given(sampleHook.code()).willReturn("sample-hook");
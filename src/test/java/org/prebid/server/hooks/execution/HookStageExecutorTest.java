@@ -85,6 +85,8 @@ import org.prebid.server.hooks.v1.entrypoint.EntrypointHook;
 import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointHook;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.settings.model.Account;
@@ -114,9 +116,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -137,6 +141,8 @@ public class HookStageExecutorTest extends VertxTest {
 
     @Mock(strictness = LENIENT)
     private HookCatalog hookCatalog;
+    @Mock(strictness = LENIENT)
+    private Metrics metrics;
     private TimeoutFactory timeoutFactory;
     private Vertx vertx;
     private Clock clock;
@@ -365,6 +371,10 @@ public class HookStageExecutorTest extends VertxTest {
             expectedModuleContexts.put("module-beta", "moduleBetaContext");
             assertThat(hookExecutionContext.getModuleContexts()).containsExactlyEntriesOf(expectedModuleContexts);
 
+            verify(metrics, times(2)).updateHooksTimerMetric(MetricName.timer_armed);
+            verify(metrics, times(2)).updateHooksTimerMetric(MetricName.timer_cancelled);
+            verify(metrics, never()).updateHooksTimerMetric(MetricName.timer_fired);
+
             context.completeNow();
         }));
     }
@@ -478,6 +488,7 @@ public class HookStageExecutorTest extends VertxTest {
                 timeoutFactory,
                 vertx,
                 clock,
+                metrics,
                 jacksonMapper,
                 false,
                 0.0);
@@ -722,6 +733,11 @@ public class HookStageExecutorTest extends VertxTest {
                                         });
                                     }));
 
+            verify(metrics, times(2)).updateHooksTimerMetric(MetricName.timer_armed);
+            verify(metrics, times(2)).updateHooksTimerMetric(MetricName.timer_fired);
+            verify(metrics, never()).updateHooksTimerMetric(MetricName.timer_cancelled);
+            verify(metrics, times(2)).updateHooksTimerLateness(anyLong());
+
             context.completeNow();
         }));
     }
@@ -1334,6 +1350,37 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldUseActualAccountExecutionPlanWhenAccountHooksConfigurationChanged(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookStageExecutor executor = createExecutor(null, null);
+
+        final Account initialAccount = givenAccountWithRawAuctionRequestHook("accountId", "module-alpha");
+        final Account updatedAccount = givenAccountWithRawAuctionRequestHook("accountId", "module-beta");
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor
+                .executeRawAuctionRequestStage(givenAuctionContext(initialAccount))
+                .compose(ignored -> executor.executeRawAuctionRequestStage(givenAuctionContext(initialAccount)))
+                .compose(ignored -> executor.executeRawAuctionRequestStage(givenAuctionContext(updatedAccount)));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hookImpl, times(3)).call(any(), any());
+            verify(hookCatalog, times(2))
+                    .hookById(eqHook("module-alpha", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+            verify(hookCatalog)
+                    .hookById(eqHook("module-beta", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteRawAuctionRequestHooksToleratingUnknownHookInAccountPlan(VertxTestContext context) {
         // given
@@ -1480,6 +1527,7 @@ public class HookStageExecutorTest extends VertxTest {
                 timeoutFactory,
                 vertx,
                 clock,
+                metrics,
                 jacksonMapper,
                 false,
                 0.0);
@@ -1598,6 +1646,7 @@ public class HookStageExecutorTest extends VertxTest {
                 timeoutFactory,
                 vertx,
                 clock,
+                metrics,
                 jacksonMapper,
                 true,
                 0.0);
@@ -3591,6 +3640,28 @@ public class HookStageExecutorTest extends VertxTest {
                                 HookId.of("module-alpha", "hook-b")))));
     }
 
+    private Account givenAccountWithRawAuctionRequestHook(String accountId, String moduleCode) {
+        final ExecutionPlan accountPlan = ExecutionPlan.of(emptyList(), singletonMap(
+                Endpoint.openrtb2_auction,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_auction_request,
+                        execPlanOneGroupOneHook(moduleCode, "hook-a")))));
+
+        return Account.builder()
+                .id(accountId)
+                .hooks(AccountHooksConfiguration.of(accountPlan, null, null))
+                .build();
+    }
+
+    private static AuctionContext givenAuctionContext(Account account) {
+        return AuctionContext.builder()
+                .bidRequest(BidRequest.builder().build())
+                .account(account)
+                .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                .debugContext(DebugContext.empty())
+                .build();
+    }
+
     private StageExecutionPlan execPlanOneGroupOneHook(String moduleCode, String hookImplCode) {
         return StageExecutionPlan.of(singletonList(
                 ExecutionGroup.of(
@@ -3737,6 +3808,7 @@ public class HookStageExecutorTest extends VertxTest {
                 timeoutFactory,
                 vertx,
                 clock,
+                metrics,
                 jacksonMapper,
                 false,
                 0.0);
@@ -8,9 +8,13 @@ import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class JsonLogicTest {
 
@@ -41,4 +45,63 @@ public class JsonLogicTest {
         // then
         assertThat(result).isFalse();
     }
+
+    @Test
+    public void compileShouldReturnPredicateWithSameResultsAsEvaluate() throws JsonLogicEvaluationException {
+        // given
+        final List<String> expressions = List.of(
+                "{\"==\": [{\"var\": \"a\"}, 1]}",
+                "{\"===\": [{\"var\": \"a\"}, 1]}",
+                "{\"!=\": [{\"var\": \"b\"}, 2]}",
+                "{\"in\": [{\"var\": \"a\"}, [1, 2]]}",
+                "{\">=\": [{\"var\": \"a\"}, 1]}",
+                "{\"!\": {\"var\": \"missing\"}}",
+                "{\"!!\": [{\"var\": [\"missing\", 0]}]}",
+                "{\"and\": [{\"==\": [{\"var\": \"a\"}, 1]}, {\"var\": \"flag\"}]}",
+                "{\"or\": [{\"==\": [{\"var\": \"b\"}, 1]}, {\"!\": [{\"var\": \"flag\"}]}]}",
+                "{\"==\": [{\"+\": [{\"var\": \"a\"}, {\"var\": \"b\"}]}, 3]}");
+
+        final Map<String, Object> data = new HashMap<>();
+        data.put("a", 1);
+        data.put("b", 2);
+        data.put("flag", true);
+
+        for (final String expression : expressions) {
+            final JsonLogicNode jsonLogicNode = jsonLogic.parse(expression);
+
+            // when
+            final JsonLogicPredicate<Map<String, Object>> predicate = jsonLogic.compile(jsonLogicNode, mapAccessor());
+
+            // then
+            assertThat(predicate).as(expression).isNotNull();
+            assertThat(predicate.test(data)).as(expression).isEqualTo(jsonLogic.evaluate(jsonLogicNode, data));
+        }
+    }
+
+    @Test
+    public void compileShouldReturnNullForNotSupportedExpression() {
+        // given
+        final JsonLogicNode jsonLogicNode = jsonLogic.parse("{\"some\": [[1, 2], {\"==\": [{\"var\": \"\"}, 1]}]}");
+
+        // when and then
+        assertThat(jsonLogic.compile(jsonLogicNode, mapAccessor())).isNull();
+    }
+
+    @Test
+    public void compileShouldReturnPredicateFailingOnNotBooleanResult() {
+        // given
+        final JsonLogicNode jsonLogicNode = jsonLogic.parse("{\"var\": \"a\"}");
+
+        // when
+        final JsonLogicPredicate<Map<String, Object>> predicate = jsonLogic.compile(jsonLogicNode, mapAccessor());
+
+        // then
+        assertThatExceptionOfType(JsonLogicEvaluationException.class)
+                .isThrownBy(() -> predicate.test(Map.of("a", 1)))
+                .withMessage("Wrong type was returned.");
+    }
+
+    private static Function<String, Function<Map<String, Object>, Object>> mapAccessor() {
+        return name -> data -> data.get(name);
+    }
 }
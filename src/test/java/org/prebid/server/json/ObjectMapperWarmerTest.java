@@ -0,0 +1,78 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.CacheProvider;
+import com.fasterxml.jackson.databind.util.LRUMap;
+import com.fasterxml.jackson.databind.util.LookupCache;
+import com.fasterxml.jackson.databind.util.TypeKey;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.proto.openrtb.ext.request.ExtImp;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebid;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectMapperWarmerTest {
+
+    private static final List<Class<?>> OPENRTB_MODEL = List.of(
+            BidRequest.class,
+            ExtRequest.class,
+            ExtImp.class,
+            ExtImpPrebid.class,
+            BidResponse.class,
+            ExtBidResponse.class,
+            ExtBidPrebid.class);
+
+    @Test
+    public void warmUpShouldCacheSerializersAndDeserializersOfAllOpenrtbModelTypes() {
+        // given
+        final RecordingCacheProvider cacheProvider = new RecordingCacheProvider();
+        final ObjectMapper mapper = ObjectMapperProvider.mapper().copy().setCacheProvider(cacheProvider);
+
+        // when
+        final int prepared = ObjectMapperWarmer.warmUp(mapper);
+
+        // then
+        assertThat(prepared).isEqualTo(OPENRTB_MODEL.size());
+        for (Class<?> type : OPENRTB_MODEL) {
+            assertThat(cacheProvider.serializers.get(new TypeKey(type, false)))
+                    .describedAs("Serializer of %s", type.getSimpleName())
+                    .isNotNull();
+            assertThat(cacheProvider.deserializers.get(mapper.constructType(type)))
+                    .describedAs("Deserializer of %s", type.getSimpleName())
+                    .isNotNull();
+        }
+    }
+
+    private static class RecordingCacheProvider implements CacheProvider {
+
+        private final LookupCache<JavaType, JsonDeserializer<Object>> deserializers = new LRUMap<>(16, 2000);
+        private final LookupCache<TypeKey, JsonSerializer<Object>> serializers = new LRUMap<>(16, 4000);
+
+        @Override
+        public LookupCache<JavaType, JsonDeserializer<Object>> forDeserializerCache(DeserializationConfig config) {
+            return deserializers;
+        }
+
+        @Override
+        public LookupCache<TypeKey, JsonSerializer<Object>> forSerializerCache(SerializationConfig config) {
+            return serializers;
+        }
+
+        @Override
+        public LookupCache<Object, JavaType> forTypeFactory() {
+            return new LRUMap<>(16, 200);
+        }
+    }
+}
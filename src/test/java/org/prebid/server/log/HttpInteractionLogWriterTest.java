@@ -0,0 +1,159 @@
+package org.prebid.server.log;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class HttpInteractionLogWriterTest extends VertxTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private Metrics metrics;
+
+    private Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("http-interaction-log");
+        file = directory.resolve("interactions.log");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void offerShouldWriteEntriesAsJsonLines() throws IOException {
+        // given
+        final HttpInteractionLogWriter target = new HttpInteractionLogWriter(
+                file, 1024 * 1024, 1, 10, jacksonMapper, metrics, CLOCK);
+
+        // when
+        target.offer(() -> mapper.createObjectNode().put("bidder", "bidder1"));
+        target.offer(() -> mapper.createObjectNode().put("bidder", "bidder2"));
+        target.close();
+
+        // then
+        assertThat(Files.readAllLines(file)).containsExactly(
+                "{\"timestamp\":\"2026-01-01T00:00:00Z\",\"bidder\":\"bidder1\"}",
+                "{\"timestamp\":\"2026-01-01T00:00:00Z\",\"bidder\":\"bidder2\"}");
+    }
+
+    @Test
+    public void offerShouldRollFileWhenItExceedsMaxSize() throws IOException {
+        // given
+        final HttpInteractionLogWriter target = new HttpInteractionLogWriter(
+                file, 1, 2, 10, jacksonMapper, metrics, CLOCK);
+
+        // when
+        target.offer(() -> mapper.createObjectNode().put("id", 1));
+        target.offer(() -> mapper.createObjectNode().put("id", 2));
+        target.offer(() -> mapper.createObjectNode().put("id", 3));
+        target.offer(() -> mapper.createObjectNode().put("id", 4));
+        target.close();
+
+        // then
+        assertThat(Files.readString(file)).hasLineCount(1).contains("\"id\":4");
+        assertThat(Files.readString(directory.resolve("interactions.log.1"))).hasLineCount(1).contains("\"id\":3");
+        assertThat(Files.readString(directory.resolve("interactions.log.2"))).hasLineCount(1).contains("\"id\":2");
+        assertThat(directory.resolve("interactions.log.3")).doesNotExist();
+    }
+
+    @Test
+    public void offerShouldDropEntryIfBufferIsFull() throws Exception {
+        // given
+        final HttpInteractionLogWriter target = new HttpInteractionLogWriter(
+                file, 1024 * 1024, 1, 1, jacksonMapper, metrics, CLOCK);
+
+        final CountDownLatch writingStarted = new CountDownLatch(1);
+        final CountDownLatch writingAllowed = new CountDownLatch(1);
+        target.offer(() -> {
+            writingStarted.countDown();
+            await(writingAllowed);
+            return mapper.createObjectNode().put("id", 1);
+        });
+        writingStarted.await();
+
+        // when
+        final boolean secondOffered = target.offer(() -> mapper.createObjectNode().put("id", 2));
+        final boolean thirdOffered = target.offer(() -> mapper.createObjectNode().put("id", 3));
+        writingAllowed.countDown();
+        target.close();
+
+        // then
+        assertThat(secondOffered).isTrue();
+        assertThat(thirdOffered).isFalse();
+        assertThat(Files.readAllLines(file)).hasSize(2);
+        verify(metrics).updateHttpInteractionLogMetric(MetricName.dropped, 1);
+        verify(metrics, times(2)).updateHttpInteractionLogMetric(MetricName.written, 1);
+    }
+
+    @Test
+    public void offerShouldSkipEntryWhichCouldNotBeBuilt() throws IOException {
+        // given
+        final HttpInteractionLogWriter target = new HttpInteractionLogWriter(
+                file, 1024 * 1024, 1, 10, jacksonMapper, metrics, CLOCK);
+
+        // when
+        target.offer(() -> {
+            throw new IllegalStateException("failed");
+        });
+        target.offer(() -> mapper.createObjectNode().put("id", 2));
+        target.close();
+
+        // then
+        assertThat(Files.readString(file)).hasLineCount(1).contains("\"id\":2");
+    }
+
+    @Test
+    public void offerShouldDropEntryAfterClose() {
+        // given
+        final HttpInteractionLogWriter target = new HttpInteractionLogWriter(
+                file, 1024 * 1024, 1, 10, jacksonMapper, metrics, CLOCK);
+        target.close();
+
+        // when
+        final boolean offered = target.offer(() -> mapper.createObjectNode());
+
+        // then
+        assertThat(offered).isFalse();
+        verify(metrics).updateHttpInteractionLogMetric(MetricName.dropped, 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
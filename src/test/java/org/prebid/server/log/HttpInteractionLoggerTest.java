@@ -1,5 +1,6 @@
 package org.prebid.server.log;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
@@ -9,6 +10,7 @@ import io.vertx.ext.web.RoutingContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
@@ -19,16 +21,19 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.settings.model.Account;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.singletonList;
 import static java.util.function.UnaryOperator.identity;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -37,6 +42,8 @@ public class HttpInteractionLoggerTest extends VertxTest {
 
     @Mock
     private Logger logger;
+    @Mock
+    private HttpInteractionLogWriter writer;
     @Mock(strictness = LENIENT)
     private RoutingContext routingContext;
     @Mock(strictness = LENIENT)
@@ -48,7 +55,7 @@ public class HttpInteractionLoggerTest extends VertxTest {
 
     @BeforeEach
     public void setUp() {
-        target = new HttpInteractionLogger(jacksonMapper);
+        target = new HttpInteractionLogger(jacksonMapper, null, 1d);
         given(routingContext.request()).willReturn(serverRequest);
         given(routingContext.body()).willReturn(requestBody);
         given(requestBody.asString()).willReturn("{}");
@@ -462,6 +469,90 @@ public class HttpInteractionLoggerTest extends VertxTest {
         verify(logger).info(anyString(), anyString(), anyString());
     }
 
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldNotLogIfInteractionIsNotSampled() {
+        // given
+        target = new HttpInteractionLogger(jacksonMapper, null, 0d);
+        ReflectionTestUtils.setField(target, "logger", logger);
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, null, null, 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Auction(givenAuctionContext(identity()), routingContext, 200, null);
+
+        // then
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldOfferJsonEntryToWriterIfPresent() {
+        // given
+        target = new HttpInteractionLogger(jacksonMapper, writer, 1d);
+        ReflectionTestUtils.setField(target, "logger", logger);
+        given(requestBody.asString()).willReturn("{\n  \"id\": \"1\"\n}");
+        given(writer.offer(any())).willReturn(true);
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, null, null, 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Auction(givenAuctionContext(identity()), routingContext, 400, "Invalid request");
+
+        // then
+        @SuppressWarnings("unchecked") final ArgumentCaptor<Supplier<ObjectNode>> entryCaptor =
+                ArgumentCaptor.forClass(Supplier.class);
+        verify(writer).offer(entryCaptor.capture());
+        assertThat(jacksonMapper.encodeToString(entryCaptor.getValue().get())).isEqualTo(
+                "{\"endpoint\":\"auction\",\"uri\":\"example.com\",\"status\":400,"
+                        + "\"requestBody\":{\"id\":\"1\"},\"responseBody\":\"Invalid request\"}");
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void maybeLogOpenrtb2AmpShouldNotCountEntriesDroppedByWriterTowardsLimit() {
+        // given
+        target = new HttpInteractionLogger(jacksonMapper, writer, 1d);
+        given(writer.offer(any())).willReturn(false, true);
+        final HttpLogSpec givenSpec = HttpLogSpec.of(HttpLogSpec.Endpoint.amp, null, null, null, 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Amp(givenAuctionContext(identity()), routingContext, 200, null);
+        target.maybeLogOpenrtb2Amp(givenAuctionContext(identity()), routingContext, 200, null);
+        target.maybeLogOpenrtb2Amp(givenAuctionContext(identity()), routingContext, 200, null);
+
+        // then
+        verify(writer, times(2)).offer(any());
+    }
+
+    @Test
+    public void maybeLogBidderRequestShouldOfferJsonEntryToWriterIfPresent() {
+        // given
+        target = new HttpInteractionLogger(jacksonMapper, writer, 1d);
+        given(writer.offer(any())).willReturn(true);
+        final AuctionContext givenAuctionContext = givenAuctionContext(identity())
+                .toBuilder()
+                .requestTypeMetric(MetricName.openrtb2web)
+                .build();
+        final ObjectNode impExt = mapper.createObjectNode().set("bidder", mapper.createObjectNode()
+                .set("param", TextNode.valueOf("value")));
+        final BidderRequest givenBidderRequest = givenBidderRequest(
+                bidRequestBuilder -> bidRequestBuilder
+                        .imp(singletonList(Imp.builder().ext(impExt).build())));
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, null, "bidderName", 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogBidderRequest(givenAuctionContext, givenBidderRequest);
+
+        // then
+        @SuppressWarnings("unchecked") final ArgumentCaptor<Supplier<ObjectNode>> entryCaptor =
+                ArgumentCaptor.forClass(Supplier.class);
+        verify(writer).offer(entryCaptor.capture());
+        assertThat(jacksonMapper.encodeToString(entryCaptor.getValue().get())).isEqualTo(
+                "{\"bidder\":\"bidderName\","
+                        + "\"requestBody\":{\"imp\":[{\"ext\":{\"bidderName\":{\"param\":\"value\"}}}]}}");
+    }
+
     private static AuctionContext givenAuctionContext(UnaryOperator<Account.AccountBuilder> accountBuilderCustomizer) {
         final Account account = accountBuilderCustomizer.apply(Account.builder()).build();
 
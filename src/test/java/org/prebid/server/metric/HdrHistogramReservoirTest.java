@@ -0,0 +1,128 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class HdrHistogramReservoirTest {
+
+    @Mock
+    private Clock clock;
+
+    private long currentTime;
+
+    private HdrHistogramReservoir reservoir;
+
+    @BeforeEach
+    public void setUp() {
+        currentTime = 1000L;
+        given(clock.millis()).willAnswer(invocation -> currentTime);
+
+        reservoir = new HdrHistogramReservoir(1L, 1_000_000L, 3, 100L, clock);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnPercentilesOfAllRecordedValues() {
+        // given
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(i);
+        }
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(1000);
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isEqualTo(1000);
+        assertThat(snapshot.getMedian()).isEqualTo(500);
+        assertThat(snapshot.get99thPercentile()).isEqualTo(990);
+        assertThat(snapshot.getMean()).isCloseTo(500.5, within(0.5));
+    }
+
+    @Test
+    public void getSnapshotShouldKeepValuesOfPreviousIntervalAndDropOlderOnes() {
+        // given
+        reservoir.update(1);
+        reservoir.getSnapshot();
+        currentTime += 100L;
+        reservoir.update(2);
+        reservoir.getSnapshot();
+        currentTime += 100L;
+        reservoir.update(3);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsExactly(2, 3);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnSameValuesToSubsequentReaders() {
+        // given
+        reservoir.update(10);
+        reservoir.update(20);
+
+        // when
+        final Snapshot snapshot1 = reservoir.getSnapshot();
+        final Snapshot snapshot2 = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot1.getValues()).containsExactly(10, 20);
+        assertThat(snapshot2.getValues()).containsExactly(10, 20);
+    }
+
+    @Test
+    public void cumulativeHistogramShouldContainAllValuesRecordedSinceCreation() {
+        // given
+        reservoir.update(1);
+        reservoir.getSnapshot();
+        currentTime += 500L;
+        reservoir.update(2);
+        reservoir.getSnapshot();
+        currentTime += 500L;
+        reservoir.update(3);
+
+        // when and then
+        assertThat(reservoir.cumulativeHistogram().getTotalCount()).isEqualTo(3);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateShouldRecordValuesAboveHighestTrackableOneAsHighestTrackable() {
+        // given
+        reservoir.update(5_000_000L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isCloseTo(1_000_000L, within(1_000L));
+    }
+
+    @Test
+    public void sizeShouldReturnNumberOfValuesInWindowAsOfLastSnapshot() {
+        // given
+        reservoir.update(1);
+        reservoir.update(2);
+        reservoir.getSnapshot();
+        reservoir.update(3);
+
+        // when and then
+        assertThat(reservoir.size()).isEqualTo(2);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(3);
+        assertThat(reservoir.size()).isEqualTo(3);
+    }
+}
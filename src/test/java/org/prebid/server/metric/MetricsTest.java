@@ -4,6 +4,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.iab.openrtb.request.Audio;
 import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.Imp;
@@ -20,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
 import org.prebid.server.hooks.execution.model.ExecutionStatus;
 import org.prebid.server.hooks.execution.model.Stage;
@@ -40,6 +42,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
@@ -457,6 +460,27 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("account.accountId.debug_requests").getCount()).isOne();
     }
 
+    @Test
+    public void updateAuctionStageMetricShouldUpdateGlobalAndAccountTimers() {
+        // when
+        metrics.updateAuctionStageMetric(Account.empty(ACCOUNT_ID), AuctionStage.stored_request, 1500L);
+
+        // then
+        assertThat(metricRegistry.timer("auction.stage.stored_request.duration").getCount()).isOne();
+        assertThat(metricRegistry.timer("account.accountId.auction.stage.stored_request.duration").getCount())
+                .isOne();
+    }
+
+    @Test
+    public void updateAuctionStageMetricShouldUpdateOnlyGlobalTimerIfAccountIsMissing() {
+        // when
+        metrics.updateAuctionStageMetric(null, AuctionStage.privacy, 1500L);
+
+        // then
+        assertThat(metricRegistry.timer("auction.stage.privacy.duration").getCount()).isOne();
+        verifyNoInteractions(accountMetricsVerbosityResolver);
+    }
+
     @Test
     public void updateAdapterRequestTypeAndNoCookieMetricsShouldUpdateMetricsAsExpected() {
 
@@ -585,6 +609,44 @@ public class MetricsTest {
                 .isEqualTo(2);
     }
 
+    @Test
+    public void updateAdapterRequestTrafficShapedMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updateAdapterRequestTrafficShapedMetrics(RUBICON, Account.empty(ACCOUNT_ID), MetricName.rate_limited);
+        metrics.updateAdapterRequestTrafficShapedMetrics(RUBICON, Account.empty(ACCOUNT_ID), MetricName.sampled_out);
+        metrics.updateAdapterRequestTrafficShapedMetrics(RUBICON, Account.empty(ACCOUNT_ID), MetricName.sampled_out);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.requests.rate_limited").getCount()).isOne();
+        assertThat(metricRegistry.counter("account.accountId.adapter.rubicon.requests.rate_limited").getCount())
+                .isOne();
+        assertThat(metricRegistry.counter("adapter.rubicon.requests.sampled_out").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("account.accountId.adapter.rubicon.requests.sampled_out").getCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void updateTimeoutNotificationDispatchMetricShouldIncrementMetrics() {
+        // when
+        metrics.updateTimeoutNotificationDispatchMetric(MetricName.sent, 3);
+        metrics.updateTimeoutNotificationDispatchMetric(MetricName.dropped, 1);
+
+        // then
+        assertThat(metricRegistry.counter("timeout_notification.sent").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.counter("timeout_notification.dropped").getCount()).isOne();
+    }
+
+    @Test
+    public void updateHttpInteractionLogMetricShouldIncrementMetrics() {
+        // when
+        metrics.updateHttpInteractionLogMetric(MetricName.written, 5);
+        metrics.updateHttpInteractionLogMetric(MetricName.dropped, 2);
+
+        // then
+        assertThat(metricRegistry.counter("http_interaction_log.written").getCount()).isEqualTo(5);
+        assertThat(metricRegistry.counter("http_interaction_log.dropped").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void updateAdapterRequestGotbidsMetricsShouldIncrementMetrics() {
         // when
@@ -1120,6 +1182,16 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("db_query_time").getCount()).isOne();
     }
 
+    @Test
+    public void updateDatabaseBatchMetricsShouldUpdateBatchSizeAndQueriesSaved() {
+        // when
+        metrics.updateDatabaseBatchMetrics(3);
+
+        // then
+        assertThat(metricRegistry.histogram("db_batch_size").getCount()).isOne();
+        assertThat(metricRegistry.counter("db_queries_saved").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void shouldCreateDatabaseCircuitBreakerGaugeMetric() {
         // when
@@ -1139,6 +1211,34 @@ public class MetricsTest {
                 .isEqualTo(1L);
     }
 
+    @Test
+    public void shouldCreateHttpClientCircuitBreakerRateGaugeMetrics() {
+        // when
+        metrics.createHttpClientCircuitBreakerRateGauges("id", () -> 50, () -> 10);
+
+        // then
+        assertThat(metricRegistry.gauge("circuit-breaker.http.named.id.failure_rate.count", () -> null).getValue())
+                .isEqualTo(50L);
+        assertThat(metricRegistry.gauge("circuit-breaker.http.named.id.slow_call_rate.count", () -> null).getValue())
+                .isEqualTo(10L);
+    }
+
+    @Test
+    public void shouldRemoveHttpClientCircuitBreakerGaugeMetrics() {
+        // given
+        metrics.createHttpClientCircuitBreakerGauge("id", () -> true);
+        metrics.createHttpClientCircuitBreakerRateGauges("id", () -> 50, () -> 10);
+
+        // when
+        metrics.removeHttpClientCircuitBreakerGauge("id");
+
+        // then
+        assertThat(metricRegistry.getGauges()).doesNotContainKeys(
+                "circuit-breaker.http.named.id.opened.count",
+                "circuit-breaker.http.named.id.failure_rate.count",
+                "circuit-breaker.http.named.id.slow_call_rate.count");
+    }
+
     @Test
     public void shouldCreateHttpClientCircuitBreakerNumberGaugeMetric() {
         // when
@@ -1276,6 +1376,85 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("prebid_cache.module_storage.module_code.read.err").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateModuleCacheMetricShouldIncrementMetric() {
+        // when
+        metrics.updateModuleCacheMetric("module_code", MetricName.hit);
+        metrics.updateModuleCacheMetric("module_code", MetricName.negative_hit);
+
+        // then
+        assertThat(metricRegistry.counter("modules.module.module_code.cache.hit").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("modules.module.module_code.cache.negative-hit").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateModuleCacheRequestTimeShouldUpdateTimer() {
+        // when
+        metrics.updateModuleCacheRequestTime("module_code", 42L);
+
+        // then
+        assertThat(metricRegistry.timer("modules.module.module_code.cache.request_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateModuleHistogramShouldUpdateHistogram() {
+        // when
+        metrics.updateModuleHistogram("module_code", MetricName.pipeline_depth, 5L);
+
+        // then
+        assertThat(metricRegistry.histogram("modules.module.module_code.pipeline-depth").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateModulePipelineTimeShouldUpdateTimer() {
+        // when
+        metrics.updateModulePipelineTime("module_code", 42L);
+
+        // then
+        assertThat(metricRegistry.timer("modules.module.module_code.pipeline-time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateModuleFunctionEvaluationTimeShouldUpdateTimer() {
+        // when
+        metrics.updateModuleFunctionEvaluationTime("module_code", "domain", 1500L);
+
+        // then
+        final Timer timer = metricRegistry.timer("modules.module.module_code.function.domain.evaluation-time");
+        assertThat(timer.getCount()).isEqualTo(1);
+        assertThat(timer.getSnapshot().getMax()).isEqualTo(1500L);
+    }
+
+    @Test
+    public void updateModuleFunctionReusedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateModuleFunctionReusedMetric("module_code", "domain");
+
+        // then
+        assertThat(metricRegistry.counter("modules.module.module_code.function.domain.reused").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void updateHooksTimerMetricShouldIncrementMetric() {
+        // when
+        metrics.updateHooksTimerMetric(MetricName.timer_armed);
+        metrics.updateHooksTimerMetric(MetricName.timer_cancelled);
+
+        // then
+        assertThat(metricRegistry.counter("modules.timer.armed").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("modules.timer.cancelled").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateHooksTimerLatenessShouldUpdateHistogram() {
+        // when
+        metrics.updateHooksTimerLateness(3L);
+
+        // then
+        assertThat(metricRegistry.histogram("modules.timer.lateness").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void shouldIncrementModuleStorageWritePrebidCacheRequestTimer() {
         // when
@@ -1422,6 +1601,83 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateSettingsCacheRefreshChangedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.update, 3);
+
+        // then
+        assertThat(metricRegistry.counter("settings.cache.stored-request.refresh.update.changed").getCount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void updateFileSyncerDownloadedBytesShouldIncrementMetric() {
+        // when
+        metrics.updateFileSyncerDownloadedBytes("geolocation", 1024L);
+
+        // then
+        assertThat(metricRegistry.counter("file-syncer.geolocation.downloaded-bytes").getCount()).isEqualTo(1024);
+    }
+
+    @Test
+    public void updateFileSyncerNotModifiedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateFileSyncerNotModifiedMetric("geolocation");
+
+        // then
+        assertThat(metricRegistry.counter("file-syncer.geolocation.not-modified").getCount()).isOne();
+    }
+
+    @Test
+    public void updateFileSyncerRebuildTimeShouldUpdateTimer() {
+        // when
+        metrics.updateFileSyncerRebuildTime("geolocation", 100L);
+
+        // then
+        assertThat(metricRegistry.timer("file-syncer.geolocation.rebuild-time").getCount()).isOne();
+    }
+
+    @Test
+    public void updateStartupPhaseTimeShouldUpdateTimer() {
+        // when
+        metrics.updateStartupPhaseTime(MetricName.bidders, 100L);
+
+        // then
+        assertThat(metricRegistry.timer("startup.bidders").getCount()).isOne();
+    }
+
+    @Test
+    public void updatePrometheusMetricsShouldUpdateScrapeTimeAndCollapsedLabelValues() {
+        // when
+        metrics.updatePrometheusScrapeTime(100L);
+        metrics.updatePrometheusCollapsedLabelValuesMetric(3);
+
+        // then
+        assertThat(metricRegistry.timer("prometheus.scrape-time").getCount()).isOne();
+        assertThat(metricRegistry.counter("prometheus.collapsed-label-values").getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void updateBlockingExecutorQueueAndExecutionTimeShouldUpdateTimers() {
+        // when
+        metrics.updateBlockingExecutorQueueTime("circuit-breaker", 10L);
+        metrics.updateBlockingExecutorExecutionTime("circuit-breaker", 20L);
+
+        // then
+        assertThat(metricRegistry.timer("blocking-executor.circuit-breaker.queue-time").getCount()).isOne();
+        assertThat(metricRegistry.timer("blocking-executor.circuit-breaker.execution-time").getCount()).isOne();
+    }
+
+    @Test
+    public void updateBlockingExecutorRejectedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateBlockingExecutorRejectedMetric("file-syncer");
+
+        // then
+        assertThat(metricRegistry.counter("blocking-executor.file-syncer.rejected").getCount()).isOne();
+    }
+
     @Test
     public void updateSettingsCacheRefreshErrorMetricShouldIncrementMetric() {
         // when
@@ -111,6 +111,19 @@ public class UpdatableMetricsTest {
         assertThat(metricRegistry.timer("request_time").getSnapshot().getValues()).containsOnly(1_000_000_000L);
     }
 
+    @Test
+    public void updateHdrTimerShouldCreateHdrTimer() {
+        // given
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+
+        // when
+        updatableMetrics.updateHdrTimer(MetricName.request_time, 1000L);
+
+        // then
+        assertThat(metricRegistry.getTimers().get("request_time")).isInstanceOf(HdrTimer.class);
+        assertThat(metricRegistry.timer("request_time").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateHistogramShouldCreateMetricNameUsingProvidedCreator() {
         // given
@@ -0,0 +1,69 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.Type;
+import io.prometheus.client.dropwizard.samplebuilder.DefaultSampleBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.metric.HdrTimer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+public class HdrTimerCollectorTest {
+
+    private MetricRegistry metricRegistry;
+
+    private HdrTimerCollector target;
+
+    @BeforeEach
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+
+        target = new HdrTimerCollector(metricRegistry, new DefaultSampleBuilder(), asList(100L, 10L));
+    }
+
+    @Test
+    public void collectShouldExportHdrTimersAsHistograms() {
+        // given
+        final HdrTimer timer = metricRegistry.register("adapter.bidder.request_time", new HdrTimer());
+        timer.update(5, TimeUnit.MILLISECONDS);
+        timer.update(50, TimeUnit.MILLISECONDS);
+        timer.update(500, TimeUnit.MILLISECONDS);
+
+        // when
+        final List<MetricFamilySamples> result = target.collect();
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().name).isEqualTo("adapter_bidder_request_time_hdr");
+        assertThat(result.getFirst().type).isEqualTo(Type.HISTOGRAM);
+        assertThat(result.getFirst().samples)
+                .extracting(sample -> sample.name, sample -> sample.labelValues)
+                .containsExactly(
+                        tuple("adapter_bidder_request_time_hdr_bucket", List.of("0.01")),
+                        tuple("adapter_bidder_request_time_hdr_bucket", List.of("0.1")),
+                        tuple("adapter_bidder_request_time_hdr_bucket", List.of("+Inf")),
+                        tuple("adapter_bidder_request_time_hdr_sum", List.of()),
+                        tuple("adapter_bidder_request_time_hdr_count", List.of()));
+        final List<Double> values = result.getFirst().samples.stream().map(sample -> sample.value).toList();
+        assertThat(values.subList(0, 3)).containsExactly(1.0, 2.0, 3.0);
+        assertThat(values.get(3)).isCloseTo(0.555, within(0.001));
+        assertThat(values.get(4)).isEqualTo(3.0);
+    }
+
+    @Test
+    public void collectShouldSkipOrdinaryTimers() {
+        // given
+        metricRegistry.timer("request_time").update(5, TimeUnit.MILLISECONDS);
+
+        // when and then
+        assertThat(target.collect()).isEmpty();
+    }
+}
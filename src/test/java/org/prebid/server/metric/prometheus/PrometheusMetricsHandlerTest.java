@@ -0,0 +1,92 @@
+package org.prebid.server.metric.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.util.HttpUtil;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class PrometheusMetricsHandlerTest {
+
+    @Mock
+    private PrometheusTextExporter exporter;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerResponse httpResponse;
+
+    private PrometheusMetricsHandler target;
+
+    @BeforeEach
+    public void setUp() {
+        given(routingContext.response()).willReturn(httpResponse);
+        given(httpResponse.putHeader(any(CharSequence.class), any(CharSequence.class))).willReturn(httpResponse);
+
+        target = new PrometheusMetricsHandler(exporter, new CollectorRegistry(), metrics, Clock.systemUTC());
+    }
+
+    @Test
+    public void handleShouldRespondWithExportedMetricsAndUpdateScrapeTime() {
+        // given
+        given(exporter.write(any())).willAnswer(invocation -> {
+            invocation.<StringBuilder>getArgument(0).append("requests 1.0\n");
+            return 0;
+        });
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        final ArgumentCaptor<Buffer> bodyCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpResponse).putHeader(HttpUtil.CONTENT_TYPE_HEADER, TextFormat.CONTENT_TYPE_004);
+        verify(httpResponse).end(bodyCaptor.capture());
+        assertThat(bodyCaptor.getValue().toString()).isEqualTo("requests 1.0\n");
+        verify(metrics).updatePrometheusScrapeTime(anyLong());
+        verify(metrics, never()).updatePrometheusCollapsedLabelValuesMetric(anyLong());
+    }
+
+    @Test
+    public void handleShouldReuseBufferAcrossScrapes() {
+        // given
+        given(exporter.write(any()))
+                .willAnswer(invocation -> {
+                    invocation.<StringBuilder>getArgument(0).append("first\n");
+                    return 2;
+                })
+                .willAnswer(invocation -> {
+                    invocation.<StringBuilder>getArgument(0).append("second\n");
+                    return 0;
+                });
+
+        // when
+        target.handle(routingContext);
+        target.handle(routingContext);
+
+        // then
+        final ArgumentCaptor<Buffer> bodyCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpResponse, times(2)).end(bodyCaptor.capture());
+        assertThat(bodyCaptor.getAllValues()).extracting(Buffer::toString).containsExactly("first\n", "second\n");
+        verify(metrics).updatePrometheusCollapsedLabelValuesMetric(2);
+    }
+}
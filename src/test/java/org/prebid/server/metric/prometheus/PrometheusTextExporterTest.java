@@ -0,0 +1,200 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.dropwizard.samplebuilder.CustomMappingSampleBuilder;
+import io.prometheus.client.dropwizard.samplebuilder.DefaultSampleBuilder;
+import io.prometheus.client.dropwizard.samplebuilder.MapperConfig;
+import io.prometheus.client.dropwizard.samplebuilder.SampleBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PrometheusTextExporterTest {
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+    }
+
+    @Test
+    public void writeShouldWriteMetricsInPrometheusTextFormat() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(
+                metricRegistry, new DefaultSampleBuilder(), 10);
+
+        metricRegistry.counter("requests").inc(3);
+        metricRegistry.meter("events").mark(2);
+        metricRegistry.gauge("opened", () -> () -> true);
+        metricRegistry.timer("request_time").update(1, TimeUnit.SECONDS);
+
+        // when
+        final List<String> result = write(target);
+
+        // then
+        assertThat(result).contains(
+                "# TYPE requests gauge",
+                "requests 3.0",
+                "# TYPE events counter",
+                "events_total 2.0",
+                "# TYPE opened gauge",
+                "opened 1.0",
+                "# HELP request_time Generated from Dropwizard metric import",
+                "# TYPE request_time summary",
+                "request_time{quantile=\"0.5\"} 1.0",
+                "request_time{quantile=\"0.999\"} 1.0",
+                "request_time_count 1.0");
+    }
+
+    @Test
+    public void writeShouldSumUpMetricsWithLabelValuesOverLimitUnderOtherValue() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(
+                metricRegistry, givenAccountMappingSampleBuilder(), 2);
+
+        metricRegistry.counter("account.a.requests").inc(1);
+        write(target);
+        metricRegistry.counter("account.b.requests").inc(2);
+        write(target);
+        metricRegistry.counter("account.c.requests").inc(3);
+        metricRegistry.counter("account.d.requests").inc(4);
+        metricRegistry.gauge("account.e.requests", () -> () -> 5);
+
+        // when
+        final int collapsed = target.write(new StringBuilder());
+        final List<String> result = write(target);
+
+        // then
+        assertThat(collapsed).isEqualTo(3);
+        assertThat(result).filteredOn(line -> line.startsWith("account_requests"))
+                .containsExactlyInAnyOrder(
+                        "account_requests{account=\"a\"} 1.0",
+                        "account_requests{account=\"b\"} 2.0",
+                        "account_requests{account=\"other\"} 7.0");
+    }
+
+    @Test
+    public void writeShouldReleaseLabelValuesOfRemovedMetrics() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(
+                metricRegistry, givenAccountMappingSampleBuilder(), 2);
+
+        for (int i = 0; i < 10; i++) {
+            metricRegistry.counter("account.a%d.requests".formatted(i)).inc();
+            metricRegistry.counter("account.b%d.requests".formatted(i)).inc();
+            write(target);
+            metricRegistry.remove("account.a%d.requests".formatted(i));
+            metricRegistry.remove("account.b%d.requests".formatted(i));
+        }
+        metricRegistry.counter("account.c.requests").inc();
+        metricRegistry.counter("account.d.requests").inc();
+
+        // when
+        final int collapsed = target.write(new StringBuilder());
+        final List<String> result = write(target);
+
+        // then
+        assertThat(collapsed).isZero();
+        assertThat(result).filteredOn(line -> line.startsWith("account_requests"))
+                .containsExactlyInAnyOrder(
+                        "account_requests{account=\"c\"} 1.0",
+                        "account_requests{account=\"d\"} 1.0");
+    }
+
+    @Test
+    public void writeShouldLimitLabelValuesOfEachFamilySeparately() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(metricRegistry,
+                new CustomMappingSampleBuilder(List.of(
+                        new MapperConfig("account.*.requests", "account_requests", Map.of("account", "${0}")),
+                        new MapperConfig("account.*.errors", "account_errors", Map.of("account", "${0}")))),
+                1);
+
+        metricRegistry.counter("account.a.requests").inc();
+        metricRegistry.counter("account.b.errors").inc();
+
+        // when
+        final List<String> result = write(target);
+
+        // then
+        assertThat(result).contains(
+                "account_requests{account=\"a\"} 1.0",
+                "account_errors{account=\"b\"} 1.0");
+    }
+
+    @Test
+    public void writeShouldWriteUntypedFamilyWhenItMixesMetricsOfDifferentTypes() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(
+                metricRegistry, givenAccountMappingSampleBuilder(), 10);
+
+        metricRegistry.counter("account.a.requests").inc();
+        metricRegistry.meter("account.b.requests").mark();
+
+        // when
+        final List<String> result = write(target);
+
+        // then
+        assertThat(result).contains("# TYPE account_requests untyped");
+    }
+
+    @Test
+    public void writeShouldEscapeLabelValues() {
+        // given
+        final PrometheusTextExporter target = new PrometheusTextExporter(
+                metricRegistry, givenAccountMappingSampleBuilder(), 10);
+
+        metricRegistry.counter("account.a\"b\\c.requests").inc();
+
+        // when
+        final List<String> result = write(target);
+
+        // then
+        assertThat(result).contains("account_requests{account=\"a\\\"b\\\\c\"} 1.0");
+    }
+
+    @Test
+    public void writeShouldResolveMetricNameOnlyOnce() {
+        // given
+        final SampleBuilder sampleBuilder = mock(SampleBuilder.class);
+        given(sampleBuilder.createSample(any(), any(), anyList(), anyList(), anyDouble()))
+                .willReturn(new Sample("requests", Collections.emptyList(), Collections.emptyList(), 0));
+
+        final PrometheusTextExporter target = new PrometheusTextExporter(metricRegistry, sampleBuilder, 10);
+        metricRegistry.counter("requests").inc();
+
+        // when
+        write(target);
+        final List<String> result = write(target);
+
+        // then
+        verify(sampleBuilder).createSample(eq("requests"), eq(""), anyList(), anyList(), anyDouble());
+        assertThat(result).contains("requests 1.0");
+    }
+
+    private static SampleBuilder givenAccountMappingSampleBuilder() {
+        return new CustomMappingSampleBuilder(Collections.singletonList(
+                new MapperConfig("account.*.requests", "account_requests", Map.of("account", "${0}"))));
+    }
+
+    private static List<String> write(PrometheusTextExporter target) {
+        final StringBuilder out = new StringBuilder();
+        target.write(out);
+        return List.of(out.toString().split("\n"));
+    }
+}
@@ -82,7 +82,8 @@ public class DatabaseApplicationSettingsTest extends VertxTest {
                 SELECT_QUERY,
                 SELECT_QUERY,
                 SELECT_PROFILES_QUERY,
-                SELECT_RESPONSE_QUERY);
+                SELECT_RESPONSE_QUERY,
+                null);
     }
 
     @Test
@@ -75,4 +75,18 @@ public class SettingsCacheTest {
         assertThat(settingsCache.getImpCache()).hasSize(1)
                 .containsEntry("impId2", singleton(StoredItem.of(null, "impValue2")));
     }
+
+    @Test
+    public void containsRequestShouldReturnTrueOnlyForSavedUnchangedValue() {
+        // given
+        settingsCache.save(singletonMap("reqId1", "reqValue1"), singletonMap("impId1", "impValue1"));
+        settingsCache.saveRequestCache("1001", "reqId2", "reqValue2");
+
+        // when and then
+        assertThat(settingsCache.containsRequest("reqId1", "reqValue1")).isTrue();
+        assertThat(settingsCache.containsRequest("reqId1", "changedValue")).isFalse();
+        assertThat(settingsCache.containsRequest("reqId2", "reqValue2")).isFalse();
+        assertThat(settingsCache.containsImp("impId1", "impValue1")).isTrue();
+        assertThat(settingsCache.containsImp("reqId1", "reqValue1")).isFalse();
+    }
 }
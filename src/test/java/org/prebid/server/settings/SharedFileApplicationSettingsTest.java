@@ -0,0 +1,383 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.helper.SharedSettingsFile;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountStatus;
+import org.prebid.server.settings.model.StoredDataResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class SharedFileApplicationSettingsTest extends VertxTest {
+
+    @Mock
+    private ApplicationSettings delegateSettings;
+    @Mock(strictness = LENIENT)
+    private SharedSettingsFile file;
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+
+    private TimeoutFactory timeoutFactory;
+
+    private Timeout timeout;
+
+    @BeforeEach
+    public void setUp() {
+        timeoutFactory = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+        timeout = timeoutFactory.create(500L);
+
+        given(vertx.executeBlocking(any(Callable.class)))
+                .willAnswer(invocation -> Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call()));
+    }
+
+    @Test
+    public void getAccountByIdShouldReturnAccountFromFileForReader() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        final Account account = Account.builder().id("accountId").build();
+        given(file.get(anyString())).willReturn(jacksonMapper.encodeToBytes(account));
+
+        // when
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(account);
+        verify(file).get("account/0//accountId");
+        verifyNoInteractions(delegateSettings);
+        verify(metrics).updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.hit);
+    }
+
+    @Test
+    public void getAccountByIdShouldReuseAccountDecodedFromTheSameSnapshot() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        final Account account = Account.builder().id("accountId").build();
+        final Account updatedAccount = Account.builder().id("accountId").status(AccountStatus.inactive).build();
+        given(file.generation()).willReturn(1L, 1L, 2L);
+        given(file.get(anyString())).willReturn(
+                jacksonMapper.encodeToBytes(account), jacksonMapper.encodeToBytes(updatedAccount));
+
+        // when
+        final Account first = target.getAccountById("accountId", timeout).result();
+        final Account second = target.getAccountById("accountId", timeout).result();
+        final Account third = target.getAccountById("accountId", timeout).result();
+
+        // then
+        assertThat(first).isEqualTo(account);
+        assertThat(second).isSameAs(first);
+        assertThat(third).isEqualTo(updatedAccount);
+        verify(file, times(2)).get("account/0//accountId");
+    }
+
+    @Test
+    public void getAccountByIdShouldFallbackToDelegateIfAccountIsMissingInFile() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        final Account account = Account.builder().id("accountId").build();
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(Future.succeededFuture(account));
+
+        // when
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(account);
+        verify(metrics).updateSettingsCacheEventMetric(MetricName.shared_settings, MetricName.miss);
+    }
+
+    @Test
+    public void getAccountByIdShouldFallbackToDelegateIfAccountInFileIsMalformed() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        final Account account = Account.builder().id("accountId").build();
+        given(file.get(anyString())).willReturn("{".getBytes(StandardCharsets.UTF_8));
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(Future.succeededFuture(account));
+
+        // when
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(account);
+    }
+
+    @Test
+    public void getAccountByIdShouldServeAccountFetchedByWriterWithoutFile() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        final Account account = Account.builder().id("accountId").build();
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(Future.succeededFuture(account));
+
+        // when
+        target.getAccountById("accountId", timeout);
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(account);
+        verify(delegateSettings).getAccountById(eq("accountId"), any());
+        verify(file, never()).get(anyString());
+    }
+
+    @Test
+    public void getStoredDataShouldRequestOnlyIdsMissingInFile() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        given(file.get("request/9/accountId/reqid")).willReturn("reqValue".getBytes(StandardCharsets.UTF_8));
+        given(delegateSettings.getStoredData(any(), any(), any(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(emptyMap(), singletonMap("impid", "impValue"), emptyList())));
+
+        // when
+        final Future<StoredDataResult<String>> future =
+                target.getStoredData("accountId", singleton("reqid"), singleton("impid"), timeout);
+
+        // then
+        verify(delegateSettings).getStoredData(eq("accountId"), eq(emptySet()), eq(singleton("impid")), any());
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(
+                singletonMap("reqid", "reqValue"), singletonMap("impid", "impValue"), emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldNotCallDelegateIfAllIdsAreFoundInFile() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        given(file.get("amp-request/0//reqid")).willReturn("reqValue".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final Future<StoredDataResult<String>> future =
+                target.getAmpStoredData(null, singleton("reqid"), emptySet(), timeout);
+
+        // then
+        verifyNoInteractions(delegateSettings);
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(
+                singletonMap("reqid", "reqValue"), emptyMap(), emptyList()));
+    }
+
+    @Test
+    public void initializeShouldSchedulePublishingAndRefreshingForWriter() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+
+        // when
+        target.initialize(Promise.promise());
+
+        // then
+        verify(vertx).setPeriodic(eq(1000L), any());
+        verify(vertx).setPeriodic(eq(60000L), any());
+    }
+
+    @Test
+    public void readerShouldReportLookedUpKeysToWriter() throws Exception {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(false);
+        target.initialize(Promise.promise());
+        given(file.get(anyString())).willReturn("reqValue".getBytes(StandardCharsets.UTF_8));
+        target.getStoredData("accountId", singleton("reqid"), emptySet(), timeout);
+        given(delegateSettings.getAccountById(anyString(), any()))
+                .willReturn(Future.failedFuture(new PreBidException("Account not found")));
+        given(file.get("account/0//accountId")).willReturn(null);
+        target.getAccountById("accountId", timeout);
+
+        // when
+        runPeriodic(1000L);
+        runPeriodic(1000L);
+
+        // then
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        verify(file).requestKeys(keysCaptor.capture());
+        assertThat(keysCaptor.getValue())
+                .containsExactlyInAnyOrder("request/9/accountId/reqid", "account/0//accountId");
+    }
+
+    @Test
+    public void writerShouldPublishEntriesRequestedByReaders() throws Exception {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        given(file.takeRequestedKeys(anyInt())).willReturn(Set.of("account/0//accountId", "imp/9/accountId/impid"));
+        final Account account = Account.builder().id("accountId").build();
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(Future.succeededFuture(account));
+        given(delegateSettings.getStoredData(any(), any(), any(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(emptyMap(), singletonMap("impid", "impValue"), emptyList())));
+
+        // when
+        runPeriodic(1000L);
+
+        // then
+        verify(delegateSettings).getAccountById(eq("accountId"), any());
+        verify(delegateSettings).getStoredData(eq("accountId"), eq(emptySet()), eq(singleton("impid")), any());
+        final Map<String, byte[]> published = capturePublishedEntries();
+        assertThat(published).containsOnlyKeys("account/0//accountId", "imp/9/accountId/impid");
+        assertThat(published.get("account/0//accountId")).isEqualTo(jacksonMapper.encodeToBytes(account));
+        assertThat(published.get("imp/9/accountId/impid")).isEqualTo("impValue".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writerShouldNotFetchRequestedEntriesItAlreadyHas() throws Exception {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        given(delegateSettings.getAccountById(anyString(), any()))
+                .willReturn(Future.succeededFuture(Account.builder().id("accountId").build()));
+        target.getAccountById("accountId", timeout);
+        given(file.takeRequestedKeys(anyInt())).willReturn(Set.of("account/0//accountId"));
+
+        // when
+        runPeriodic(1000L);
+
+        // then
+        verify(delegateSettings).getAccountById(eq("accountId"), any());
+    }
+
+    @Test
+    public void refreshShouldReplacePublishedEntriesWithFetchedFromDelegate() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        final Account account = Account.builder().id("accountId").build();
+        final Account updatedAccount = Account.builder().id("accountId").status(AccountStatus.inactive).build();
+        given(delegateSettings.getAccountById(anyString(), any()))
+                .willReturn(Future.succeededFuture(account), Future.succeededFuture(updatedAccount));
+        target.getAccountById("accountId", timeout);
+
+        // when
+        runPeriodic(60000L);
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).result()).isEqualTo(updatedAccount);
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), any());
+    }
+
+    @Test
+    public void refreshShouldRemoveEntriesNotFoundByDelegate() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        given(delegateSettings.getStoredData(any(), any(), any(), any())).willReturn(
+                Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("reqid", "reqValue"), singletonMap("impid", "impValue"), emptyList())),
+                Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("reqid", "updatedValue"), emptyMap(), emptyList())));
+        target.getStoredData("accountId", singleton("reqid"), singleton("impid"), timeout);
+
+        // when
+        runPeriodic(60000L);
+        runPeriodic(1000L);
+
+        // then
+        verify(delegateSettings, times(2))
+                .getStoredData(eq("accountId"), eq(singleton("reqid")), eq(singleton("impid")), any());
+        final Map<String, byte[]> published = capturePublishedEntries();
+        assertThat(published).containsOnlyKeys("request/9/accountId/reqid");
+        assertThat(published.get("request/9/accountId/reqid"))
+                .isEqualTo("updatedValue".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void refreshShouldRemoveAccountNotFoundByDelegate() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(
+                Future.succeededFuture(Account.builder().id("accountId").build()),
+                Future.failedFuture(new PreBidException("Account not found")));
+        target.getAccountById("accountId", timeout);
+
+        // when
+        runPeriodic(60000L);
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).failed()).isTrue();
+        verify(delegateSettings, times(3)).getAccountById(eq("accountId"), any());
+    }
+
+    @Test
+    public void refreshShouldKeepEntriesIfDelegateFailed() {
+        // given
+        final SharedFileApplicationSettings target = givenTarget(true);
+        target.initialize(Promise.promise());
+        final Account account = Account.builder().id("accountId").build();
+        given(delegateSettings.getAccountById(anyString(), any())).willReturn(
+                Future.succeededFuture(account),
+                Future.failedFuture(new RuntimeException("Timeout")));
+        target.getAccountById("accountId", timeout);
+
+        // when
+        runPeriodic(60000L);
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).result()).isEqualTo(account);
+        verify(metrics).updateSettingsCacheRefreshErrorMetric(MetricName.shared_settings, MetricName.update);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> capturePublishedEntries() {
+        final ArgumentCaptor<Map<String, byte[]>> entriesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(file).publish(entriesCaptor.capture());
+        return entriesCaptor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPeriodic(long periodMs) {
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, atLeastOnce()).setPeriodic(eq(periodMs), handlerCaptor.capture());
+        handlerCaptor.getValue().handle(0L);
+    }
+
+    private SharedFileApplicationSettings givenTarget(boolean writer) {
+        given(file.isWriter()).willReturn(writer);
+        return new SharedFileApplicationSettings(
+                delegateSettings,
+                file,
+                360,
+                100,
+                1000L,
+                60000L,
+                500L,
+                vertx,
+                timeoutFactory,
+                jacksonMapper,
+                metrics);
+    }
+}
@@ -0,0 +1,354 @@
+package org.prebid.server.settings.helper;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.vertx.database.DatabaseClient;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+import static org.mockito.quality.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseStoredDataBatcherTest {
+
+    private static final String QUERY =
+            "SELECT accountId, id, data, type FROM stored_data WHERE id IN (%REQUEST_ID_LIST%, %IMP_ID_LIST%)";
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private ParametrizedQueryHelper parametrizedQueryHelper;
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    private DatabaseStoredDataBatcher target;
+
+    private Timeout timeout;
+
+    @BeforeEach
+    public void setUp() {
+        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(5000L);
+        target = new DatabaseStoredDataBatcher(databaseClient, parametrizedQueryHelper, vertx, 10L, 100, metrics);
+    }
+
+    @Test
+    public void fetchShouldMergeConcurrentLookupsIntoSingleQueryAndReturnOnlyRequestedRows() {
+        // given
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 4, 1)).willReturn("batched query");
+        givenQueryResult(
+                givenRow("accountId", "req1", "reqData1", "request"),
+                givenRow("accountId", "req2", "reqData2", "request"),
+                givenRow("accountId", "req3", "reqData3", "request"),
+                givenRow("accountId", "imp1", "impData1", "imp"));
+
+        // when
+        final Future<StoredDataResult<String>> first = fetch(Set.of("req1"), Set.of("imp1"));
+        final Future<StoredDataResult<String>> second = fetch(Set.of("req2"), emptySet());
+        final Future<StoredDataResult<String>> third = fetch(Set.of("req3"), emptySet());
+        fireWindowTimer();
+
+        // then
+        verify(databaseClient).executeQuery(
+                eq("batched query"),
+                eq(List.of("req1", "req2", "req3", "req3", "imp1")),
+                any(),
+                eq(timeout));
+        verify(metrics).updateDatabaseBatchMetrics(3);
+
+        assertThat(first.result().getStoredIdToRequest()).containsOnly(entry("req1", "reqData1"));
+        assertThat(first.result().getStoredIdToImp()).containsOnly(entry("imp1", "impData1"));
+        assertThat(first.result().getErrors()).isEmpty();
+        assertThat(second.result().getStoredIdToRequest()).containsOnly(entry("req2", "reqData2"));
+        assertThat(second.result().getStoredIdToImp()).isEmpty();
+        assertThat(third.result().getStoredIdToRequest()).containsOnly(entry("req3", "reqData3"));
+    }
+
+    @Test
+    public void fetchShouldReportMissingIdsOfEachLookupSeparately() {
+        // given
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 2, 0)).willReturn("batched query");
+        givenQueryResult(givenRow("accountId", "req1", "reqData1", "request"));
+
+        // when
+        final Future<StoredDataResult<String>> first = fetch(Set.of("req1"), emptySet());
+        final Future<StoredDataResult<String>> second = fetch(Set.of("req2"), emptySet());
+        fireWindowTimer();
+
+        // then
+        assertThat(first.result().getErrors()).isEmpty();
+        assertThat(second.result().getStoredIdToRequest()).isEmpty();
+        assertThat(second.result().getErrors()).containsOnly("No stored requests for ids [req2] were found");
+    }
+
+    @Test
+    public void fetchShouldSendQueryWithoutWaitingForWindowWhenBatchIsFull() {
+        // given
+        target = new DatabaseStoredDataBatcher(databaseClient, parametrizedQueryHelper, vertx, 10L, 2, metrics);
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 1, 1)).willReturn("batched query");
+        givenQueryResult(givenRow("accountId", "req1", "reqData1", "request"));
+
+        // when
+        final Future<StoredDataResult<String>> result = fetch(Set.of("req1"), Set.of("imp1"));
+
+        // then
+        verify(vertx, never()).setTimer(anyLong(), any());
+        assertThat(result.result().getStoredIdToRequest()).containsOnly(entry("req1", "reqData1"));
+    }
+
+    @Test
+    public void fetchShouldPassColumnsOfBatchedQueryResultToMapper() {
+        // given
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 1, 0)).willReturn("batched query");
+        final RowSet<Row> rowSet = givenRowSet(givenRow("accountId", "req1", "reqData1", "request"));
+        given(rowSet.columnsNames()).willReturn(List.of("accountId", "id", "data", "type"));
+        givenQueryResult(rowSet);
+
+        // when
+        final Future<List<String>> result = target.fetch(
+                QUERY, Set.of("req1"), emptySet(), RowSet::columnsNames, timeout);
+        fireWindowTimer();
+
+        // then
+        assertThat(result.result()).containsExactly("accountId", "id", "data", "type");
+    }
+
+    @Test
+    public void fetchShouldFailAllLookupsWhenQueryFailed() {
+        // given
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 2, 0)).willReturn("batched query");
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willReturn(Future.failedFuture("Database error"));
+
+        // when
+        final Future<StoredDataResult<String>> first = fetch(Set.of("req1"), emptySet());
+        final Future<StoredDataResult<String>> second = fetch(Set.of("req2"), emptySet());
+        fireWindowTimer();
+
+        // then
+        assertThat(first.failed()).isTrue();
+        assertThat(first.cause()).hasMessage("Database error");
+        assertThat(second.failed()).isTrue();
+        assertThat(second.cause()).hasMessage("Database error");
+    }
+
+    @Test
+    public void fetchShouldFailWithoutQueryWhenTimeoutExpired() {
+        // given
+        final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        final Timeout expiredTimeout = new TimeoutFactory(clock)
+                .create(clock.instant().minusMillis(1500L).toEpochMilli(), 1000L);
+
+        // when
+        final Future<StoredDataResult<String>> result = target.fetch(
+                QUERY, Set.of("req1"), emptySet(), this::map, expiredTimeout);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).hasMessage("Timed out while executing SQL query");
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+
+    @Test
+    public void fetchShouldCompleteLookupOnContextOfCaller() throws Exception {
+        // given
+        target = new DatabaseStoredDataBatcher(databaseClient, parametrizedQueryHelper, vertx, 10L, 2, metrics);
+        given(parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(QUERY, 1, 1)).willReturn("batched query");
+        final Promise<RowSet<Row>> queryPromise = Promise.promise();
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willAnswer(invocation -> queryPromise.future());
+
+        final Vertx realVertx = Vertx.vertx();
+        try {
+            final Context callerContext = realVertx.getOrCreateContext();
+            final CompletableFuture<Context> completedOn = new CompletableFuture<>();
+            final CountDownLatch requested = new CountDownLatch(1);
+            callerContext.runOnContext(ignored -> {
+                fetch(Set.of("req1"), Set.of("imp1"))
+                        .onComplete(result -> completedOn.complete(Vertx.currentContext()));
+                requested.countDown();
+            });
+            requested.await();
+
+            // when
+            queryPromise.complete(givenRowSet(givenRow("accountId", "req1", "reqData1", "request")));
+
+            // then
+            assertThat(completedOn.get(1, TimeUnit.SECONDS)).isSameAs(callerContext);
+        } finally {
+            realVertx.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalesceShouldShareInProgressQueryBetweenCallersWithSameKey() {
+        // given
+        final Promise<String> promise = Promise.promise();
+        final Supplier<Future<String>> querySupplier = mock(Supplier.class);
+        given(querySupplier.get()).willReturn(promise.future());
+
+        // when
+        final Future<String> first = target.coalesce("accountId", querySupplier, timeout);
+        final Future<String> second = target.coalesce("accountId", querySupplier, timeout);
+        promise.complete("account");
+
+        // then
+        verify(querySupplier).get();
+        verify(metrics).updateDatabaseBatchMetrics(2);
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.result()).isEqualTo("account");
+        assertThat(second.result()).isEqualTo("account");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalesceShouldStartNewQueryWhenPreviousOneCompleted() {
+        // given
+        final Supplier<Future<String>> querySupplier = mock(Supplier.class);
+        given(querySupplier.get()).willReturn(Future.succeededFuture("account"));
+
+        // when
+        target.coalesce("accountId", querySupplier, timeout);
+        target.coalesce("accountId", querySupplier, timeout);
+
+        // then
+        verify(querySupplier, times(2)).get();
+        verify(metrics, times(2)).updateDatabaseBatchMetrics(1);
+    }
+
+    @Test
+    public void coalesceShouldCompleteSharedQueryOnContextOfEachCaller() throws Exception {
+        // given
+        final Promise<String> queryPromise = Promise.promise();
+        final Vertx realVertx = Vertx.vertx();
+        try {
+            final Context callerContext = realVertx.getOrCreateContext();
+            final CompletableFuture<Context> completedOn = new CompletableFuture<>();
+            final CountDownLatch requested = new CountDownLatch(1);
+            callerContext.runOnContext(ignored -> {
+                target.coalesce("accountId", queryPromise::future, timeout)
+                        .onComplete(result -> completedOn.complete(Vertx.currentContext()));
+                requested.countDown();
+            });
+            requested.await();
+
+            // when
+            final Future<String> result = target.coalesce("accountId", () -> Future.failedFuture("unused"), timeout);
+            queryPromise.complete("account");
+
+            // then
+            assertThat(completedOn.get(1, TimeUnit.SECONDS)).isSameAs(callerContext);
+            assertThat(result.toCompletionStage().toCompletableFuture().get(1, TimeUnit.SECONDS))
+                    .isEqualTo("account");
+        } finally {
+            realVertx.close();
+        }
+    }
+
+    private Future<StoredDataResult<String>> fetch(Set<String> requestIds, Set<String> impIds) {
+        return target.fetch(
+                QUERY,
+                requestIds,
+                impIds,
+                rowSet -> DatabaseStoredDataResultMapper.map(rowSet, "accountId", requestIds, impIds),
+                timeout);
+    }
+
+    private StoredDataResult<String> map(RowSet<Row> rowSet) {
+        return DatabaseStoredDataResultMapper.map(rowSet, "accountId", emptySet(), emptySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireWindowTimer() {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(eq(10L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+    }
+
+    private void givenQueryResult(Row... rows) {
+        givenQueryResult(givenRowSet(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenQueryResult(RowSet<Row> rowSet) {
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(
+                        ((Function<RowSet<Row>, Object>) invocation.getArgument(2)).apply(rowSet)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RowSet<Row> givenRowSet(Row... rows) {
+        final RowSet<Row> rowSet = mock(RowSet.class);
+        given(rowSet.iterator()).willAnswer(invocation -> givenRowIterator(Arrays.asList(rows).iterator()));
+        return rowSet;
+    }
+
+    private static RowIterator<Row> givenRowIterator(Iterator<Row> iterator) {
+        return new RowIterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private static Row givenRow(Object... values) {
+        final Row row = mock(Row.class, withSettings().strictness(LENIENT));
+        given(row.getValue(anyInt())).willAnswer(invocation -> values[(Integer) invocation.getArgument(0)]);
+        given(row.size()).willReturn(values.length);
+        return row;
+    }
+}
@@ -0,0 +1,308 @@
+package org.prebid.server.settings.helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class SharedSettingsFileTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private static final int SNAPSHOT_SIZE = 50;
+
+    private Path path;
+
+    private SharedSettingsFile writer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("shared-settings", ".bin");
+        writer = SharedSettingsFile.writer(path, 64 * 1024, CLOCK);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        writer.close();
+        Files.deleteIfExists(path);
+
+        final Path requestsDir = requestsDir();
+        if (Files.exists(requestsDir)) {
+            try (Stream<Path> paths = Files.walk(requestsDir)) {
+                for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getShouldReturnPublishedEntries() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when
+        final int published = writer.publish(Map.of("key1", bytes("value1"), "key2", bytes("value2")));
+
+        // then
+        assertThat(published).isEqualTo(2);
+        assertThat(reader.get("key1")).isEqualTo(bytes("value1"));
+        assertThat(reader.get("key2")).isEqualTo(bytes("value2"));
+        assertThat(reader.get("key3")).isNull();
+    }
+
+    @Test
+    public void getShouldReturnOnlyEntriesOfTheLastPublishedSnapshot() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+        writer.publish(Map.of("key1", bytes("value1")));
+
+        // when
+        writer.publish(Map.of("key2", bytes("value2")));
+
+        // then
+        assertThat(reader.get("key1")).isNull();
+        assertThat(reader.get("key2")).isEqualTo(bytes("value2"));
+    }
+
+    @Test
+    public void generationShouldGrowWithEveryPublication() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+        writer.publish(Map.of("key", bytes("value1")));
+        final long generation = reader.generation();
+
+        // when
+        writer.publish(Map.of("key", bytes("value2")));
+
+        // then
+        assertThat(generation).isNotNegative();
+        assertThat(reader.generation()).isEqualTo(generation + 1);
+    }
+
+    @Test
+    public void generationShouldBeNegativeIfNothingWasPublished() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when and then
+        assertThat(reader.generation()).isNegative();
+    }
+
+    @Test
+    public void getShouldReturnNullIfNothingWasPublished() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when and then
+        assertThat(reader.get("key")).isNull();
+    }
+
+    @Test
+    public void getShouldReturnNullIfFileIsStale() {
+        // given
+        writer.publish(Map.of("key", bytes("value")));
+        final Clock laterClock = Clock.offset(CLOCK, Duration.ofMillis(1001L));
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, laterClock);
+
+        // when and then
+        assertThat(reader.get("key")).isNull();
+    }
+
+    @Test
+    public void publishShouldSkipEntriesWhichDoNotFitIntoRegion() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when
+        final int published = writer.publish(Map.of("small", bytes("value"), "large", new byte[64 * 1024]));
+
+        // then
+        assertThat(published).isEqualTo(1);
+        assertThat(reader.get("small")).isEqualTo(bytes("value"));
+        assertThat(reader.get("large")).isNull();
+    }
+
+    @Test
+    public void writerShouldRecoverRegionLeftBeingWrittenByPreviousWriter() throws IOException {
+        // given
+        writer.publish(Map.of("key", bytes("value1")));
+        writer.close();
+        givenSequenceOfInactiveRegion(7L);
+
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when
+        writer = SharedSettingsFile.writer(path, 64 * 1024, CLOCK);
+        writer.publish(Map.of("key", bytes("value2")));
+
+        // then
+        assertThat(reader.get("key")).isEqualTo(bytes("value2"));
+    }
+
+    @Test
+    public void writerShouldFailIfFileIsLockedByAnotherWriter() {
+        // when and then
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> SharedSettingsFile.writer(path, 64 * 1024, CLOCK))
+                .withMessageContaining("is locked by another writer");
+    }
+
+    @Test
+    public void publishShouldFailForReader() {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+
+        // when and then
+        assertThatIllegalStateException().isThrownBy(() -> reader.publish(Map.of()));
+    }
+
+    @Test
+    public void getShouldNeverReturnValueTornByConcurrentPublishing() throws InterruptedException {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+        writer.publish(snapshot(0));
+
+        final AtomicBoolean publishing = new AtomicBoolean(true);
+        final AtomicLong hits = new AtomicLong();
+        final AtomicReference<String> tornValue = new AtomicReference<>();
+
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(new Thread(() -> {
+                while (publishing.get() && tornValue.get() == null) {
+                    final byte[] value = reader.get("key" + ThreadLocalRandom.current().nextInt(SNAPSHOT_SIZE));
+                    if (value == null) {
+                        continue;
+                    }
+
+                    hits.incrementAndGet();
+                    final String stringValue = new String(value, StandardCharsets.UTF_8);
+                    if (!isConsistent(stringValue)) {
+                        tornValue.compareAndSet(null, stringValue);
+                    }
+                }
+            }));
+        }
+
+        // when
+        readers.forEach(Thread::start);
+        for (int generation = 1; generation <= 2000; generation++) {
+            writer.publish(snapshot(generation));
+        }
+        publishing.set(false);
+        for (Thread readerThread : readers) {
+            readerThread.join();
+        }
+
+        // then
+        assertThat(tornValue.get()).isNull();
+        assertThat(hits.get()).isPositive();
+    }
+
+    @Test
+    public void takeRequestedKeysShouldReturnKeysRequestedByReaders() throws IOException {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+        reader.requestKeys(List.of("key1", "key2"));
+        reader.requestKeys(List.of("key2", "key3"));
+
+        // when
+        final Set<String> keys = writer.takeRequestedKeys(10);
+
+        // then
+        assertThat(keys).containsExactlyInAnyOrder("key1", "key2", "key3");
+        assertThat(writer.takeRequestedKeys(10)).isEmpty();
+    }
+
+    @Test
+    public void takeRequestedKeysShouldDropKeysOverLimit() throws IOException {
+        // given
+        final SharedSettingsFile reader = SharedSettingsFile.reader(path, 1000L, CLOCK);
+        reader.requestKeys(List.of("key1", "key2", "key3"));
+
+        // when
+        final Set<String> keys = writer.takeRequestedKeys(2);
+
+        // then
+        assertThat(keys).hasSize(2);
+        assertThat(writer.takeRequestedKeys(10)).isEmpty();
+    }
+
+    @Test
+    public void takeRequestedKeysShouldReturnEmptySetIfNothingWasRequested() throws IOException {
+        // when and then
+        assertThat(writer.takeRequestedKeys(10)).isEmpty();
+    }
+
+    @Test
+    public void requestKeysShouldFailForWriter() {
+        // when and then
+        assertThatIllegalStateException().isThrownBy(() -> writer.requestKeys(List.of("key")));
+    }
+
+    private void givenSequenceOfInactiveRegion(long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            mapped.order(ByteOrder.nativeOrder());
+            final int inactiveRegion = (int) (mapped.getLong(8) & 1) ^ 1;
+            mapped.putLong(24 + inactiveRegion * 8, sequence);
+            mapped.force();
+        }
+    }
+
+    private Path requestsDir() {
+        return path.resolveSibling(path.getFileName() + ".requests");
+    }
+
+    /**
+     * Every value of the snapshot tells its generation twice and has the length depending on it.
+     */
+    private static Map<String, byte[]> snapshot(int generation) {
+        final Map<String, byte[]> entries = new HashMap<>();
+        for (int i = 0; i < SNAPSHOT_SIZE; i++) {
+            entries.put("key" + i, bytes("%d:%s:%d".formatted(generation, "x".repeat(generation % 97), generation)));
+        }
+        return entries;
+    }
+
+    private static boolean isConsistent(String value) {
+        final String[] parts = value.split(":", -1);
+        return parts.length == 3
+                && parts[0].matches("\\d+")
+                && parts[0].equals(parts[2])
+                && parts[1].length() == Integer.parseInt(parts[0]) % 97
+                && parts[1].chars().allMatch(character -> character == 'x');
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -8,12 +8,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CacheNotificationListener;
+import org.prebid.server.settings.SettingsCache;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.vertx.database.DatabaseClient;
 
@@ -26,6 +28,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -40,8 +43,8 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 public class DatabasePeriodicRefreshServiceTest {
 
-    @Mock
-    private CacheNotificationListener<String> cacheNotificationListener;
+    @Spy
+    private CacheNotificationListener<String> cacheNotificationListener = new SettingsCache<>(60, 100, 0);
     @Mock
     private Vertx vertx;
     @Mock(strictness = LENIENT)
@@ -91,6 +94,61 @@ public class DatabasePeriodicRefreshServiceTest {
         verify(cacheNotificationListener).save(emptyMap(), singletonMap("id2", "changed_value"));
     }
 
+    @Test
+    public void shouldNotSaveDataUnchangedSinceLastRefresh() {
+        // given
+        given(databaseClient.executeQuery(eq("update_query"), anyList(), any(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("id1", "value1"), singletonMap("id2", "value2"), emptyList())));
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(1000);
+
+        // then
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verify(cacheNotificationListener).save(any(), any());
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.update, 0);
+    }
+
+    @Test
+    public void shouldSaveDataUnchangedSinceLastRefreshIfCacheEvictedIt() {
+        // given
+        given(databaseClient.executeQuery(eq("update_query"), anyList(), any(), any()))
+                .willAnswer(invocation -> {
+                    // imp is evicted from the cache before the refresh
+                    cacheNotificationListener.invalidate(emptyList(), singletonList("id2"));
+                    return Future.succeededFuture(StoredDataResult.of(
+                            singletonMap("id1", "value1"), singletonMap("id2", "value2"), emptyList()));
+                });
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(1000);
+
+        // then
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verify(cacheNotificationListener).save(emptyMap(), expectedImps);
+        assertThat(cacheNotificationListener.containsImp("id2", "value2")).isTrue();
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.update, 1);
+    }
+
+    @Test
+    public void shouldUpdateChangedMetric() {
+        // given
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(1000);
+
+        // then
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.initialize, 2);
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.update, 2);
+    }
+
     @Test
     public void initializeShouldMakeOneInitialRequestAndTwoScheduledRequestsWithParam() {
         // given
@@ -9,14 +9,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.prebid.server.VertxTest;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CacheNotificationListener;
+import org.prebid.server.settings.SettingsCache;
 import org.prebid.server.settings.proto.response.HttpRefreshResponse;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Map;
 
 import static java.util.Collections.emptyList;
@@ -35,18 +42,23 @@ import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class HttpPeriodicRefreshServiceTest extends VertxTest {
 
     private static final String ENDPOINT_URL = "http://stored-requests.prebid.com";
 
-    @Mock
-    private CacheNotificationListener<String> cacheNotificationListener;
+    @Spy
+    private CacheNotificationListener<String> cacheNotificationListener = new SettingsCache<>(60, 100, 0);
     @Mock(strictness = LENIENT)
     private HttpClient httpClient;
     @Mock
     private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+
+    private final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
 
     private HttpClientResponse updatedResponse;
     private final Map<String, String> expectedRequests = singletonMap("id1", "{\"field1\":\"field-value1\"}");
@@ -99,7 +111,7 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
         // then
         verify(cacheNotificationListener).save(expectedRequests, expectedImps);
         verify(cacheNotificationListener).invalidate(singletonList("id1"), emptyList());
-        verify(cacheNotificationListener).save(emptyMap(), expectedImps);
+        verify(cacheNotificationListener).save(any(), any());
     }
 
     @Test
@@ -121,7 +133,77 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
 
         // then
         verify(cacheNotificationListener).save(expectedRequests, expectedImps);
-        verify(cacheNotificationListener).save(singletonMap("id1", "{\"changed1\":\"value-changed2\"}"), expectedImps);
+        verify(cacheNotificationListener).save(singletonMap("id1", "{\"changed1\":\"value-changed2\"}"), emptyMap());
+    }
+
+    @Test
+    public void shouldNotSaveDataUnchangedSinceLastRefresh() {
+        // given
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L, 2L));
+        given(httpClient.get(contains("?last-modified="), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, """
+                        {"requests":{"id1":{"field1":"field-value1"}},"imps":{"id2":{"field2":"field-value2"}}}
+                        """)));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                1000, 2000, vertx, httpClient);
+
+        // then
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verify(cacheNotificationListener).save(any(), any());
+    }
+
+    @Test
+    public void shouldCopyStoredDataAsIsWhenParsingResponse() {
+        // given
+        given(httpClient.get(anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, """
+                        {"unknown":{"a":[1,{"b":2}]},"requests":{"id1":{"nested":{"deleted":true},"arr":[1,"2"]}}}
+                        """)));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                -1, 2000, vertx, httpClient);
+
+        // then
+        verify(cacheNotificationListener).save(
+                singletonMap("id1", "{\"nested\":{\"deleted\":true},\"arr\":[1,\"2\"]}"), emptyMap());
+    }
+
+    @Test
+    public void shouldUpdateRefreshTimeAndChangedMetrics() {
+        // given
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                1000, 2000, vertx, httpClient);
+
+        // then
+        verify(metrics).updateSettingsCacheRefreshTime(
+                eq(MetricName.stored_request), eq(MetricName.initialize), anyLong());
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.initialize, 2);
+        verify(metrics).updateSettingsCacheRefreshTime(
+                eq(MetricName.stored_request), eq(MetricName.update), anyLong());
+        verify(metrics).updateSettingsCacheRefreshChangedMetric(MetricName.stored_request, MetricName.update, 1);
+    }
+
+    @Test
+    public void shouldUpdateErrorMetricWhenResponseCanNotBeParsed() {
+        // given
+        given(httpClient.get(anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "{\"requests\":[]}")));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                -1, 2000, vertx, httpClient);
+
+        // then
+        verify(metrics).updateSettingsCacheRefreshErrorMetric(MetricName.stored_request, MetricName.initialize);
+        verifyNoMoreInteractions(cacheNotificationListener);
     }
 
     @Test
@@ -165,15 +247,24 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
         verify(httpClient).get(startsWith("http://stored-requests.prebid.com?amp=true&last-modified="), anyLong());
     }
 
-    private static void createAndInitService(CacheNotificationListener<String> notificationListener,
-                                             String url,
-                                             long refreshPeriod,
-                                             long timeout,
-                                             Vertx vertx,
-                                             HttpClient httpClient) {
+    private void createAndInitService(CacheNotificationListener<String> notificationListener,
+                                      String url,
+                                      long refreshPeriod,
+                                      long timeout,
+                                      Vertx vertx,
+                                      HttpClient httpClient) {
 
         final HttpPeriodicRefreshService httpPeriodicRefreshService = new HttpPeriodicRefreshService(
-                url, refreshPeriod, timeout, notificationListener, vertx, httpClient, jacksonMapper);
+                url,
+                refreshPeriod,
+                timeout,
+                MetricName.stored_request,
+                notificationListener,
+                vertx,
+                httpClient,
+                jacksonMapper,
+                metrics,
+                clock);
         httpPeriodicRefreshService.initialize(Promise.promise());
     }
 
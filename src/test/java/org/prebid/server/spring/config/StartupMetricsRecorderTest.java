@@ -0,0 +1,54 @@
+package org.prebid.server.spring.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupMetricsRecorderTest {
+
+    private final StartupMetricsRecorder target = new StartupMetricsRecorder();
+
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void postProcessorShouldNotReplaceBeans() {
+        // given
+        final BidderDeps bidderDeps = BidderDeps.of(emptyList());
+
+        // when and then
+        assertThat(target.postProcessBeforeInstantiation(BidderDeps.class, "bidderDeps")).isNull();
+        assertThat(target.postProcessAfterInitialization(bidderDeps, "bidderDeps")).isSameAs(bidderDeps);
+    }
+
+    @Test
+    public void onApplicationEventShouldReportStartupPhases() {
+        // given
+        given(applicationContext.getBean(Metrics.class)).willReturn(metrics);
+        target.postProcessBeforeInstantiation(BidderDeps.class, "bidderDeps");
+        target.postProcessAfterInitialization(BidderDeps.of(emptyList()), "bidderDeps");
+
+        // when
+        target.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+
+        // then
+        verify(metrics).updateStartupPhaseTime(eq(MetricName.context), anyLong());
+        verify(metrics).updateStartupPhaseTime(eq(MetricName.bidders), anyLong());
+    }
+}
@@ -417,7 +417,8 @@ public class BidderParamValidatorTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
     }
 
     private static BidderInfo givenBidderInfo() {
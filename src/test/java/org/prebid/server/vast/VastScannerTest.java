@@ -0,0 +1,144 @@
+package org.prebid.server.vast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VastScannerTest {
+
+    private static final String VAST_URL_TRACKING = "http://external-url/event";
+
+    private static final List<String> FUZZ_TOKENS = List.of(
+            "<", ">", "/", " ", "\t", "\n", "\r", "\u000B", "\u0085", "\u2028", "a=\"1\"", "x",
+            "inline", "InLine", "INLINE", "wrapper", "Wrapper", "impression", "Impression", "IMPRESSION",
+            "\u0130nline", "\u0131mpression", "<![CDATA[", "]]>",
+            "<InLine>", "</InLine>", "<Wrapper>", "</Wrapper>", "<Impression>", "</Impression>",
+            "< inline >", "</ impression\n>", "< / wrapper x>", "<inline/>", "</impressions>");
+
+    @Test
+    public void insertImpressionTrackingShouldInsertAfterLastImpressionOfInLine() {
+        // given
+        final String vastXml = "<VAST><Ad><InLine><Impression>1</Impression><Impression>2</Impression>"
+                + "<Creatives></Creatives></InLine></Ad></VAST>";
+
+        // when
+        final String result = VastScanner.insertImpressionTracking(vastXml, VAST_URL_TRACKING);
+
+        // then
+        assertThat(result).isEqualTo("<VAST><Ad><InLine><Impression>1</Impression><Impression>2</Impression>"
+                + "<Impression><![CDATA[http://external-url/event]]></Impression>"
+                + "<Creatives></Creatives></InLine></Ad></VAST>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldInsertBeforeWrapperCloseTagIfThereAreNoImpressions() {
+        // given
+        final String vastXml = "<VAST><Ad><wrapper version=\"3\"><Creatives></Creatives></ WRAPPER ></Ad></VAST>";
+
+        // when
+        final String result = VastScanner.insertImpressionTracking(vastXml, VAST_URL_TRACKING);
+
+        // then
+        assertThat(result).isEqualTo("<VAST><Ad><wrapper version=\"3\"><Creatives></Creatives>"
+                + "<Impression><![CDATA[http://external-url/event]]></Impression></ WRAPPER ></Ad></VAST>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldReturnSameVastIfCloseTagIsMissing() {
+        // given
+        final String vastXml = "<VAST><Ad><InLine><Creatives></Creatives></Ad></VAST>";
+
+        // when and then
+        assertThat(VastScanner.insertImpressionTracking(vastXml, VAST_URL_TRACKING)).isSameAs(vastXml);
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldReturnNullIfThereAreNeitherInLineNorWrapper() {
+        // when and then
+        assertThat(VastScanner.insertImpressionTracking("<VAST><Ad></Ad></VAST>", VAST_URL_TRACKING)).isNull();
+        assertThat(VastScanner.insertImpressionTracking("<InLine\n x>", VAST_URL_TRACKING)).isNull();
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldBehaveLikeRegexImplementation() {
+        // given
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            final StringBuilder vastXml = new StringBuilder();
+            final int tokens = random.nextInt(40);
+            for (int j = 0; j < tokens; j++) {
+                vastXml.append(FUZZ_TOKENS.get(random.nextInt(FUZZ_TOKENS.size())));
+            }
+
+            // when
+            final String result = VastScanner.insertImpressionTracking(vastXml.toString(), VAST_URL_TRACKING);
+
+            // then
+            assertThat(result)
+                    .describedAs(vastXml.toString())
+                    .isEqualTo(RegexVastModifier.appendTrackingUrlToVastXml(vastXml.toString(), VAST_URL_TRACKING));
+        }
+    }
+
+    /**
+     * Former regex based implementation, the scanner has to behave exactly the same way.
+     */
+    private static class RegexVastModifier {
+
+        private static final Pattern WRAPPER_OPEN_TAG_PATTERN =
+                Pattern.compile("<\\s*wrapper(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+        private static final Pattern WRAPPER_CLOSE_TAG_PATTERN =
+                Pattern.compile("<\\s*/\\s*wrapper(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+        private static final Pattern INLINE_OPEN_TAG_PATTERN =
+                Pattern.compile("<\\s*inline(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+        private static final Pattern INLINE_CLOSE_TAG_PATTERN =
+                Pattern.compile("<\\s*/\\s*inline(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+        private static final Pattern IMPRESSION_CLOSE_TAG_PATTERN =
+                Pattern.compile("<\\s*/\\s*impression(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+
+        static String appendTrackingUrlToVastXml(String xml, String urlTracking) {
+            return appendTrackingUrl(xml, urlTracking, INLINE_OPEN_TAG_PATTERN, INLINE_CLOSE_TAG_PATTERN)
+                    .or(() -> appendTrackingUrl(xml, urlTracking, WRAPPER_OPEN_TAG_PATTERN, WRAPPER_CLOSE_TAG_PATTERN))
+                    .orElse(null);
+        }
+
+        private static Optional<String> appendTrackingUrl(String vastXml,
+                                                          String vastUrlTracking,
+                                                          Pattern openTagPattern,
+                                                          Pattern closeTagPattern) {
+
+            final Matcher openTagMatcher = openTagPattern.matcher(vastXml);
+            if (!openTagMatcher.find()) {
+                return Optional.empty();
+            }
+
+            final Matcher impressionCloseTagMatcher = IMPRESSION_CLOSE_TAG_PATTERN.matcher(vastXml);
+            if (impressionCloseTagMatcher.find(openTagMatcher.end())) {
+                int replacementEnd = impressionCloseTagMatcher.end();
+                while (impressionCloseTagMatcher.find(replacementEnd)) {
+                    replacementEnd = impressionCloseTagMatcher.end();
+                }
+                return Optional.of(insertUrlTracking(vastXml, replacementEnd, vastUrlTracking));
+            }
+
+            final Matcher closeTagMatcher = closeTagPattern.matcher(vastXml);
+            if (!closeTagMatcher.find(openTagMatcher.end())) {
+                return Optional.of(vastXml);
+            }
+
+            return Optional.of(insertUrlTracking(vastXml, closeTagMatcher.start(), vastUrlTracking));
+        }
+
+        private static String insertUrlTracking(String vastXml, int index, String vastUrlTracking) {
+            final String impressionTag = "<Impression><![CDATA[" + vastUrlTracking + "]]></Impression>";
+            return vastXml.substring(0, index) + impressionTag + vastXml.substring(index);
+        }
+    }
+}
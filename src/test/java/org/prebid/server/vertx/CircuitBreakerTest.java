@@ -10,11 +10,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.blocking.BlockingExecutor;
+import org.prebid.server.metric.Metrics;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,6 +29,10 @@ public class CircuitBreakerTest {
     private Vertx vertx;
 
     private Clock clock;
+    @Mock
+    private Metrics metrics;
+
+    private BlockingExecutor blockingExecutor;
 
     private CircuitBreaker circuitBreaker;
 
@@ -32,7 +40,9 @@ public class CircuitBreakerTest {
     public void setUp() {
         vertx = Vertx.vertx();
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
-        circuitBreaker = new CircuitBreaker("name", vertx, 1, 100L, 200L, clock);
+        blockingExecutor = new BlockingExecutor(
+                "circuit-breaker", Executors.newVirtualThreadPerTaskExecutor(), 1, 100, vertx, metrics, clock);
+        circuitBreaker = new CircuitBreaker("name", vertx, blockingExecutor, 1, 100L, 200L, clock);
     }
 
     @AfterEach
@@ -115,7 +125,7 @@ public class CircuitBreakerTest {
     @Test
     public void executeShouldFailsWithOriginalExceptionIfOpeningIntervalExceeds() {
         // given
-        circuitBreaker = new CircuitBreaker("name", vertx, 2, 100L, 200L, clock);
+        circuitBreaker = new CircuitBreaker("name", vertx, blockingExecutor, 2, 100L, 200L, clock);
 
         // when
         final Future<?> future1 = executeWithFail("exception1");
@@ -0,0 +1,202 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SlidingWindowCircuitBreakerTest {
+
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+    @Mock
+    private Handler<Void> openHandler;
+    @Mock
+    private Handler<Void> halfOpenHandler;
+    @Mock
+    private Handler<Void> closeHandler;
+
+    private long currentTime;
+
+    @BeforeEach
+    public void setUp() {
+        currentTime = 1000L;
+        given(clock.millis()).willAnswer(invocation -> currentTime);
+    }
+
+    @Test
+    public void executeShouldSucceedIfOperationSucceeds() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(1, 0, 0L, 0, 0, 1);
+
+        // when
+        final Future<String> future = circuitBreaker.execute(promise -> promise.complete("value"));
+
+        // then
+        assertThat(future.result()).isEqualTo("value");
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void executeShouldOpenCircuitWhenFailuresReachOpeningThreshold() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(2, 0, 0L, 0, 0, 1);
+
+        // when
+        final Future<?> future1 = executeWithFail(circuitBreaker, "exception1");
+        final Future<?> future2 = executeWithFail(circuitBreaker, "exception2");
+        final Future<?> future3 = executeWithFail(circuitBreaker, "exception3");
+
+        // then
+        assertThat(future1.cause()).hasMessage("exception1");
+        assertThat(future2.cause()).hasMessage("exception2");
+        assertThat(future3.cause()).hasMessage("open circuit");
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        verify(openHandler).handle(null);
+    }
+
+    @Test
+    public void executeShouldNotCountFailuresOutOfSlidingWindow() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(2, 0, 0L, 0, 0, 1);
+
+        // when
+        executeWithFail(circuitBreaker, "exception1");
+        currentTime += 150L;
+        final Future<?> future = executeWithFail(circuitBreaker, "exception2");
+
+        // then
+        assertThat(future.cause()).hasMessage("exception2");
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        verify(openHandler, never()).handle(null);
+    }
+
+    @Test
+    public void executeShouldOpenCircuitWhenFailureRateReachesThreshold() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(100, 50, 0L, 0, 4, 1);
+
+        // when
+        circuitBreaker.execute(promise -> promise.complete("value"));
+        circuitBreaker.execute(promise -> promise.complete("value"));
+        executeWithFail(circuitBreaker, "exception");
+        final boolean openedBeforeMinimumCalls = circuitBreaker.isOpen();
+        executeWithFail(circuitBreaker, "exception");
+
+        // then
+        assertThat(openedBeforeMinimumCalls).isFalse();
+        assertThat(circuitBreaker.failureRate()).isEqualTo(50);
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void executeShouldOpenCircuitWhenSlowCallRateReachesThreshold() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(100, 0, 50L, 50, 2, 1);
+
+        // when
+        circuitBreaker.execute(promise -> promise.complete("value"));
+        final Future<String> future = circuitBreaker.execute(promise -> {
+            currentTime += 60L;
+            promise.complete("value");
+        });
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(circuitBreaker.slowCallRate()).isEqualTo(50);
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void executeShouldLetOnlyLimitedNumberOfProbeCallsThroughWhenClosingIntervalPassed() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(1, 0, 0L, 0, 0, 1);
+        executeWithFail(circuitBreaker, "exception");
+        currentTime += 250L;
+
+        // when
+        final Promise<String> probePromise = Promise.promise();
+        final Future<String> probe = circuitBreaker.execute(promise -> probePromise.future().onComplete(promise));
+        final Future<?> rejected = executeWithFail(circuitBreaker, "exception");
+        probePromise.complete("value");
+
+        // then
+        verify(halfOpenHandler).handle(null);
+        assertThat(rejected.cause()).hasMessage("open circuit");
+        assertThat(probe.result()).isEqualTo("value");
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        verify(closeHandler).handle(null);
+    }
+
+    @Test
+    public void executeShouldReopenCircuitWhenProbeCallFails() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(1, 0, 0L, 0, 0, 1);
+        executeWithFail(circuitBreaker, "exception1");
+        currentTime += 250L;
+
+        // when
+        final Future<?> probe = executeWithFail(circuitBreaker, "exception2");
+        final Future<?> rejected = executeWithFail(circuitBreaker, "exception3");
+
+        // then
+        assertThat(probe.cause()).hasMessage("exception2");
+        assertThat(rejected.cause()).hasMessage("open circuit");
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        verify(closeHandler, never()).handle(null);
+    }
+
+    @Test
+    public void executeShouldFailIfOperationThrowsException() {
+        // given
+        final SlidingWindowCircuitBreaker circuitBreaker = givenCircuitBreaker(1, 0, 0L, 0, 0, 1);
+
+        // when
+        final Future<String> future = circuitBreaker.execute(promise -> {
+            throw new IllegalStateException("exception");
+        });
+
+        // then
+        assertThat(future.cause()).isInstanceOf(IllegalStateException.class).hasMessage("exception");
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    private SlidingWindowCircuitBreaker givenCircuitBreaker(int openingThreshold,
+                                                            int failureRateThreshold,
+                                                            long slowCallDurationMs,
+                                                            int slowCallRateThreshold,
+                                                            int minimumCalls,
+                                                            int halfOpenMaxCalls) {
+
+        return new SlidingWindowCircuitBreaker(
+                openingThreshold,
+                100L,
+                failureRateThreshold,
+                slowCallDurationMs,
+                slowCallRateThreshold,
+                minimumCalls,
+                halfOpenMaxCalls,
+                200L,
+                clock)
+                .openHandler(openHandler)
+                .halfOpenHandler(halfOpenHandler)
+                .closeHandler(closeHandler);
+    }
+
+    private static Future<String> executeWithFail(SlidingWindowCircuitBreaker circuitBreaker, String errorMessage) {
+        return circuitBreaker.execute(promise -> promise.fail(new RuntimeException(errorMessage)));
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.blocking.BlockingExecutor;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.metric.Metrics;
@@ -22,6 +23,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.function.BooleanSupplier;
 
 import static java.util.Arrays.asList;
@@ -46,6 +48,8 @@ public class CircuitBreakerSecuredDatabaseClientTest {
     @Mock
     private Metrics metrics;
 
+    private BlockingExecutor blockingExecutor;
+
     private CircuitBreakerSecuredDatabaseClient target;
 
     private Timeout timeout;
@@ -54,9 +58,12 @@ public class CircuitBreakerSecuredDatabaseClientTest {
     public void setUp() {
         vertx = Vertx.vertx();
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        blockingExecutor = new BlockingExecutor(
+                "circuit-breaker", Executors.newVirtualThreadPerTaskExecutor(), 1, 100, vertx, metrics, clock);
         timeout = new TimeoutFactory(clock).create(500L);
 
-        target = new CircuitBreakerSecuredDatabaseClient(vertx, wrappedDatabaseClient, metrics, 1, 100L, 200L, clock);
+        target = new CircuitBreakerSecuredDatabaseClient(
+                vertx, blockingExecutor, wrappedDatabaseClient, metrics, 1, 100L, 200L, clock);
     }
 
     @AfterEach
@@ -184,7 +191,8 @@ public class CircuitBreakerSecuredDatabaseClientTest {
     @Test
     public void executeQueryShouldFailsWithOriginalExceptionIfOpeningIntervalExceeds(VertxTestContext context) {
         // given
-        target = new CircuitBreakerSecuredDatabaseClient(vertx, wrappedDatabaseClient, metrics, 2, 100L, 200L, clock);
+        target = new CircuitBreakerSecuredDatabaseClient(
+                vertx, blockingExecutor, wrappedDatabaseClient, metrics, 2, 100L, 200L, clock);
 
         givenExecuteQueryReturning(asList(
                 Future.failedFuture(new RuntimeException("exception1")),
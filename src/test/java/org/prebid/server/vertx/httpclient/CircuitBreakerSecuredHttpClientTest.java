@@ -16,11 +16,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.SlidingWindowCircuitBreaker;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.time.Clock;
-import java.time.Instant;
-import java.time.ZoneId;
 import java.util.function.BooleanSupplier;
 import java.util.function.LongSupplier;
 
@@ -51,8 +50,8 @@ public class CircuitBreakerSecuredHttpClientTest {
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
-        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
-        httpClient = new CircuitBreakerSecuredHttpClient(vertx, wrappedHttpClient, metrics, 1, 100L, 200L, 24, clock);
+        clock = Clock.systemDefaultZone();
+        httpClient = createHttpClient(1);
     }
 
     @AfterEach
@@ -169,7 +168,7 @@ public class CircuitBreakerSecuredHttpClientTest {
     @Test
     public void requestShouldFailWithOriginalExceptionIfOpeningIntervalExceeds() {
         // given
-        httpClient = new CircuitBreakerSecuredHttpClient(vertx, wrappedHttpClient, metrics, 2, 100L, 200L, 24, clock);
+        httpClient = createHttpClient(2);
 
         givenHttpClientReturning(new RuntimeException("exception1"), new RuntimeException("exception2"));
 
@@ -189,6 +188,23 @@ public class CircuitBreakerSecuredHttpClientTest {
         assertThat(future2.cause()).isInstanceOf(RuntimeException.class).hasMessage("exception2");
     }
 
+    @Test
+    public void requestShouldUseSameCircuitBreakerForUrlsOfSameHost() {
+        // given
+        givenHttpClientReturning(new RuntimeException("exception"));
+
+        // when
+        final Future<?> future1 = doRequest("http://user@host:8080/path?param=value");
+        final Future<?> future2 = doRequest("http://host:8080#fragment");
+
+        // then
+        verify(metrics).createHttpClientCircuitBreakerGauge(eq("http_host_8080"), any());
+        verify(metrics).createHttpClientCircuitBreakerRateGauges(eq("http_host_8080"), any(), any());
+
+        assertThat(future1.cause()).hasMessage("exception");
+        assertThat(future2.cause()).hasMessage("open circuit");
+    }
+
     @Test
     public void circuitBreakerNumberGaugeShouldReportActualNumber() {
         // when
@@ -241,6 +257,14 @@ public class CircuitBreakerSecuredHttpClientTest {
         assertThat(gaugeValueProvider.getAsBoolean()).isFalse();
     }
 
+    private CircuitBreakerSecuredHttpClient createHttpClient(int openingThreshold) {
+        return new CircuitBreakerSecuredHttpClient(
+                wrappedHttpClient,
+                () -> new SlidingWindowCircuitBreaker(openingThreshold, 100L, 0, 0L, 0, 0, 1, 200L, clock),
+                metrics,
+                24);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> void givenHttpClientReturning(T... results) {
         BDDMockito.BDDMyOngoingStubbing<Future<HttpClientResponse>> stubbing =
@@ -256,8 +280,12 @@ public class CircuitBreakerSecuredHttpClientTest {
     }
 
     private Future<HttpClientResponse> doRequest() {
+        return doRequest("http://url");
+    }
+
+    private Future<HttpClientResponse> doRequest(String url) {
         final Future<HttpClientResponse> future = httpClient
-                .request(HttpMethod.GET, "http://url", null, (String) null, 0L);
+                .request(HttpMethod.GET, url, null, (String) null, 0L);
 
         final Promise<?> promise = Promise.promise();
         future.onComplete(ar -> promise.complete());